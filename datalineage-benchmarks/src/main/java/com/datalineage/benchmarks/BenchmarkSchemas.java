@@ -0,0 +1,40 @@
+package com.datalineage.benchmarks;
+
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryResponse;
+import com.datalineage.oracle.emulator.CollectingSchemaSink;
+import com.datalineage.oracle.emulator.SyntheticSchemaGenerator;
+import com.datalineage.oracle.emulator.SyntheticSchemaSpec;
+
+import java.sql.SQLException;
+
+/**
+ * Synthetic schemas sized by the number of graph nodes they produce
+ */
+final class BenchmarkSchemas {
+
+    static final int OWNERS = 10;
+    static final int COLUMNS_PER_TABLE = 19; // a table and its columns average 20 graph nodes
+
+    private BenchmarkSchemas() {}
+
+    /**
+     * Spec whose graph has about the given number of table and column nodes
+     */
+    static SyntheticSchemaSpec forNodes(int nodes) {
+        int tables = Math.max(OWNERS, nodes / (COLUMNS_PER_TABLE + 1));
+        return new SyntheticSchemaSpec(42, OWNERS, tables / OWNERS, COLUMNS_PER_TABLE);
+    }
+
+    /**
+     * Generates the spec fully in memory, ordered like a discovery response
+     */
+    static MetadataDiscoveryResponse response(SyntheticSchemaSpec spec) {
+        CollectingSchemaSink sink = new CollectingSchemaSink();
+        try {
+            new SyntheticSchemaGenerator(spec).generate(sink);
+        } catch (SQLException e) {
+            throw new IllegalStateException("In-memory generation failed", e);
+        }
+        return sink.toResponse(spec.getConnectionId());
+    }
+}
@@ -0,0 +1,94 @@
+package com.datalineage.benchmarks;
+
+import com.datalineage.oracle.discovery.service.ConnectionCredentialCache;
+import com.datalineage.oracle.discovery.service.EncryptionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Credential encryption and decryption as done on every connection lookup. decryptPerCall repeats
+ * the key derivation and Cipher lookup every call used to do, as the baseline for the reused cipher
+ * and the credential cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EncryptionBenchmark {
+
+    private static final String PASSWORD = "Tiger#2024-long-enough-password";
+    private static final String KEY = "defaultEncryptionKey123456";
+
+    private final EncryptionService encryptionService = new EncryptionService();
+    private final ConnectionCredentialCache credentialCache = new ConnectionCredentialCache();
+    private String encrypted;
+
+    @Setup
+    public void setUp() {
+        encryptionService.setEncryptionKey(KEY);
+        credentialCache.setEncryptionService(encryptionService);
+        encrypted = encryptionService.encrypt(PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        credentialCache.shutdown();
+    }
+
+    @Benchmark
+    public String encrypt() {
+        return encryptionService.encrypt(PASSWORD);
+    }
+
+    @Benchmark
+    public String decrypt() {
+        return encryptionService.decrypt(encrypted);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String decryptContended() {
+        return encryptionService.decrypt(encrypted);
+    }
+
+    @Benchmark
+    public String decryptPerCall() throws Exception {
+        SecretKeySpec key = new SecretKeySpec(KEY.substring(0, 16).getBytes(StandardCharsets.UTF_8), "AES");
+        Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+        byte[] encryptedWithIv = Base64.getDecoder().decode(encrypted);
+        cipher.init(Cipher.DECRYPT_MODE, key, new IvParameterSpec(Arrays.copyOf(encryptedWithIv, 16)));
+        byte[] decrypted = cipher.doFinal(Arrays.copyOfRange(encryptedWithIv, 16, encryptedWithIv.length));
+        return new String(decrypted, StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String credentialCacheHit() {
+        return credentialCache.decrypt("bench-connection", "password", encrypted);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String credentialCacheHitContended() {
+        return credentialCache.decrypt("bench-connection", "password", encrypted);
+    }
+}
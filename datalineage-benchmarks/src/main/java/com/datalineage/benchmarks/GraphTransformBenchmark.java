@@ -0,0 +1,76 @@
+package com.datalineage.benchmarks;
+
+import com.datalineage.oracle.discovery.dto.GraphData;
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryResponse;
+import com.datalineage.oracle.discovery.service.OracleGraphService;
+import com.datalineage.oracle.discovery.service.graph.GraphLayout;
+import com.datalineage.oracle.discovery.service.graph.MetadataGraph;
+import com.datalineage.oracle.emulator.SyntheticSchemaGenerator;
+import com.datalineage.oracle.emulator.SyntheticSchemaSpec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Graph building from a discovery response: the whole schema, and the neighbourhood of a
+ * single hub table, which references into every other table of the response. buildGraph
+ * measures the int-indexed graph alone, without converting it to DTOs; tableGraphFromIndex
+ * reads the hub table's graph from an already built one, as snapshot table graphs do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class GraphTransformBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int nodes;
+
+    private final OracleGraphService graphService = new OracleGraphService();
+    private MetadataDiscoveryResponse metadata;
+    private MetadataGraph index;
+    private String hubOwner;
+    private String hubTable;
+
+    @Setup
+    public void setUp() {
+        SyntheticSchemaSpec spec = BenchmarkSchemas.forNodes(nodes);
+        metadata = BenchmarkSchemas.response(spec);
+        SyntheticSchemaGenerator generator = new SyntheticSchemaGenerator(spec);
+        hubOwner = generator.ownerName(0);
+        hubTable = generator.tableName(0, 0);
+        index = graphService.buildGraph(metadata);
+    }
+
+    @Benchmark
+    public GraphData transformMetadataToGraph() {
+        return graphService.transformMetadataToGraph(metadata);
+    }
+
+    @Benchmark
+    public GraphData transformTableToGraph() {
+        return graphService.transformTableToGraph(metadata, hubTable, hubOwner);
+    }
+
+    @Benchmark
+    public GraphData tableGraphFromIndex() {
+        return graphService.transformTableToGraph(index, hubTable, hubOwner, GraphLayout.Mode.NONE);
+    }
+
+    @Benchmark
+    public MetadataGraph buildGraph() {
+        return graphService.buildGraph(metadata);
+    }
+}
@@ -0,0 +1,108 @@
+package com.datalineage.benchmarks;
+
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryRequest;
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryResponse;
+import com.datalineage.oracle.discovery.model.DictionaryScope;
+import com.datalineage.oracle.discovery.service.DictionaryQuery;
+import com.datalineage.oracle.discovery.service.OracleDictionaryQueries;
+import com.datalineage.oracle.discovery.service.OracleMetadataExtractionService;
+import com.datalineage.oracle.discovery.service.OracleMetadataRowMapper;
+import com.datalineage.oracle.emulator.DictionaryWriter;
+import com.datalineage.oracle.emulator.EmulatedDiscoveryContext;
+import com.datalineage.oracle.emulator.OracleDictionaryEmulator;
+import com.datalineage.oracle.emulator.SyntheticSchemaGenerator;
+import com.datalineage.oracle.emulator.SyntheticSchemaSpec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Metadata extraction against the emulated dictionary.
+ *
+ * {@link #mapColumns} replays one materialized ALL_TAB_COLUMNS result through the row mapper,
+ * isolating mapping cost from query execution; {@link #discoverMetadata} runs the whole
+ * extraction service for one owner.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class MetadataExtractionBenchmark {
+
+    @Param({"10000", "100000"})
+    private int nodes;
+
+    private OracleDictionaryEmulator emulator;
+    private EmulatedDiscoveryContext context;
+    private SyntheticSchemaSpec spec;
+    private String owner;
+
+    private Connection connection;
+    private PreparedStatement columnStatement;
+    private ResultSet columnRows;
+
+    @Setup
+    public void setUp() throws SQLException {
+        spec = BenchmarkSchemas.forNodes(nodes);
+        emulator = new OracleDictionaryEmulator();
+        try (DictionaryWriter writer = emulator.openWriter()) {
+            new SyntheticSchemaGenerator(spec).generate(writer);
+        }
+        context = new EmulatedDiscoveryContext(emulator);
+        owner = new SyntheticSchemaGenerator(spec).ownerName(0);
+
+        MetadataDiscoveryRequest request = new MetadataDiscoveryRequest(spec.getConnectionId());
+        request.setLimit(null);
+        DictionaryQuery query = OracleDictionaryQueries.columns(DictionaryScope.ALL, request);
+        connection = emulator.getConnection();
+        columnStatement = connection.prepareStatement(query.getSql(),
+            ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+        query.bind(columnStatement, 1);
+        columnRows = columnStatement.executeQuery();
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        columnRows.close();
+        columnStatement.close();
+        connection.close();
+        context.close();
+        emulator.close();
+    }
+
+    @Benchmark
+    public void mapColumns(Blackhole blackhole) throws SQLException {
+        columnRows.beforeFirst();
+        while (columnRows.next()) {
+            blackhole.consume(OracleMetadataRowMapper.mapColumn(columnRows, spec.getConnectionId()));
+        }
+    }
+
+    @Benchmark
+    public MetadataDiscoveryResponse discoverMetadata() throws SQLException {
+        MetadataDiscoveryRequest request = new MetadataDiscoveryRequest(spec.getConnectionId());
+        request.setSchemas(List.of(owner));
+        request.setLimit(null);
+        return context.getBean(OracleMetadataExtractionService.class)
+            .discoverMetadata(EmulatedDiscoveryContext.connectionConfig(spec.getConnectionId()), request);
+    }
+}
@@ -0,0 +1,70 @@
+package com.datalineage.benchmarks;
+
+import com.datalineage.common.dto.ApiResponse;
+import com.datalineage.oracle.discovery.dto.GraphData;
+import com.datalineage.oracle.discovery.service.CompactGraphEncoder;
+import com.datalineage.oracle.discovery.service.OracleGraphService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the graph payload, bare and wrapped the way the controllers
+ * return it, and in the compact wire format including the encoding step
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class SerializationBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int nodes;
+
+    private ObjectMapper objectMapper;
+    private GraphData graph;
+    private ApiResponse<GraphData> response;
+
+    @Setup
+    public void setUp() {
+        // Same modules Spring Boot registers on the controllers' mapper
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        graph = new OracleGraphService().transformMetadataToGraph(
+            BenchmarkSchemas.response(BenchmarkSchemas.forNodes(nodes)));
+        response = ApiResponse.success("Graph generated", graph);
+    }
+
+    @Benchmark
+    public byte[] graphData() throws Exception {
+        return objectMapper.writeValueAsBytes(graph);
+    }
+
+    @Benchmark
+    public byte[] apiResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] compactGraph() throws Exception {
+        return objectMapper.writeValueAsBytes(CompactGraphEncoder.encode(graph));
+    }
+
+    @Benchmark
+    public GraphData roundTrip() throws Exception {
+        return objectMapper.readValue(objectMapper.writeValueAsBytes(graph), GraphData.class);
+    }
+}
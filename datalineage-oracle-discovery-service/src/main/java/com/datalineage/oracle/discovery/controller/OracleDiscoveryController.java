@@ -109,7 +109,9 @@ public class OracleDiscoveryController {
             @RequestParam(defaultValue = "true") boolean includeProcedures,
             @RequestParam(defaultValue = "true") boolean includeConstraints,
             @RequestParam(defaultValue = "1000") Integer limit,
-            @RequestParam(defaultValue = "0") Integer offset) {
+            @RequestParam(defaultValue = "0") Integer offset,
+            @RequestParam(defaultValue = "false") boolean includePerformance,
+            @RequestParam(defaultValue = "false") boolean refresh) {
         
         try {
             // Create discovery request from parameters
@@ -131,6 +133,8 @@ public class OracleDiscoveryController {
             discoveryRequest.setIncludeConstraints(includeConstraints);
             discoveryRequest.setLimit(limit);
             discoveryRequest.setOffset(offset);
+            discoveryRequest.setIncludePerformance(includePerformance);
+            discoveryRequest.setUseCache(!refresh);
             
             // Ensure connection ID matches
             connectionConfig.setConnectionId(connectionId);
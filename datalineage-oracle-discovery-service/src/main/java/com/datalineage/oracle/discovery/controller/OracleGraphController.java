@@ -2,17 +2,31 @@ package com.datalineage.oracle.discovery.controller;
 
 import com.datalineage.common.dto.ApiResponse;
 import com.datalineage.oracle.discovery.dto.*;
+import com.datalineage.oracle.discovery.model.DictionaryCounts;
+import com.datalineage.oracle.discovery.model.MetadataSnapshot;
+import com.datalineage.oracle.discovery.service.CompactGraphEncoder;
+import com.datalineage.oracle.discovery.service.GraphNeighborhoodService;
 import com.datalineage.oracle.discovery.service.OracleConnectionService;
 import com.datalineage.oracle.discovery.service.OracleGraphService;
 import com.datalineage.oracle.discovery.service.OracleMetadataExtractionService;
+import com.datalineage.oracle.discovery.service.SnapshotGraphCache;
+import com.datalineage.oracle.discovery.service.graph.GraphLayout;
+import com.datalineage.oracle.discovery.service.graph.MetadataGraph;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.sql.SQLException;
 import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
 
 /**
  * REST Controller for Oracle metadata graph operations
@@ -22,6 +36,8 @@ import java.util.Arrays;
 @CrossOrigin(origins = "*")
 public class OracleGraphController {
 
+    private static final MediaType COMPACT_GRAPH = MediaType.parseMediaType(CompactGraph.MEDIA_TYPE);
+
     @Autowired
     private OracleConnectionService connectionService;
 
@@ -31,11 +47,17 @@ public class OracleGraphController {
     @Autowired
     private OracleGraphService graphService;
 
+    @Autowired
+    private SnapshotGraphCache snapshotGraphCache;
+
+    @Autowired
+    private GraphNeighborhoodService neighborhoodService;
+
     /**
      * Get full schema graph for a connection
      */
     @PostMapping("/schema/{connectionId}")
-    public ResponseEntity<ApiResponse<GraphData>> getSchemaGraph(
+    public ResponseEntity<ApiResponse<?>> getSchemaGraph(
             @PathVariable String connectionId,
             @Valid @RequestBody OracleConnectionConfig connectionConfig,
             @RequestParam(required = false) String[] schemas,
@@ -46,7 +68,16 @@ public class OracleGraphController {
             @RequestParam(defaultValue = "true") boolean includeProcedures,
             @RequestParam(defaultValue = "true") boolean includeConstraints,
             @RequestParam(defaultValue = "1000") Integer limit,
-            @RequestParam(defaultValue = "0") Integer offset) {
+            @RequestParam(defaultValue = "0") Integer offset,
+            @RequestParam(required = false) MetadataDiscoveryRequest.FetchStrategy fetchStrategy,
+            @RequestParam(defaultValue = "false") boolean refresh,
+            @RequestParam(required = false) String detail,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+
+        MetadataGraph.Detail detailLevel = MetadataGraph.Detail.parse(detail);
+        if (detailLevel == null) {
+            return invalidDetail(detail);
+        }
 
         try {
             // Create discovery request from parameters
@@ -55,6 +86,8 @@ public class OracleGraphController {
                 includeTables, includeColumns, includeProcedures, includeConstraints,
                 limit, offset
             );
+            discoveryRequest.setFetchStrategy(fetchStrategy);
+            discoveryRequest.setUseCache(!refresh);
 
             // Ensure connection ID matches
             connectionConfig.setConnectionId(connectionId);
@@ -64,9 +97,7 @@ public class OracleGraphController {
                 connectionConfig, discoveryRequest);
 
             // Transform to graph
-            GraphData graphData = graphService.transformMetadataToGraph(metadata);
-
-            return ResponseEntity.ok(ApiResponse.success("Schema graph generated successfully", graphData));
+            return graphResponse("Schema graph generated successfully", metadata, detailLevel, accept);
 
         } catch (SQLException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -81,39 +112,36 @@ public class OracleGraphController {
      * Get graph data for a specific table
      */
     @PostMapping("/table/{connectionId}/{tableName}")
-    public ResponseEntity<ApiResponse<GraphData>> getTableGraph(
+    public ResponseEntity<ApiResponse<?>> getTableGraph(
             @PathVariable String connectionId,
             @PathVariable String tableName,
             @Valid @RequestBody OracleConnectionConfig connectionConfig,
             @RequestParam(required = false) String owner,
             @RequestParam(defaultValue = "true") boolean includeColumns,
-            @RequestParam(defaultValue = "true") boolean includeConstraints) {
+            @RequestParam(defaultValue = "true") boolean includeConstraints,
+            @RequestParam(defaultValue = "false") boolean refresh,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
 
         try {
-            // Create discovery request focused on the specific table
-            MetadataDiscoveryRequest discoveryRequest = new MetadataDiscoveryRequest(connectionId);
-            discoveryRequest.setTablePatterns(Arrays.asList(tableName));
-            if (owner != null) {
-                discoveryRequest.setSchemas(Arrays.asList(owner));
+            // A snapshot containing the table answers without a database round trip
+            if (!refresh && includeColumns && includeConstraints) {
+                GraphData snapshotGraph = snapshotGraphCache.latestTableGraph(connectionId, tableName, owner);
+                if (snapshotGraph != null) {
+                    return graphResponse("Table graph generated successfully", snapshotGraph, accept);
+                }
             }
-            discoveryRequest.setIncludeTables(true);
-            discoveryRequest.setIncludeColumns(includeColumns);
-            discoveryRequest.setIncludeProcedures(false);
-            discoveryRequest.setIncludeConstraints(includeConstraints);
-            discoveryRequest.setLimit(1000);
-            discoveryRequest.setOffset(0);
 
             // Ensure connection ID matches
             connectionConfig.setConnectionId(connectionId);
 
-            // Get metadata
-            MetadataDiscoveryResponse metadata = metadataExtractionService.discoverMetadata(
-                connectionConfig, discoveryRequest);
+            // Get metadata of this table only
+            MetadataDiscoveryResponse metadata = metadataExtractionService.discoverTable(
+                connectionConfig, connectionId, owner, tableName, includeColumns, includeConstraints);
 
             // Transform to graph focused on the table
             GraphData graphData = graphService.transformTableToGraph(metadata, tableName, owner);
 
-            return ResponseEntity.ok(ApiResponse.success("Table graph generated successfully", graphData));
+            return graphResponse("Table graph generated successfully", graphData, accept);
 
         } catch (SQLException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -128,9 +156,10 @@ public class OracleGraphController {
      * Discover and transform metadata to graph in a single call
      */
     @PostMapping("/connections/{connectionId}/discover")
-    public ResponseEntity<ApiResponse<GraphData>> discoverGraph(
+    public ResponseEntity<ApiResponse<?>> discoverGraph(
             @PathVariable String connectionId,
-            @Valid @RequestBody GraphDiscoveryRequest request) {
+            @Valid @RequestBody GraphDiscoveryRequest request,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
 
         try {
             // Ensure connection ID matches
@@ -141,9 +170,8 @@ public class OracleGraphController {
                 request.getConnectionConfig(), request.getDiscoveryRequest());
 
             // Transform to graph
-            GraphData graphData = graphService.transformMetadataToGraph(metadata);
-
-            return ResponseEntity.ok(ApiResponse.success("Graph discovery completed successfully", graphData));
+            return graphResponse("Graph discovery completed successfully", metadata, MetadataGraph.Detail.FULL,
+                accept);
 
         } catch (SQLException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -155,7 +183,8 @@ public class OracleGraphController {
     }
 
     /**
-     * Get graph metadata/statistics without full graph data
+     * Get graph metadata/statistics without full graph data. Unfiltered counts come from the latest
+     * snapshot when it is a complete capture, otherwise from one aggregate dictionary query per category.
      */
     @PostMapping("/metadata/{connectionId}")
     public ResponseEntity<ApiResponse<GraphData.GraphStatistics>> getGraphMetadata(
@@ -163,26 +192,32 @@ public class OracleGraphController {
             @Valid @RequestBody OracleConnectionConfig connectionConfig,
             @RequestParam(required = false) String[] schemas,
             @RequestParam(required = false) String[] tablePatterns,
-            @RequestParam(required = false) String[] tableTypes) {
+            @RequestParam(required = false) String[] tableTypes,
+            @RequestParam(defaultValue = "false") boolean refresh) {
 
         try {
-            // Create minimal discovery request just for statistics
+            boolean filtered = (schemas != null && schemas.length > 0) || (tablePatterns != null && tablePatterns.length > 0)
+                || (tableTypes != null && tableTypes.length > 0);
+            if (!refresh && !filtered) {
+                GraphData.GraphStatistics statistics = snapshotGraphCache.latestStatistics(connectionId);
+                if (statistics != null) {
+                    return ResponseEntity.ok(ApiResponse.success("Graph metadata retrieved successfully", statistics));
+                }
+            }
+
+            // Same filters as a discovery; counted by the dictionary, so no limit applies
             MetadataDiscoveryRequest discoveryRequest = createDiscoveryRequest(
                 connectionId, schemas, tablePatterns, tableTypes,
-                true, true, true, true, 10000, 0
+                true, true, true, true, null, 0
             );
 
             // Ensure connection ID matches
             connectionConfig.setConnectionId(connectionId);
 
-            // Get metadata
-            MetadataDiscoveryResponse metadata = metadataExtractionService.discoverMetadata(
-                connectionConfig, discoveryRequest);
+            DictionaryCounts counts = metadataExtractionService.countObjects(connectionConfig, discoveryRequest);
 
-            // Transform to graph and extract statistics
-            GraphData graphData = graphService.transformMetadataToGraph(metadata);
-            
-            return ResponseEntity.ok(ApiResponse.success("Graph metadata retrieved successfully", graphData.getStatistics()));
+            return ResponseEntity.ok(ApiResponse.success("Graph metadata retrieved successfully",
+                MetadataGraph.statistics(counts)));
 
         } catch (SQLException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -193,6 +228,200 @@ public class OracleGraphController {
         }
     }
 
+    /**
+     * Get the schema graph of a retained snapshot. Answers a matching If-None-Match with 304
+     * without touching Oracle or building the graph.
+     */
+    @GetMapping("/snapshots/{connectionId}")
+    public ResponseEntity<ApiResponse<?>> getSnapshotGraph(
+            @PathVariable String connectionId,
+            @RequestParam(required = false) Long version,
+            @RequestParam(required = false) String[] schemas,
+            @RequestParam(required = false) String detail,
+            @RequestParam(required = false) String layout,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest webRequest) {
+
+        MetadataGraph.Detail detailLevel = MetadataGraph.Detail.parse(detail);
+        if (detailLevel == null) {
+            return invalidDetail(detail);
+        }
+        GraphLayout.Mode layoutMode = GraphLayout.Mode.parse(layout);
+        if (layoutMode == null) {
+            return invalidLayout(layout);
+        }
+
+        try {
+            MetadataSnapshot snapshot = snapshotGraphCache.snapshot(connectionId, version);
+            List<String> owners = schemas != null ? Arrays.asList(schemas) : null;
+
+            String etag = representationEtag(
+                snapshotGraphCache.schemaGraphEtag(snapshot, owners, detailLevel, layoutMode), accept);
+            if (webRequest.checkNotModified(etag)) {
+                return null;
+            }
+
+            GraphData graphData = snapshotGraphCache.schemaGraph(snapshot, owners, detailLevel, layoutMode, etag);
+
+            return graphResponse("Snapshot graph generated successfully", graphData, accept, etag);
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(e.getMessage(), "SNAPSHOT_NOT_FOUND"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Error during snapshot graph generation: " + e.getMessage(), "GRAPH_ERROR"));
+        }
+    }
+
+    /**
+     * Get the graph around one table of a retained snapshot, with the same ETag handling
+     */
+    @GetMapping("/snapshots/{connectionId}/table/{tableName}")
+    public ResponseEntity<ApiResponse<?>> getSnapshotTableGraph(
+            @PathVariable String connectionId,
+            @PathVariable String tableName,
+            @RequestParam(required = false) Long version,
+            @RequestParam(required = false) String owner,
+            @RequestParam(required = false) String layout,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest webRequest) {
+
+        GraphLayout.Mode layoutMode = GraphLayout.Mode.parse(layout);
+        if (layoutMode == null) {
+            return invalidLayout(layout);
+        }
+
+        try {
+            MetadataSnapshot snapshot = snapshotGraphCache.snapshot(connectionId, version);
+
+            String etag = representationEtag(
+                snapshotGraphCache.tableGraphEtag(snapshot, tableName, owner, layoutMode), accept);
+            if (webRequest.checkNotModified(etag)) {
+                return null;
+            }
+
+            GraphData graphData = snapshotGraphCache.tableGraph(snapshot, tableName, owner, layoutMode, etag);
+
+            return graphResponse("Snapshot table graph generated successfully", graphData, accept, etag);
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(e.getMessage(), "SNAPSHOT_NOT_FOUND"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Error during snapshot table graph generation: " + e.getMessage(), "GRAPH_ERROR"));
+        }
+    }
+
+    /**
+     * Expand one node of a retained snapshot graph to its k-hop neighborhood
+     */
+    @GetMapping("/snapshots/{connectionId}/neighborhood")
+    public ResponseEntity<ApiResponse<GraphNeighborhood>> getSnapshotNeighborhood(
+            @PathVariable String connectionId,
+            @RequestParam String nodeId,
+            @RequestParam(required = false) Long version,
+            @RequestParam(defaultValue = "1") int hops,
+            @RequestParam(required = false) String[] types,
+            @RequestParam(defaultValue = "100") int maxFanOut) {
+
+        if (types != null) {
+            for (String type : types) {
+                if (MetadataGraph.nodeTypeCode(type) < 0) {
+                    return invalidNodeType(type);
+                }
+            }
+        }
+
+        try {
+            GraphNeighborhood neighborhood = neighborhoodService.expand(connectionId, version, nodeId, hops,
+                types != null ? Arrays.asList(types) : null, maxFanOut);
+
+            return ResponseEntity.ok(ApiResponse.success("Neighborhood expanded successfully", neighborhood));
+
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(e.getMessage(), "NODE_NOT_FOUND"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(e.getMessage(), "SNAPSHOT_NOT_FOUND"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Error during neighborhood expansion: " + e.getMessage(), "GRAPH_ERROR"));
+        }
+    }
+
+    private static ResponseEntity<ApiResponse<?>> invalidDetail(String detail) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+            .body(ApiResponse.error("Unknown detail: " + detail + " (expected owner, table or full)", "INVALID_DETAIL"));
+    }
+
+    private static <T> ResponseEntity<ApiResponse<T>> invalidNodeType(String type) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+            .body(ApiResponse.error("Unknown node type: " + type
+                + " (expected schema, table, column, procedure or constraint)", "INVALID_NODE_TYPE"));
+    }
+
+    private static ResponseEntity<ApiResponse<?>> invalidLayout(String layout) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+            .body(ApiResponse.error("Unknown layout: " + layout + " (expected none, hierarchical or force)",
+                "INVALID_LAYOUT"));
+    }
+
+    /**
+     * JSON is streamed from the graph engine; the compact encoding works on the graph DTOs
+     */
+    private ResponseEntity<ApiResponse<?>> graphResponse(String message, MetadataDiscoveryResponse metadata,
+                                                         MetadataGraph.Detail detail, String accept) {
+        if (acceptsCompact(accept)) {
+            return graphResponse(message,
+                graphService.transformMetadataToGraph(metadata, detail, GraphLayout.Mode.NONE), accept);
+        }
+        return ResponseEntity.ok(ApiResponse.success(message,
+            graphService.streamMetadataGraph(metadata, detail, GraphLayout.Mode.NONE)));
+    }
+
+    private ResponseEntity<ApiResponse<?>> graphResponse(String message, GraphData graphData, String accept) {
+        if (acceptsCompact(accept)) {
+            return ResponseEntity.ok()
+                .contentType(COMPACT_GRAPH)
+                .body(ApiResponse.success(message, CompactGraphEncoder.encode(graphData)));
+        }
+        return ResponseEntity.ok(ApiResponse.success(message, graphData));
+    }
+
+    private ResponseEntity<ApiResponse<?>> graphResponse(String message, GraphData graphData, String accept,
+                                                         String etag) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .eTag(etag)
+            .cacheControl(CacheControl.noCache())
+            .varyBy(HttpHeaders.ACCEPT);
+        if (acceptsCompact(accept)) {
+            return response.contentType(COMPACT_GRAPH)
+                .body(ApiResponse.success(message, CompactGraphEncoder.encode(graphData)));
+        }
+        return response.body(ApiResponse.success(message, graphData));
+    }
+
+    /**
+     * Both representations of a graph need their own strong ETag
+     */
+    private String representationEtag(String etag, String accept) {
+        return acceptsCompact(accept) ? etag.substring(0, etag.length() - 1) + "-compact\"" : etag;
+    }
+
+    private boolean acceptsCompact(String accept) {
+        if (accept == null || accept.isEmpty()) {
+            return false;
+        }
+        try {
+            return MediaType.parseMediaTypes(accept).stream().anyMatch(COMPACT_GRAPH::equalsTypeAndSubtype);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
     private MetadataDiscoveryRequest createDiscoveryRequest(
             String connectionId, String[] schemas, String[] tablePatterns, String[] tableTypes,
             boolean includeTables, boolean includeColumns, boolean includeProcedures, boolean includeConstraints,
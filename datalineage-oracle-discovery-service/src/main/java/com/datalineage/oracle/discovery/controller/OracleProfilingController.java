@@ -0,0 +1,97 @@
+package com.datalineage.oracle.discovery.controller;
+
+import com.datalineage.common.dto.ApiResponse;
+import com.datalineage.oracle.discovery.dto.OracleConnectionConfig;
+import com.datalineage.oracle.discovery.dto.ProfilingReport;
+import com.datalineage.oracle.discovery.dto.TableProfile;
+import com.datalineage.oracle.discovery.service.ColumnProfilingService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * REST Controller for sampled column data profiles
+ */
+@RestController
+@RequestMapping("/api/v1/oracle-discovery/profiles")
+@CrossOrigin(origins = "*")
+public class OracleProfilingController {
+
+    @Autowired
+    private ColumnProfilingService profilingService;
+
+    /**
+     * Samples the tables of the latest snapshot and attaches the column profiles to it
+     */
+    @PostMapping("/connections/{connectionId}")
+    public ResponseEntity<ApiResponse<ProfilingReport>> profileTables(
+            @PathVariable String connectionId,
+            @Valid @RequestBody OracleConnectionConfig connectionConfig,
+            @RequestParam(required = false) String[] schemas,
+            @RequestParam(required = false) String[] tablePatterns,
+            @RequestParam(required = false) Double samplePercent) {
+
+        try {
+            // Ensure connection ID matches
+            connectionConfig.setConnectionId(connectionId);
+
+            ProfilingReport report = profilingService.profileLatestSnapshot(connectionConfig,
+                schemas != null ? Arrays.asList(schemas) : null,
+                tablePatterns != null ? Arrays.asList(tablePatterns) : null,
+                samplePercent);
+
+            return ResponseEntity.ok(ApiResponse.success("Tables profiled successfully", report));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(e.getMessage(), "SNAPSHOT_NOT_FOUND"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Error during data profiling: " + e.getMessage(), "PROFILING_ERROR"));
+        }
+    }
+
+    /**
+     * Gets the profiles attached to the latest snapshot of a connection
+     */
+    @GetMapping("/connections/{connectionId}")
+    public ResponseEntity<ApiResponse<List<TableProfile>>> getProfiles(@PathVariable String connectionId) {
+        try {
+            List<TableProfile> profiles = profilingService.getProfiles(connectionId);
+
+            return ResponseEntity.ok(ApiResponse.success("Profiles retrieved successfully", profiles));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(e.getMessage(), "SNAPSHOT_NOT_FOUND"));
+        }
+    }
+
+    /**
+     * Gets the profile of one table from the latest snapshot of a connection
+     */
+    @GetMapping("/connections/{connectionId}/tables/{owner}/{tableName}")
+    public ResponseEntity<ApiResponse<TableProfile>> getTableProfile(
+            @PathVariable String connectionId,
+            @PathVariable String owner,
+            @PathVariable String tableName) {
+
+        try {
+            return profilingService.getProfiles(connectionId).stream()
+                .filter(p -> p.getOwner().equals(owner) && p.getTableName().equals(tableName))
+                .findFirst()
+                .map(p -> ResponseEntity.ok(ApiResponse.success("Profile retrieved successfully", p)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error("No profile for table " + owner + "." + tableName, "PROFILE_NOT_FOUND")));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(e.getMessage(), "SNAPSHOT_NOT_FOUND"));
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.datalineage.oracle.discovery.controller;
+
+import com.datalineage.common.dto.ApiResponse;
+import com.datalineage.oracle.discovery.dto.FingerprintComparison;
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryRequest;
+import com.datalineage.oracle.discovery.dto.OracleConnectionConfig;
+import com.datalineage.oracle.discovery.dto.SnapshotDiff;
+import com.datalineage.oracle.discovery.dto.SnapshotSummary;
+import com.datalineage.oracle.discovery.model.MetadataSnapshot;
+import com.datalineage.oracle.discovery.service.MetadataSnapshotService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * REST Controller for metadata snapshots and the changes between them
+ */
+@RestController
+@RequestMapping("/api/v1/oracle-discovery/snapshots")
+@CrossOrigin(origins = "*")
+public class OracleSnapshotController {
+
+    @Autowired
+    private MetadataSnapshotService snapshotService;
+
+    /**
+     * Runs a discovery and stores it as the newest snapshot of the connection.
+     * Without a limit the whole accessible dictionary is captured.
+     */
+    @PostMapping("/connections/{connectionId}")
+    public ResponseEntity<ApiResponse<SnapshotSummary>> captureSnapshot(
+            @PathVariable String connectionId,
+            @Valid @RequestBody OracleConnectionConfig connectionConfig,
+            @RequestParam(required = false) String[] schemas,
+            @RequestParam(required = false) String[] tablePatterns,
+            @RequestParam(defaultValue = "true") boolean includeTables,
+            @RequestParam(defaultValue = "true") boolean includeColumns,
+            @RequestParam(defaultValue = "true") boolean includeProcedures,
+            @RequestParam(defaultValue = "true") boolean includeConstraints,
+            @RequestParam(required = false) Integer limit) {
+
+        try {
+            MetadataDiscoveryRequest discoveryRequest = new MetadataDiscoveryRequest(connectionId);
+            if (schemas != null && schemas.length > 0) {
+                discoveryRequest.setSchemas(Arrays.asList(schemas));
+            }
+            if (tablePatterns != null && tablePatterns.length > 0) {
+                discoveryRequest.setTablePatterns(Arrays.asList(tablePatterns));
+            }
+            discoveryRequest.setIncludeTables(includeTables);
+            discoveryRequest.setIncludeColumns(includeColumns);
+            discoveryRequest.setIncludeProcedures(includeProcedures);
+            discoveryRequest.setIncludeConstraints(includeConstraints);
+            discoveryRequest.setLimit(limit);
+            discoveryRequest.setOffset(0);
+
+            // Ensure connection ID matches
+            connectionConfig.setConnectionId(connectionId);
+
+            MetadataSnapshot snapshot = snapshotService.captureSnapshot(connectionConfig, discoveryRequest);
+
+            return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Snapshot captured successfully", SnapshotSummary.from(snapshot)));
+
+        } catch (SQLException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Database error during snapshot capture: " + e.getMessage(), "SQL_ERROR"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Error during snapshot capture: " + e.getMessage(), "SNAPSHOT_ERROR"));
+        }
+    }
+
+    /**
+     * Lists the retained snapshots of a connection, newest first
+     */
+    @GetMapping("/connections/{connectionId}")
+    public ResponseEntity<ApiResponse<List<SnapshotSummary>>> getSnapshots(@PathVariable String connectionId) {
+        List<SnapshotSummary> summaries = snapshotService.getSnapshots(connectionId).stream()
+            .map(SnapshotSummary::from)
+            .collect(Collectors.toList());
+
+        return ResponseEntity.ok(ApiResponse.success("Snapshots retrieved successfully", summaries));
+    }
+
+    /**
+     * Diffs two snapshots of a connection. Defaults to the previous and the latest snapshot.
+     */
+    @GetMapping("/connections/{connectionId}/diff")
+    public ResponseEntity<ApiResponse<SnapshotDiff>> diffSnapshots(
+            @PathVariable String connectionId,
+            @RequestParam(required = false) Long fromVersion,
+            @RequestParam(required = false) Long toVersion) {
+
+        try {
+            SnapshotDiff diff = snapshotService.diff(connectionId, fromVersion, toVersion);
+
+            return ResponseEntity.ok(ApiResponse.success("Snapshot diff computed successfully", diff));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(e.getMessage(), "SNAPSHOT_NOT_FOUND"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Error during snapshot diff: " + e.getMessage(), "DIFF_ERROR"));
+        }
+    }
+
+    /**
+     * Compares the latest snapshots of two connections by fingerprint
+     */
+    @GetMapping("/fingerprints/compare")
+    public ResponseEntity<ApiResponse<FingerprintComparison>> compareFingerprints(
+            @RequestParam String leftConnectionId,
+            @RequestParam String rightConnectionId) {
+
+        try {
+            FingerprintComparison comparison = snapshotService.compareFingerprints(leftConnectionId, rightConnectionId);
+
+            return ResponseEntity.ok(ApiResponse.success("Fingerprints compared successfully", comparison));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(e.getMessage(), "SNAPSHOT_NOT_FOUND"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Error during fingerprint comparison: " + e.getMessage(), "FINGERPRINT_ERROR"));
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.datalineage.oracle.discovery.controller;
+
+import com.datalineage.common.dto.ApiResponse;
+import com.datalineage.oracle.discovery.dto.WatchStatus;
+import com.datalineage.oracle.discovery.service.SchemaWatchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+/**
+ * REST Controller for live schema-change watches streamed as server-sent events
+ */
+@RestController
+@RequestMapping("/api/v1/oracle-discovery/watch")
+@CrossOrigin(origins = "*")
+public class OracleWatchController {
+
+    @Autowired
+    private SchemaWatchService watchService;
+
+    /**
+     * Subscribes to graph deltas of a stored connection
+     */
+    @GetMapping(value = "/connections/{connectionId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> watchConnection(@PathVariable String connectionId) {
+        try {
+            return ResponseEntity.ok(watchService.subscribe(connectionId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Lists the active watches and their subscriber counts
+     */
+    @GetMapping("/status")
+    public ResponseEntity<ApiResponse<List<WatchStatus>>> getWatchStatus() {
+        return ResponseEntity.ok(ApiResponse.success("Watch status retrieved successfully", watchService.getWatchStatuses()));
+    }
+}
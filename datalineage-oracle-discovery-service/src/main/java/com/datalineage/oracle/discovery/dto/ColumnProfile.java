@@ -0,0 +1,195 @@
+package com.datalineage.oracle.discovery.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for the sampled data profile of one column.
+ *
+ * Counts refer to the sampled rows only. The distinct count is a HyperLogLog estimate,
+ * top values and patterns are Count-Min estimates and quantiles come from a t-digest.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ColumnProfile {
+
+    private String columnName;
+    private String dataType;
+    private long sampledRows;
+    private long nullCount;
+    private double nullRatio;
+    private long distinctEstimate;
+    private Double distinctRatio;
+    private String minValue;
+    private String maxValue;
+    private Double mean;
+    private Double averageLength;
+    private Map<String, Double> quantiles;
+    private List<ValueCount> topValues;
+    private List<ValueCount> patterns;
+
+    /**
+     * An estimated value frequency within the sample
+     */
+    public static class ValueCount {
+        private String value;
+        private long count;
+        private double ratio;
+
+        // Constructors
+        public ValueCount() {}
+
+        public ValueCount(String value, long count, double ratio) {
+            this.value = value;
+            this.count = count;
+            this.ratio = ratio;
+        }
+
+        // Getters and Setters
+        public String getValue() {
+            return value;
+        }
+
+        public void setValue(String value) {
+            this.value = value;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+
+        public double getRatio() {
+            return ratio;
+        }
+
+        public void setRatio(double ratio) {
+            this.ratio = ratio;
+        }
+    }
+
+    // Constructors
+    public ColumnProfile() {}
+
+    public ColumnProfile(String columnName, String dataType) {
+        this.columnName = columnName;
+        this.dataType = dataType;
+    }
+
+    // Getters and Setters
+    public String getColumnName() {
+        return columnName;
+    }
+
+    public void setColumnName(String columnName) {
+        this.columnName = columnName;
+    }
+
+    public String getDataType() {
+        return dataType;
+    }
+
+    public void setDataType(String dataType) {
+        this.dataType = dataType;
+    }
+
+    public long getSampledRows() {
+        return sampledRows;
+    }
+
+    public void setSampledRows(long sampledRows) {
+        this.sampledRows = sampledRows;
+    }
+
+    public long getNullCount() {
+        return nullCount;
+    }
+
+    public void setNullCount(long nullCount) {
+        this.nullCount = nullCount;
+    }
+
+    public double getNullRatio() {
+        return nullRatio;
+    }
+
+    public void setNullRatio(double nullRatio) {
+        this.nullRatio = nullRatio;
+    }
+
+    public long getDistinctEstimate() {
+        return distinctEstimate;
+    }
+
+    public void setDistinctEstimate(long distinctEstimate) {
+        this.distinctEstimate = distinctEstimate;
+    }
+
+    public Double getDistinctRatio() {
+        return distinctRatio;
+    }
+
+    public void setDistinctRatio(Double distinctRatio) {
+        this.distinctRatio = distinctRatio;
+    }
+
+    public String getMinValue() {
+        return minValue;
+    }
+
+    public void setMinValue(String minValue) {
+        this.minValue = minValue;
+    }
+
+    public String getMaxValue() {
+        return maxValue;
+    }
+
+    public void setMaxValue(String maxValue) {
+        this.maxValue = maxValue;
+    }
+
+    public Double getMean() {
+        return mean;
+    }
+
+    public void setMean(Double mean) {
+        this.mean = mean;
+    }
+
+    public Double getAverageLength() {
+        return averageLength;
+    }
+
+    public void setAverageLength(Double averageLength) {
+        this.averageLength = averageLength;
+    }
+
+    public Map<String, Double> getQuantiles() {
+        return quantiles;
+    }
+
+    public void setQuantiles(Map<String, Double> quantiles) {
+        this.quantiles = quantiles;
+    }
+
+    public List<ValueCount> getTopValues() {
+        return topValues;
+    }
+
+    public void setTopValues(List<ValueCount> topValues) {
+        this.topValues = topValues;
+    }
+
+    public List<ValueCount> getPatterns() {
+        return patterns;
+    }
+
+    public void setPatterns(List<ValueCount> patterns) {
+        this.patterns = patterns;
+    }
+}
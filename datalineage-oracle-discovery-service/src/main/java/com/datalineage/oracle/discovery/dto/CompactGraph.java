@@ -0,0 +1,240 @@
+package com.datalineage.oracle.discovery.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Column oriented wire format of {@link GraphData} for large graphs.
+ *
+ * Nodes are addressed by their position in the per-node arrays. Containment ("contains" edges)
+ * is expressed by {@code parent} instead of edges, labels and string metadata values are indexes
+ * into the shared {@code strings} dictionary, and metadata is stored as one typed column per key
+ * and node type. Served for requests accepting {@link #MEDIA_TYPE}.
+ */
+public class CompactGraph {
+
+    public static final String MEDIA_TYPE = "application/vnd.datalineage.compact-graph+json";
+    public static final int FORMAT_VERSION = 1;
+
+    private int version = FORMAT_VERSION;
+    private List<String> strings = new ArrayList<>();
+    private List<String> nodeTypes = new ArrayList<>();
+    private int[] nodeType; // per node, index into nodeTypes
+    private int[] parent; // per node, index of the containing node or -1
+    private int[] label; // per node, index into strings or -1
+    private double[] position; // x and y per node, null when the graph has no layout
+    private List<String> edgeTypes = new ArrayList<>();
+    private int[] edgeSource;
+    private int[] edgeTarget;
+    private int[] edgeType; // per edge, index into edgeTypes
+    private List<AttributeTable> nodeAttributes = new ArrayList<>();
+    private List<AttributeTable> edgeAttributes = new ArrayList<>();
+    private GraphData.GraphStatistics statistics;
+
+    /**
+     * Metadata of all nodes (or edges) of one type, one column per metadata key
+     */
+    public static class AttributeTable {
+        private String type;
+        private int[] rows; // node or edge indexes, in the order of the column values
+        private List<AttributeColumn> columns = new ArrayList<>();
+
+        // Constructors
+        public AttributeTable() {}
+
+        public AttributeTable(String type, int[] rows) {
+            this.type = type;
+            this.rows = rows;
+        }
+
+        // Getters and Setters
+        public String getType() {
+            return type;
+        }
+
+        public void setType(String type) {
+            this.type = type;
+        }
+
+        public int[] getRows() {
+            return rows;
+        }
+
+        public void setRows(int[] rows) {
+            this.rows = rows;
+        }
+
+        public List<AttributeColumn> getColumns() {
+            return columns;
+        }
+
+        public void setColumns(List<AttributeColumn> columns) {
+            this.columns = columns;
+        }
+    }
+
+    /**
+     * One metadata key. Values of kind "string" are indexes into strings (-1 for null);
+     * "number" and "boolean" values are inline, "object" values are arbitrary JSON.
+     */
+    public static class AttributeColumn {
+        public static final String STRING = "string";
+        public static final String NUMBER = "number";
+        public static final String BOOLEAN = "boolean";
+        public static final String OBJECT = "object";
+
+        private String name;
+        private String kind;
+        private List<Object> values;
+
+        // Constructors
+        public AttributeColumn() {}
+
+        public AttributeColumn(String name, String kind, List<Object> values) {
+            this.name = name;
+            this.kind = kind;
+            this.values = values;
+        }
+
+        // Getters and Setters
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getKind() {
+            return kind;
+        }
+
+        public void setKind(String kind) {
+            this.kind = kind;
+        }
+
+        public List<Object> getValues() {
+            return values;
+        }
+
+        public void setValues(List<Object> values) {
+            this.values = values;
+        }
+    }
+
+    // Constructors
+    public CompactGraph() {}
+
+    // Getters and Setters
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+    public List<String> getStrings() {
+        return strings;
+    }
+
+    public void setStrings(List<String> strings) {
+        this.strings = strings;
+    }
+
+    public List<String> getNodeTypes() {
+        return nodeTypes;
+    }
+
+    public void setNodeTypes(List<String> nodeTypes) {
+        this.nodeTypes = nodeTypes;
+    }
+
+    public int[] getNodeType() {
+        return nodeType;
+    }
+
+    public void setNodeType(int[] nodeType) {
+        this.nodeType = nodeType;
+    }
+
+    public int[] getParent() {
+        return parent;
+    }
+
+    public void setParent(int[] parent) {
+        this.parent = parent;
+    }
+
+    public int[] getLabel() {
+        return label;
+    }
+
+    public void setLabel(int[] label) {
+        this.label = label;
+    }
+
+    public double[] getPosition() {
+        return position;
+    }
+
+    public void setPosition(double[] position) {
+        this.position = position;
+    }
+
+    public List<String> getEdgeTypes() {
+        return edgeTypes;
+    }
+
+    public void setEdgeTypes(List<String> edgeTypes) {
+        this.edgeTypes = edgeTypes;
+    }
+
+    public int[] getEdgeSource() {
+        return edgeSource;
+    }
+
+    public void setEdgeSource(int[] edgeSource) {
+        this.edgeSource = edgeSource;
+    }
+
+    public int[] getEdgeTarget() {
+        return edgeTarget;
+    }
+
+    public void setEdgeTarget(int[] edgeTarget) {
+        this.edgeTarget = edgeTarget;
+    }
+
+    public int[] getEdgeType() {
+        return edgeType;
+    }
+
+    public void setEdgeType(int[] edgeType) {
+        this.edgeType = edgeType;
+    }
+
+    public List<AttributeTable> getNodeAttributes() {
+        return nodeAttributes;
+    }
+
+    public void setNodeAttributes(List<AttributeTable> nodeAttributes) {
+        this.nodeAttributes = nodeAttributes;
+    }
+
+    public List<AttributeTable> getEdgeAttributes() {
+        return edgeAttributes;
+    }
+
+    public void setEdgeAttributes(List<AttributeTable> edgeAttributes) {
+        this.edgeAttributes = edgeAttributes;
+    }
+
+    public GraphData.GraphStatistics getStatistics() {
+        return statistics;
+    }
+
+    public void setStatistics(GraphData.GraphStatistics statistics) {
+        this.statistics = statistics;
+    }
+}
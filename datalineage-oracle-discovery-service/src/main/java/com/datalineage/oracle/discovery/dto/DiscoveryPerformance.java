@@ -0,0 +1,214 @@
+package com.datalineage.oracle.discovery.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Opt-in timing breakdown of one discovery request, attached to its statistics.
+ *
+ * Times are in milliseconds with microsecond precision. Round trips are estimated from rows and
+ * fetch size, bytes from the values read through JDBC (strings by length, numbers as 8 bytes,
+ * dates as 7 and timestamps as 11), allocation from the allocation counter of the request thread.
+ */
+public class DiscoveryPerformance {
+
+    private double connectionAcquisitionMs;
+    private double dictionaryScopeMs;
+    private double executeMs;
+    private double fetchMs;
+    private double mappingMs;
+    private double commentEnrichmentMs;
+    private long roundTrips;
+    private long rowsFetched;
+    private long bytesFetched;
+    private long allocatedBytes = -1; // -1 when the JVM does not support thread allocation counters
+    private int fetchSize;
+    private List<QueryPerformance> queries = new ArrayList<>();
+
+    /**
+     * One dictionary query; in single round-trip mode "open_cursors" is the execution of the
+     * combined block and every category only has fetch and mapping times
+     */
+    public static class QueryPerformance {
+        private String category;
+        private double executeMs;
+        private double fetchMs;
+        private double mappingMs;
+        private long rows;
+        private long roundTrips;
+        private long bytes;
+        private long allocatedBytes = -1;
+
+        // Constructors
+        public QueryPerformance() {}
+
+        public QueryPerformance(String category) {
+            this.category = category;
+        }
+
+        // Getters and Setters
+        public String getCategory() {
+            return category;
+        }
+
+        public void setCategory(String category) {
+            this.category = category;
+        }
+
+        public double getExecuteMs() {
+            return executeMs;
+        }
+
+        public void setExecuteMs(double executeMs) {
+            this.executeMs = executeMs;
+        }
+
+        public double getFetchMs() {
+            return fetchMs;
+        }
+
+        public void setFetchMs(double fetchMs) {
+            this.fetchMs = fetchMs;
+        }
+
+        public double getMappingMs() {
+            return mappingMs;
+        }
+
+        public void setMappingMs(double mappingMs) {
+            this.mappingMs = mappingMs;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public void setRows(long rows) {
+            this.rows = rows;
+        }
+
+        public long getRoundTrips() {
+            return roundTrips;
+        }
+
+        public void setRoundTrips(long roundTrips) {
+            this.roundTrips = roundTrips;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public void setBytes(long bytes) {
+            this.bytes = bytes;
+        }
+
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        public void setAllocatedBytes(long allocatedBytes) {
+            this.allocatedBytes = allocatedBytes;
+        }
+    }
+
+    // Constructors
+    public DiscoveryPerformance() {}
+
+    // Getters and Setters
+    public double getConnectionAcquisitionMs() {
+        return connectionAcquisitionMs;
+    }
+
+    public void setConnectionAcquisitionMs(double connectionAcquisitionMs) {
+        this.connectionAcquisitionMs = connectionAcquisitionMs;
+    }
+
+    public double getDictionaryScopeMs() {
+        return dictionaryScopeMs;
+    }
+
+    public void setDictionaryScopeMs(double dictionaryScopeMs) {
+        this.dictionaryScopeMs = dictionaryScopeMs;
+    }
+
+    public double getExecuteMs() {
+        return executeMs;
+    }
+
+    public void setExecuteMs(double executeMs) {
+        this.executeMs = executeMs;
+    }
+
+    public double getFetchMs() {
+        return fetchMs;
+    }
+
+    public void setFetchMs(double fetchMs) {
+        this.fetchMs = fetchMs;
+    }
+
+    public double getMappingMs() {
+        return mappingMs;
+    }
+
+    public void setMappingMs(double mappingMs) {
+        this.mappingMs = mappingMs;
+    }
+
+    public double getCommentEnrichmentMs() {
+        return commentEnrichmentMs;
+    }
+
+    public void setCommentEnrichmentMs(double commentEnrichmentMs) {
+        this.commentEnrichmentMs = commentEnrichmentMs;
+    }
+
+    public long getRoundTrips() {
+        return roundTrips;
+    }
+
+    public void setRoundTrips(long roundTrips) {
+        this.roundTrips = roundTrips;
+    }
+
+    public long getRowsFetched() {
+        return rowsFetched;
+    }
+
+    public void setRowsFetched(long rowsFetched) {
+        this.rowsFetched = rowsFetched;
+    }
+
+    public long getBytesFetched() {
+        return bytesFetched;
+    }
+
+    public void setBytesFetched(long bytesFetched) {
+        this.bytesFetched = bytesFetched;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public void setAllocatedBytes(long allocatedBytes) {
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    public List<QueryPerformance> getQueries() {
+        return queries;
+    }
+
+    public void setQueries(List<QueryPerformance> queries) {
+        this.queries = queries;
+    }
+}
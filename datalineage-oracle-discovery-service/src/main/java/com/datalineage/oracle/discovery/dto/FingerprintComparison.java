@@ -0,0 +1,126 @@
+package com.datalineage.oracle.discovery.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for the result of comparing two schema fingerprints
+ */
+public class FingerprintComparison {
+
+    private String leftConnectionId;
+    private String rightConnectionId;
+    private String leftFingerprint;
+    private String rightFingerprint;
+    private boolean identical;
+    private List<OwnerDifference> ownerDifferences = new ArrayList<>();
+
+    /**
+     * An owner that exists on one side only or whose subtree differs
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class OwnerDifference {
+        private String owner;
+        private Status status;
+        private List<String> changedTables;
+        private Boolean proceduresChanged;
+
+        public enum Status {
+            ONLY_LEFT, ONLY_RIGHT, DIFFERENT
+        }
+
+        // Constructors
+        public OwnerDifference() {}
+
+        public OwnerDifference(String owner) {
+            this.owner = owner;
+        }
+
+        // Getters and Setters
+        public String getOwner() {
+            return owner;
+        }
+
+        public void setOwner(String owner) {
+            this.owner = owner;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public void setStatus(Status status) {
+            this.status = status;
+        }
+
+        public List<String> getChangedTables() {
+            return changedTables;
+        }
+
+        public void setChangedTables(List<String> changedTables) {
+            this.changedTables = changedTables;
+        }
+
+        public Boolean getProceduresChanged() {
+            return proceduresChanged;
+        }
+
+        public void setProceduresChanged(Boolean proceduresChanged) {
+            this.proceduresChanged = proceduresChanged;
+        }
+    }
+
+    // Constructors
+    public FingerprintComparison() {}
+
+    // Getters and Setters
+    public String getLeftConnectionId() {
+        return leftConnectionId;
+    }
+
+    public void setLeftConnectionId(String leftConnectionId) {
+        this.leftConnectionId = leftConnectionId;
+    }
+
+    public String getRightConnectionId() {
+        return rightConnectionId;
+    }
+
+    public void setRightConnectionId(String rightConnectionId) {
+        this.rightConnectionId = rightConnectionId;
+    }
+
+    public String getLeftFingerprint() {
+        return leftFingerprint;
+    }
+
+    public void setLeftFingerprint(String leftFingerprint) {
+        this.leftFingerprint = leftFingerprint;
+    }
+
+    public String getRightFingerprint() {
+        return rightFingerprint;
+    }
+
+    public void setRightFingerprint(String rightFingerprint) {
+        this.rightFingerprint = rightFingerprint;
+    }
+
+    public boolean isIdentical() {
+        return identical;
+    }
+
+    public void setIdentical(boolean identical) {
+        this.identical = identical;
+    }
+
+    public List<OwnerDifference> getOwnerDifferences() {
+        return ownerDifferences;
+    }
+
+    public void setOwnerDifferences(List<OwnerDifference> ownerDifferences) {
+        this.ownerDifferences = ownerDifferences;
+    }
+}
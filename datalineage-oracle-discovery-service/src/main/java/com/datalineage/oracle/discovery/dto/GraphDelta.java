@@ -0,0 +1,138 @@
+package com.datalineage.oracle.discovery.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for the nodes and edges that changed between two versions of a graph
+ */
+public class GraphDelta {
+
+    private String connectionId;
+    private long fromVersion;
+    private long toVersion;
+    private String fingerprint;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime detectedAt;
+
+    private List<String> changedOwners = new ArrayList<>();
+    private Map<SnapshotDiff.ObjectType, SnapshotDiff.ChangeCounts> summary;
+    private List<GraphNode> addedNodes = new ArrayList<>();
+    private List<GraphNode> updatedNodes = new ArrayList<>();
+    private List<String> removedNodeIds = new ArrayList<>();
+    private List<GraphEdge> addedEdges = new ArrayList<>();
+    private List<String> removedEdgeIds = new ArrayList<>();
+
+    // Constructors
+    public GraphDelta() {}
+
+    /**
+     * True when no node or edge was added, updated or removed
+     */
+    public boolean isEmpty() {
+        return addedNodes.isEmpty() && updatedNodes.isEmpty() && removedNodeIds.isEmpty()
+            && addedEdges.isEmpty() && removedEdgeIds.isEmpty();
+    }
+
+    // Getters and Setters
+    public String getConnectionId() {
+        return connectionId;
+    }
+
+    public void setConnectionId(String connectionId) {
+        this.connectionId = connectionId;
+    }
+
+    public long getFromVersion() {
+        return fromVersion;
+    }
+
+    public void setFromVersion(long fromVersion) {
+        this.fromVersion = fromVersion;
+    }
+
+    public long getToVersion() {
+        return toVersion;
+    }
+
+    public void setToVersion(long toVersion) {
+        this.toVersion = toVersion;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public void setFingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    public LocalDateTime getDetectedAt() {
+        return detectedAt;
+    }
+
+    public void setDetectedAt(LocalDateTime detectedAt) {
+        this.detectedAt = detectedAt;
+    }
+
+    public List<String> getChangedOwners() {
+        return changedOwners;
+    }
+
+    public void setChangedOwners(List<String> changedOwners) {
+        this.changedOwners = changedOwners;
+    }
+
+    public Map<SnapshotDiff.ObjectType, SnapshotDiff.ChangeCounts> getSummary() {
+        return summary;
+    }
+
+    public void setSummary(Map<SnapshotDiff.ObjectType, SnapshotDiff.ChangeCounts> summary) {
+        this.summary = summary;
+    }
+
+    public List<GraphNode> getAddedNodes() {
+        return addedNodes;
+    }
+
+    public void setAddedNodes(List<GraphNode> addedNodes) {
+        this.addedNodes = addedNodes;
+    }
+
+    public List<GraphNode> getUpdatedNodes() {
+        return updatedNodes;
+    }
+
+    public void setUpdatedNodes(List<GraphNode> updatedNodes) {
+        this.updatedNodes = updatedNodes;
+    }
+
+    public List<String> getRemovedNodeIds() {
+        return removedNodeIds;
+    }
+
+    public void setRemovedNodeIds(List<String> removedNodeIds) {
+        this.removedNodeIds = removedNodeIds;
+    }
+
+    public List<GraphEdge> getAddedEdges() {
+        return addedEdges;
+    }
+
+    public void setAddedEdges(List<GraphEdge> addedEdges) {
+        this.addedEdges = addedEdges;
+    }
+
+    public List<String> getRemovedEdgeIds() {
+        return removedEdgeIds;
+    }
+
+    public void setRemovedEdgeIds(List<String> removedEdgeIds) {
+        this.removedEdgeIds = removedEdgeIds;
+    }
+}
@@ -0,0 +1,84 @@
+package com.datalineage.oracle.discovery.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for the k-hop neighborhood of one node of a snapshot graph
+ */
+public class GraphNeighborhood {
+    private String connectionId;
+    private long snapshotVersion;
+    private String centerId;
+    private int hops;
+    private boolean truncated; // the fan-out cap left out neighbors
+    private List<String> expandableNodeIds = new ArrayList<>(); // returned nodes with neighbors not returned
+    private GraphData graph;
+
+    // Constructors
+    public GraphNeighborhood() {}
+
+    public GraphNeighborhood(String connectionId, long snapshotVersion, String centerId, int hops) {
+        this.connectionId = connectionId;
+        this.snapshotVersion = snapshotVersion;
+        this.centerId = centerId;
+        this.hops = hops;
+    }
+
+    // Getters and Setters
+    public String getConnectionId() {
+        return connectionId;
+    }
+
+    public void setConnectionId(String connectionId) {
+        this.connectionId = connectionId;
+    }
+
+    public long getSnapshotVersion() {
+        return snapshotVersion;
+    }
+
+    public void setSnapshotVersion(long snapshotVersion) {
+        this.snapshotVersion = snapshotVersion;
+    }
+
+    public String getCenterId() {
+        return centerId;
+    }
+
+    public void setCenterId(String centerId) {
+        this.centerId = centerId;
+    }
+
+    public int getHops() {
+        return hops;
+    }
+
+    public void setHops(int hops) {
+        this.hops = hops;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+
+    public List<String> getExpandableNodeIds() {
+        return expandableNodeIds;
+    }
+
+    public void setExpandableNodeIds(List<String> expandableNodeIds) {
+        this.expandableNodeIds = expandableNodeIds;
+    }
+
+    public GraphData getGraph() {
+        return graph;
+    }
+
+    public void setGraph(GraphData graph) {
+        this.graph = graph;
+    }
+}
@@ -24,6 +24,20 @@ public class MetadataDiscoveryRequest {
     private Integer limit = 1000;
     private Integer offset = 0;
     
+    // Dictionary fetch strategy, null uses oracle.discovery.fetch-strategy
+    private FetchStrategy fetchStrategy;
+    
+    // Adds a per-query timing breakdown to the response statistics
+    private boolean includePerformance = false;
+    
+    // Serves a recent identical discovery from the result cache instead of querying the dictionary
+    private boolean useCache = false;
+    
+    public enum FetchStrategy {
+        STATEMENTS,         // one statement per metadata category
+        SINGLE_ROUND_TRIP   // one PL/SQL block returning every category as an implicit result
+    }
+    
     // Constructors
     public MetadataDiscoveryRequest() {}
     
@@ -111,4 +125,28 @@ public class MetadataDiscoveryRequest {
     public void setOffset(Integer offset) {
         this.offset = offset;
     }
-}
\ No newline at end of file
+    
+    public FetchStrategy getFetchStrategy() {
+        return fetchStrategy;
+    }
+    
+    public void setFetchStrategy(FetchStrategy fetchStrategy) {
+        this.fetchStrategy = fetchStrategy;
+    }
+    
+    public boolean isIncludePerformance() {
+        return includePerformance;
+    }
+    
+    public void setIncludePerformance(boolean includePerformance) {
+        this.includePerformance = includePerformance;
+    }
+    
+    public boolean isUseCache() {
+        return useCache;
+    }
+    
+    public void setUseCache(boolean useCache) {
+        this.useCache = useCache;
+    }
+}
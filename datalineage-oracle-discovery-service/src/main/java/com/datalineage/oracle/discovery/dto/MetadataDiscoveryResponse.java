@@ -1,6 +1,7 @@
 package com.datalineage.oracle.discovery.dto;
 
 import com.datalineage.oracle.discovery.model.*;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.util.List;
 
 /**
@@ -22,6 +23,11 @@ public class MetadataDiscoveryResponse {
         private int totalProcedures;
         private int totalConstraints;
         private long discoveryTimeMs;
+        private String dictionaryScope;
+        private String fetchStrategy;
+        private boolean servedFromCache;
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private DiscoveryPerformance performance; // only when requested with includePerformance
         
         // Constructors
         public DiscoveryStatistics() {}
@@ -75,6 +81,38 @@ public class MetadataDiscoveryResponse {
         public void setDiscoveryTimeMs(long discoveryTimeMs) {
             this.discoveryTimeMs = discoveryTimeMs;
         }
+        
+        public String getDictionaryScope() {
+            return dictionaryScope;
+        }
+        
+        public void setDictionaryScope(String dictionaryScope) {
+            this.dictionaryScope = dictionaryScope;
+        }
+        
+        public String getFetchStrategy() {
+            return fetchStrategy;
+        }
+        
+        public void setFetchStrategy(String fetchStrategy) {
+            this.fetchStrategy = fetchStrategy;
+        }
+        
+        public boolean isServedFromCache() {
+            return servedFromCache;
+        }
+        
+        public void setServedFromCache(boolean servedFromCache) {
+            this.servedFromCache = servedFromCache;
+        }
+        
+        public DiscoveryPerformance getPerformance() {
+            return performance;
+        }
+        
+        public void setPerformance(DiscoveryPerformance performance) {
+            this.performance = performance;
+        }
     }
     
     // Constructors
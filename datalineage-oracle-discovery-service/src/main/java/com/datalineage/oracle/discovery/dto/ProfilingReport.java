@@ -0,0 +1,74 @@
+package com.datalineage.oracle.discovery.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for the outcome of one profiling run over the tables of a snapshot
+ */
+public class ProfilingReport {
+
+    private String connectionId;
+    private long snapshotVersion;
+    private int profiledTables;
+    private int failedTables;
+    private long durationMs;
+    private List<TableProfile> tables = new ArrayList<>();
+
+    // Constructors
+    public ProfilingReport() {}
+
+    public ProfilingReport(String connectionId, long snapshotVersion) {
+        this.connectionId = connectionId;
+        this.snapshotVersion = snapshotVersion;
+    }
+
+    // Getters and Setters
+    public String getConnectionId() {
+        return connectionId;
+    }
+
+    public void setConnectionId(String connectionId) {
+        this.connectionId = connectionId;
+    }
+
+    public long getSnapshotVersion() {
+        return snapshotVersion;
+    }
+
+    public void setSnapshotVersion(long snapshotVersion) {
+        this.snapshotVersion = snapshotVersion;
+    }
+
+    public int getProfiledTables() {
+        return profiledTables;
+    }
+
+    public void setProfiledTables(int profiledTables) {
+        this.profiledTables = profiledTables;
+    }
+
+    public int getFailedTables() {
+        return failedTables;
+    }
+
+    public void setFailedTables(int failedTables) {
+        this.failedTables = failedTables;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public List<TableProfile> getTables() {
+        return tables;
+    }
+
+    public void setTables(List<TableProfile> tables) {
+        this.tables = tables;
+    }
+}
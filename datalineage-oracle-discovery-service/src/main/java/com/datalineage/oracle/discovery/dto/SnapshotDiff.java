@@ -0,0 +1,253 @@
+package com.datalineage.oracle.discovery.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for the change set between two metadata snapshots of a connection
+ */
+public class SnapshotDiff {
+
+    private String connectionId;
+    private String fromSnapshotId;
+    private String toSnapshotId;
+    private long fromVersion;
+    private long toVersion;
+    private long diffTimeMs;
+    private int unchangedOwners;
+    private int unchangedTables;
+    private Map<ObjectType, ChangeCounts> summary = new EnumMap<>(ObjectType.class);
+    private List<SchemaChange> changes = new ArrayList<>();
+
+    public enum ObjectType {
+        TABLE, COLUMN, CONSTRAINT, PROCEDURE
+    }
+
+    public enum ChangeType {
+        ADDED, REMOVED, MODIFIED
+    }
+
+    /**
+     * A single added, removed or modified object identified by its natural key
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class SchemaChange {
+        private ChangeType changeType;
+        private ObjectType objectType;
+        private String owner;
+        private String tableName;
+        private String objectName;
+        private List<String> changedAttributes;
+
+        // Constructors
+        public SchemaChange() {}
+
+        public SchemaChange(ChangeType changeType, ObjectType objectType,
+                            String owner, String tableName, String objectName) {
+            this.changeType = changeType;
+            this.objectType = objectType;
+            this.owner = owner;
+            this.tableName = tableName;
+            this.objectName = objectName;
+        }
+
+        // Getters and Setters
+        public ChangeType getChangeType() {
+            return changeType;
+        }
+
+        public void setChangeType(ChangeType changeType) {
+            this.changeType = changeType;
+        }
+
+        public ObjectType getObjectType() {
+            return objectType;
+        }
+
+        public void setObjectType(ObjectType objectType) {
+            this.objectType = objectType;
+        }
+
+        public String getOwner() {
+            return owner;
+        }
+
+        public void setOwner(String owner) {
+            this.owner = owner;
+        }
+
+        public String getTableName() {
+            return tableName;
+        }
+
+        public void setTableName(String tableName) {
+            this.tableName = tableName;
+        }
+
+        public String getObjectName() {
+            return objectName;
+        }
+
+        public void setObjectName(String objectName) {
+            this.objectName = objectName;
+        }
+
+        public List<String> getChangedAttributes() {
+            return changedAttributes;
+        }
+
+        public void setChangedAttributes(List<String> changedAttributes) {
+            this.changedAttributes = changedAttributes;
+        }
+    }
+
+    /**
+     * Added, removed and modified counts for one object type
+     */
+    public static class ChangeCounts {
+        private int added;
+        private int removed;
+        private int modified;
+
+        // Constructors
+        public ChangeCounts() {}
+
+        public void increment(ChangeType changeType) {
+            switch (changeType) {
+                case ADDED:
+                    added++;
+                    break;
+                case REMOVED:
+                    removed++;
+                    break;
+                case MODIFIED:
+                    modified++;
+                    break;
+            }
+        }
+
+        // Getters and Setters
+        public int getAdded() {
+            return added;
+        }
+
+        public void setAdded(int added) {
+            this.added = added;
+        }
+
+        public int getRemoved() {
+            return removed;
+        }
+
+        public void setRemoved(int removed) {
+            this.removed = removed;
+        }
+
+        public int getModified() {
+            return modified;
+        }
+
+        public void setModified(int modified) {
+            this.modified = modified;
+        }
+    }
+
+    // Constructors
+    public SnapshotDiff() {}
+
+    public SnapshotDiff(String connectionId) {
+        this.connectionId = connectionId;
+    }
+
+    /**
+     * True when the two snapshots describe the same schema
+     */
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    // Getters and Setters
+    public String getConnectionId() {
+        return connectionId;
+    }
+
+    public void setConnectionId(String connectionId) {
+        this.connectionId = connectionId;
+    }
+
+    public String getFromSnapshotId() {
+        return fromSnapshotId;
+    }
+
+    public void setFromSnapshotId(String fromSnapshotId) {
+        this.fromSnapshotId = fromSnapshotId;
+    }
+
+    public String getToSnapshotId() {
+        return toSnapshotId;
+    }
+
+    public void setToSnapshotId(String toSnapshotId) {
+        this.toSnapshotId = toSnapshotId;
+    }
+
+    public long getFromVersion() {
+        return fromVersion;
+    }
+
+    public void setFromVersion(long fromVersion) {
+        this.fromVersion = fromVersion;
+    }
+
+    public long getToVersion() {
+        return toVersion;
+    }
+
+    public void setToVersion(long toVersion) {
+        this.toVersion = toVersion;
+    }
+
+    public long getDiffTimeMs() {
+        return diffTimeMs;
+    }
+
+    public void setDiffTimeMs(long diffTimeMs) {
+        this.diffTimeMs = diffTimeMs;
+    }
+
+    public int getUnchangedOwners() {
+        return unchangedOwners;
+    }
+
+    public void setUnchangedOwners(int unchangedOwners) {
+        this.unchangedOwners = unchangedOwners;
+    }
+
+    public int getUnchangedTables() {
+        return unchangedTables;
+    }
+
+    public void setUnchangedTables(int unchangedTables) {
+        this.unchangedTables = unchangedTables;
+    }
+
+    public Map<ObjectType, ChangeCounts> getSummary() {
+        return summary;
+    }
+
+    public void setSummary(Map<ObjectType, ChangeCounts> summary) {
+        this.summary = summary;
+    }
+
+    public List<SchemaChange> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<SchemaChange> changes) {
+        this.changes = changes;
+    }
+}
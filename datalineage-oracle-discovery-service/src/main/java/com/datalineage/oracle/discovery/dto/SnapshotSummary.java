@@ -0,0 +1,149 @@
+package com.datalineage.oracle.discovery.dto;
+
+import com.datalineage.oracle.discovery.model.MetadataSnapshot;
+import com.datalineage.oracle.discovery.service.MetadataHashing;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO describing a stored metadata snapshot without its object lists
+ */
+public class SnapshotSummary {
+
+    private String snapshotId;
+    private String connectionId;
+    private long version;
+    private String fingerprint;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime capturedAt;
+
+    private List<String> schemas;
+    private List<String> tablePatterns;
+    private int totalTables;
+    private int totalColumns;
+    private int totalProcedures;
+    private int totalConstraints;
+    private long discoveryTimeMs;
+
+    // Constructors
+    public SnapshotSummary() {}
+
+    public static SnapshotSummary from(MetadataSnapshot snapshot) {
+        SnapshotSummary summary = new SnapshotSummary();
+        summary.setSnapshotId(snapshot.getSnapshotId());
+        summary.setConnectionId(snapshot.getConnectionId());
+        summary.setVersion(snapshot.getVersion());
+        summary.setFingerprint(MetadataHashing.toHex(snapshot.getFingerprint().getHash()));
+        summary.setCapturedAt(snapshot.getCapturedAt());
+        summary.setSchemas(snapshot.getSchemas());
+        summary.setTablePatterns(snapshot.getTablePatterns());
+        summary.setTotalTables(snapshot.getTables().size());
+        summary.setTotalColumns(snapshot.getColumns().size());
+        summary.setTotalProcedures(snapshot.getProcedures().size());
+        summary.setTotalConstraints(snapshot.getConstraints().size());
+        if (snapshot.getMetadata().getStatistics() != null) {
+            summary.setDiscoveryTimeMs(snapshot.getMetadata().getStatistics().getDiscoveryTimeMs());
+        }
+        return summary;
+    }
+
+    // Getters and Setters
+    public String getSnapshotId() {
+        return snapshotId;
+    }
+
+    public void setSnapshotId(String snapshotId) {
+        this.snapshotId = snapshotId;
+    }
+
+    public String getConnectionId() {
+        return connectionId;
+    }
+
+    public void setConnectionId(String connectionId) {
+        this.connectionId = connectionId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public void setFingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    public LocalDateTime getCapturedAt() {
+        return capturedAt;
+    }
+
+    public void setCapturedAt(LocalDateTime capturedAt) {
+        this.capturedAt = capturedAt;
+    }
+
+    public List<String> getSchemas() {
+        return schemas;
+    }
+
+    public void setSchemas(List<String> schemas) {
+        this.schemas = schemas;
+    }
+
+    public List<String> getTablePatterns() {
+        return tablePatterns;
+    }
+
+    public void setTablePatterns(List<String> tablePatterns) {
+        this.tablePatterns = tablePatterns;
+    }
+
+    public int getTotalTables() {
+        return totalTables;
+    }
+
+    public void setTotalTables(int totalTables) {
+        this.totalTables = totalTables;
+    }
+
+    public int getTotalColumns() {
+        return totalColumns;
+    }
+
+    public void setTotalColumns(int totalColumns) {
+        this.totalColumns = totalColumns;
+    }
+
+    public int getTotalProcedures() {
+        return totalProcedures;
+    }
+
+    public void setTotalProcedures(int totalProcedures) {
+        this.totalProcedures = totalProcedures;
+    }
+
+    public int getTotalConstraints() {
+        return totalConstraints;
+    }
+
+    public void setTotalConstraints(int totalConstraints) {
+        this.totalConstraints = totalConstraints;
+    }
+
+    public long getDiscoveryTimeMs() {
+        return discoveryTimeMs;
+    }
+
+    public void setDiscoveryTimeMs(long discoveryTimeMs) {
+        this.discoveryTimeMs = discoveryTimeMs;
+    }
+}
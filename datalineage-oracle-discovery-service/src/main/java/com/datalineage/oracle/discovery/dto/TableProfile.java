@@ -0,0 +1,106 @@
+package com.datalineage.oracle.discovery.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for the sampled data profile of one table
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TableProfile {
+
+    private String owner;
+    private String tableName;
+    private long snapshotVersion;
+    private Double samplePercent; // null when the table was read without SAMPLE
+    private long sampledRows;
+    private LocalDateTime profiledAt;
+    private long durationMs;
+    private String error;
+    private List<ColumnProfile> columns = new ArrayList<>();
+
+    // Constructors
+    public TableProfile() {}
+
+    public TableProfile(String owner, String tableName) {
+        this.owner = owner;
+        this.tableName = tableName;
+        this.profiledAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public void setTableName(String tableName) {
+        this.tableName = tableName;
+    }
+
+    public long getSnapshotVersion() {
+        return snapshotVersion;
+    }
+
+    public void setSnapshotVersion(long snapshotVersion) {
+        this.snapshotVersion = snapshotVersion;
+    }
+
+    public Double getSamplePercent() {
+        return samplePercent;
+    }
+
+    public void setSamplePercent(Double samplePercent) {
+        this.samplePercent = samplePercent;
+    }
+
+    public long getSampledRows() {
+        return sampledRows;
+    }
+
+    public void setSampledRows(long sampledRows) {
+        this.sampledRows = sampledRows;
+    }
+
+    public LocalDateTime getProfiledAt() {
+        return profiledAt;
+    }
+
+    public void setProfiledAt(LocalDateTime profiledAt) {
+        this.profiledAt = profiledAt;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public List<ColumnProfile> getColumns() {
+        return columns;
+    }
+
+    public void setColumns(List<ColumnProfile> columns) {
+        this.columns = columns;
+    }
+}
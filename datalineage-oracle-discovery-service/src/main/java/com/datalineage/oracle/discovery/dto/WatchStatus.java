@@ -0,0 +1,97 @@
+package com.datalineage.oracle.discovery.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO describing an active schema watch on a connection
+ */
+public class WatchStatus {
+
+    private String connectionId;
+    private int subscribers;
+    private long pollIntervalSeconds;
+    private Long version;
+    private int watchedOwners;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime lastPollAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime lastChangeAt;
+
+    private String lastError;
+
+    // Constructors
+    public WatchStatus() {}
+
+    public WatchStatus(String connectionId) {
+        this.connectionId = connectionId;
+    }
+
+    // Getters and Setters
+    public String getConnectionId() {
+        return connectionId;
+    }
+
+    public void setConnectionId(String connectionId) {
+        this.connectionId = connectionId;
+    }
+
+    public int getSubscribers() {
+        return subscribers;
+    }
+
+    public void setSubscribers(int subscribers) {
+        this.subscribers = subscribers;
+    }
+
+    public long getPollIntervalSeconds() {
+        return pollIntervalSeconds;
+    }
+
+    public void setPollIntervalSeconds(long pollIntervalSeconds) {
+        this.pollIntervalSeconds = pollIntervalSeconds;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public int getWatchedOwners() {
+        return watchedOwners;
+    }
+
+    public void setWatchedOwners(int watchedOwners) {
+        this.watchedOwners = watchedOwners;
+    }
+
+    public LocalDateTime getLastPollAt() {
+        return lastPollAt;
+    }
+
+    public void setLastPollAt(LocalDateTime lastPollAt) {
+        this.lastPollAt = lastPollAt;
+    }
+
+    public LocalDateTime getLastChangeAt() {
+        return lastChangeAt;
+    }
+
+    public void setLastChangeAt(LocalDateTime lastChangeAt) {
+        this.lastChangeAt = lastChangeAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+}
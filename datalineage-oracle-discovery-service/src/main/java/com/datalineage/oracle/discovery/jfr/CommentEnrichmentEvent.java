@@ -0,0 +1,42 @@
+package com.datalineage.oracle.discovery.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Reading a comment view and attaching its comments to the discovered tables or columns
+ */
+@Name("com.datalineage.oracle.CommentEnrichment")
+@Label("Comment Enrichment")
+@Category({"Data Lineage", "Oracle Discovery"})
+@Description("Comments read from ALL_TAB_COMMENTS or ALL_COL_COMMENTS and applied to discovered objects")
+@StackTrace(false)
+public class CommentEnrichmentEvent extends jdk.jfr.Event {
+
+    @Label("Connection Id")
+    String connectionId;
+
+    @Label("Target")
+    @Description("table or column")
+    String target;
+
+    @Label("Rows")
+    long rows;
+
+    @Label("Comments Applied")
+    long applied;
+
+    public void finish(String connectionId, String target, long rows, long applied) {
+        end();
+        if (shouldCommit()) {
+            this.connectionId = connectionId;
+            this.target = target;
+            this.rows = rows;
+            this.applied = applied;
+            commit();
+        }
+    }
+}
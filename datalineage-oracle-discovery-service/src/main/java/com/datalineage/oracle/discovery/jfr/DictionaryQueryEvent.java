@@ -0,0 +1,49 @@
+package com.datalineage.oracle.discovery.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One phase of a dictionary query: "execute" until the first rows are available, "fetch"
+ * for reading and mapping all rows
+ */
+@Name("com.datalineage.oracle.DictionaryQuery")
+@Label("Dictionary Query")
+@Category({"Data Lineage", "Oracle Discovery"})
+@Description("Execution or fetch phase of one data dictionary query")
+@StackTrace(false)
+public class DictionaryQueryEvent extends jdk.jfr.Event {
+
+    public static final String EXECUTE = "execute";
+    public static final String FETCH = "fetch";
+
+    @Label("Connection Id")
+    String connectionId;
+
+    @Label("Category")
+    String category;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Rows")
+    long rows;
+
+    @Label("Fetch Size")
+    int fetchSize;
+
+    public void finish(String connectionId, String category, String phase, long rows, int fetchSize) {
+        end();
+        if (shouldCommit()) {
+            this.connectionId = connectionId;
+            this.category = category;
+            this.phase = phase;
+            this.rows = rows;
+            this.fetchSize = fetchSize;
+            commit();
+        }
+    }
+}
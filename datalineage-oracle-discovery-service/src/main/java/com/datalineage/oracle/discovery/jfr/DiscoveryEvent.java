@@ -0,0 +1,58 @@
+package com.datalineage.oracle.discovery.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Duration of a whole metadata discovery, committed when it finishes or fails
+ */
+@Name("com.datalineage.oracle.Discovery")
+@Label("Discovery")
+@Category({"Data Lineage", "Oracle Discovery"})
+@Description("Metadata discovery of an Oracle connection, from connecting to the finished response")
+@StackTrace(false)
+public class DiscoveryEvent extends jdk.jfr.Event {
+
+    @Label("Connection Id")
+    String connectionId;
+
+    @Label("Fetch Strategy")
+    String fetchStrategy;
+
+    @Label("Dictionary Scope")
+    String dictionaryScope;
+
+    @Label("Tables")
+    long tables;
+
+    @Label("Columns")
+    long columns;
+
+    @Label("Procedures")
+    long procedures;
+
+    @Label("Constraints")
+    long constraints;
+
+    @Label("Succeeded")
+    boolean succeeded;
+
+    public void finish(String connectionId, String fetchStrategy, String dictionaryScope,
+                       long tables, long columns, long procedures, long constraints, boolean succeeded) {
+        end();
+        if (shouldCommit()) {
+            this.connectionId = connectionId;
+            this.fetchStrategy = fetchStrategy;
+            this.dictionaryScope = dictionaryScope;
+            this.tables = tables;
+            this.columns = columns;
+            this.procedures = procedures;
+            this.constraints = constraints;
+            this.succeeded = succeeded;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.datalineage.oracle.discovery.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Instant event marking the start of a discovery, so a discovery that never finishes still
+ * shows up in a recording
+ */
+@Name("com.datalineage.oracle.DiscoveryStarted")
+@Label("Discovery Started")
+@Category({"Data Lineage", "Oracle Discovery"})
+@Description("Metadata discovery of an Oracle connection started")
+@StackTrace(false)
+public class DiscoveryStartedEvent extends jdk.jfr.Event {
+
+    @Label("Connection Id")
+    String connectionId;
+
+    @Label("Host")
+    String host;
+
+    public static void emit(String connectionId, String host) {
+        DiscoveryStartedEvent event = new DiscoveryStartedEvent();
+        if (event.shouldCommit()) {
+            event.connectionId = connectionId;
+            event.host = host;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.datalineage.oracle.discovery.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Building a graph from a discovery response
+ */
+@Name("com.datalineage.oracle.GraphTransform")
+@Label("Graph Transform")
+@Category({"Data Lineage", "Graph"})
+@Description("Transformation of discovered metadata into graph nodes and edges")
+@StackTrace(false)
+public class GraphTransformEvent extends jdk.jfr.Event {
+
+    @Label("Connection Id")
+    String connectionId;
+
+    @Label("Kind")
+    @Description("schema or table")
+    String kind;
+
+    @Label("Nodes")
+    long nodes;
+
+    @Label("Edges")
+    long edges;
+
+    public void finish(String connectionId, String kind, long nodes, long edges) {
+        end();
+        if (shouldCommit()) {
+            this.connectionId = connectionId;
+            this.kind = kind;
+            this.nodes = nodes;
+            this.edges = edges;
+            commit();
+        }
+    }
+}
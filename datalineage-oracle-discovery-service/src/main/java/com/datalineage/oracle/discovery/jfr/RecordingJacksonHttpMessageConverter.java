@@ -0,0 +1,95 @@
+package com.datalineage.oracle.discovery.jfr;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * JSON converter emitting a {@link SerializationEvent} for every response body it writes.
+ *
+ * Being a {@link MappingJackson2HttpMessageConverter} bean it replaces the one Spring Boot
+ * would auto-configure, using the same application ObjectMapper. The body is only wrapped
+ * for byte counting while the event is enabled in the running recording.
+ */
+@Component
+public class RecordingJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public RecordingJacksonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        SerializationEvent event = new SerializationEvent();
+        if (!event.isEnabled()) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+
+        CountingOutputMessage counting = new CountingOutputMessage(outputMessage);
+        event.begin();
+        super.writeInternal(object, type, counting);
+        event.finish(object.getClass().getSimpleName(),
+            String.valueOf(outputMessage.getHeaders().getContentType()), counting.bytes());
+    }
+
+    /**
+     * Output message counting the bytes written to the wrapped body
+     */
+    private static final class CountingOutputMessage implements HttpOutputMessage {
+
+        private final HttpOutputMessage delegate;
+        private CountingOutputStream body;
+
+        private CountingOutputMessage(HttpOutputMessage delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            if (body == null) {
+                body = new CountingOutputStream(delegate.getBody());
+            }
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        private long bytes() {
+            return body != null ? body.count : 0;
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
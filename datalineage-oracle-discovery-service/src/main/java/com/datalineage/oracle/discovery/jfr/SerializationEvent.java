@@ -0,0 +1,39 @@
+package com.datalineage.oracle.discovery.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Writing one JSON response body
+ */
+@Name("com.datalineage.oracle.Serialization")
+@Label("JSON Serialization")
+@Category({"Data Lineage", "Web"})
+@Description("Serialization of a response body to JSON, including the write to the client")
+@StackTrace(false)
+public class SerializationEvent extends jdk.jfr.Event {
+
+    @Label("Payload Type")
+    String payloadType;
+
+    @Label("Content Type")
+    String contentType;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    public void finish(String payloadType, String contentType, long bytes) {
+        end();
+        if (shouldCommit()) {
+            this.payloadType = payloadType;
+            this.contentType = contentType;
+            this.bytes = bytes;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.datalineage.oracle.discovery.model;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Object count and latest DDL time of one owner, as read from ALL_OBJECTS.
+ *
+ * Creating or altering an object moves the DDL time forward; dropping one lowers the
+ * count. Two equal watermarks mean the owner's dictionary has not changed in between.
+ */
+public final class DdlWatermark {
+
+    private final String owner;
+    private final long objectCount;
+    private final LocalDateTime lastDdlTime;
+
+    public DdlWatermark(String owner, long objectCount, LocalDateTime lastDdlTime) {
+        this.owner = owner;
+        this.objectCount = objectCount;
+        this.lastDdlTime = lastDdlTime;
+    }
+
+    // Getters
+    public String getOwner() {
+        return owner;
+    }
+
+    public long getObjectCount() {
+        return objectCount;
+    }
+
+    public LocalDateTime getLastDdlTime() {
+        return lastDdlTime;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof DdlWatermark)) return false;
+        DdlWatermark that = (DdlWatermark) o;
+        return objectCount == that.objectCount
+            && Objects.equals(owner, that.owner)
+            && Objects.equals(lastDdlTime, that.lastDdlTime);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(owner, objectCount, lastDdlTime);
+    }
+
+    @Override
+    public String toString() {
+        return owner + "[" + objectCount + " objects, last DDL " + lastDdlTime + "]";
+    }
+}
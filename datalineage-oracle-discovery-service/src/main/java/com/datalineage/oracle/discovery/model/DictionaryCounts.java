@@ -0,0 +1,61 @@
+package com.datalineage.oracle.discovery.model;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Object counts of a discovery scope, aggregated by the dictionary instead of fetched row by row.
+ * Owners are only those with tables or procedures, the owners that get a schema node.
+ */
+public class DictionaryCounts {
+
+    private final Set<String> owners = new HashSet<>();
+    private int tables;
+    private int columns;
+    private int procedures;
+    private int constraints;
+    private int foreignKeys;
+
+    public void addTables(String owner, int count) {
+        owners.add(owner);
+        tables += count;
+    }
+
+    public void addProcedures(String owner, int count) {
+        owners.add(owner);
+        procedures += count;
+    }
+
+    public void addColumns(int count) {
+        columns += count;
+    }
+
+    public void addConstraints(int count, int foreignKeyCount) {
+        constraints += count;
+        foreignKeys += foreignKeyCount;
+    }
+
+    public Set<String> getOwners() {
+        return owners;
+    }
+
+    public int getTables() {
+        return tables;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getProcedures() {
+        return procedures;
+    }
+
+    public int getConstraints() {
+        return constraints;
+    }
+
+    public int getForeignKeys() {
+        return foreignKeys;
+    }
+}
@@ -0,0 +1,61 @@
+package com.datalineage.oracle.discovery.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Family of dictionary views a discovery reads from.
+ *
+ * ALL_* views only show objects the account can access and evaluate privilege predicates per
+ * row. DBA_* views skip those checks and need SELECT_CATALOG_ROLE or SELECT ANY DICTIONARY.
+ * CDB_* views, queried from the multitenant root, cover every open PDB in one pass; their
+ * owners are qualified with the container name ({@code PDB1:HR}) so that equally named schemas
+ * in different PDBs stay apart.
+ */
+public enum DictionaryScope {
+
+    ALL("all_"),
+    DBA("dba_"),
+    CDB("cdb_");
+
+    private final String prefix;
+
+    DictionaryScope(String prefix) {
+        this.prefix = prefix;
+    }
+
+    /**
+     * Dictionary view name for this scope, e.g. {@code view("tables")} is {@code dba_tables}
+     */
+    public String view(String name) {
+        return prefix + name;
+    }
+
+    /**
+     * Select-list expression for an owner column, container-qualified for CDB scans
+     */
+    public String owner(String column) {
+        if (this != CDB) {
+            return column;
+        }
+        return "CASE WHEN " + column + " IS NULL THEN NULL ELSE con_id_to_con_name(con_id) || ':' || " + column + " END";
+    }
+
+    /**
+     * Owner filter clause for the given schemas, adding its bind values to {@code params}.
+     * CDB scans accept both plain ({@code HR}, in every container) and qualified ({@code PDB1:HR}) owners.
+     */
+    public String ownerFilter(List<String> schemas, List<Object> params) {
+        if (schemas == null || schemas.isEmpty()) {
+            return "";
+        }
+
+        String placeholders = String.join(",", Collections.nCopies(schemas.size(), "?"));
+        params.addAll(schemas);
+        if (this != CDB) {
+            return "AND owner IN (" + placeholders + ") ";
+        }
+        params.addAll(schemas);
+        return "AND (owner IN (" + placeholders + ") OR " + owner("owner") + " IN (" + placeholders + ")) ";
+    }
+}
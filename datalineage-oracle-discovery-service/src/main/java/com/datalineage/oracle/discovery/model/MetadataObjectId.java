@@ -0,0 +1,29 @@
+package com.datalineage.oracle.discovery.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Content-addressed ids of dictionary objects. The id is a name-based UUID of the connection, object type,
+ * owner and object names, so an object keeps its id across discoveries and service restarts while the
+ * same name on another connection gets a different one.
+ */
+public final class MetadataObjectId {
+
+    private MetadataObjectId() {
+    }
+
+    public static String of(String connectionId, String type, String owner, String... names) {
+        StringBuilder key = new StringBuilder()
+            .append(connectionId).append('\0')
+            .append(type).append('\0')
+            .append(owner);
+        for (String name : names) {
+            key.append('\0');
+            if (name != null) {
+                key.append(name);
+            }
+        }
+        return UUID.nameUUIDFromBytes(key.toString().getBytes(StandardCharsets.UTF_8)).toString();
+    }
+}
@@ -0,0 +1,181 @@
+package com.datalineage.oracle.discovery.model;
+
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryRequest;
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryResponse;
+import com.datalineage.oracle.discovery.dto.TableProfile;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable capture of one discovery run for a connection.
+ *
+ * Snapshots are kept in memory by the snapshot service and are the input for diffing
+ * and any other comparison between discovery runs. The fingerprint is computed once when
+ * the snapshot is recorded and doubles as an owner/table index over the objects.
+ * Sampled data profiles are attached after capture and share the snapshot's retention. The filters,
+ * categories and row limit of the capturing request are kept, so readers can tell a complete capture
+ * from a partial one.
+ */
+public class MetadataSnapshot {
+
+    private final String snapshotId;
+    private final String connectionId;
+    private final long version;
+    private final LocalDateTime capturedAt;
+    private final List<String> schemas;
+    private final List<String> tablePatterns;
+    private final List<String> tableTypes;
+    private final boolean includeTables;
+    private final boolean includeColumns;
+    private final boolean includeProcedures;
+    private final boolean includeConstraints;
+    private final Integer limit;
+    private final int offset;
+    private final MetadataDiscoveryResponse metadata;
+    private final SchemaFingerprint fingerprint;
+    private final Map<String, TableProfile> profiles = new ConcurrentHashMap<>();
+
+    /**
+     * Snapshot of a capture of every category without a row limit, restricted to the given owners and
+     * table patterns only
+     */
+    public MetadataSnapshot(String connectionId, long version, List<String> schemas,
+                            List<String> tablePatterns, MetadataDiscoveryResponse metadata,
+                            SchemaFingerprint fingerprint) {
+        this(connectionId, version, schemas, tablePatterns, null, true, true, true, true, null, 0, metadata,
+            fingerprint);
+    }
+
+    /**
+     * Snapshot of the response to a discovery request
+     */
+    public MetadataSnapshot(long version, MetadataDiscoveryRequest request, MetadataDiscoveryResponse metadata,
+                            SchemaFingerprint fingerprint) {
+        this(metadata.getConnectionId(), version, request.getSchemas(), request.getTablePatterns(),
+            request.getTableTypes(), request.isIncludeTables(), request.isIncludeColumns(),
+            request.isIncludeProcedures(), request.isIncludeConstraints(), request.getLimit(),
+            request.getOffset() != null ? request.getOffset() : 0, metadata, fingerprint);
+    }
+
+    private MetadataSnapshot(String connectionId, long version, List<String> schemas, List<String> tablePatterns,
+                             List<String> tableTypes, boolean includeTables, boolean includeColumns,
+                             boolean includeProcedures, boolean includeConstraints, Integer limit, int offset,
+                             MetadataDiscoveryResponse metadata, SchemaFingerprint fingerprint) {
+        this.snapshotId = java.util.UUID.randomUUID().toString();
+        this.connectionId = connectionId;
+        this.version = version;
+        this.capturedAt = LocalDateTime.now();
+        this.schemas = schemas != null ? List.copyOf(schemas) : List.of();
+        this.tablePatterns = tablePatterns != null ? List.copyOf(tablePatterns) : List.of();
+        this.tableTypes = tableTypes != null ? List.copyOf(tableTypes) : List.of();
+        this.includeTables = includeTables;
+        this.includeColumns = includeColumns;
+        this.includeProcedures = includeProcedures;
+        this.includeConstraints = includeConstraints;
+        this.limit = limit;
+        this.offset = offset;
+        this.metadata = metadata;
+        this.fingerprint = fingerprint;
+    }
+
+    // Getters
+    public String getSnapshotId() {
+        return snapshotId;
+    }
+
+    public String getConnectionId() {
+        return connectionId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getCapturedAt() {
+        return capturedAt;
+    }
+
+    public List<String> getSchemas() {
+        return schemas;
+    }
+
+    public List<String> getTablePatterns() {
+        return tablePatterns;
+    }
+
+    public List<String> getTableTypes() {
+        return tableTypes;
+    }
+
+    public boolean isIncludeTables() {
+        return includeTables;
+    }
+
+    public boolean isIncludeColumns() {
+        return includeColumns;
+    }
+
+    public boolean isIncludeProcedures() {
+        return includeProcedures;
+    }
+
+    public boolean isIncludeConstraints() {
+        return includeConstraints;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Whether the capture read every object of every category: no owner, table or type filter,
+     * no category left out and no row limit or offset
+     */
+    public boolean isComplete() {
+        return schemas.isEmpty() && tablePatterns.isEmpty() && tableTypes.isEmpty()
+            && includeTables && includeColumns && includeProcedures && includeConstraints
+            && limit == null && offset == 0;
+    }
+
+    public MetadataDiscoveryResponse getMetadata() {
+        return metadata;
+    }
+
+    public SchemaFingerprint getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Data profiles of this snapshot's tables, keyed by "owner.table"
+     */
+    public Map<String, TableProfile> getProfiles() {
+        return profiles;
+    }
+
+    public void putProfile(TableProfile profile) {
+        profiles.put(profile.getOwner() + "." + profile.getTableName(), profile);
+    }
+
+    public List<OracleTable> getTables() {
+        return metadata.getTables() != null ? metadata.getTables() : List.of();
+    }
+
+    public List<OracleColumn> getColumns() {
+        return metadata.getColumns() != null ? metadata.getColumns() : List.of();
+    }
+
+    public List<OracleProcedure> getProcedures() {
+        return metadata.getProcedures() != null ? metadata.getProcedures() : List.of();
+    }
+
+    public List<OracleConstraint> getConstraints() {
+        return metadata.getConstraints() != null ? metadata.getConstraints() : List.of();
+    }
+}
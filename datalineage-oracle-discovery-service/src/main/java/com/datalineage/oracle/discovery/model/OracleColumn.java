@@ -114,7 +114,8 @@ public class OracleColumn extends BaseEntity {
     }
     
     public OracleColumn(String owner, String tableName, String columnName, String oracleConnectionId) {
-        this();
+        super(MetadataObjectId.of(oracleConnectionId, "column", owner, tableName, columnName));
+        this.id = getId();
         this.owner = owner;
         this.tableName = tableName;
         this.columnName = columnName;
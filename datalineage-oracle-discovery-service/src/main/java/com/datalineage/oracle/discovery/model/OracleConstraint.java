@@ -105,7 +105,8 @@ public class OracleConstraint extends BaseEntity {
     }
     
     public OracleConstraint(String owner, String constraintName, String tableName, String oracleConnectionId) {
-        this();
+        super(MetadataObjectId.of(oracleConnectionId, "constraint", owner, constraintName));
+        this.id = getId();
         this.owner = owner;
         this.constraintName = constraintName;
         this.tableName = tableName;
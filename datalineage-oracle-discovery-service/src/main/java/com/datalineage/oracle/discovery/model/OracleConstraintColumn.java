@@ -50,7 +50,8 @@ public class OracleConstraintColumn extends BaseEntity {
     
     public OracleConstraintColumn(String owner, String constraintName, String tableName, 
                                  String columnName, String oracleConnectionId) {
-        this();
+        super(MetadataObjectId.of(oracleConnectionId, "constraint column", owner, constraintName, columnName));
+        this.id = getId();
         this.owner = owner;
         this.constraintName = constraintName;
         this.tableName = tableName;
@@ -26,6 +26,12 @@ public class OracleProcedure extends BaseEntity {
     @Column(name = "procedure_name")
     private String procedureName;
     
+    @Column(name = "subprogram_id")
+    private Integer subprogramId;
+    
+    @Column(name = "overload")
+    private String overload;
+    
     @Column(name = "object_type")
     private String objectType;
     
@@ -76,9 +82,26 @@ public class OracleProcedure extends BaseEntity {
     }
     
     public OracleProcedure(String owner, String objectName, String oracleConnectionId) {
-        this();
+        this(owner, objectName, null, oracleConnectionId);
+    }
+    
+    public OracleProcedure(String owner, String objectName, String procedureName, String oracleConnectionId) {
+        this(owner, objectName, procedureName, null, null, oracleConnectionId);
+    }
+    
+    /**
+     * Overloads of a package subprogram share its name and differ in subprogram id and overload number
+     */
+    public OracleProcedure(String owner, String objectName, String procedureName, Integer subprogramId,
+                           String overload, String oracleConnectionId) {
+        super(MetadataObjectId.of(oracleConnectionId, "procedure", owner, objectName, procedureName,
+            subprogramId != null ? subprogramId.toString() : null, overload));
+        this.id = getId();
         this.owner = owner;
         this.objectName = objectName;
+        this.procedureName = procedureName;
+        this.subprogramId = subprogramId;
+        this.overload = overload;
         this.oracleConnectionId = oracleConnectionId;
     }
     
@@ -107,6 +130,22 @@ public class OracleProcedure extends BaseEntity {
         this.procedureName = procedureName;
     }
     
+    public Integer getSubprogramId() {
+        return subprogramId;
+    }
+    
+    public void setSubprogramId(Integer subprogramId) {
+        this.subprogramId = subprogramId;
+    }
+    
+    public String getOverload() {
+        return overload;
+    }
+    
+    public void setOverload(String overload) {
+        this.overload = overload;
+    }
+    
     public String getObjectType() {
         return objectType;
     }
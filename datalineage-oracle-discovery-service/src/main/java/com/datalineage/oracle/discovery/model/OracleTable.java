@@ -75,7 +75,8 @@ public class OracleTable extends BaseEntity {
     }
     
     public OracleTable(String owner, String tableName, String oracleConnectionId) {
-        this();
+        super(MetadataObjectId.of(oracleConnectionId, "table", owner, tableName));
+        this.id = getId();
         this.owner = owner;
         this.tableName = tableName;
         this.oracleConnectionId = oracleConnectionId;
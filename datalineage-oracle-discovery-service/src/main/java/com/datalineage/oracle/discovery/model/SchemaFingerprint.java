@@ -0,0 +1,117 @@
+package com.datalineage.oracle.discovery.model;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedMap;
+
+/**
+ * Hierarchical (Merkle-style) fingerprint of a discovered schema.
+ *
+ * Column and constraint hashes roll up into a table hash, table and procedure hashes roll
+ * up into an owner hash, and owner hashes roll up into the connection hash. Each node also
+ * keeps the objects it covers, sorted by natural key, so comparisons can descend only into
+ * subtrees whose hashes differ.
+ */
+public class SchemaFingerprint {
+
+    private final long hash;
+    private final SortedMap<String, OwnerNode> owners;
+
+    public SchemaFingerprint(long hash, SortedMap<String, OwnerNode> owners) {
+        this.hash = hash;
+        this.owners = Collections.unmodifiableSortedMap(owners);
+    }
+
+    public long getHash() {
+        return hash;
+    }
+
+    public SortedMap<String, OwnerNode> getOwners() {
+        return owners;
+    }
+
+    public OwnerNode getOwner(String owner) {
+        return owners.get(owner);
+    }
+
+    /**
+     * Fingerprint of everything owned by one schema
+     */
+    public static class OwnerNode {
+        private final String owner;
+        private final long hash;
+        private final SortedMap<String, TableNode> tables;
+        private final long proceduresHash;
+        private final List<OracleProcedure> procedures;
+
+        public OwnerNode(String owner, long hash, SortedMap<String, TableNode> tables,
+                         long proceduresHash, List<OracleProcedure> procedures) {
+            this.owner = owner;
+            this.hash = hash;
+            this.tables = Collections.unmodifiableSortedMap(tables);
+            this.proceduresHash = proceduresHash;
+            this.procedures = Collections.unmodifiableList(procedures);
+        }
+
+        public String getOwner() {
+            return owner;
+        }
+
+        public long getHash() {
+            return hash;
+        }
+
+        public SortedMap<String, TableNode> getTables() {
+            return tables;
+        }
+
+        public long getProceduresHash() {
+            return proceduresHash;
+        }
+
+        public List<OracleProcedure> getProcedures() {
+            return procedures;
+        }
+    }
+
+    /**
+     * Fingerprint of a table (or view) together with its columns and constraints.
+     * The table itself may be null when only its columns or constraints were discovered.
+     */
+    public static class TableNode {
+        private final String tableName;
+        private final long hash;
+        private final OracleTable table;
+        private final List<OracleColumn> columns;
+        private final List<OracleConstraint> constraints;
+
+        public TableNode(String tableName, long hash, OracleTable table,
+                         List<OracleColumn> columns, List<OracleConstraint> constraints) {
+            this.tableName = tableName;
+            this.hash = hash;
+            this.table = table;
+            this.columns = Collections.unmodifiableList(columns);
+            this.constraints = Collections.unmodifiableList(constraints);
+        }
+
+        public String getTableName() {
+            return tableName;
+        }
+
+        public long getHash() {
+            return hash;
+        }
+
+        public OracleTable getTable() {
+            return table;
+        }
+
+        public List<OracleColumn> getColumns() {
+            return columns;
+        }
+
+        public List<OracleConstraint> getConstraints() {
+            return constraints;
+        }
+    }
+}
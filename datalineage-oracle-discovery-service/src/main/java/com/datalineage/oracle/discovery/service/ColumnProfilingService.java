@@ -0,0 +1,342 @@
+package com.datalineage.oracle.discovery.service;
+
+import com.datalineage.oracle.discovery.dto.OracleConnectionConfig;
+import com.datalineage.oracle.discovery.dto.ProfilingReport;
+import com.datalineage.oracle.discovery.dto.TableProfile;
+import com.datalineage.oracle.discovery.model.MetadataSnapshot;
+import com.datalineage.oracle.discovery.model.OracleColumn;
+import com.datalineage.oracle.discovery.model.OracleTable;
+import com.datalineage.oracle.discovery.model.SchemaFingerprint.OwnerNode;
+import com.datalineage.oracle.discovery.model.SchemaFingerprint.TableNode;
+import com.datalineage.oracle.discovery.service.profiling.ColumnProfiler;
+import com.datalineage.oracle.discovery.service.profiling.ColumnProfiler.ValueKind;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Service profiling column data from row samples of the tables in a snapshot.
+ *
+ * Each table is read once with {@code SAMPLE (n)} and a row cap; values stream straight
+ * into per-column sketches (HyperLogLog, Count-Min top-k, t-digest). Tables are spread over
+ * a bounded set of workers that each reuse one connection. A worker holds a permit of a per-host
+ * semaphore for as long as its connection is open, so the semaphore limits the profiling sessions
+ * open against one database host, across all concurrent requests.
+ */
+@Service
+public class ColumnProfilingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ColumnProfilingService.class);
+
+    private static final double MIN_SAMPLE_PERCENT = 0.000001;
+    private static final int SAMPLE_FETCH_SIZE = 1000;
+
+    @Autowired
+    private OracleConnectionService connectionService;
+
+    @Autowired(required = false)
+    private DiscoveryObservations observations = new DiscoveryObservations();
+
+    @Autowired
+    private MetadataSnapshotService snapshotService;
+
+    @Value("${oracle.discovery.profiling.max-concurrent-tables:8}")
+    private int maxConcurrentTables = 8;
+
+    @Value("${oracle.discovery.profiling.max-concurrent-per-host:2}")
+    private int maxConcurrentPerHost = 2;
+
+    @Value("${oracle.discovery.profiling.target-rows:10000}")
+    private long targetRows = 10000;
+
+    @Value("${oracle.discovery.profiling.default-sample-percent:10}")
+    private double defaultSamplePercent = 10;
+
+    @Value("${oracle.discovery.profiling.max-rows:100000}")
+    private int maxRows = 100000;
+
+    @Value("${oracle.discovery.profiling.top-k:10}")
+    private int topK = 10;
+
+    @Value("${oracle.discovery.profiling.query-timeout-seconds:120}")
+    private int queryTimeoutSeconds = 120;
+
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
+    private final ExecutorService executor = Executors.newCachedThreadPool(new ThreadFactory() {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "column-profiler-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    /**
+     * Profiles the tables of the latest snapshot of a connection and attaches the results to it.
+     * Schema and table pattern filters narrow the tables; a sample percent overrides the
+     * per-table choice derived from the dictionary row count.
+     */
+    public ProfilingReport profileLatestSnapshot(OracleConnectionConfig config, List<String> schemas,
+                                                 List<String> tablePatterns, Double samplePercent) {
+        MetadataSnapshot snapshot = snapshotService.getLatestSnapshot(config.getConnectionId()).orElseThrow(() ->
+            new IllegalArgumentException("No snapshots found for connection: " + config.getConnectionId()));
+
+        long startTime = System.currentTimeMillis();
+        List<ProfileTarget> targets = selectTargets(snapshot, schemas, tablePatterns);
+
+        Queue<ProfileTarget> pending = new ConcurrentLinkedQueue<>(targets);
+        Queue<TableProfile> results = new ConcurrentLinkedQueue<>();
+        Semaphore permits = hostPermits.computeIfAbsent(config.getHost() + ":" + config.getPort(),
+            k -> new Semaphore(Math.max(maxConcurrentPerHost, 1), true));
+
+        // More workers than host permits would only wait for one
+        int workers = Math.min(Math.min(Math.max(maxConcurrentTables, 1), Math.max(maxConcurrentPerHost, 1)),
+            targets.size());
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            futures.add(CompletableFuture.runAsync(
+                () -> drain(config, snapshot.getVersion(), pending, results, permits, samplePercent), executor));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        List<TableProfile> profiles = new ArrayList<>(results);
+        profiles.sort(Comparator.comparing(TableProfile::getOwner).thenComparing(TableProfile::getTableName));
+        profiles.forEach(snapshot::putProfile);
+
+        ProfilingReport report = new ProfilingReport(config.getConnectionId(), snapshot.getVersion());
+        report.setTables(profiles);
+        report.setFailedTables((int) profiles.stream().filter(p -> p.getError() != null).count());
+        report.setProfiledTables(profiles.size() - report.getFailedTables());
+        report.setDurationMs(System.currentTimeMillis() - startTime);
+
+        logger.info("Profiled {} tables of connection {} snapshot v{} in {} ms ({} failed)",
+            report.getProfiledTables(), config.getConnectionId(), snapshot.getVersion(),
+            report.getDurationMs(), report.getFailedTables());
+        return report;
+    }
+
+    /**
+     * Gets the profiles attached to the latest snapshot of a connection
+     */
+    public List<TableProfile> getProfiles(String connectionId) {
+        MetadataSnapshot snapshot = snapshotService.getLatestSnapshot(connectionId).orElseThrow(() ->
+            new IllegalArgumentException("No snapshots found for connection: " + connectionId));
+
+        List<TableProfile> profiles = new ArrayList<>(snapshot.getProfiles().values());
+        profiles.sort(Comparator.comparing(TableProfile::getOwner).thenComparing(TableProfile::getTableName));
+        return profiles;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Worker loop: takes tables until none are left, reusing one connection across them. The host
+     * permit is held from before the first connection is opened until the last one is closed.
+     */
+    private void drain(OracleConnectionConfig config, long snapshotVersion, Queue<ProfileTarget> pending,
+                       Queue<TableProfile> results, Semaphore permits, Double samplePercent) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        Connection connection = null;
+        try {
+            ProfileTarget target;
+            while ((target = pending.poll()) != null) {
+                TableProfile profile = new TableProfile(target.owner, target.tableName);
+                profile.setSnapshotVersion(snapshotVersion);
+                long startTime = System.currentTimeMillis();
+                try {
+                    if (connection == null) {
+                        connection = observations.acquireConnection(connectionService, config, config.getConnectionId());
+                    }
+                    profileTable(connection, target, samplePercent, profile);
+                } catch (SQLException e) {
+                    logger.warn("Failed to profile {}.{}: {}", target.owner, target.tableName, e.getMessage());
+                    profile.setError(e.getMessage());
+                    // The connection may be unusable after a failure; the next table opens a fresh one
+                    connectionService.closeConnection(connection);
+                    connection = null;
+                }
+                profile.setDurationMs(System.currentTimeMillis() - startTime);
+                results.add(profile);
+            }
+        } finally {
+            connectionService.closeConnection(connection);
+            permits.release();
+        }
+    }
+
+    private void profileTable(Connection connection, ProfileTarget target, Double samplePercentOverride,
+                              TableProfile profile) throws SQLException {
+        List<ColumnProfiler> profilers = new ArrayList<>();
+        for (OracleColumn column : target.columns) {
+            ValueKind kind = ValueKind.of(column.getDataType());
+            if (kind != null) {
+                profilers.add(new ColumnProfiler(column.getColumnName(), column.getDataType(), kind, topK));
+            }
+        }
+        if (profilers.isEmpty()) {
+            profile.setError("No columns with a profileable data type");
+            return;
+        }
+        if (target.owner.indexOf(':') >= 0) {
+            profile.setError("Container-qualified tables must be profiled through a connection to their PDB");
+            return;
+        }
+
+        Double samplePercent = samplePercent(target.table, samplePercentOverride);
+        String sql = sampleQuery(target.owner, target.tableName, profilers, samplePercent);
+
+        long rows = 0;
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setQueryTimeout(queryTimeoutSeconds);
+            stmt.setFetchSize(SAMPLE_FETCH_SIZE);
+            stmt.setInt(1, maxRows);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    for (int i = 0; i < profilers.size(); i++) {
+                        profilers.get(i).read(rs, i + 1);
+                    }
+                    rows++;
+                }
+            }
+        }
+
+        profile.setSamplePercent(samplePercent);
+        profile.setSampledRows(rows);
+        for (ColumnProfiler profiler : profilers) {
+            profile.getColumns().add(profiler.toProfile());
+        }
+    }
+
+    /**
+     * Sample percent for a table: an explicit override, else enough to reach the target row
+     * count from the dictionary row count, else the default. Null means read without SAMPLE.
+     */
+    Double samplePercent(OracleTable table, Double override) {
+        double percent;
+        if (override != null) {
+            percent = override;
+        } else if (table != null && table.getNumRows() != null && table.getNumRows() > 0) {
+            percent = targetRows * 100.0 / table.getNumRows();
+        } else {
+            percent = defaultSamplePercent;
+        }
+        return percent >= 100 ? null : Math.max(percent, MIN_SAMPLE_PERCENT);
+    }
+
+    static String sampleQuery(String owner, String tableName, List<ColumnProfiler> profilers, Double samplePercent) {
+        StringBuilder sql = new StringBuilder("SELECT ");
+        for (int i = 0; i < profilers.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(quote(profilers.get(i).getColumnName()));
+        }
+        sql.append(" FROM ").append(quote(owner)).append('.').append(quote(tableName));
+        if (samplePercent != null) {
+            // SAMPLE does not accept bind variables
+            sql.append(String.format(Locale.ROOT, " SAMPLE (%.6f)", samplePercent));
+        }
+        sql.append(" FETCH FIRST ? ROWS ONLY");
+        return sql.toString();
+    }
+
+    private static String quote(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+
+    private List<ProfileTarget> selectTargets(MetadataSnapshot snapshot, List<String> schemas, List<String> tablePatterns) {
+        List<Pattern> patterns = new ArrayList<>();
+        if (tablePatterns != null) {
+            for (String tablePattern : tablePatterns) {
+                patterns.add(likePattern(tablePattern));
+            }
+        }
+
+        List<ProfileTarget> targets = new ArrayList<>();
+        for (OwnerNode owner : snapshot.getFingerprint().getOwners().values()) {
+            if (schemas != null && !schemas.isEmpty()
+                    && schemas.stream().noneMatch(s -> s.equalsIgnoreCase(owner.getOwner()))) {
+                continue;
+            }
+            for (TableNode table : owner.getTables().values()) {
+                if (!patterns.isEmpty() && patterns.stream().noneMatch(p -> p.matcher(table.getTableName()).matches())) {
+                    continue;
+                }
+                List<OracleColumn> columns = new ArrayList<>(table.getColumns());
+                columns.sort(Comparator.comparing(OracleColumn::getColumnId, Comparator.nullsLast(Comparator.naturalOrder())));
+                targets.add(new ProfileTarget(owner.getOwner(), table.getTableName(), table.getTable(), columns));
+            }
+        }
+        return targets;
+    }
+
+    /**
+     * Translates a SQL LIKE pattern into an equivalent case-insensitive regular expression
+     */
+    private static Pattern likePattern(String like) {
+        StringBuilder regex = new StringBuilder();
+        for (char c : like.toCharArray()) {
+            if (c == '%') {
+                regex.append(".*");
+            } else if (c == '_') {
+                regex.append('.');
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE);
+    }
+
+    /**
+     * One table to profile with its columns from the snapshot
+     */
+    private static final class ProfileTarget {
+        private final String owner;
+        private final String tableName;
+        private final OracleTable table;
+        private final List<OracleColumn> columns;
+
+        private ProfileTarget(String owner, String tableName, OracleTable table, List<OracleColumn> columns) {
+            this.owner = owner;
+            this.tableName = tableName;
+            this.table = table;
+            this.columns = columns;
+        }
+    }
+}
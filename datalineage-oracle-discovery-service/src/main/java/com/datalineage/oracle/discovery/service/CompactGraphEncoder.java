@@ -0,0 +1,178 @@
+package com.datalineage.oracle.discovery.service;
+
+import com.datalineage.oracle.discovery.dto.CompactGraph;
+import com.datalineage.oracle.discovery.dto.CompactGraph.AttributeColumn;
+import com.datalineage.oracle.discovery.dto.CompactGraph.AttributeTable;
+import com.datalineage.oracle.discovery.dto.GraphData;
+import com.datalineage.oracle.discovery.dto.GraphEdge;
+import com.datalineage.oracle.discovery.dto.GraphNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Encodes {@link GraphData} into the {@link CompactGraph} wire format.
+ *
+ * "contains" edges become parent pointers, unless a node already has a parent; edge ids and the
+ * fixed "relationship" text of containment edges are not transferred. Everything else is kept:
+ * string ids are replaced by positions and can be rebuilt from type and metadata, and layout
+ * coordinates become one flat x/y array.
+ */
+public final class CompactGraphEncoder {
+
+    static final String CONTAINS = "contains";
+
+    private CompactGraphEncoder() {}
+
+    public static CompactGraph encode(GraphData graph) {
+        CompactGraph compact = new CompactGraph();
+        Dictionary strings = new Dictionary(compact.getStrings());
+        Dictionary nodeTypes = new Dictionary(compact.getNodeTypes());
+        Dictionary edgeTypes = new Dictionary(compact.getEdgeTypes());
+
+        List<GraphNode> nodes = graph.getNodes() != null ? graph.getNodes() : List.of();
+        List<GraphEdge> edges = graph.getEdges() != null ? graph.getEdges() : List.of();
+
+        Map<String, Integer> positions = new HashMap<>(nodes.size() * 2);
+        int[] nodeType = new int[nodes.size()];
+        int[] label = new int[nodes.size()];
+        int[] parent = new int[nodes.size()];
+        Arrays.fill(parent, -1);
+        double[] position = null;
+        Map<String, List<Integer>> nodesByType = new LinkedHashMap<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            GraphNode node = nodes.get(i);
+            positions.put(node.getId(), i);
+            nodeType[i] = nodeTypes.index(node.getType());
+            label[i] = strings.index(node.getLabel());
+            if (node.getPosition() != null) {
+                if (position == null) {
+                    position = new double[2 * nodes.size()];
+                }
+                position[2 * i] = node.getPosition().getX();
+                position[2 * i + 1] = node.getPosition().getY();
+            }
+            nodesByType.computeIfAbsent(node.getType(), k -> new ArrayList<>()).add(i);
+        }
+
+        int[] source = new int[edges.size()];
+        int[] target = new int[edges.size()];
+        int[] type = new int[edges.size()];
+        int edgeCount = 0;
+        List<GraphEdge> kept = new ArrayList<>();
+        Map<String, List<Integer>> edgesByType = new LinkedHashMap<>();
+        for (GraphEdge edge : edges) {
+            Integer from = positions.get(edge.getSource());
+            Integer to = positions.get(edge.getTarget());
+            if (from == null || to == null) {
+                continue; // dangling edges cannot be addressed by position
+            }
+            if (CONTAINS.equals(edge.getType()) && parent[to] < 0) {
+                parent[to] = from;
+                continue;
+            }
+            source[edgeCount] = from;
+            target[edgeCount] = to;
+            type[edgeCount] = edgeTypes.index(edge.getType());
+            edgesByType.computeIfAbsent(edge.getType(), k -> new ArrayList<>()).add(edgeCount);
+            kept.add(edge);
+            edgeCount++;
+        }
+
+        compact.setNodeType(nodeType);
+        compact.setLabel(label);
+        compact.setParent(parent);
+        compact.setPosition(position);
+        compact.setEdgeSource(Arrays.copyOf(source, edgeCount));
+        compact.setEdgeTarget(Arrays.copyOf(target, edgeCount));
+        compact.setEdgeType(Arrays.copyOf(type, edgeCount));
+
+        for (Map.Entry<String, List<Integer>> entry : nodesByType.entrySet()) {
+            List<Map<String, Object>> metadata = new ArrayList<>(entry.getValue().size());
+            for (int index : entry.getValue()) {
+                metadata.add(nodes.get(index).getMetadata());
+            }
+            compact.getNodeAttributes().add(attributes(entry.getKey(), entry.getValue(), metadata, strings));
+        }
+        for (Map.Entry<String, List<Integer>> entry : edgesByType.entrySet()) {
+            List<Map<String, Object>> metadata = new ArrayList<>(entry.getValue().size());
+            for (int index : entry.getValue()) {
+                metadata.add(kept.get(index).getMetadata());
+            }
+            compact.getEdgeAttributes().add(attributes(entry.getKey(), entry.getValue(), metadata, strings));
+        }
+
+        compact.setStatistics(graph.getStatistics());
+        return compact;
+    }
+
+    private static AttributeTable attributes(String type, List<Integer> rows, List<Map<String, Object>> metadata,
+                                             Dictionary strings) {
+        AttributeTable table = new AttributeTable(type, rows.stream().mapToInt(Integer::intValue).toArray());
+
+        TreeSet<String> keys = new TreeSet<>();
+        for (Map<String, Object> values : metadata) {
+            if (values != null) {
+                keys.addAll(values.keySet());
+            }
+        }
+        for (String key : keys) {
+            List<Object> values = new ArrayList<>(metadata.size());
+            for (Map<String, Object> row : metadata) {
+                values.add(row != null ? row.get(key) : null);
+            }
+            String kind = kind(values);
+            if (AttributeColumn.STRING.equals(kind)) {
+                values.replaceAll(value -> strings.index((String) value));
+            }
+            table.getColumns().add(new AttributeColumn(key, kind, values));
+        }
+        return table;
+    }
+
+    private static String kind(List<Object> values) {
+        String kind = null;
+        for (Object value : values) {
+            if (value == null) {
+                continue;
+            }
+            String valueKind = value instanceof String ? AttributeColumn.STRING
+                : value instanceof Number ? AttributeColumn.NUMBER
+                : value instanceof Boolean ? AttributeColumn.BOOLEAN
+                : AttributeColumn.OBJECT;
+            if (kind == null) {
+                kind = valueKind;
+            } else if (!kind.equals(valueKind)) {
+                return AttributeColumn.OBJECT;
+            }
+        }
+        return kind != null ? kind : AttributeColumn.OBJECT;
+    }
+
+    /**
+     * Appends each distinct value once and hands out its position; null maps to -1
+     */
+    private static final class Dictionary {
+        private final List<String> values;
+        private final Map<String, Integer> positions = new HashMap<>();
+
+        private Dictionary(List<String> values) {
+            this.values = values;
+        }
+
+        private int index(String value) {
+            if (value == null) {
+                return -1;
+            }
+            return positions.computeIfAbsent(value, v -> {
+                values.add(v);
+                return values.size() - 1;
+            });
+        }
+    }
+}
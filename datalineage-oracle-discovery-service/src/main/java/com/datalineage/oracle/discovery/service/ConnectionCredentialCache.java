@@ -0,0 +1,143 @@
+package com.datalineage.oracle.discovery.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Short-lived cache of the decrypted secrets of stored connections, so testing a connection or
+ * starting a discovery does not decrypt up to four fields every time.
+ *
+ * Entries are keyed by connection and field and only served while the stored ciphertext is unchanged.
+ * Plain text is held as a char array that is overwritten with zeros when the entry expires, is
+ * replaced or is evicted; a sweep runs one TTL after every load so idle secrets do not outlive it.
+ * Updating or deleting a connection drops its entries.
+ */
+@Service
+public class ConnectionCredentialCache {
+
+    @Autowired
+    private EncryptionService encryptionService;
+
+    @Value("${oracle.credentials.cache.ttl-seconds:60}")
+    private long ttlSeconds = 60;
+
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    private LongSupplier nanoTime = System::nanoTime;
+
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "credential-cache-sweep");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Setters for testing purposes
+    public void setEncryptionService(EncryptionService encryptionService) {
+        this.encryptionService = encryptionService;
+    }
+
+    public void setTtlSeconds(long ttlSeconds) {
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    void setNanoTime(LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Decrypted value of an encrypted field of a stored connection; connections not saved yet are not cached
+     */
+    public String decrypt(String connectionId, String field, String encrypted) {
+        if (connectionId == null || encrypted == null || ttlSeconds <= 0) {
+            return encryptionService.decrypt(encrypted);
+        }
+        String key = connectionId + '|' + field;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.encrypted.equals(encrypted) && nanoTime.getAsLong() - entry.expiresAtNanos < 0) {
+                return new String(entry.secret);
+            }
+        }
+
+        String secret = encryptionService.decrypt(encrypted);
+        if (secret == null) {
+            return null;
+        }
+        Entry entry = new Entry(connectionId, encrypted, secret.toCharArray(),
+            nanoTime.getAsLong() + TimeUnit.SECONDS.toNanos(ttlSeconds));
+        synchronized (this) {
+            Entry previous = entries.put(key, entry);
+            if (previous != null) {
+                previous.zeroize();
+            }
+        }
+        sweeper.schedule(this::purgeExpired, ttlSeconds + 1, TimeUnit.SECONDS);
+        return secret;
+    }
+
+    /**
+     * Drops and zeroizes every entry of a connection, e.g. after it was updated or deleted
+     */
+    public synchronized void evict(String connectionId) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.connectionId.equals(connectionId)) {
+                entry.zeroize();
+                iterator.remove();
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized void purgeExpired() {
+        long now = nanoTime.getAsLong();
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (now - entry.expiresAtNanos >= 0) {
+                entry.zeroize();
+                iterator.remove();
+            }
+        }
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        sweeper.shutdownNow();
+        entries.values().forEach(Entry::zeroize);
+        entries.clear();
+    }
+
+    private static final class Entry {
+        private final String connectionId;
+        private final String encrypted;
+        private final char[] secret;
+        private final long expiresAtNanos;
+
+        private Entry(String connectionId, String encrypted, char[] secret, long expiresAtNanos) {
+            this.connectionId = connectionId;
+            this.encrypted = encrypted;
+            this.secret = secret;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        private void zeroize() {
+            Arrays.fill(secret, '\0');
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.datalineage.oracle.discovery.service;
+
+import com.datalineage.oracle.discovery.model.DictionaryScope;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service for choosing the fastest dictionary views a connection may read.
+ *
+ * The capability is detected once per connection by probing the views themselves, so both
+ * SELECT_CATALOG_ROLE and SELECT ANY DICTIONARY grants are recognised, and cached until the
+ * connection is updated or deleted.
+ */
+@Service
+public class DictionaryAccessService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DictionaryAccessService.class);
+
+    private static final String ROOT_CONTAINER = "CDB$ROOT";
+
+    /**
+     * AUTO detects the best scope; ALL, DBA or CDB force one
+     */
+    @Value("${oracle.discovery.dictionary.scope:AUTO}")
+    private String configuredScope = "AUTO";
+
+    private final Map<String, DictionaryScope> scopes = new ConcurrentHashMap<>();
+
+    // Setter for testing purposes
+    public void setConfiguredScope(String configuredScope) {
+        this.configuredScope = configuredScope;
+    }
+
+    /**
+     * Gets the cached scope of a connection, detecting it on first use
+     */
+    public DictionaryScope resolveScope(String connectionId, Connection connection) {
+        if (!"AUTO".equalsIgnoreCase(configuredScope)) {
+            return DictionaryScope.valueOf(configuredScope.toUpperCase());
+        }
+        return scopes.computeIfAbsent(connectionId, id -> detectScope(id, connection));
+    }
+
+    /**
+     * Forgets the detected scope, e.g. after the connection's credentials changed
+     */
+    public void evictScope(String connectionId) {
+        scopes.remove(connectionId);
+    }
+
+    private DictionaryScope detectScope(String connectionId, Connection connection) {
+        DictionaryScope scope = DictionaryScope.ALL;
+        if (ROOT_CONTAINER.equals(currentContainer(connection)) && canRead(connection, DictionaryScope.CDB)) {
+            scope = DictionaryScope.CDB;
+        } else if (canRead(connection, DictionaryScope.DBA)) {
+            scope = DictionaryScope.DBA;
+        }
+
+        logger.info("Using {} dictionary views for connection {}", scope, connectionId);
+        return scope;
+    }
+
+    private String currentContainer(Connection connection) {
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "SELECT SYS_CONTEXT('USERENV', 'CON_NAME') FROM dual");
+             ResultSet rs = stmt.executeQuery()) {
+            return rs.next() ? rs.getString(1) : null;
+        } catch (SQLException e) {
+            // Pre-12c databases have no containers
+            return null;
+        }
+    }
+
+    private boolean canRead(Connection connection, DictionaryScope scope) {
+        String query = "SELECT 1 FROM " + scope.view("objects") + " WHERE ROWNUM = 1";
+        try (PreparedStatement stmt = connection.prepareStatement(query);
+             ResultSet rs = stmt.executeQuery()) {
+            rs.next();
+            return true;
+        } catch (SQLException e) {
+            // ORA-00942: the account cannot see the view
+            logger.debug("No access to {}: {}", scope.view("objects"), e.getMessage());
+            return false;
+        }
+    }
+}
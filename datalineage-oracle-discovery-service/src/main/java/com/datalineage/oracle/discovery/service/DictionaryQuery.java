@@ -0,0 +1,37 @@
+package com.datalineage.oracle.discovery.service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * A dictionary SELECT with its positional bind values
+ */
+public final class DictionaryQuery {
+
+    private final String sql;
+    private final List<Object> params;
+
+    public DictionaryQuery(String sql, List<Object> params) {
+        this.sql = sql;
+        this.params = List.copyOf(params);
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public List<Object> getParams() {
+        return params;
+    }
+
+    /**
+     * Binds the values starting at the given 1-based position and returns the next free position
+     */
+    public int bind(PreparedStatement stmt, int position) throws SQLException {
+        for (Object param : params) {
+            stmt.setObject(position++, param);
+        }
+        return position;
+    }
+}
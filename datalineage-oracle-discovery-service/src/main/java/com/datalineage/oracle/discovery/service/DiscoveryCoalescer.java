@@ -0,0 +1,103 @@
+package com.datalineage.oracle.discovery.service;
+
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Single-flight for discoveries: concurrent callers with the same key share one in-flight
+ * discovery instead of each opening a session and running the same dictionary scans.
+ *
+ * The first caller runs the discovery on its own thread and completes a shared future; callers
+ * arriving meanwhile wait on that future for at most the wait timeout. Failures reach every
+ * waiting caller. The key is released as soon as the discovery finishes, so later callers start
+ * a new one; keeping results around is the job of {@link DiscoveryResultCache}.
+ */
+@Component
+public class DiscoveryCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(DiscoveryCoalescer.class);
+
+    @Value("${oracle.discovery.coalescing.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${oracle.discovery.coalescing.wait-timeout-seconds:120}")
+    private long waitTimeoutSeconds = 120;
+
+    private final ConcurrentMap<String, CompletableFuture<MetadataDiscoveryResponse>> inFlight = new ConcurrentHashMap<>();
+
+    // Setter for testing purposes
+    public void setWaitTimeoutSeconds(long waitTimeoutSeconds) {
+        this.waitTimeoutSeconds = waitTimeoutSeconds;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Runs the discovery, or waits for the identical one already running. Waiting callers receive
+     * the same response instance as the caller that ran it.
+     */
+    public MetadataDiscoveryResponse execute(String key, DiscoveryResultCache.Loader loader) throws SQLException {
+        CompletableFuture<MetadataDiscoveryResponse> flight = new CompletableFuture<>();
+        CompletableFuture<MetadataDiscoveryResponse> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            return await(key, running);
+        }
+
+        try {
+            MetadataDiscoveryResponse response = loader.load();
+            flight.complete(response);
+            return response;
+        } catch (SQLException | RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    private MetadataDiscoveryResponse await(String key, CompletableFuture<MetadataDiscoveryResponse> running)
+            throws SQLException {
+        logger.debug("Joining in-flight discovery {}", key);
+        try {
+            return running.get(waitTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            throw new SQLTimeoutException("Timed out after " + waitTimeoutSeconds
+                + "s waiting for an identical discovery already running", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for an identical discovery already running", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException sqlException) {
+                // New exception so the stack trace shows this caller, keeping Oracle's error code
+                throw new SQLException(sqlException.getMessage(), sqlException.getSQLState(),
+                    sqlException.getErrorCode(), sqlException);
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new SQLException("Discovery failed: " + cause.getMessage(), cause);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.datalineage.oracle.discovery.service;
+
+import com.datalineage.oracle.discovery.dto.OracleConnectionConfig;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer observations of the discovery pipeline.
+ *
+ * With actuator on the classpath every observation becomes a timer with a long task timer
+ * ({@code <name>.active}) for in-flight work; percentile histograms are switched on under
+ * {@code management.metrics.distribution}. Low cardinality keys (connection, host, category,
+ * ...) become meter tags, row and node counts are high cardinality keys carried on traces.
+ * Without a registry bean the observations are no-ops.
+ */
+@Component
+public class DiscoveryObservations {
+
+    public static final String DISCOVERY = "oracle.discovery";
+    public static final String EXTRACTION = "oracle.discovery.extraction";
+    public static final String CONNECTION_ACQUIRE = "oracle.connection.acquire";
+    public static final String GRAPH_TRANSFORM = "oracle.graph.transform";
+
+    @Autowired(required = false)
+    private ObservationRegistry observationRegistry = ObservationRegistry.NOOP;
+
+    // Setter for testing purposes
+    public void setObservationRegistry(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    /**
+     * Whole metadata discovery of one connection, from connecting to the finished response
+     */
+    public Observation discovery(OracleConnectionConfig config, String connectionId) {
+        return connectionObservation(DISCOVERY, config, connectionId)
+            .contextualName("oracle discovery");
+    }
+
+    /**
+     * One dictionary category, e.g. "tables" or "column_comments": query execution plus row mapping
+     */
+    public Observation extraction(OracleConnectionConfig config, String connectionId, String category) {
+        return connectionObservation(EXTRACTION, config, connectionId)
+            .lowCardinalityKeyValue("category", category)
+            .contextualName("oracle extract " + category);
+    }
+
+    /**
+     * Graph building; kind is "schema" for a whole response or "table" for one table's neighbourhood
+     */
+    public Observation graphTransform(String kind) {
+        return Observation.createNotStarted(GRAPH_TRANSFORM, observationRegistry)
+            .lowCardinalityKeyValue("kind", kind)
+            .contextualName("graph transform " + kind);
+    }
+
+    /**
+     * Opens a connection, timing how long the driver takes to hand it out
+     */
+    public Connection acquireConnection(OracleConnectionService connectionService, OracleConnectionConfig config,
+                                        String connectionId) throws SQLException {
+        Observation observation = connectionObservation(CONNECTION_ACQUIRE, config, connectionId)
+            .lowCardinalityKeyValue("authentication", String.valueOf(config.getAuthenticationType()))
+            .contextualName("oracle connect")
+            .start();
+        try {
+            return connectionService.createConnection(config);
+        } catch (SQLException | RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    /**
+     * Runs work inside a started observation, recording failures on it
+     */
+    public <T> T observe(Observation observation, SqlWork<T> work) throws SQLException {
+        observation.start();
+        try (Observation.Scope scope = observation.openScope()) {
+            return work.run();
+        } catch (SQLException | RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    /**
+     * Records the rows read and the resulting throughput on an observation still running
+     */
+    public static void recordRows(Observation observation, long rows, long startNanos) {
+        long elapsedNanos = Math.max(1, System.nanoTime() - startNanos);
+        long rowsPerSecond = rows * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        observation.highCardinalityKeyValue("rows", Long.toString(rows));
+        observation.highCardinalityKeyValue("rows.per.second", Long.toString(rowsPerSecond));
+    }
+
+    private Observation connectionObservation(String name, OracleConnectionConfig config, String connectionId) {
+        return Observation.createNotStarted(name, observationRegistry)
+            .lowCardinalityKeyValue("connection", connectionId != null ? connectionId : "none")
+            .lowCardinalityKeyValue("host", config.getHost() != null ? config.getHost() : "none");
+    }
+
+    @FunctionalInterface
+    public interface SqlWork<T> {
+        T run() throws SQLException;
+    }
+}
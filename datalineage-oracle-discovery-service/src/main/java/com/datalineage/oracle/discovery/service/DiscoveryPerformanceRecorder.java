@@ -0,0 +1,269 @@
+package com.datalineage.oracle.discovery.service;
+
+import com.datalineage.oracle.discovery.dto.DiscoveryPerformance;
+import com.datalineage.oracle.discovery.dto.DiscoveryPerformance.QueryPerformance;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.Date;
+
+/**
+ * Collects the {@link DiscoveryPerformance} breakdown of one discovery request on the request thread.
+ *
+ * A disabled recorder ignores every call and hands result sets back unwrapped, so requests that
+ * did not ask for the breakdown pay nothing for it. An enabled one wraps each result set to time
+ * the driver's {@code next()} calls apart from mapping and to add up the size of the values read.
+ */
+class DiscoveryPerformanceRecorder {
+
+    private static final com.sun.management.ThreadMXBean THREADS = threadMXBean();
+    private static final DiscoveryPerformanceRecorder DISABLED = new DiscoveryPerformanceRecorder(null, 0);
+
+    private final DiscoveryPerformance performance;
+    private final int fetchSize;
+    private final long startAllocatedBytes;
+
+    private DiscoveryPerformanceRecorder(DiscoveryPerformance performance, int fetchSize) {
+        this.performance = performance;
+        this.fetchSize = Math.max(1, fetchSize);
+        this.startAllocatedBytes = performance != null ? allocatedBytes() : -1;
+    }
+
+    static DiscoveryPerformanceRecorder start(boolean enabled, int fetchSize) {
+        if (!enabled) {
+            return DISABLED;
+        }
+        DiscoveryPerformance performance = new DiscoveryPerformance();
+        performance.setFetchSize(fetchSize);
+        return new DiscoveryPerformanceRecorder(performance, fetchSize);
+    }
+
+    boolean isEnabled() {
+        return performance != null;
+    }
+
+    void connectionAcquired(long startNanos) {
+        if (isEnabled()) {
+            performance.setConnectionAcquisitionMs(millisSince(startNanos));
+        }
+    }
+
+    void scopeResolved(long startNanos) {
+        if (isEnabled()) {
+            performance.setDictionaryScopeMs(millisSince(startNanos));
+        }
+    }
+
+    /**
+     * Starts timing one query; its execute phase runs until {@link QueryTimer#executed()}
+     */
+    QueryTimer query(String category) {
+        return new QueryTimer(this, category);
+    }
+
+    /**
+     * Totals the recorded queries; null for a disabled recorder
+     */
+    DiscoveryPerformance finish() {
+        if (!isEnabled()) {
+            return null;
+        }
+        double execute = 0;
+        double fetch = 0;
+        double mapping = 0;
+        double comments = 0;
+        long roundTrips = 0;
+        long rows = 0;
+        long bytes = 0;
+        for (QueryPerformance query : performance.getQueries()) {
+            execute += query.getExecuteMs();
+            fetch += query.getFetchMs();
+            mapping += query.getMappingMs();
+            if (query.getCategory().endsWith("_comments")) {
+                comments += query.getExecuteMs() + query.getFetchMs() + query.getMappingMs();
+            }
+            roundTrips += query.getRoundTrips();
+            rows += query.getRows();
+            bytes += query.getBytes();
+        }
+        performance.setExecuteMs(round(execute));
+        performance.setFetchMs(round(fetch));
+        performance.setMappingMs(round(mapping));
+        performance.setCommentEnrichmentMs(round(comments));
+        performance.setRoundTrips(roundTrips);
+        performance.setRowsFetched(rows);
+        performance.setBytesFetched(bytes);
+        if (startAllocatedBytes >= 0) {
+            performance.setAllocatedBytes(allocatedBytes() - startAllocatedBytes);
+        }
+        return performance;
+    }
+
+    /**
+     * Timing of one query: execution, then reading its result set
+     */
+    static final class QueryTimer {
+
+        private final DiscoveryPerformanceRecorder recorder;
+        private final QueryPerformance query;
+        private final long startAllocatedBytes;
+        private long phaseStartNanos;
+        private MeasuringResultSet measuring;
+
+        private QueryTimer(DiscoveryPerformanceRecorder recorder, String category) {
+            this.recorder = recorder;
+            if (recorder.isEnabled()) {
+                this.query = new QueryPerformance(category);
+                this.startAllocatedBytes = allocatedBytes();
+                this.phaseStartNanos = System.nanoTime();
+            } else {
+                this.query = null;
+                this.startAllocatedBytes = -1;
+            }
+        }
+
+        /**
+         * Ends the execute phase, one round trip
+         */
+        void executed() {
+            if (query != null) {
+                query.setExecuteMs(millisSince(phaseStartNanos));
+                query.setRoundTrips(1);
+                phaseStartNanos = System.nanoTime();
+            }
+        }
+
+        /**
+         * Starts reading; the returned result set must be used instead of the given one
+         */
+        ResultSet measure(ResultSet rs) {
+            if (query == null) {
+                return rs;
+            }
+            measuring = new MeasuringResultSet(rs);
+            phaseStartNanos = System.nanoTime();
+            return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                new Class<?>[] {ResultSet.class}, measuring);
+        }
+
+        /**
+         * Ends reading; time outside the driver's next() counts as mapping
+         */
+        void fetched(long rows) {
+            if (query == null) {
+                return;
+            }
+            long readNanos = System.nanoTime() - phaseStartNanos;
+            long nextNanos = measuring != null ? measuring.nextNanos : 0;
+            query.setFetchMs(round(nextNanos / 1_000_000.0));
+            query.setMappingMs(round(Math.max(0, readNanos - nextNanos) / 1_000_000.0));
+            query.setRows(rows);
+            query.setBytes(measuring != null ? measuring.bytes : 0);
+            // The last fetch returns the remaining rows together with end-of-data
+            query.setRoundTrips(query.getRoundTrips() + rows / recorder.fetchSize + 1);
+            if (startAllocatedBytes >= 0) {
+                query.setAllocatedBytes(allocatedBytes() - startAllocatedBytes);
+            }
+            recorder.performance.getQueries().add(query);
+        }
+
+        /**
+         * Ends a query that returns no result set of its own, like the single round-trip block
+         */
+        void finishExecuteOnly() {
+            if (query == null) {
+                return;
+            }
+            executed();
+            if (startAllocatedBytes >= 0) {
+                query.setAllocatedBytes(allocatedBytes() - startAllocatedBytes);
+            }
+            recorder.performance.getQueries().add(query);
+        }
+    }
+
+    /**
+     * Result set handler timing next() and summing the size of every value read by a getter
+     */
+    private static final class MeasuringResultSet implements InvocationHandler {
+
+        private final ResultSet delegate;
+        private long nextNanos;
+        private long bytes;
+
+        private MeasuringResultSet(ResultSet delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            try {
+                if (method.getName().equals("next")) {
+                    long start = System.nanoTime();
+                    try {
+                        return method.invoke(delegate, args);
+                    } finally {
+                        nextNanos += System.nanoTime() - start;
+                    }
+                }
+                Object result = method.invoke(delegate, args);
+                if (args != null && args.length == 1 && method.getName().startsWith("get")) {
+                    bytes += sizeOf(result);
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Approximate size of a column value as transferred by Oracle
+     */
+    static long sizeOf(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String) {
+            return ((String) value).length();
+        }
+        if (value instanceof byte[]) {
+            return ((byte[]) value).length;
+        }
+        if (value instanceof Timestamp) {
+            return 11;
+        }
+        if (value instanceof Date) {
+            return 7;
+        }
+        if (value instanceof Number) {
+            return 8;
+        }
+        return 0;
+    }
+
+    private static double millisSince(long startNanos) {
+        return round((System.nanoTime() - startNanos) / 1_000_000.0);
+    }
+
+    private static double round(double millis) {
+        return Math.round(millis * 1000) / 1000.0;
+    }
+
+    private static long allocatedBytes() {
+        return THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads;
+        }
+        return null;
+    }
+}
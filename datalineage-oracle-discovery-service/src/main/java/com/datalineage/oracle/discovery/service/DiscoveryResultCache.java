@@ -0,0 +1,342 @@
+package com.datalineage.oracle.discovery.service;
+
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryRequest;
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryResponse;
+import com.datalineage.oracle.discovery.dto.OracleConnectionConfig;
+import com.datalineage.oracle.discovery.model.DdlWatermark;
+import com.datalineage.oracle.discovery.model.OracleColumn;
+import com.datalineage.oracle.discovery.model.OracleConstraint;
+import com.datalineage.oracle.discovery.model.OracleProcedure;
+import com.datalineage.oracle.discovery.model.OracleTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache of discovery responses for the interactive endpoints, so clicking around the UI does not
+ * rescan the Oracle dictionary for inputs it has just read.
+ *
+ * Entries are keyed by connection, the database account, a keyed digest of its credentials and the
+ * normalized request, so a caller only gets a hit with the credentials the entry was loaded with. They
+ * expire after a TTL and are evicted least recently used once their estimated size exceeds the byte budget. With
+ * DDL validation a hit is only served after a MAX(LAST_DDL_TIME) probe found no owner changed since
+ * the entry was loaded. Updating or deleting a connection drops its entries.
+ */
+@Service
+public class DiscoveryResultCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(DiscoveryResultCache.class);
+
+    private static final String DIGEST_ALGORITHM = "HmacSHA256";
+
+    // Random per process: keys never leave memory, and a digest is useless for guessing passwords offline
+    private static final SecretKey DIGEST_KEY = digestKey();
+
+    // Mac instances are not thread safe; each thread reuses its own
+    private static final ThreadLocal<Mac> MACS = ThreadLocal.withInitial(() -> {
+        try {
+            Mac mac = Mac.getInstance(DIGEST_ALGORITHM);
+            mac.init(DIGEST_KEY);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Mac " + DIGEST_ALGORITHM + " not available", e);
+        }
+    });
+
+    @Autowired
+    private OracleDdlProbeService ddlProbeService;
+
+    @Value("${oracle.discovery.cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${oracle.discovery.cache.max-bytes:268435456}")
+    private long maxBytes = 256L * 1024 * 1024;
+
+    @Value("${oracle.discovery.cache.ttl-seconds:300}")
+    private long ttlSeconds = 300;
+
+    @Value("${oracle.discovery.cache.validate-ddl:false}")
+    private boolean validateDdl = false;
+
+    // Access ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    // Setters for testing purposes
+    public void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public void setTtlSeconds(long ttlSeconds) {
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    public void setValidateDdl(boolean validateDdl) {
+        this.validateDdl = validateDdl;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the cached response for the request, or runs the loader and caches its result.
+     * Hits are returned as a copy whose statistics are marked as served from cache.
+     */
+    public MetadataDiscoveryResponse get(OracleConnectionConfig config, MetadataDiscoveryRequest request,
+                                         Loader loader) throws SQLException {
+        String key = cacheKey(config, request);
+        Entry entry = lookup(key);
+        if (entry != null && validateDdl && !unchanged(config, request, entry)) {
+            logger.debug("DDL changed since discovery was cached for connection {}", request.getConnectionId());
+            remove(key, entry);
+            entry = null;
+        }
+        if (entry != null) {
+            return cachedCopy(entry.response);
+        }
+
+        // Probe before loading, so DDL running during the discovery invalidates the entry next time
+        Map<String, DdlWatermark> watermarks = validateDdl ? probe(config, request) : null;
+        MetadataDiscoveryResponse response = loader.load();
+        put(key, new Entry(request.getConnectionId(), response, estimateBytes(response), watermarks,
+            System.nanoTime() + TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        return response;
+    }
+
+    /**
+     * Drops every entry of a connection, e.g. after it was updated or deleted
+     */
+    public synchronized void evict(String connectionId) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.connectionId.equals(connectionId)) {
+                totalBytes -= entry.bytes;
+                iterator.remove();
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * Key of a request: connection, account and credential digest, then every input that changes the
+     * result. Values are kept exactly as they are bound, since dictionary IN and LIKE filters compare
+     * case-sensitively; only the order of list inputs is ignored.
+     */
+    static String cacheKey(OracleConnectionConfig config, MetadataDiscoveryRequest request) {
+        StringBuilder key = new StringBuilder()
+            .append(request.getConnectionId()).append('|')
+            .append(config.getHost()).append(':').append(config.getPort()).append('/').append(config.getServiceName())
+            .append('|').append(config.getUsername() != null ? config.getUsername() : "")
+            .append('|').append(credentialDigest(config))
+            .append('|').append(normalize(request.getSchemas()))
+            .append('|').append(normalize(request.getTablePatterns()))
+            .append('|').append(normalize(request.getTableTypes()))
+            .append('|').append(request.isIncludeTables() ? 'T' : '-')
+            .append(request.isIncludeColumns() ? 'C' : '-')
+            .append(request.isIncludeProcedures() ? 'P' : '-')
+            .append(request.isIncludeConstraints() ? 'K' : '-')
+            .append('|').append(request.getLimit()).append('|').append(request.getOffset());
+        return key.toString();
+    }
+
+    /**
+     * HMAC of everything the database checks at login; the password itself never becomes part of a key
+     */
+    static String credentialDigest(OracleConnectionConfig config) {
+        Mac mac = MACS.get();
+        for (String value : new String[] {
+            config.getAuthenticationType() != null ? config.getAuthenticationType().name() : null,
+            config.getPassword(), config.getKerberosPrincipal(), config.getKerberosKeytabPath()}) {
+            if (value == null) {
+                mac.update((byte) 1);
+            } else {
+                mac.update(value.getBytes(StandardCharsets.UTF_8));
+            }
+            mac.update((byte) 0);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(mac.doFinal());
+    }
+
+    private static SecretKey digestKey() {
+        try {
+            return KeyGenerator.getInstance(DIGEST_ALGORITHM).generateKey();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Key generator " + DIGEST_ALGORITHM + " not available", e);
+        }
+    }
+
+    /**
+     * Rough heap footprint of a response: object headers and fields plus two bytes per character
+     */
+    static long estimateBytes(MetadataDiscoveryResponse response) {
+        long bytes = 256;
+        if (response.getTables() != null) {
+            for (OracleTable table : response.getTables()) {
+                bytes += 200 + strings(table.getOwner(), table.getTableName(), table.getTableType(),
+                    table.getTablespaceName(), table.getStatus(), table.getComments());
+            }
+        }
+        if (response.getColumns() != null) {
+            for (OracleColumn column : response.getColumns()) {
+                bytes += 280 + strings(column.getOwner(), column.getTableName(), column.getColumnName(),
+                    column.getDataType(), column.getDataDefault(), column.getComments());
+            }
+        }
+        if (response.getProcedures() != null) {
+            for (OracleProcedure procedure : response.getProcedures()) {
+                bytes += 200 + strings(procedure.getOwner(), procedure.getObjectName(),
+                    procedure.getProcedureName(), procedure.getOverload(), procedure.getObjectType());
+            }
+        }
+        if (response.getConstraints() != null) {
+            for (OracleConstraint constraint : response.getConstraints()) {
+                bytes += 240 + strings(constraint.getOwner(), constraint.getConstraintName(),
+                    constraint.getTableName(), constraint.getrOwner(), constraint.getrConstraintName(),
+                    constraint.getSearchConditionVc());
+            }
+        }
+        return bytes;
+    }
+
+    private synchronized Entry lookup(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && System.nanoTime() - entry.expiresAtNanos > 0) {
+            entries.remove(key);
+            totalBytes -= entry.bytes;
+            return null;
+        }
+        return entry;
+    }
+
+    private synchronized void put(String key, Entry entry) {
+        if (entry.bytes > maxBytes) {
+            logger.debug("Discovery result of {} bytes exceeds the cache budget, not cached", entry.bytes);
+            return;
+        }
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            totalBytes -= previous.bytes;
+        }
+        totalBytes += entry.bytes;
+
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            totalBytes -= eldest.next().bytes;
+            eldest.remove();
+        }
+    }
+
+    private synchronized void remove(String key, Entry entry) {
+        if (entries.remove(key, entry)) {
+            totalBytes -= entry.bytes;
+        }
+    }
+
+    private boolean unchanged(OracleConnectionConfig config, MetadataDiscoveryRequest request, Entry entry) {
+        if (entry.watermarks == null) {
+            return false;
+        }
+        try {
+            Set<String> changed = ddlProbeService.changedOwners(entry.watermarks, probe(config, request));
+            return changed.isEmpty();
+        } catch (SQLException e) {
+            logger.warn("DDL probe failed for connection {}, rediscovering: {}", request.getConnectionId(), e.getMessage());
+            return false;
+        }
+    }
+
+    private Map<String, DdlWatermark> probe(OracleConnectionConfig config, MetadataDiscoveryRequest request)
+            throws SQLException {
+        return ddlProbeService.probeOwners(config, request.getSchemas());
+    }
+
+    private static MetadataDiscoveryResponse cachedCopy(MetadataDiscoveryResponse cached) {
+        MetadataDiscoveryResponse copy = new MetadataDiscoveryResponse(cached.getConnectionId());
+        copy.setTables(cached.getTables());
+        copy.setColumns(cached.getColumns());
+        copy.setProcedures(cached.getProcedures());
+        copy.setConstraints(cached.getConstraints());
+        MetadataDiscoveryResponse.DiscoveryStatistics stats = cached.getStatistics();
+        if (stats != null) {
+            MetadataDiscoveryResponse.DiscoveryStatistics copyStats = new MetadataDiscoveryResponse.DiscoveryStatistics(
+                stats.getTotalTables(), stats.getTotalColumns(), stats.getTotalProcedures(),
+                stats.getTotalConstraints(), stats.getDiscoveryTimeMs());
+            copyStats.setDictionaryScope(stats.getDictionaryScope());
+            copyStats.setFetchStrategy(stats.getFetchStrategy());
+            copyStats.setServedFromCache(true);
+            copy.setStatistics(copyStats);
+        }
+        return copy;
+    }
+
+    private static String normalize(List<String> values) {
+        if (values == null || values.isEmpty()) {
+            return "";
+        }
+        List<String> normalized = new ArrayList<>(values);
+        normalized.sort(null);
+        // A separator that cannot appear in a name, so ["A,B"] and ["A", "B"] stay apart
+        return String.join("\u0000", normalized);
+    }
+
+    private static long strings(String... values) {
+        long bytes = 0;
+        for (String value : values) {
+            if (value != null) {
+                bytes += 40 + 2L * value.length();
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Runs the discovery on a miss
+     */
+    @FunctionalInterface
+    public interface Loader {
+        MetadataDiscoveryResponse load() throws SQLException;
+    }
+
+    private static final class Entry {
+        private final String connectionId;
+        private final MetadataDiscoveryResponse response;
+        private final long bytes;
+        private final Map<String, DdlWatermark> watermarks;
+        private final long expiresAtNanos;
+
+        private Entry(String connectionId, MetadataDiscoveryResponse response, long bytes,
+                      Map<String, DdlWatermark> watermarks, long expiresAtNanos) {
+            this.connectionId = connectionId;
+            this.response = response;
+            this.bytes = bytes;
+            this.watermarks = watermarks;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+}
@@ -11,6 +11,7 @@ import javax.crypto.spec.SecretKeySpec;
 import java.util.Base64;
 import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
+import java.util.Arrays;
 
 /**
  * Service for encrypting and decrypting sensitive connection data
@@ -20,13 +21,30 @@ public class EncryptionService {
     
     private static final String ALGORITHM = "AES";
     private static final String TRANSFORMATION = "AES/CBC/PKCS5Padding";
+    private static final int IV_LENGTH = 16; // AES block size is always 16 bytes
+    
+    // Thread safe and expensive to seed, so shared by all calls
+    private static final SecureRandom RANDOM = new SecureRandom();
+    
+    // Cipher instances are not thread safe; each thread reuses its own, initialized per call
+    private static final ThreadLocal<Cipher> CIPHERS = ThreadLocal.withInitial(() -> {
+        try {
+            return Cipher.getInstance(TRANSFORMATION);
+        } catch (Exception e) {
+            throw new IllegalStateException("Cipher " + TRANSFORMATION + " not available", e);
+        }
+    });
     
     @Value("${datalineage.encryption.key}")
     private String encryptionKey;
     
+    // Derived from the configured key on first use
+    private volatile SecretKey secretKey;
+    
     // Setter for testing purposes
     public void setEncryptionKey(String encryptionKey) {
         this.encryptionKey = encryptionKey;
+        this.secretKey = null;
     }
     
     /**
@@ -38,22 +56,21 @@ public class EncryptionService {
         }
         
         try {
-            SecretKey secretKey = getSecretKey();
-            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            Cipher cipher = CIPHERS.get();
             
             // Generate random IV for CBC mode
-            byte[] iv = new byte[16]; // AES block size is always 16 bytes
-            new SecureRandom().nextBytes(iv);
-            IvParameterSpec ivSpec = new IvParameterSpec(iv);
-            
-            cipher.init(Cipher.ENCRYPT_MODE, secretKey, ivSpec);
-            
-            byte[] encryptedBytes = cipher.doFinal(plainText.getBytes(StandardCharsets.UTF_8));
+            byte[] iv = new byte[IV_LENGTH];
+            RANDOM.nextBytes(iv);
+            cipher.init(Cipher.ENCRYPT_MODE, getSecretKey(), new IvParameterSpec(iv));
             
             // Prepend IV to encrypted data
-            byte[] encryptedWithIv = new byte[iv.length + encryptedBytes.length];
-            System.arraycopy(iv, 0, encryptedWithIv, 0, iv.length);
-            System.arraycopy(encryptedBytes, 0, encryptedWithIv, iv.length, encryptedBytes.length);
+            byte[] plainBytes = plainText.getBytes(StandardCharsets.UTF_8);
+            byte[] encryptedWithIv = new byte[IV_LENGTH + cipher.getOutputSize(plainBytes.length)];
+            System.arraycopy(iv, 0, encryptedWithIv, 0, IV_LENGTH);
+            int length = cipher.doFinal(plainBytes, 0, plainBytes.length, encryptedWithIv, IV_LENGTH);
+            if (IV_LENGTH + length < encryptedWithIv.length) {
+                encryptedWithIv = Arrays.copyOf(encryptedWithIv, IV_LENGTH + length);
+            }
             
             return Base64.getEncoder().encodeToString(encryptedWithIv);
             
@@ -71,22 +88,12 @@ public class EncryptionService {
         }
         
         try {
-            SecretKey secretKey = getSecretKey();
-            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
-            
             byte[] encryptedWithIv = Base64.getDecoder().decode(encryptedText);
             
-            // Extract IV from the first 16 bytes
-            byte[] iv = new byte[16];
-            System.arraycopy(encryptedWithIv, 0, iv, 0, iv.length);
-            IvParameterSpec ivSpec = new IvParameterSpec(iv);
-            
-            // Extract encrypted data from remaining bytes
-            byte[] encryptedBytes = new byte[encryptedWithIv.length - iv.length];
-            System.arraycopy(encryptedWithIv, iv.length, encryptedBytes, 0, encryptedBytes.length);
-            
-            cipher.init(Cipher.DECRYPT_MODE, secretKey, ivSpec);
-            byte[] decryptedBytes = cipher.doFinal(encryptedBytes);
+            // IV in the first 16 bytes, encrypted data in the remaining bytes
+            Cipher cipher = CIPHERS.get();
+            cipher.init(Cipher.DECRYPT_MODE, getSecretKey(), new IvParameterSpec(encryptedWithIv, 0, IV_LENGTH));
+            byte[] decryptedBytes = cipher.doFinal(encryptedWithIv, IV_LENGTH, encryptedWithIv.length - IV_LENGTH);
             return new String(decryptedBytes, StandardCharsets.UTF_8);
             
         } catch (Exception e) {
@@ -98,6 +105,15 @@ public class EncryptionService {
      * Gets the secret key for encryption/decryption
      */
     private SecretKey getSecretKey() {
+        SecretKey key = secretKey;
+        if (key == null) {
+            key = deriveSecretKey();
+            secretKey = key;
+        }
+        return key;
+    }
+    
+    private SecretKey deriveSecretKey() {
         // WARNING: Not production-ready. For production deployments, the encryption key
         // MUST be securely loaded from a dedicated key management system such as AWS KMS,
         // HashiCorp Vault, Azure Key Vault, or GCP Secret Manager. Never hardcode or store
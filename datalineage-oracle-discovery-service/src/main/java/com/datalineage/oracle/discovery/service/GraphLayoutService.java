@@ -0,0 +1,69 @@
+package com.datalineage.oracle.discovery.service;
+
+import com.datalineage.oracle.discovery.dto.GraphData;
+import com.datalineage.oracle.discovery.dto.GraphNode;
+import com.datalineage.oracle.discovery.service.graph.GraphLayout;
+import com.datalineage.oracle.discovery.service.graph.MetadataGraph;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Lays out graphs on the server, so clients can render them without running a layout of their own.
+ * Force-directed layouts fall back to hierarchical above a node limit, where even the Barnes-Hut
+ * approximation takes too long for a request.
+ */
+@Service
+public class GraphLayoutService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GraphLayoutService.class);
+
+    @Value("${oracle.graph.layout.force-iterations:100}")
+    private int forceIterations = 100;
+
+    @Value("${oracle.graph.layout.force-max-nodes:100000}")
+    private int forceMaxNodes = 100000;
+
+    @Value("${oracle.graph.layout.theta:0.8}")
+    private double theta = 0.8;
+
+    // Setter for testing purposes
+    public void setForceMaxNodes(int forceMaxNodes) {
+        this.forceMaxNodes = forceMaxNodes;
+    }
+
+    /**
+     * Positions as {@code x0, y0, x1, y1, ...} in node order, or null for {@link GraphLayout.Mode#NONE}
+     */
+    public double[] layout(MetadataGraph graph, GraphLayout.Mode mode) {
+        if (mode == null || mode == GraphLayout.Mode.NONE) {
+            return null;
+        }
+        double[] hierarchical = GraphLayout.hierarchical(graph);
+        if (mode == GraphLayout.Mode.HIERARCHICAL) {
+            return hierarchical;
+        }
+        if (graph.nodeCount() > forceMaxNodes) {
+            logger.info("Graph of {} nodes exceeds the force layout limit of {}, using hierarchical layout",
+                graph.nodeCount(), forceMaxNodes);
+            return hierarchical;
+        }
+        return GraphLayout.forceDirected(graph, hierarchical, forceIterations, theta);
+    }
+
+    /**
+     * Sets the position of every node; the graph data must be in the node order of the laid out graph
+     */
+    public static void apply(GraphData graphData, double[] positions) {
+        if (positions == null) {
+            return;
+        }
+        List<GraphNode> nodes = graphData.getNodes();
+        for (int i = 0; i < nodes.size(); i++) {
+            nodes.get(i).setPosition(new GraphNode.Position(positions[2 * i], positions[2 * i + 1]));
+        }
+    }
+}
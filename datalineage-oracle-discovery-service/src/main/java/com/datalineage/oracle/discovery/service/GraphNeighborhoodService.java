@@ -0,0 +1,141 @@
+package com.datalineage.oracle.discovery.service;
+
+import com.datalineage.oracle.discovery.dto.GraphNeighborhood;
+import com.datalineage.oracle.discovery.model.MetadataSnapshot;
+import com.datalineage.oracle.discovery.service.graph.MetadataGraph;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * k-hop neighborhoods of snapshot graph nodes, so the UI can load a large schema incrementally.
+ *
+ * Expansion reads the snapshot's {@link MetadataGraph} index from the {@link SnapshotGraphCache}: only
+ * the edges of the visited nodes are read, and only the returned nodes and edges become DTOs. Each
+ * visited node adds at most the fan-out cap of new neighbors; returned nodes with neighbors left out
+ * are listed as expandable.
+ */
+@Service
+public class GraphNeighborhoodService {
+
+    @Autowired
+    private SnapshotGraphCache snapshotGraphCache;
+
+    @Value("${oracle.graph.neighborhood.max-hops:5}")
+    private int maxHops = 5;
+
+    @Value("${oracle.graph.neighborhood.max-fan-out:500}")
+    private int maxFanOut = 500;
+
+    /**
+     * Expands a node of a snapshot graph. Hops and fan-out are clamped to the configured maximums;
+     * with node types given, only neighbors of those types are visited.
+     *
+     * @throws IllegalArgumentException if a node type is unknown or the snapshot does not exist
+     * @throws NoSuchElementException if the node is not part of the snapshot graph
+     */
+    public GraphNeighborhood expand(String connectionId, Long version, String nodeId, int hops,
+                                    Collection<String> nodeTypes, int fanOut) {
+        Set<Byte> types = null;
+        if (nodeTypes != null && !nodeTypes.isEmpty()) {
+            types = new HashSet<>();
+            for (String type : nodeTypes) {
+                byte code = MetadataGraph.nodeTypeCode(type);
+                if (code < 0) {
+                    throw new IllegalArgumentException("Unknown node type: " + type
+                        + " (expected schema, table, column, procedure or constraint)");
+                }
+                types.add(code);
+            }
+        }
+
+        MetadataSnapshot snapshot = snapshotGraphCache.snapshot(connectionId, version);
+        MetadataGraph graph = snapshotGraphCache.index(snapshot);
+
+        int center = graph.find(nodeId);
+        if (center < 0) {
+            throw new NoSuchElementException("Node not found in snapshot v" + snapshot.getVersion() + ": " + nodeId);
+        }
+        int depthLimit = Math.min(Math.max(hops, 1), maxHops);
+        int fanOutLimit = Math.min(Math.max(fanOut, 1), maxFanOut);
+
+        GraphNeighborhood neighborhood = new GraphNeighborhood(connectionId, snapshot.getVersion(), nodeId, depthLimit);
+
+        // Breadth-first over edges in both directions; visited only ever holds the neighborhood
+        int[] order = new int[16];
+        int size = 0;
+        Set<Integer> visited = new HashSet<>();
+        ArrayDeque<int[]> queue = new ArrayDeque<>();
+        visited.add(center);
+        order[size++] = center;
+        queue.add(new int[] {center, 0});
+        while (!queue.isEmpty()) {
+            int[] entry = queue.poll();
+            int node = entry[0];
+            if (entry[1] == depthLimit) {
+                continue;
+            }
+            int added = 0;
+            int degree = graph.outDegree(node) + graph.inDegree(node);
+            for (int i = 0; i < degree; i++) {
+                int neighbor = neighbor(graph, node, i);
+                if (visited.contains(neighbor) || (types != null && !types.contains(graph.nodeType(neighbor)))) {
+                    continue;
+                }
+                if (added == fanOutLimit) {
+                    neighborhood.setTruncated(true);
+                    break;
+                }
+                visited.add(neighbor);
+                if (size == order.length) {
+                    order = Arrays.copyOf(order, size * 2);
+                }
+                order[size++] = neighbor;
+                queue.add(new int[] {neighbor, entry[1] + 1});
+                added++;
+            }
+        }
+
+        int[] nodes = Arrays.copyOf(order, size);
+        int[] edges = new int[16];
+        int edgeCount = 0;
+        for (int node : nodes) {
+            boolean expandable = false;
+            for (int i = 0; i < graph.outDegree(node); i++) {
+                int edge = graph.outEdge(node, i);
+                if (!visited.contains(graph.edgeTarget(edge))) {
+                    expandable = true;
+                } else {
+                    if (edgeCount == edges.length) {
+                        edges = Arrays.copyOf(edges, edgeCount * 2);
+                    }
+                    edges[edgeCount++] = edge;
+                }
+            }
+            for (int i = 0; i < graph.inDegree(node) && !expandable; i++) {
+                expandable = !visited.contains(graph.edgeSource(graph.inEdge(node, i)));
+            }
+            if (expandable) {
+                neighborhood.getExpandableNodeIds().add(graph.nodeId(node));
+            }
+        }
+
+        neighborhood.setGraph(graph.toGraphData(nodes, Arrays.copyOf(edges, edgeCount)));
+        return neighborhood;
+    }
+
+    /**
+     * The i-th neighbor of a node, counting outgoing edges first
+     */
+    private static int neighbor(MetadataGraph graph, int node, int i) {
+        int out = graph.outDegree(node);
+        return i < out ? graph.edgeTarget(graph.outEdge(node, i)) : graph.edgeSource(graph.inEdge(node, i - out));
+    }
+}
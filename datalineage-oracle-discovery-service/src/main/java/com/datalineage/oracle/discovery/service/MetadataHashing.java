@@ -0,0 +1,235 @@
+package com.datalineage.oracle.discovery.service;
+
+import com.datalineage.oracle.discovery.model.OracleColumn;
+import com.datalineage.oracle.discovery.model.OracleConstraint;
+import com.datalineage.oracle.discovery.model.OracleProcedure;
+import com.datalineage.oracle.discovery.model.OracleTable;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Natural keys and content hashes for discovered Oracle objects.
+ *
+ * Content hashes only cover definition attributes. Optimizer statistics such as
+ * num_rows or num_distinct change on every stats gather and are deliberately excluded,
+ * so two discoveries of an unchanged schema hash identically.
+ */
+public final class MetadataHashing {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    public static final Comparator<OracleTable> TABLE_ORDER =
+        Comparator.comparing(OracleTable::getOwner)
+            .thenComparing(OracleTable::getTableName);
+
+    public static final Comparator<OracleColumn> COLUMN_ORDER =
+        Comparator.comparing(OracleColumn::getOwner)
+            .thenComparing(OracleColumn::getTableName)
+            .thenComparing(OracleColumn::getColumnName);
+
+    public static final Comparator<OracleConstraint> CONSTRAINT_ORDER =
+        Comparator.comparing(OracleConstraint::getOwner)
+            .thenComparing(OracleConstraint::getConstraintName);
+
+    public static final Comparator<OracleProcedure> PROCEDURE_ORDER =
+        Comparator.comparing(OracleProcedure::getOwner)
+            .thenComparing(OracleProcedure::getObjectName)
+            .thenComparing(OracleProcedure::getProcedureName, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(OracleProcedure::getOverload, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private MetadataHashing() {}
+
+    /**
+     * Content hash of a table definition
+     */
+    public static long hash(OracleTable table) {
+        return new Hasher()
+            .add(table.getTableType())
+            .add(table.getTablespaceName())
+            .add(table.getCompression())
+            .add(table.getTemporary())
+            .add(table.getStatus())
+            .add(table.getComments())
+            .value();
+    }
+
+    /**
+     * Content hash of a column definition
+     */
+    public static long hash(OracleColumn column) {
+        return new Hasher()
+            .add(column.getDataType())
+            .add(column.getDataTypeMod())
+            .add(column.getDataTypeOwner())
+            .add(column.getDataLength())
+            .add(column.getDataPrecision())
+            .add(column.getDataScale())
+            .add(column.getNullable())
+            .add(column.getColumnId())
+            .add(column.getDataDefault())
+            .add(column.getCharLength())
+            .add(column.getCharUsed())
+            .add(column.getComments())
+            .value();
+    }
+
+    /**
+     * Content hash of a constraint definition
+     */
+    public static long hash(OracleConstraint constraint) {
+        return new Hasher()
+            .add(constraint.getConstraintType())
+            .add(constraint.getTableName())
+            .add(constraint.getSearchConditionVc() != null
+                ? constraint.getSearchConditionVc() : constraint.getSearchCondition())
+            .add(constraint.getrOwner())
+            .add(constraint.getrConstraintName())
+            .add(constraint.getDeleteRule())
+            .add(constraint.getStatus())
+            .add(constraint.getDeferrable())
+            .add(constraint.getDeferred())
+            .add(constraint.getValidated())
+            .value();
+    }
+
+    /**
+     * Content hash of a procedure definition
+     */
+    public static long hash(OracleProcedure procedure) {
+        return new Hasher()
+            .add(procedure.getObjectType())
+            .add(procedure.getStatus())
+            .add(procedure.getAggregate())
+            .add(procedure.getPipelined())
+            .add(procedure.getParallel())
+            .add(procedure.getDeterministic())
+            .add(procedure.getAuthId())
+            .add(procedure.getResultCache())
+            .value();
+    }
+
+    /**
+     * Hashed attributes of a table, used to name the fields that changed
+     */
+    public static Map<String, Object> attributes(OracleTable table) {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("tableType", table.getTableType());
+        attributes.put("tablespaceName", table.getTablespaceName());
+        attributes.put("compression", table.getCompression());
+        attributes.put("temporary", table.getTemporary());
+        attributes.put("status", table.getStatus());
+        attributes.put("comments", table.getComments());
+        return attributes;
+    }
+
+    /**
+     * Hashed attributes of a column, used to name the fields that changed
+     */
+    public static Map<String, Object> attributes(OracleColumn column) {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("dataType", column.getDataType());
+        attributes.put("dataTypeMod", column.getDataTypeMod());
+        attributes.put("dataTypeOwner", column.getDataTypeOwner());
+        attributes.put("dataLength", column.getDataLength());
+        attributes.put("dataPrecision", column.getDataPrecision());
+        attributes.put("dataScale", column.getDataScale());
+        attributes.put("nullable", column.getNullable());
+        attributes.put("columnId", column.getColumnId());
+        attributes.put("dataDefault", column.getDataDefault());
+        attributes.put("charLength", column.getCharLength());
+        attributes.put("charUsed", column.getCharUsed());
+        attributes.put("comments", column.getComments());
+        return attributes;
+    }
+
+    /**
+     * Hashed attributes of a constraint, used to name the fields that changed
+     */
+    public static Map<String, Object> attributes(OracleConstraint constraint) {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("constraintType", constraint.getConstraintType());
+        attributes.put("tableName", constraint.getTableName());
+        attributes.put("searchCondition", constraint.getSearchConditionVc() != null
+            ? constraint.getSearchConditionVc() : constraint.getSearchCondition());
+        attributes.put("rOwner", constraint.getrOwner());
+        attributes.put("rConstraintName", constraint.getrConstraintName());
+        attributes.put("deleteRule", constraint.getDeleteRule());
+        attributes.put("status", constraint.getStatus());
+        attributes.put("deferrable", constraint.getDeferrable());
+        attributes.put("deferred", constraint.getDeferred());
+        attributes.put("validated", constraint.getValidated());
+        return attributes;
+    }
+
+    /**
+     * Hashed attributes of a procedure, used to name the fields that changed
+     */
+    public static Map<String, Object> attributes(OracleProcedure procedure) {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("objectType", procedure.getObjectType());
+        attributes.put("status", procedure.getStatus());
+        attributes.put("aggregate", procedure.getAggregate());
+        attributes.put("pipelined", procedure.getPipelined());
+        attributes.put("parallel", procedure.getParallel());
+        attributes.put("deterministic", procedure.getDeterministic());
+        attributes.put("authId", procedure.getAuthId());
+        attributes.put("resultCache", procedure.getResultCache());
+        return attributes;
+    }
+
+    /**
+     * Formats a hash as fixed-width lowercase hex
+     */
+    public static String toHex(long hash) {
+        String hex = Long.toHexString(hash);
+        return "0000000000000000".substring(hex.length()) + hex;
+    }
+
+    /**
+     * Incremental 64-bit FNV-1a hasher. Every value is terminated by a separator
+     * and nulls get their own marker, so ("AB", null) and ("A", "B") never collide trivially.
+     */
+    public static final class Hasher {
+
+        private long hash = FNV_OFFSET_BASIS;
+
+        public Hasher add(String value) {
+            if (value == null) {
+                return addByte(0x01).addByte(0x00);
+            }
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                addByte(c >>> 8);
+                addByte(c);
+            }
+            return addByte(0x00);
+        }
+
+        public Hasher add(Number value) {
+            if (value == null) {
+                return addByte(0x01).addByte(0x00);
+            }
+            return add(value.longValue());
+        }
+
+        public Hasher add(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                addByte((int) (value >>> shift));
+            }
+            return addByte(0x00);
+        }
+
+        public long value() {
+            return hash;
+        }
+
+        private Hasher addByte(int b) {
+            hash ^= (b & 0xff);
+            hash *= FNV_PRIME;
+            return this;
+        }
+    }
+}
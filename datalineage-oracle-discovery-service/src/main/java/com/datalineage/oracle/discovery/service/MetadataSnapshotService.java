@@ -0,0 +1,165 @@
+package com.datalineage.oracle.discovery.service;
+
+import com.datalineage.oracle.discovery.dto.FingerprintComparison;
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryRequest;
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryResponse;
+import com.datalineage.oracle.discovery.dto.OracleConnectionConfig;
+import com.datalineage.oracle.discovery.dto.SnapshotDiff;
+import com.datalineage.oracle.discovery.model.MetadataSnapshot;
+import com.datalineage.oracle.discovery.model.SchemaFingerprint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service for capturing and retaining metadata snapshots per connection.
+ *
+ * Snapshots are held in memory; the most recent {@code oracle.discovery.snapshot.retention}
+ * snapshots of each connection are kept and older ones are dropped.
+ */
+@Service
+public class MetadataSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetadataSnapshotService.class);
+
+    @Autowired
+    private OracleMetadataExtractionService metadataExtractionService;
+
+    @Autowired
+    private SnapshotDiffService snapshotDiffService;
+
+    @Autowired
+    private SchemaFingerprintService fingerprintService;
+
+    @Value("${oracle.discovery.snapshot.retention:5}")
+    private int retention = 5;
+
+    private final Map<String, Deque<MetadataSnapshot>> snapshots = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    // Setter for testing purposes
+    public void setRetention(int retention) {
+        this.retention = retention;
+    }
+
+    /**
+     * Runs a discovery and stores the result as the newest snapshot of the connection
+     */
+    public MetadataSnapshot captureSnapshot(OracleConnectionConfig config, MetadataDiscoveryRequest request)
+            throws SQLException {
+        MetadataDiscoveryResponse metadata = metadataExtractionService.discoverMetadata(config, request);
+        return recordSnapshot(request, metadata);
+    }
+
+    /**
+     * Stores an already discovered response as the newest snapshot of the connection
+     */
+    public MetadataSnapshot recordSnapshot(MetadataDiscoveryRequest request, MetadataDiscoveryResponse metadata) {
+        String connectionId = metadata.getConnectionId();
+        SchemaFingerprint fingerprint = fingerprintService.fingerprint(metadata);
+
+        // Numbering, insertion and trimming under one lock, so the newest version is always first
+        Deque<MetadataSnapshot> history = snapshots.computeIfAbsent(connectionId, k -> new ConcurrentLinkedDeque<>());
+        MetadataSnapshot snapshot;
+        synchronized (history) {
+            long version = versions.computeIfAbsent(connectionId, k -> new AtomicLong()).incrementAndGet();
+            snapshot = new MetadataSnapshot(version, request, metadata, fingerprint);
+            history.addFirst(snapshot);
+            while (history.size() > Math.max(retention, 1)) {
+                history.pollLast();
+            }
+        }
+
+        logger.info("Recorded snapshot v{} for connection {} (fingerprint {})",
+            snapshot.getVersion(), connectionId, MetadataHashing.toHex(fingerprint.getHash()));
+        return snapshot;
+    }
+
+    /**
+     * Gets the newest snapshot of a connection
+     */
+    public Optional<MetadataSnapshot> getLatestSnapshot(String connectionId) {
+        Deque<MetadataSnapshot> history = snapshots.get(connectionId);
+        return history == null ? Optional.empty() : Optional.ofNullable(history.peekFirst());
+    }
+
+    /**
+     * Gets a snapshot of a connection by version
+     */
+    public Optional<MetadataSnapshot> getSnapshot(String connectionId, long version) {
+        Deque<MetadataSnapshot> history = snapshots.get(connectionId);
+        if (history == null) {
+            return Optional.empty();
+        }
+        return history.stream().filter(s -> s.getVersion() == version).findFirst();
+    }
+
+    /**
+     * Gets all retained snapshots of a connection, newest first
+     */
+    public List<MetadataSnapshot> getSnapshots(String connectionId) {
+        Deque<MetadataSnapshot> history = snapshots.get(connectionId);
+        return history == null ? List.of() : new ArrayList<>(history);
+    }
+
+    /**
+     * Diffs two retained snapshots. Defaults to the previous and the latest snapshot.
+     */
+    public SnapshotDiff diff(String connectionId, Long fromVersion, Long toVersion) {
+        List<MetadataSnapshot> history = getSnapshots(connectionId);
+        if (history.isEmpty()) {
+            throw new IllegalArgumentException("No snapshots found for connection: " + connectionId);
+        }
+
+        MetadataSnapshot to = toVersion != null
+            ? getSnapshot(connectionId, toVersion).orElseThrow(() ->
+                new IllegalArgumentException("Snapshot version not found: " + toVersion))
+            : history.get(0);
+
+        MetadataSnapshot from;
+        if (fromVersion != null) {
+            from = getSnapshot(connectionId, fromVersion).orElseThrow(() ->
+                new IllegalArgumentException("Snapshot version not found: " + fromVersion));
+        } else {
+            from = history.stream()
+                .filter(s -> s.getVersion() < to.getVersion())
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(
+                    "No earlier snapshot to compare with version " + to.getVersion()));
+        }
+
+        return snapshotDiffService.diff(from, to);
+    }
+
+    /**
+     * Compares the latest snapshots of two connections by fingerprint
+     */
+    public FingerprintComparison compareFingerprints(String leftConnectionId, String rightConnectionId) {
+        MetadataSnapshot left = getLatestSnapshot(leftConnectionId).orElseThrow(() ->
+            new IllegalArgumentException("No snapshots found for connection: " + leftConnectionId));
+        MetadataSnapshot right = getLatestSnapshot(rightConnectionId).orElseThrow(() ->
+            new IllegalArgumentException("No snapshots found for connection: " + rightConnectionId));
+
+        return fingerprintService.compare(
+            leftConnectionId, left.getFingerprint(), rightConnectionId, right.getFingerprint());
+    }
+
+    /**
+     * Drops all snapshots of a connection
+     */
+    public void evictSnapshots(String connectionId) {
+        snapshots.remove(connectionId);
+    }
+}
@@ -0,0 +1,99 @@
+package com.datalineage.oracle.discovery.service;
+
+import com.datalineage.oracle.discovery.dto.OracleConnectionConfig;
+import com.datalineage.oracle.discovery.model.DdlWatermark;
+import com.datalineage.oracle.discovery.model.DictionaryScope;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.*;
+
+/**
+ * Service for cheap change detection on the Oracle dictionary.
+ *
+ * A probe is one aggregate over the objects view grouped by owner, so it costs a single round trip
+ * regardless of how many objects exist, and tells which owners need to be rediscovered.
+ */
+@Service
+public class OracleDdlProbeService {
+
+    @Autowired
+    private OracleConnectionService connectionService;
+
+    @Autowired(required = false)
+    private DiscoveryObservations observations = new DiscoveryObservations();
+
+    @Autowired
+    private DictionaryAccessService dictionaryAccessService;
+
+    /**
+     * Reads the DDL watermark of every accessible owner, or of the given owners only
+     */
+    public Map<String, DdlWatermark> probeOwners(OracleConnectionConfig config, List<String> schemas) throws SQLException {
+        try (Connection connection = observations.acquireConnection(connectionService, config, config.getConnectionId())) {
+            DictionaryScope scope = dictionaryAccessService.resolveScope(config.getConnectionId(), connection);
+            return probeOwners(connection, scope, schemas);
+        }
+    }
+
+    /**
+     * Reads the DDL watermarks on an already open connection, using the same owner naming as discovery
+     */
+    public Map<String, DdlWatermark> probeOwners(Connection connection, DictionaryScope scope,
+                                                 List<String> schemas) throws SQLException {
+        StringBuilder query = new StringBuilder(
+            "SELECT " + scope.owner("owner") + " AS owner, COUNT(*) AS object_count, " +
+            "MAX(last_ddl_time) AS last_ddl_time " +
+            "FROM " + scope.view("objects") + " " +
+            "WHERE 1=1 "
+        );
+
+        List<Object> params = new ArrayList<>();
+        query.append(scope.ownerFilter(schemas, params));
+        query.append(scope == DictionaryScope.CDB ? "GROUP BY con_id, owner" : "GROUP BY owner");
+
+        Map<String, DdlWatermark> watermarks = new TreeMap<>();
+        try (PreparedStatement stmt = connection.prepareStatement(query.toString())) {
+            for (int i = 0; i < params.size(); i++) {
+                stmt.setObject(i + 1, params.get(i));
+            }
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    String owner = rs.getString("owner");
+                    Timestamp lastDdlTime = rs.getTimestamp("last_ddl_time");
+                    watermarks.put(owner, new DdlWatermark(
+                        owner,
+                        rs.getLong("object_count"),
+                        lastDdlTime != null ? lastDdlTime.toLocalDateTime() : null
+                    ));
+                }
+            }
+        }
+
+        return watermarks;
+    }
+
+    /**
+     * Owners that were added, removed or changed between two probes
+     */
+    public Set<String> changedOwners(Map<String, DdlWatermark> previous, Map<String, DdlWatermark> current) {
+        Set<String> changed = new TreeSet<>();
+        for (Map.Entry<String, DdlWatermark> entry : current.entrySet()) {
+            if (!entry.getValue().equals(previous.get(entry.getKey()))) {
+                changed.add(entry.getKey());
+            }
+        }
+        for (String owner : previous.keySet()) {
+            if (!current.containsKey(owner)) {
+                changed.add(owner);
+            }
+        }
+        return changed;
+    }
+}
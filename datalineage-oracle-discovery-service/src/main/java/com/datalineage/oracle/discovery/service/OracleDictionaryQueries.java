@@ -0,0 +1,297 @@
+package com.datalineage.oracle.discovery.service;
+
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryRequest;
+import com.datalineage.oracle.discovery.model.DictionaryScope;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the dictionary queries of a discovery request.
+ *
+ * Every fetch strategy runs exactly these statements, so filters, ordering and pagination
+ * are identical whether they are executed one by one or batched in a single PL/SQL block.
+ */
+public final class OracleDictionaryQueries {
+
+    private OracleDictionaryQueries() {
+    }
+
+    public static DictionaryQuery tables(DictionaryScope scope, MetadataDiscoveryRequest request) {
+        StringBuilder query = new StringBuilder(
+            "SELECT " + scope.owner("owner") + " AS owner, table_name, table_type, tablespace_name, num_rows, blocks, " +
+            "avg_row_len, sample_size, compression, status, temporary " +
+            "FROM " + scope.view("tables") + " " +
+            "WHERE 1=1 "
+        );
+
+        List<Object> params = new ArrayList<>();
+        query.append(scope.ownerFilter(request.getSchemas(), params));
+        appendTablePatterns(query, params, request);
+        query.append("ORDER BY owner, table_name ");
+        appendPage(query, params, request);
+
+        return new DictionaryQuery(query.toString(), params);
+    }
+
+    public static DictionaryQuery columns(DictionaryScope scope, MetadataDiscoveryRequest request) {
+        StringBuilder query = new StringBuilder(
+            "SELECT " + scope.owner("owner") + " AS owner, table_name, column_name, data_type, data_type_mod, data_type_owner, " +
+            "data_length, data_precision, data_scale, nullable, column_id, default_length, " +
+            "data_default, num_distinct, low_value, high_value, density, num_nulls, num_buckets, " +
+            "character_set_name, char_col_decl_length, global_stats, user_stats, avg_col_len, " +
+            "char_length, char_used " +
+            "FROM " + scope.view("tab_columns") + " " +
+            "WHERE 1=1 "
+        );
+
+        List<Object> params = new ArrayList<>();
+        query.append(scope.ownerFilter(request.getSchemas(), params));
+        appendTablePatterns(query, params, request);
+        query.append("ORDER BY owner, table_name, column_id ");
+        appendPage(query, params, request);
+
+        return new DictionaryQuery(query.toString(), params);
+    }
+
+    public static DictionaryQuery procedures(DictionaryScope scope, MetadataDiscoveryRequest request) {
+        StringBuilder query = new StringBuilder(
+            "SELECT " + scope.owner("owner") + " AS owner, object_name, procedure_name, subprogram_id, overload, " +
+            "object_type, status, aggregate, " +
+            "pipelined, impltypeowner, impltypename, parallel, interface, deterministic, " +
+            "authid, result_cache, origin_con_id, polymorphic " +
+            "FROM " + scope.view("procedures") + " " +
+            "WHERE 1=1 "
+        );
+
+        List<Object> params = new ArrayList<>();
+        query.append(scope.ownerFilter(request.getSchemas(), params));
+        query.append("ORDER BY owner, object_name, procedure_name, subprogram_id ");
+        appendPage(query, params, request);
+
+        return new DictionaryQuery(query.toString(), params);
+    }
+
+    public static DictionaryQuery constraints(DictionaryScope scope, MetadataDiscoveryRequest request) {
+        StringBuilder query = new StringBuilder(
+            "SELECT " + scope.owner("owner") + " AS owner, constraint_name, constraint_type, table_name, search_condition, " +
+            "search_condition_vc, " + scope.owner("r_owner") + " AS r_owner, r_constraint_name, delete_rule, status, deferrable, " +
+            "deferred, validated, generated, bad, rely, last_change, index_owner, index_name, " +
+            "invalid, view_related, origin_con_id " +
+            "FROM " + scope.view("constraints") + " " +
+            "WHERE constraint_type IN ('P', 'R', 'U', 'C') "
+        );
+
+        List<Object> params = new ArrayList<>();
+        query.append(scope.ownerFilter(request.getSchemas(), params));
+        appendTablePatterns(query, params, request);
+        query.append("ORDER BY owner, table_name, constraint_name ");
+        appendPage(query, params, request);
+
+        return new DictionaryQuery(query.toString(), params);
+    }
+
+    /**
+     * Table comments, restricted to the same owners and table patterns as the table query
+     */
+    public static DictionaryQuery tableComments(DictionaryScope scope, MetadataDiscoveryRequest request) {
+        StringBuilder query = new StringBuilder(
+            "SELECT " + scope.owner("owner") + " AS owner, table_name, comments " +
+            "FROM " + scope.view("tab_comments") + " " +
+            "WHERE comments IS NOT NULL "
+        );
+
+        List<Object> params = new ArrayList<>();
+        query.append(scope.ownerFilter(request.getSchemas(), params));
+        appendTablePatterns(query, params, request);
+
+        return new DictionaryQuery(query.toString(), params);
+    }
+
+    /**
+     * Column comments, restricted to the same owners and table patterns as the column query
+     */
+    public static DictionaryQuery columnComments(DictionaryScope scope, MetadataDiscoveryRequest request) {
+        StringBuilder query = new StringBuilder(
+            "SELECT " + scope.owner("owner") + " AS owner, table_name, column_name, comments " +
+            "FROM " + scope.view("col_comments") + " " +
+            "WHERE comments IS NOT NULL "
+        );
+
+        List<Object> params = new ArrayList<>();
+        query.append(scope.ownerFilter(request.getSchemas(), params));
+        appendTablePatterns(query, params, request);
+
+        return new DictionaryQuery(query.toString(), params);
+    }
+
+    /**
+     * Tables per owner, with the same filters as the table query but without pagination
+     */
+    public static DictionaryQuery tableCounts(DictionaryScope scope, MetadataDiscoveryRequest request) {
+        StringBuilder query = new StringBuilder(
+            "SELECT " + scope.owner("owner") + " AS owner, COUNT(*) AS object_count " +
+            "FROM " + scope.view("tables") + " " +
+            "WHERE 1=1 "
+        );
+
+        List<Object> params = new ArrayList<>();
+        query.append(scope.ownerFilter(request.getSchemas(), params));
+        appendTablePatterns(query, params, request);
+        query.append("GROUP BY " + scope.owner("owner"));
+
+        return new DictionaryQuery(query.toString(), params);
+    }
+
+    public static DictionaryQuery columnCounts(DictionaryScope scope, MetadataDiscoveryRequest request) {
+        StringBuilder query = new StringBuilder(
+            "SELECT COUNT(*) AS object_count " +
+            "FROM " + scope.view("tab_columns") + " " +
+            "WHERE 1=1 "
+        );
+
+        List<Object> params = new ArrayList<>();
+        query.append(scope.ownerFilter(request.getSchemas(), params));
+        appendTablePatterns(query, params, request);
+
+        return new DictionaryQuery(query.toString(), params);
+    }
+
+    public static DictionaryQuery procedureCounts(DictionaryScope scope, MetadataDiscoveryRequest request) {
+        StringBuilder query = new StringBuilder(
+            "SELECT " + scope.owner("owner") + " AS owner, COUNT(*) AS object_count " +
+            "FROM " + scope.view("procedures") + " " +
+            "WHERE 1=1 "
+        );
+
+        List<Object> params = new ArrayList<>();
+        query.append(scope.ownerFilter(request.getSchemas(), params));
+        query.append("GROUP BY " + scope.owner("owner"));
+
+        return new DictionaryQuery(query.toString(), params);
+    }
+
+    public static DictionaryQuery constraintCounts(DictionaryScope scope, MetadataDiscoveryRequest request) {
+        StringBuilder query = new StringBuilder(
+            "SELECT COUNT(*) AS object_count, " +
+            "COUNT(CASE WHEN constraint_type = 'R' THEN r_constraint_name END) AS foreign_key_count " +
+            "FROM " + scope.view("constraints") + " " +
+            "WHERE constraint_type IN ('P', 'R', 'U', 'C') "
+        );
+
+        List<Object> params = new ArrayList<>();
+        query.append(scope.ownerFilter(request.getSchemas(), params));
+        appendTablePatterns(query, params, request);
+
+        return new DictionaryQuery(query.toString(), params);
+    }
+
+    /**
+     * One table, by equality on its name and, when given, its owner. The statement text only depends
+     * on the scope and whether an owner is given, so the parsed cursor is shared across tables.
+     */
+    public static DictionaryQuery singleTable(DictionaryScope scope, String owner, String tableName) {
+        StringBuilder query = new StringBuilder(
+            "SELECT " + scope.owner("owner") + " AS owner, table_name, table_type, tablespace_name, num_rows, blocks, " +
+            "avg_row_len, sample_size, compression, status, temporary " +
+            "FROM " + scope.view("tables") + " " +
+            "WHERE 1=1 "
+        );
+
+        List<Object> params = new ArrayList<>();
+        appendTable(query, params, scope, owner, tableName);
+        query.append("ORDER BY owner");
+
+        return new DictionaryQuery(query.toString(), params);
+    }
+
+    public static DictionaryQuery singleTableColumns(DictionaryScope scope, String owner, String tableName) {
+        StringBuilder query = new StringBuilder(
+            "SELECT " + scope.owner("owner") + " AS owner, table_name, column_name, data_type, data_type_mod, data_type_owner, " +
+            "data_length, data_precision, data_scale, nullable, column_id, default_length, " +
+            "data_default, num_distinct, low_value, high_value, density, num_nulls, num_buckets, " +
+            "character_set_name, char_col_decl_length, global_stats, user_stats, avg_col_len, " +
+            "char_length, char_used " +
+            "FROM " + scope.view("tab_columns") + " " +
+            "WHERE 1=1 "
+        );
+
+        List<Object> params = new ArrayList<>();
+        appendTable(query, params, scope, owner, tableName);
+        query.append("ORDER BY owner, column_id");
+
+        return new DictionaryQuery(query.toString(), params);
+    }
+
+    public static DictionaryQuery singleTableConstraints(DictionaryScope scope, String owner, String tableName) {
+        StringBuilder query = new StringBuilder(
+            "SELECT " + scope.owner("owner") + " AS owner, constraint_name, constraint_type, table_name, search_condition, " +
+            "search_condition_vc, " + scope.owner("r_owner") + " AS r_owner, r_constraint_name, delete_rule, status, deferrable, " +
+            "deferred, validated, generated, bad, rely, last_change, index_owner, index_name, " +
+            "invalid, view_related, origin_con_id " +
+            "FROM " + scope.view("constraints") + " " +
+            "WHERE constraint_type IN ('P', 'R', 'U', 'C') "
+        );
+
+        List<Object> params = new ArrayList<>();
+        appendTable(query, params, scope, owner, tableName);
+        query.append("ORDER BY owner, constraint_name");
+
+        return new DictionaryQuery(query.toString(), params);
+    }
+
+    public static DictionaryQuery singleTableComments(DictionaryScope scope, String owner, String tableName) {
+        StringBuilder query = new StringBuilder(
+            "SELECT " + scope.owner("owner") + " AS owner, table_name, comments " +
+            "FROM " + scope.view("tab_comments") + " " +
+            "WHERE comments IS NOT NULL "
+        );
+
+        List<Object> params = new ArrayList<>();
+        appendTable(query, params, scope, owner, tableName);
+
+        return new DictionaryQuery(query.toString(), params);
+    }
+
+    public static DictionaryQuery singleTableColumnComments(DictionaryScope scope, String owner, String tableName) {
+        StringBuilder query = new StringBuilder(
+            "SELECT " + scope.owner("owner") + " AS owner, table_name, column_name, comments " +
+            "FROM " + scope.view("col_comments") + " " +
+            "WHERE comments IS NOT NULL "
+        );
+
+        List<Object> params = new ArrayList<>();
+        appendTable(query, params, scope, owner, tableName);
+
+        return new DictionaryQuery(query.toString(), params);
+    }
+
+    private static void appendTable(StringBuilder query, List<Object> params, DictionaryScope scope,
+                                    String owner, String tableName) {
+        query.append("AND table_name = ? ");
+        params.add(tableName);
+        if (owner != null) {
+            query.append(scope.ownerFilter(List.of(owner), params));
+        }
+    }
+
+    private static void appendTablePatterns(StringBuilder query, List<Object> params, MetadataDiscoveryRequest request) {
+        if (request.getTablePatterns() != null && !request.getTablePatterns().isEmpty()) {
+            query.append("AND (");
+            for (int i = 0; i < request.getTablePatterns().size(); i++) {
+                if (i > 0) query.append(" OR ");
+                query.append("table_name LIKE ?");
+                params.add(request.getTablePatterns().get(i));
+            }
+            query.append(") ");
+        }
+    }
+
+    private static void appendPage(StringBuilder query, List<Object> params, MetadataDiscoveryRequest request) {
+        if (request.getLimit() != null) {
+            query.append("OFFSET ? ROWS FETCH NEXT ? ROWS ONLY");
+            params.add(request.getOffset() != null ? request.getOffset() : 0);
+            params.add(request.getLimit());
+        }
+    }
+}
@@ -1,10 +1,17 @@
 package com.datalineage.oracle.discovery.service;
 
 import com.datalineage.oracle.discovery.dto.*;
-import com.datalineage.oracle.discovery.model.*;
+import com.datalineage.oracle.discovery.jfr.GraphTransformEvent;
+import com.datalineage.oracle.discovery.service.graph.GraphLayout;
+import com.datalineage.oracle.discovery.service.graph.MetadataGraph;
+import com.datalineage.oracle.discovery.service.graph.StreamedGraph;
+import io.micrometer.observation.Observation;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 
 /**
  * Service for transforming Oracle metadata to graph data structure
@@ -12,352 +19,148 @@ import java.util.*;
 @Service
 public class OracleGraphService {
 
+    @Autowired(required = false)
+    private DiscoveryObservations observations = new DiscoveryObservations();
+
+    @Autowired(required = false)
+    private GraphLayoutService layoutService = new GraphLayoutService();
+
     /**
      * Transform metadata discovery response to graph data structure
      */
     public GraphData transformMetadataToGraph(MetadataDiscoveryResponse metadata) {
-        List<GraphNode> nodes = new ArrayList<>();
-        List<GraphEdge> edges = new ArrayList<>();
-
-        // Build lookup maps for performance optimization
-        Map<String, String> ownerTableNameToId = new HashMap<>();
-        Map<String, String> ownerToTableId = new HashMap<>();
-        if (metadata.getTables() != null) {
-            for (OracleTable table : metadata.getTables()) {
-                String tableId = "table-" + table.getId();
-                ownerTableNameToId.put(table.getOwner() + "." + table.getTableName(), tableId);
-                ownerToTableId.put(table.getOwner(), tableId);
-            }
-        }
-
-        // Create database schema node
-        GraphNode schemaNode = createSchemaNode(metadata);
-        nodes.add(schemaNode);
-
-        // Create table nodes and connect to schema
-        if (metadata.getTables() != null) {
-            for (OracleTable table : metadata.getTables()) {
-                GraphNode tableNode = createTableNode(table);
-                nodes.add(tableNode);
-
-                // Connect table to schema
-                GraphEdge schemaTableEdge = createEdge(
-                    "schema-table-" + table.getId(),
-                    schemaNode.getId(),
-                    tableNode.getId(),
-                    "contains",
-                    Map.of("relationship", "schema contains table")
-                );
-                edges.add(schemaTableEdge);
-            }
-        }
-
-        // Create column nodes and connect to tables
-        if (metadata.getColumns() != null) {
-            for (OracleColumn column : metadata.getColumns()) {
-                GraphNode columnNode = createColumnNode(column);
-                nodes.add(columnNode);
-
-                // Find parent table using lookup map for better performance
-                String parentTableId = ownerTableNameToId.get(column.getOwner() + "." + column.getTableName());
-                if (parentTableId != null) {
-                    GraphEdge tableColumnEdge = createEdge(
-                        "table-column-" + column.getId(),
-                        parentTableId,
-                        columnNode.getId(),
-                        "contains",
-                        Map.of("relationship", "table contains column")
-                    );
-                    edges.add(tableColumnEdge);
-                }
-            }
-        }
-
-        // Create procedure nodes and connect to schema
-        if (metadata.getProcedures() != null) {
-            for (OracleProcedure procedure : metadata.getProcedures()) {
-                GraphNode procedureNode = createProcedureNode(procedure);
-                nodes.add(procedureNode);
-
-                // Connect procedure to schema
-                GraphEdge schemaProcedureEdge = createEdge(
-                    "schema-procedure-" + procedure.getId(),
-                    schemaNode.getId(),
-                    procedureNode.getId(),
-                    "contains",
-                    Map.of("relationship", "schema contains procedure")
-                );
-                edges.add(schemaProcedureEdge);
-            }
-        }
-
-        // Create constraint nodes and relationships
-        if (metadata.getConstraints() != null) {
-            for (OracleConstraint constraint : metadata.getConstraints()) {
-                GraphNode constraintNode = createConstraintNode(constraint);
-                nodes.add(constraintNode);
-
-                // Find related table using lookup map for better performance
-                String relatedTableId = ownerTableNameToId.get(constraint.getOwner() + "." + constraint.getTableName());
-                if (relatedTableId != null) {
-                    GraphEdge tableConstraintEdge = createEdge(
-                        "table-constraint-" + constraint.getId(),
-                        relatedTableId,
-                        constraintNode.getId(),
-                        "relationship",
-                        Map.of("relationship", "table has constraint")
-                    );
-                    edges.add(tableConstraintEdge);
-                }
-
-                // Handle foreign key relationships
-                if ("R".equals(constraint.getConstraintType()) && 
-                    constraint.getrOwner() != null && constraint.getrConstraintName() != null) {
-                    
-                    String referencedTableId = ownerToTableId.get(constraint.getrOwner());
-                    if (referencedTableId != null) {
-                        GraphEdge foreignKeyEdge = createEdge(
-                            "fk-" + constraint.getId(),
-                            constraintNode.getId(),
-                            referencedTableId,
-                            "foreign_key",
-                            Map.of(
-                                "relationship", "foreign key references",
-                                "referencedConstraint", constraint.getrConstraintName()
-                            )
-                        );
-                        edges.add(foreignKeyEdge);
-                    }
-                }
-            }
-        }
+        return transformMetadataToGraph(metadata, MetadataGraph.Detail.FULL, GraphLayout.Mode.NONE);
+    }
 
-        GraphData graphData = new GraphData(nodes, edges);
-        graphData.setStatistics(generateGraphStatistics(nodes, edges));
-        
-        return graphData;
+    /**
+     * Transform metadata discovery response to graph data structure at a level of detail, with node positions
+     */
+    public GraphData transformMetadataToGraph(MetadataDiscoveryResponse metadata, MetadataGraph.Detail detail,
+                                              GraphLayout.Mode layout) {
+        return observe("schema", metadata.getConnectionId(),
+            () -> toGraphData(MetadataGraph.build(metadata, detail), layout));
     }
 
     /**
      * Transform metadata for a specific table to graph data structure
      */
     public GraphData transformTableToGraph(MetadataDiscoveryResponse metadata, String tableName, String owner) {
-        List<GraphNode> nodes = new ArrayList<>();
-        List<GraphEdge> edges = new ArrayList<>();
-
-        // Find the specific table
-        OracleTable targetTable = null;
-        if (metadata.getTables() != null) {
-            targetTable = metadata.getTables().stream()
-                .filter(t -> t.getTableName().equals(tableName) && 
-                           (owner == null || t.getOwner().equals(owner)))
-                .findFirst()
-                .orElse(null);
-        }
-
-        if (targetTable == null) {
-            return new GraphData(nodes, edges);
-        }
-
-        // Create table node
-        GraphNode tableNode = createTableNode(targetTable);
-        nodes.add(tableNode);
-
-        // Add columns for this table
-        if (metadata.getColumns() != null) {
-            for (OracleColumn column : metadata.getColumns()) {
-                if (column.getTableName().equals(tableName) && 
-                    (owner == null || column.getOwner().equals(owner))) {
-                    
-                    GraphNode columnNode = createColumnNode(column);
-                    nodes.add(columnNode);
-
-                    GraphEdge tableColumnEdge = createEdge(
-                        "table-column-" + column.getId(),
-                        tableNode.getId(),
-                        columnNode.getId(),
-                        "contains",
-                        Map.of("relationship", "table contains column")
-                    );
-                    edges.add(tableColumnEdge);
-                }
-            }
-        }
-
-        // Add constraints for this table
-        if (metadata.getConstraints() != null) {
-            for (OracleConstraint constraint : metadata.getConstraints()) {
-                if (constraint.getTableName().equals(tableName) && 
-                    (owner == null || constraint.getOwner().equals(owner))) {
-                    
-                    GraphNode constraintNode = createConstraintNode(constraint);
-                    nodes.add(constraintNode);
-
-                    GraphEdge tableConstraintEdge = createEdge(
-                        "table-constraint-" + constraint.getId(),
-                        tableNode.getId(),
-                        constraintNode.getId(),
-                        "relationship",
-                        Map.of("relationship", "table has constraint")
-                    );
-                    edges.add(tableConstraintEdge);
-                }
-            }
-        }
-
-        GraphData graphData = new GraphData(nodes, edges);
-        graphData.setStatistics(generateGraphStatistics(nodes, edges));
-        
-        return graphData;
+        return transformTableToGraph(metadata, tableName, owner, GraphLayout.Mode.NONE);
     }
 
-    private GraphNode createSchemaNode(MetadataDiscoveryResponse metadata) {
-        Map<String, Object> nodeMetadata = new HashMap<>();
-        nodeMetadata.put("connectionId", metadata.getConnectionId());
-        nodeMetadata.put("type", "Oracle Schema");
-        if (metadata.getStatistics() != null) {
-            nodeMetadata.put("statistics", metadata.getStatistics());
-        }
-
-        return new GraphNode(
-            "schema-" + metadata.getConnectionId(),
-            "Schema (" + metadata.getConnectionId() + ")",
-            "schema",
-            nodeMetadata
-        );
+    /**
+     * Transform metadata for a specific table to graph data structure with node positions
+     */
+    public GraphData transformTableToGraph(MetadataDiscoveryResponse metadata, String tableName, String owner,
+                                           GraphLayout.Mode layout) {
+        return observe("table", metadata.getConnectionId(),
+            () -> toGraphData(MetadataGraph.buildTable(metadata, tableName, owner), layout));
     }
 
-    private GraphNode createTableNode(OracleTable table) {
-        Map<String, Object> nodeMetadata = new HashMap<>();
-        nodeMetadata.put("id", table.getId());
-        nodeMetadata.put("owner", table.getOwner());
-        nodeMetadata.put("tableName", table.getTableName());
-        nodeMetadata.put("tableType", table.getTableType());
-        nodeMetadata.put("fullName", table.getOwner() + "." + table.getTableName());
-        nodeMetadata.put("type", "Oracle Table");
-        if (table.getNumRows() != null) {
-            nodeMetadata.put("numRows", table.getNumRows());
-        }
-        if (table.getTablespaceName() != null) {
-            nodeMetadata.put("tablespace", table.getTablespaceName());
-        }
-
-        return new GraphNode(
-            "table-" + table.getId(),
-            table.getOwner() + "." + table.getTableName(),
-            "table",
-            nodeMetadata
-        );
+    /**
+     * Graph of one table read from the full graph of its metadata, e.g. a cached snapshot graph
+     */
+    public GraphData transformTableToGraph(MetadataGraph graph, String tableName, String owner,
+                                           GraphLayout.Mode layout) {
+        return observe("table", graph.metadata().getConnectionId(),
+            () -> toGraphData(graph.tableGraph(tableName, owner), layout));
     }
 
-    private GraphNode createColumnNode(OracleColumn column) {
-        Map<String, Object> nodeMetadata = new HashMap<>();
-        nodeMetadata.put("id", column.getId());
-        nodeMetadata.put("owner", column.getOwner());
-        nodeMetadata.put("tableName", column.getTableName());
-        nodeMetadata.put("columnName", column.getColumnName());
-        nodeMetadata.put("dataType", column.getDataType());
-        nodeMetadata.put("nullable", column.getNullable());
-        nodeMetadata.put("fullName", column.getOwner() + "." + column.getTableName() + "." + column.getColumnName());
-        nodeMetadata.put("type", "Oracle Column");
-        if (column.getDataLength() != null) {
-            nodeMetadata.put("dataLength", column.getDataLength());
-        }
-        if (column.getDataPrecision() != null) {
-            nodeMetadata.put("dataPrecision", column.getDataPrecision());
-        }
-        if (column.getDataScale() != null) {
-            nodeMetadata.put("dataScale", column.getDataScale());
-        }
-
-        return new GraphNode(
-            "column-" + column.getId(),
-            column.getColumnName(),
-            "column",
-            nodeMetadata
-        );
+    /**
+     * Graph of a discovery result that is written to JSON straight from the graph engine, without
+     * DTO lists; only the build is observed, conversion happens while the response is written
+     */
+    public StreamedGraph streamMetadataGraph(MetadataDiscoveryResponse metadata, MetadataGraph.Detail detail,
+                                             GraphLayout.Mode layout) {
+        MetadataGraph graph = observe("schema", metadata.getConnectionId(),
+            () -> MetadataGraph.build(metadata, detail), MetadataGraph::nodeCount, MetadataGraph::edgeCount);
+        return new StreamedGraph(graph, layoutService.layout(graph, layout));
     }
 
-    private GraphNode createProcedureNode(OracleProcedure procedure) {
-        Map<String, Object> nodeMetadata = new HashMap<>();
-        nodeMetadata.put("id", procedure.getId());
-        nodeMetadata.put("owner", procedure.getOwner());
-        nodeMetadata.put("procedureName", procedure.getProcedureName());
-        nodeMetadata.put("objectType", procedure.getObjectType());
-        nodeMetadata.put("fullName", procedure.getOwner() + "." + procedure.getProcedureName());
-        nodeMetadata.put("type", "Oracle Procedure");
-        if (procedure.getStatus() != null) {
-            nodeMetadata.put("status", procedure.getStatus());
-        }
-
-        return new GraphNode(
-            "procedure-" + procedure.getId(),
-            procedure.getOwner() + "." + procedure.getProcedureName(),
-            "procedure",
-            nodeMetadata
-        );
+    private GraphData observe(String kind, String connectionId, Supplier<GraphData> transform) {
+        return observe(kind, connectionId, transform,
+            graph -> graph.getNodes().size(), graph -> graph.getEdges().size());
     }
 
-    private GraphNode createConstraintNode(OracleConstraint constraint) {
-        Map<String, Object> nodeMetadata = new HashMap<>();
-        nodeMetadata.put("id", constraint.getId());
-        nodeMetadata.put("owner", constraint.getOwner());
-        nodeMetadata.put("constraintName", constraint.getConstraintName());
-        nodeMetadata.put("constraintType", constraint.getConstraintType());
-        nodeMetadata.put("tableName", constraint.getTableName());
-        nodeMetadata.put("fullName", constraint.getOwner() + "." + constraint.getConstraintName());
-        nodeMetadata.put("type", "Oracle Constraint");
-        if (constraint.getStatus() != null) {
-            nodeMetadata.put("status", constraint.getStatus());
-        }
-        if (constraint.getrOwner() != null) {
-            nodeMetadata.put("referencedOwner", constraint.getrOwner());
-        }
-        if (constraint.getrConstraintName() != null) {
-            nodeMetadata.put("referencedConstraint", constraint.getrConstraintName());
-        }
-
-        return new GraphNode(
-            "constraint-" + constraint.getId(),
-            constraint.getConstraintName(),
-            "constraint",
-            nodeMetadata
-        );
+    private <T> T observe(String kind, String connectionId, Supplier<T> transform,
+                          ToIntFunction<T> nodeCount, ToIntFunction<T> edgeCount) {
+        Observation observation = observations.graphTransform(kind);
+        return observation.observe(() -> {
+            GraphTransformEvent event = new GraphTransformEvent();
+            event.begin();
+            T graph = transform.get();
+            int nodes = nodeCount.applyAsInt(graph);
+            int edges = edgeCount.applyAsInt(graph);
+            event.finish(connectionId, kind, nodes, edges);
+            observation.highCardinalityKeyValue("nodes", Integer.toString(nodes));
+            observation.highCardinalityKeyValue("edges", Integer.toString(edges));
+            return graph;
+        });
     }
 
-    private GraphEdge createEdge(String id, String source, String target, String type, Map<String, Object> metadata) {
-        return new GraphEdge(id, source, target, type, metadata);
+    /**
+     * Builds the int-indexed graph of a discovery result, for traversals that should not
+     * materialize the DTOs of the whole graph
+     */
+    public MetadataGraph buildGraph(MetadataDiscoveryResponse metadata) {
+        return MetadataGraph.build(metadata);
     }
 
-    private String findTableId(List<OracleTable> tables, String owner, String tableName) {
-        if (tables == null) return null;
-        
-        return tables.stream()
-            .filter(t -> t.getOwner().equals(owner) && t.getTableName().equals(tableName))
-            .findFirst()
-            .map(t -> "table-" + t.getId())
-            .orElse(null);
+    private GraphData toGraphData(MetadataGraph graph, GraphLayout.Mode layout) {
+        GraphData graphData = graph.toGraphData();
+        GraphLayoutService.apply(graphData, layoutService.layout(graph, layout));
+        return graphData;
     }
 
-    private GraphData.GraphStatistics generateGraphStatistics(List<GraphNode> nodes, List<GraphEdge> edges) {
-        Map<String, Integer> nodeTypeBreakdown = new HashMap<>();
-        Map<String, Integer> edgeTypeBreakdown = new HashMap<>();
-
-        // Count node types
-        for (GraphNode node : nodes) {
-            nodeTypeBreakdown.merge(node.getType(), 1, Integer::sum);
+    /**
+     * Computes the nodes and edges added, updated or removed between two graphs.
+     * Nodes and edges are matched by id; an edge whose endpoints moved is reported as removed and added.
+     */
+    public GraphDelta diffGraphs(GraphData previous, GraphData current) {
+        GraphDelta delta = new GraphDelta();
+
+        Map<String, GraphNode> previousNodes = new HashMap<>();
+        for (GraphNode node : previous.getNodes()) {
+            previousNodes.put(node.getId(), node);
+        }
+        Set<String> currentNodeIds = new HashSet<>();
+        for (GraphNode node : current.getNodes()) {
+            currentNodeIds.add(node.getId());
+            GraphNode before = previousNodes.get(node.getId());
+            if (before == null) {
+                delta.getAddedNodes().add(node);
+            } else if (!Objects.equals(before.getLabel(), node.getLabel())
+                    || !Objects.equals(before.getType(), node.getType())
+                    || !Objects.equals(before.getMetadata(), node.getMetadata())) {
+                delta.getUpdatedNodes().add(node);
+            }
+        }
+        for (GraphNode node : previous.getNodes()) {
+            if (!currentNodeIds.contains(node.getId())) {
+                delta.getRemovedNodeIds().add(node.getId());
+            }
         }
 
-        // Count edge types
-        for (GraphEdge edge : edges) {
-            edgeTypeBreakdown.merge(edge.getType(), 1, Integer::sum);
+        Map<String, GraphEdge> previousEdges = new HashMap<>();
+        for (GraphEdge edge : previous.getEdges()) {
+            previousEdges.put(edge.getId(), edge);
+        }
+        Set<String> keptEdgeIds = new HashSet<>();
+        for (GraphEdge edge : current.getEdges()) {
+            GraphEdge before = previousEdges.get(edge.getId());
+            if (before != null && Objects.equals(before.getSource(), edge.getSource())
+                    && Objects.equals(before.getTarget(), edge.getTarget())) {
+                keptEdgeIds.add(edge.getId());
+            } else {
+                delta.getAddedEdges().add(edge);
+            }
+        }
+        for (GraphEdge edge : previous.getEdges()) {
+            if (!keptEdgeIds.contains(edge.getId())) {
+                delta.getRemovedEdgeIds().add(edge.getId());
+            }
         }
 
-        return new GraphData.GraphStatistics(
-            nodes.size(),
-            edges.size(),
-            nodeTypeBreakdown,
-            edgeTypeBreakdown
-        );
+        return delta;
     }
-}
\ No newline at end of file
+}
@@ -1,56 +1,257 @@
 package com.datalineage.oracle.discovery.service;
 
 import com.datalineage.oracle.discovery.dto.MetadataDiscoveryRequest;
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryRequest.FetchStrategy;
 import com.datalineage.oracle.discovery.dto.MetadataDiscoveryResponse;
 import com.datalineage.oracle.discovery.dto.OracleConnectionConfig;
+import com.datalineage.oracle.discovery.jfr.CommentEnrichmentEvent;
+import com.datalineage.oracle.discovery.jfr.DictionaryQueryEvent;
+import com.datalineage.oracle.discovery.jfr.DiscoveryEvent;
+import com.datalineage.oracle.discovery.jfr.DiscoveryStartedEvent;
 import com.datalineage.oracle.discovery.model.*;
+import io.micrometer.observation.Observation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.sql.CallableStatement;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
- * Service for extracting metadata from Oracle system tables
+ * Service for extracting metadata from Oracle system tables.
+ *
+ * Two fetch strategies run the same queries from {@link OracleDictionaryQueries}:
+ * STATEMENTS executes each category as its own statement, SINGLE_ROUND_TRIP sends one
+ * anonymous PL/SQL block that returns every category cursor as an implicit result.
  */
 @Service
 public class OracleMetadataExtractionService {
-    
+
+    private static final Logger logger = LoggerFactory.getLogger(OracleMetadataExtractionService.class);
+
+    // PLS compilation error, e.g. DBMS_SQL.RETURN_RESULT missing before 12c
+    private static final int PLSQL_COMPILATION_ERROR = 6550;
+
+    // Category of the combined PL/SQL block execution in single round-trip mode
+    private static final String OPEN_CURSORS = "open_cursors";
+
     @Autowired
     private OracleConnectionService connectionService;
-    
+
+    @Autowired
+    private DictionaryAccessService dictionaryAccessService;
+
+    @Autowired(required = false)
+    private DiscoveryObservations observations = new DiscoveryObservations();
+
+    @Autowired(required = false)
+    private DiscoveryResultCache resultCache;
+
+    @Autowired(required = false)
+    private DiscoveryCoalescer coalescer;
+
+    @Value("${oracle.discovery.fetch-strategy:STATEMENTS}")
+    private FetchStrategy defaultFetchStrategy = FetchStrategy.STATEMENTS;
+
+    @Value("${oracle.discovery.fetch-size:500}")
+    private int fetchSize = 500;
+
     /**
-     * Discovers Oracle metadata based on request parameters
+     * Discovers Oracle metadata based on request parameters. Requests with useCache may be answered
+     * from the result cache and identical concurrent requests share one discovery; a performance
+     * breakdown is only meaningful for a discovery of its own, so such requests bypass both.
      */
-    public MetadataDiscoveryResponse discoverMetadata(OracleConnectionConfig config, 
+    public MetadataDiscoveryResponse discoverMetadata(OracleConnectionConfig config,
                                                      MetadataDiscoveryRequest request) throws SQLException {
-        long startTime = System.currentTimeMillis();
-        
-        MetadataDiscoveryResponse response = new MetadataDiscoveryResponse(request.getConnectionId());
-        
-        try (Connection connection = connectionService.createConnection(config)) {
-            if (request.isIncludeTables()) {
-                response.setTables(extractTables(connection, request));
+        if (request.isIncludePerformance()) {
+            return observeDiscovery(config, request);
+        }
+        if (request.isUseCache() && resultCache != null && resultCache.isEnabled()) {
+            return resultCache.get(config, request, () -> coalescedDiscovery(config, request));
+        }
+        return coalescedDiscovery(config, request);
+    }
+
+    /**
+     * Discovers a single table with its columns and constraints, matching owner and name by equality.
+     * Every statement, the comment lookups included, reads only that table's dictionary rows.
+     * Without an owner, equally named tables of all accessible owners are returned.
+     */
+    public MetadataDiscoveryResponse discoverTable(OracleConnectionConfig config, String connectionId, String owner,
+                                                   String tableName, boolean includeColumns,
+                                                   boolean includeConstraints) throws SQLException {
+        MetadataDiscoveryRequest request = new MetadataDiscoveryRequest(connectionId);
+        request.setIncludeColumns(includeColumns);
+        request.setIncludeProcedures(false);
+        request.setIncludeConstraints(includeConstraints);
+
+        Observation observation = observations.discovery(config, connectionId);
+        return observations.observe(observation, () -> {
+            long startTime = System.currentTimeMillis();
+            MetadataDiscoveryResponse response = new MetadataDiscoveryResponse(connectionId);
+            DiscoveryPerformanceRecorder performance = DiscoveryPerformanceRecorder.start(false, fetchSize);
+
+            try (Connection connection = observations.acquireConnection(connectionService, config, connectionId)) {
+                DiscoveryRun run = new DiscoveryRun(connection, config, request, performance);
+                DictionaryScope scope = dictionaryAccessService.resolveScope(connectionId, connection);
+
+                List<OracleTable> tables = query(run, "tables", OracleDictionaryQueries.singleTable(scope, owner, tableName),
+                    rs -> OracleMetadataRowMapper.mapTable(rs, connectionId));
+                response.setTables(tables);
+                if (!tables.isEmpty()) {
+                    scan(run, "table_comments", OracleDictionaryQueries.singleTableComments(scope, owner, tableName),
+                        tableComments(tablesByKey(tables), connectionId));
+
+                    if (includeColumns) {
+                        List<OracleColumn> columns = query(run, "columns",
+                            OracleDictionaryQueries.singleTableColumns(scope, owner, tableName),
+                            rs -> OracleMetadataRowMapper.mapColumn(rs, connectionId));
+                        if (!columns.isEmpty()) {
+                            scan(run, "column_comments", OracleDictionaryQueries.singleTableColumnComments(scope, owner, tableName),
+                                columnComments(columnsByKey(columns), connectionId));
+                        }
+                        response.setColumns(columns);
+                    }
+                    if (includeConstraints) {
+                        response.setConstraints(query(run, "constraints",
+                            OracleDictionaryQueries.singleTableConstraints(scope, owner, tableName),
+                            rs -> OracleMetadataRowMapper.mapConstraint(rs, connectionId)));
+                    }
+                }
+
+                MetadataDiscoveryResponse.DiscoveryStatistics stats = new MetadataDiscoveryResponse.DiscoveryStatistics(
+                    tables.size(),
+                    response.getColumns() != null ? response.getColumns().size() : 0,
+                    0,
+                    response.getConstraints() != null ? response.getConstraints().size() : 0,
+                    System.currentTimeMillis() - startTime
+                );
+                stats.setDictionaryScope(scope.name());
+                stats.setFetchStrategy(FetchStrategy.STATEMENTS.name());
+                response.setStatistics(stats);
+                observation.lowCardinalityKeyValue("scope", scope.name());
+                observation.lowCardinalityKeyValue("strategy", FetchStrategy.STATEMENTS.name());
             }
-            
-            if (request.isIncludeColumns()) {
-                response.setColumns(extractColumns(connection, request));
+            return response;
+        });
+    }
+
+    /**
+     * Counts the objects a discovery with the request's filters would return, with one aggregate
+     * query per category and without fetching any object rows. Pagination is ignored.
+     */
+    public DictionaryCounts countObjects(OracleConnectionConfig config, MetadataDiscoveryRequest request) throws SQLException {
+        String connectionId = request.getConnectionId();
+        Observation observation = observations.discovery(config, connectionId);
+        return observations.observe(observation, () -> {
+            DictionaryCounts counts = new DictionaryCounts();
+            DiscoveryPerformanceRecorder performance = DiscoveryPerformanceRecorder.start(false, fetchSize);
+
+            try (Connection connection = observations.acquireConnection(connectionService, config, connectionId)) {
+                DiscoveryRun run = new DiscoveryRun(connection, config, request, performance);
+                DictionaryScope scope = dictionaryAccessService.resolveScope(connectionId, connection);
+
+                if (request.isIncludeTables()) {
+                    forEachRow(run, "table_counts", OracleDictionaryQueries.tableCounts(scope, request),
+                        rs -> counts.addTables(rs.getString("owner"), rs.getInt("object_count")));
+                }
+                if (request.isIncludeColumns()) {
+                    forEachRow(run, "column_counts", OracleDictionaryQueries.columnCounts(scope, request),
+                        rs -> counts.addColumns(rs.getInt("object_count")));
+                }
+                if (request.isIncludeProcedures()) {
+                    forEachRow(run, "procedure_counts", OracleDictionaryQueries.procedureCounts(scope, request),
+                        rs -> counts.addProcedures(rs.getString("owner"), rs.getInt("object_count")));
+                }
+                if (request.isIncludeConstraints()) {
+                    forEachRow(run, "constraint_counts", OracleDictionaryQueries.constraintCounts(scope, request),
+                        rs -> counts.addConstraints(rs.getInt("object_count"), rs.getInt("foreign_key_count")));
+                }
+                observation.lowCardinalityKeyValue("scope", scope.name());
+                observation.lowCardinalityKeyValue("strategy", FetchStrategy.STATEMENTS.name());
             }
-            
-            if (request.isIncludeProcedures()) {
-                response.setProcedures(extractProcedures(connection, request));
+            return counts;
+        });
+    }
+
+    /**
+     * Identical concurrent discoveries share one flight, keyed like the result cache so callers with
+     * other credentials always log in themselves
+     */
+    private MetadataDiscoveryResponse coalescedDiscovery(OracleConnectionConfig config,
+                                                         MetadataDiscoveryRequest request) throws SQLException {
+        if (coalescer == null || !coalescer.isEnabled()) {
+            return observeDiscovery(config, request);
+        }
+        return coalescer.execute(DiscoveryResultCache.cacheKey(config, request), () -> observeDiscovery(config, request));
+    }
+
+    private MetadataDiscoveryResponse observeDiscovery(OracleConnectionConfig config,
+                                                       MetadataDiscoveryRequest request) throws SQLException {
+        Observation observation = observations.discovery(config, request.getConnectionId());
+        DiscoveryStartedEvent.emit(request.getConnectionId(), config.getHost());
+        DiscoveryEvent event = new DiscoveryEvent();
+        event.begin();
+        MetadataDiscoveryResponse response = null;
+        try {
+            response = observations.observe(observation, () -> discover(config, request, observation));
+            return response;
+        } finally {
+            MetadataDiscoveryResponse.DiscoveryStatistics stats = response != null ? response.getStatistics() : null;
+            if (stats != null) {
+                event.finish(request.getConnectionId(), stats.getFetchStrategy(), stats.getDictionaryScope(),
+                    stats.getTotalTables(), stats.getTotalColumns(), stats.getTotalProcedures(),
+                    stats.getTotalConstraints(), true);
+            } else {
+                event.finish(request.getConnectionId(), null, null, 0, 0, 0, 0, false);
+            }
+        }
+    }
+
+    private MetadataDiscoveryResponse discover(OracleConnectionConfig config, MetadataDiscoveryRequest request,
+                                               Observation observation) throws SQLException {
+        long startTime = System.currentTimeMillis();
+
+        MetadataDiscoveryResponse response = new MetadataDiscoveryResponse(request.getConnectionId());
+        DiscoveryPerformanceRecorder performance = DiscoveryPerformanceRecorder.start(request.isIncludePerformance(), fetchSize);
+
+        long connectStart = System.nanoTime();
+        try (Connection connection = observations.acquireConnection(connectionService, config, request.getConnectionId())) {
+            performance.connectionAcquired(connectStart);
+            DiscoveryRun run = new DiscoveryRun(connection, config, request, performance);
+
+            long scopeStart = System.nanoTime();
+            DictionaryScope scope = dictionaryAccessService.resolveScope(request.getConnectionId(), connection);
+            performance.scopeResolved(scopeStart);
+
+            FetchStrategy strategy = request.getFetchStrategy() != null ? request.getFetchStrategy() : defaultFetchStrategy;
+            if (strategy == FetchStrategy.SINGLE_ROUND_TRIP) {
+                try {
+                    fetchInSingleRoundTrip(run, scope, response);
+                } catch (SQLException e) {
+                    if (e.getErrorCode() != PLSQL_COMPILATION_ERROR) {
+                        throw e;
+                    }
+                    logger.warn("Single round-trip fetch not supported for connection {}, using statements: {}",
+                        request.getConnectionId(), e.getMessage());
+                    strategy = FetchStrategy.STATEMENTS;
+                }
             }
-            
-            if (request.isIncludeConstraints()) {
-                response.setConstraints(extractConstraints(connection, request));
+            if (strategy == FetchStrategy.STATEMENTS) {
+                fetchWithStatements(run, scope, response);
             }
-            
+
             long endTime = System.currentTimeMillis();
-            
+
             // Build statistics
             MetadataDiscoveryResponse.DiscoveryStatistics stats = new MetadataDiscoveryResponse.DiscoveryStatistics(
                 response.getTables() != null ? response.getTables().size() : 0,
@@ -59,409 +260,370 @@ public class OracleMetadataExtractionService {
                 response.getConstraints() != null ? response.getConstraints().size() : 0,
                 endTime - startTime
             );
+            stats.setDictionaryScope(scope.name());
+            stats.setFetchStrategy(strategy.name());
+            stats.setPerformance(performance.finish());
             response.setStatistics(stats);
+
+            observation.lowCardinalityKeyValue("scope", scope.name());
+            observation.lowCardinalityKeyValue("strategy", strategy.name());
+            observation.highCardinalityKeyValue("tables", Integer.toString(stats.getTotalTables()));
+            observation.highCardinalityKeyValue("columns", Integer.toString(stats.getTotalColumns()));
         }
-        
+
         return response;
     }
-    
+
     /**
-     * Extracts table metadata from Oracle system tables
+     * Runs each category, and each comment scan, as a separate statement
      */
-    private List<OracleTable> extractTables(Connection connection, MetadataDiscoveryRequest request) throws SQLException {
-        StringBuilder query = new StringBuilder(
-            "SELECT owner, table_name, table_type, tablespace_name, num_rows, blocks, " +
-            "avg_row_len, sample_size, compression, status, temporary " +
-            "FROM all_tables " +
-            "WHERE 1=1 "
-        );
-        
-        List<Object> params = new ArrayList<>();
-        
-        // Add schema filter
-        if (request.getSchemas() != null && !request.getSchemas().isEmpty()) {
-            query.append("AND owner IN (");
-            for (int i = 0; i < request.getSchemas().size(); i++) {
-                if (i > 0) query.append(",");
-                query.append("?");
-                params.add(request.getSchemas().get(i));
+    private void fetchWithStatements(DiscoveryRun run, DictionaryScope scope,
+                                     MetadataDiscoveryResponse response) throws SQLException {
+        MetadataDiscoveryRequest request = run.request;
+        String connectionId = request.getConnectionId();
+
+        if (request.isIncludeTables()) {
+            List<OracleTable> tables = query(run, "tables",
+                OracleDictionaryQueries.tables(scope, request), rs -> OracleMetadataRowMapper.mapTable(rs, connectionId));
+            if (!tables.isEmpty()) {
+                scan(run, "table_comments", OracleDictionaryQueries.tableComments(scope, request),
+                    tableComments(tablesByKey(tables), connectionId));
             }
-            query.append(") ");
+            response.setTables(tables);
         }
-        
-        // Add table name patterns
-        if (request.getTablePatterns() != null && !request.getTablePatterns().isEmpty()) {
-            query.append("AND (");
-            for (int i = 0; i < request.getTablePatterns().size(); i++) {
-                if (i > 0) query.append(" OR ");
-                query.append("table_name LIKE ?");
-                params.add(request.getTablePatterns().get(i));
+
+        if (request.isIncludeColumns()) {
+            List<OracleColumn> columns = query(run, "columns",
+                OracleDictionaryQueries.columns(scope, request), rs -> OracleMetadataRowMapper.mapColumn(rs, connectionId));
+            if (!columns.isEmpty()) {
+                scan(run, "column_comments", OracleDictionaryQueries.columnComments(scope, request),
+                    columnComments(columnsByKey(columns), connectionId));
             }
-            query.append(") ");
+            response.setColumns(columns);
         }
-        
-        query.append("ORDER BY owner, table_name ");
-        
-        if (request.getLimit() != null) {
-            query.append("OFFSET ? ROWS FETCH NEXT ? ROWS ONLY");
-            params.add(request.getOffset() != null ? request.getOffset() : 0);
-            params.add(request.getLimit());
+
+        if (request.isIncludeProcedures()) {
+            response.setProcedures(query(run, "procedures",
+                OracleDictionaryQueries.procedures(scope, request), rs -> OracleMetadataRowMapper.mapProcedure(rs, connectionId)));
         }
-        
-        List<OracleTable> tables = new ArrayList<>();
-        
-        try (PreparedStatement stmt = connection.prepareStatement(query.toString())) {
-            for (int i = 0; i < params.size(); i++) {
-                stmt.setObject(i + 1, params.get(i));
-            }
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    OracleTable table = new OracleTable(
-                        rs.getString("owner"),
-                        rs.getString("table_name"),
-                        request.getConnectionId()
-                    );
-                    
-                    table.setTableType(rs.getString("table_type"));
-                    table.setTablespaceName(rs.getString("tablespace_name"));
-                    table.setNumRows(rs.getLong("num_rows"));
-                    table.setBlocks(rs.getLong("blocks"));
-                    table.setAvgRowLen(rs.getLong("avg_row_len"));
-                    table.setSampleSize(rs.getLong("sample_size"));
-                    table.setCompression(rs.getString("compression"));
-                    table.setStatus(rs.getString("status"));
-                    table.setTemporary(rs.getString("temporary"));
-                    
-                    tables.add(table);
-                }
-            }
+
+        if (request.isIncludeConstraints()) {
+            response.setConstraints(query(run, "constraints",
+                OracleDictionaryQueries.constraints(scope, request), rs -> OracleMetadataRowMapper.mapConstraint(rs, connectionId)));
         }
-        
-        // Get table comments
-        addTableComments(connection, tables);
-        
-        return tables;
     }
-    
+
     /**
-     * Extracts column metadata from Oracle system tables
+     * Sends one PL/SQL block that opens every cursor and hands it back with DBMS_SQL.RETURN_RESULT.
+     * The implicit results arrive in the order they were returned and each is mapped while it is read.
      */
-    private List<OracleColumn> extractColumns(Connection connection, MetadataDiscoveryRequest request) throws SQLException {
-        StringBuilder query = new StringBuilder(
-            "SELECT owner, table_name, column_name, data_type, data_type_mod, data_type_owner, " +
-            "data_length, data_precision, data_scale, nullable, column_id, default_length, " +
-            "data_default, num_distinct, low_value, high_value, density, num_nulls, num_buckets, " +
-            "character_set_name, char_col_decl_length, global_stats, user_stats, avg_col_len, " +
-            "char_length, char_used " +
-            "FROM all_tab_columns " +
-            "WHERE 1=1 "
-        );
-        
-        List<Object> params = new ArrayList<>();
-        
-        // Add schema filter
-        if (request.getSchemas() != null && !request.getSchemas().isEmpty()) {
-            query.append("AND owner IN (");
-            for (int i = 0; i < request.getSchemas().size(); i++) {
-                if (i > 0) query.append(",");
-                query.append("?");
-                params.add(request.getSchemas().get(i));
-            }
-            query.append(") ");
+    private void fetchInSingleRoundTrip(DiscoveryRun run, DictionaryScope scope,
+                                        MetadataDiscoveryResponse response) throws SQLException {
+        MetadataDiscoveryRequest request = run.request;
+        String connectionId = request.getConnectionId();
+        List<DictionaryQuery> queries = new ArrayList<>();
+        List<String> categories = new ArrayList<>();
+        List<ResultConsumer> consumers = new ArrayList<>();
+
+        if (request.isIncludeTables()) {
+            List<OracleTable> tables = new ArrayList<>();
+            Map<String, OracleTable> tablesByKey = new HashMap<>();
+            queries.add(OracleDictionaryQueries.tables(scope, request));
+            categories.add("tables");
+            consumers.add(rs -> {
+                while (rs.next()) {
+                    OracleTable table = OracleMetadataRowMapper.mapTable(rs, connectionId);
+                    tables.add(table);
+                    tablesByKey.put(tableKey(table.getOwner(), table.getTableName()), table);
+                }
+                return tables.size();
+            });
+            queries.add(OracleDictionaryQueries.tableComments(scope, request));
+            categories.add("table_comments");
+            consumers.add(tableComments(tablesByKey, connectionId));
+            response.setTables(tables);
         }
-        
-        // Add table name patterns
-        if (request.getTablePatterns() != null && !request.getTablePatterns().isEmpty()) {
-            query.append("AND (");
-            for (int i = 0; i < request.getTablePatterns().size(); i++) {
-                if (i > 0) query.append(" OR ");
-                query.append("table_name LIKE ?");
-                params.add(request.getTablePatterns().get(i));
-            }
-            query.append(") ");
+
+        if (request.isIncludeColumns()) {
+            List<OracleColumn> columns = new ArrayList<>();
+            Map<String, OracleColumn> columnsByKey = new HashMap<>();
+            queries.add(OracleDictionaryQueries.columns(scope, request));
+            categories.add("columns");
+            consumers.add(rs -> {
+                while (rs.next()) {
+                    OracleColumn column = OracleMetadataRowMapper.mapColumn(rs, connectionId);
+                    columns.add(column);
+                    columnsByKey.put(columnKey(column.getOwner(), column.getTableName(), column.getColumnName()), column);
+                }
+                return columns.size();
+            });
+            queries.add(OracleDictionaryQueries.columnComments(scope, request));
+            categories.add("column_comments");
+            consumers.add(columnComments(columnsByKey, connectionId));
+            response.setColumns(columns);
+        }
+
+        if (request.isIncludeProcedures()) {
+            List<OracleProcedure> procedures = new ArrayList<>();
+            queries.add(OracleDictionaryQueries.procedures(scope, request));
+            categories.add("procedures");
+            consumers.add(rs -> {
+                while (rs.next()) {
+                    procedures.add(OracleMetadataRowMapper.mapProcedure(rs, connectionId));
+                }
+                return procedures.size();
+            });
+            response.setProcedures(procedures);
         }
-        
-        query.append("ORDER BY owner, table_name, column_id ");
-        
-        if (request.getLimit() != null) {
-            query.append("OFFSET ? ROWS FETCH NEXT ? ROWS ONLY");
-            params.add(request.getOffset() != null ? request.getOffset() : 0);
-            params.add(request.getLimit());
+
+        if (request.isIncludeConstraints()) {
+            List<OracleConstraint> constraints = new ArrayList<>();
+            queries.add(OracleDictionaryQueries.constraints(scope, request));
+            categories.add("constraints");
+            consumers.add(rs -> {
+                while (rs.next()) {
+                    constraints.add(OracleMetadataRowMapper.mapConstraint(rs, connectionId));
+                }
+                return constraints.size();
+            });
+            response.setConstraints(constraints);
         }
-        
-        List<OracleColumn> columns = new ArrayList<>();
-        
-        try (PreparedStatement stmt = connection.prepareStatement(query.toString())) {
-            for (int i = 0; i < params.size(); i++) {
-                stmt.setObject(i + 1, params.get(i));
+
+        if (queries.isEmpty()) {
+            return;
+        }
+
+        DiscoveryPerformanceRecorder.QueryTimer blockTimer = run.performance.query(OPEN_CURSORS);
+        try (CallableStatement stmt = run.connection.prepareCall(implicitResultsBlock(queries))) {
+            int position = 1;
+            for (DictionaryQuery query : queries) {
+                position = query.bind(stmt, position);
             }
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    OracleColumn column = new OracleColumn(
-                        rs.getString("owner"),
-                        rs.getString("table_name"),
-                        rs.getString("column_name"),
-                        request.getConnectionId()
-                    );
-                    
-                    column.setDataType(rs.getString("data_type"));
-                    column.setDataTypeMod(rs.getString("data_type_mod"));
-                    column.setDataTypeOwner(rs.getString("data_type_owner"));
-                    column.setDataLength(rs.getLong("data_length"));
-                    column.setDataPrecision(getIntegerOrNull(rs, "data_precision"));
-                    column.setDataScale(getIntegerOrNull(rs, "data_scale"));
-                    column.setNullable(rs.getString("nullable"));
-                    column.setColumnId(getIntegerOrNull(rs, "column_id"));
-                    column.setDefaultLength(rs.getLong("default_length"));
-                    column.setDataDefault(rs.getString("data_default"));
-                    column.setNumDistinct(rs.getLong("num_distinct"));
-                    column.setLowValue(rs.getString("low_value"));
-                    column.setHighValue(rs.getString("high_value"));
-                    column.setDensity(getDoubleOrNull(rs, "density"));
-                    column.setNumNulls(rs.getLong("num_nulls"));
-                    column.setNumBuckets(getIntegerOrNull(rs, "num_buckets"));
-                    column.setCharacterSetName(rs.getString("character_set_name"));
-                    column.setCharColDeclLength(getIntegerOrNull(rs, "char_col_decl_length"));
-                    column.setGlobalStats(rs.getString("global_stats"));
-                    column.setUserStats(rs.getString("user_stats"));
-                    column.setAvgColLen(getDoubleOrNull(rs, "avg_col_len"));
-                    column.setCharLength(getIntegerOrNull(rs, "char_length"));
-                    column.setCharUsed(rs.getString("char_used"));
-                    
-                    columns.add(column);
+            // Opening all cursors is timed on its own; each category then covers fetching and mapping its rows
+            DictionaryQueryEvent execute = new DictionaryQueryEvent();
+            execute.begin();
+            observations.observe(extraction(run, OPEN_CURSORS), stmt::execute);
+            execute.finish(connectionId, OPEN_CURSORS, DictionaryQueryEvent.EXECUTE, 0, fetchSize);
+            blockTimer.finishExecuteOnly();
+
+            for (int i = 0; i < consumers.size(); i++) {
+                if (!stmt.getMoreResults()) {
+                    throw new SQLException("Expected " + consumers.size() + " implicit results but received " + i);
                 }
+                ResultConsumer consumer = consumers.get(i);
+                String category = categories.get(i);
+                Observation observation = extraction(run, category);
+                observations.observe(observation, () -> {
+                    long startNanos = System.nanoTime();
+                    DiscoveryPerformanceRecorder.QueryTimer timer = run.performance.query(category);
+                    try (ResultSet rs = stmt.getResultSet()) {
+                        rs.setFetchSize(fetchSize);
+                        read(rs, consumer, observation, timer, connectionId, category, startNanos);
+                    }
+                    return null;
+                });
             }
         }
-        
-        // Get column comments
-        addColumnComments(connection, columns);
-        
-        return columns;
     }
-    
+
     /**
-     * Extracts procedure metadata from Oracle system tables
+     * Builds the anonymous block returning one implicit result per query, in list order
      */
-    private List<OracleProcedure> extractProcedures(Connection connection, MetadataDiscoveryRequest request) throws SQLException {
-        StringBuilder query = new StringBuilder(
-            "SELECT owner, object_name, procedure_name, object_type, status, aggregate, " +
-            "pipelined, impltypeowner, impltypename, parallel, interface, deterministic, " +
-            "authid, result_cache, origin_con_id, polymorphic " +
-            "FROM all_procedures " +
-            "WHERE 1=1 "
-        );
-        
-        List<Object> params = new ArrayList<>();
-        
-        // Add schema filter
-        if (request.getSchemas() != null && !request.getSchemas().isEmpty()) {
-            query.append("AND owner IN (");
-            for (int i = 0; i < request.getSchemas().size(); i++) {
-                if (i > 0) query.append(",");
-                query.append("?");
-                params.add(request.getSchemas().get(i));
-            }
-            query.append(") ");
+    static String implicitResultsBlock(List<DictionaryQuery> queries) {
+        StringBuilder block = new StringBuilder("DECLARE\n");
+        for (int i = 0; i < queries.size(); i++) {
+            block.append("  c").append(i).append(" SYS_REFCURSOR;\n");
         }
-        
-        query.append("ORDER BY owner, object_name, procedure_name ");
-        
-        if (request.getLimit() != null) {
-            query.append("OFFSET ? ROWS FETCH NEXT ? ROWS ONLY");
-            params.add(request.getOffset() != null ? request.getOffset() : 0);
-            params.add(request.getLimit());
+        block.append("BEGIN\n");
+        for (int i = 0; i < queries.size(); i++) {
+            block.append("  OPEN c").append(i).append(" FOR ").append(queries.get(i).getSql().trim()).append(";\n");
+            block.append("  DBMS_SQL.RETURN_RESULT(c").append(i).append(");\n");
         }
-        
-        List<OracleProcedure> procedures = new ArrayList<>();
-        
-        try (PreparedStatement stmt = connection.prepareStatement(query.toString())) {
-            for (int i = 0; i < params.size(); i++) {
-                stmt.setObject(i + 1, params.get(i));
+        block.append("END;");
+        return block.toString();
+    }
+
+    private <T> List<T> query(DiscoveryRun run, String category, DictionaryQuery query,
+                              RowMapper<T> mapper) throws SQLException {
+        List<T> rows = new ArrayList<>();
+        scan(run, category, query, rs -> {
+            while (rs.next()) {
+                rows.add(mapper.map(rs));
             }
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    OracleProcedure procedure = new OracleProcedure(
-                        rs.getString("owner"),
-                        rs.getString("object_name"),
-                        request.getConnectionId()
-                    );
-                    
-                    procedure.setProcedureName(rs.getString("procedure_name"));
-                    procedure.setObjectType(rs.getString("object_type"));
-                    procedure.setStatus(rs.getString("status"));
-                    procedure.setAggregate(rs.getString("aggregate"));
-                    procedure.setPipelined(rs.getString("pipelined"));
-                    procedure.setImplTypeOwner(rs.getString("impltypeowner"));
-                    procedure.setImplTypeName(rs.getString("impltypename"));
-                    procedure.setParallel(rs.getString("parallel"));
-                    procedure.setInterfaceType(rs.getString("interface"));
-                    procedure.setDeterministic(rs.getString("deterministic"));
-                    procedure.setAuthId(rs.getString("authid"));
-                    procedure.setResultCache(rs.getString("result_cache"));
-                    procedure.setOriginConId(getIntegerOrNull(rs, "origin_con_id"));
-                    procedure.setPolymorphic(rs.getString("polymorphic"));
-                    
-                    procedures.add(procedure);
+            return rows.size();
+        });
+        return rows;
+    }
+
+    private void forEachRow(DiscoveryRun run, String category, DictionaryQuery query,
+                            RowHandler handler) throws SQLException {
+        scan(run, category, query, rs -> {
+            long rows = 0;
+            while (rs.next()) {
+                handler.handle(rs);
+                rows++;
+            }
+            return rows;
+        });
+    }
+
+    private void scan(DiscoveryRun run, String category, DictionaryQuery query,
+                      ResultConsumer consumer) throws SQLException {
+        String connectionId = run.request.getConnectionId();
+        Observation observation = extraction(run, category);
+        observations.observe(observation, () -> {
+            long startNanos = System.nanoTime();
+            DiscoveryPerformanceRecorder.QueryTimer timer = run.performance.query(category);
+            DictionaryQueryEvent execute = new DictionaryQueryEvent();
+            execute.begin();
+            try (PreparedStatement stmt = run.connection.prepareStatement(query.getSql())) {
+                stmt.setFetchSize(fetchSize);
+                query.bind(stmt, 1);
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    execute.finish(connectionId, category, DictionaryQueryEvent.EXECUTE, 0, fetchSize);
+                    timer.executed();
+                    read(rs, consumer, observation, timer, connectionId, category, startNanos);
                 }
             }
-        }
-        
-        return procedures;
+            return null;
+        });
     }
-    
+
     /**
-     * Extracts constraint metadata from Oracle system tables
+     * Reads a result set with the consumer, recording the fetch phase and the row count
      */
-    private List<OracleConstraint> extractConstraints(Connection connection, MetadataDiscoveryRequest request) throws SQLException {
-        StringBuilder query = new StringBuilder(
-            "SELECT owner, constraint_name, constraint_type, table_name, search_condition, " +
-            "search_condition_vc, r_owner, r_constraint_name, delete_rule, status, deferrable, " +
-            "deferred, validated, generated, bad, rely, last_change, index_owner, index_name, " +
-            "invalid, view_related, origin_con_id " +
-            "FROM all_constraints " +
-            "WHERE constraint_type IN ('P', 'R', 'U', 'C') "
-        );
-        
-        List<Object> params = new ArrayList<>();
-        
-        // Add schema filter
-        if (request.getSchemas() != null && !request.getSchemas().isEmpty()) {
-            query.append("AND owner IN (");
-            for (int i = 0; i < request.getSchemas().size(); i++) {
-                if (i > 0) query.append(",");
-                query.append("?");
-                params.add(request.getSchemas().get(i));
-            }
-            query.append(") ");
-        }
-        
-        // Add table name patterns
-        if (request.getTablePatterns() != null && !request.getTablePatterns().isEmpty()) {
-            query.append("AND (");
-            for (int i = 0; i < request.getTablePatterns().size(); i++) {
-                if (i > 0) query.append(" OR ");
-                query.append("table_name LIKE ?");
-                params.add(request.getTablePatterns().get(i));
-            }
-            query.append(") ");
-        }
-        
-        query.append("ORDER BY owner, table_name, constraint_name ");
-        
-        if (request.getLimit() != null) {
-            query.append("OFFSET ? ROWS FETCH NEXT ? ROWS ONLY");
-            params.add(request.getOffset() != null ? request.getOffset() : 0);
-            params.add(request.getLimit());
-        }
-        
-        List<OracleConstraint> constraints = new ArrayList<>();
-        
-        try (PreparedStatement stmt = connection.prepareStatement(query.toString())) {
-            for (int i = 0; i < params.size(); i++) {
-                stmt.setObject(i + 1, params.get(i));
+    private void read(ResultSet rs, ResultConsumer consumer, Observation observation,
+                      DiscoveryPerformanceRecorder.QueryTimer timer, String connectionId, String category,
+                      long startNanos) throws SQLException {
+        DictionaryQueryEvent fetch = new DictionaryQueryEvent();
+        fetch.begin();
+        long rows = consumer.accept(timer.measure(rs));
+        timer.fetched(rows);
+        fetch.finish(connectionId, category, DictionaryQueryEvent.FETCH, rows, fetchSize);
+        DiscoveryObservations.recordRows(observation, rows, startNanos);
+    }
+
+    private Observation extraction(DiscoveryRun run, String category) {
+        return observations.extraction(run.config, run.request.getConnectionId(), category);
+    }
+
+    private ResultConsumer tableComments(Map<String, OracleTable> tablesByKey, String connectionId) {
+        return rs -> {
+            CommentEnrichmentEvent event = new CommentEnrichmentEvent();
+            event.begin();
+            long rows = 0;
+            long applied = 0;
+            while (rs.next()) {
+                rows++;
+                if (applyTableComment(rs, tablesByKey)) {
+                    applied++;
+                }
             }
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    OracleConstraint constraint = new OracleConstraint(
-                        rs.getString("owner"),
-                        rs.getString("constraint_name"),
-                        rs.getString("table_name"),
-                        request.getConnectionId()
-                    );
-                    
-                    constraint.setConstraintType(rs.getString("constraint_type"));
-                    constraint.setSearchCondition(rs.getString("search_condition"));
-                    constraint.setSearchConditionVc(rs.getString("search_condition_vc"));
-                    constraint.setrOwner(rs.getString("r_owner"));
-                    constraint.setrConstraintName(rs.getString("r_constraint_name"));
-                    constraint.setDeleteRule(rs.getString("delete_rule"));
-                    constraint.setStatus(rs.getString("status"));
-                    constraint.setDeferrable(rs.getString("deferrable"));
-                    constraint.setDeferred(rs.getString("deferred"));
-                    constraint.setValidated(rs.getString("validated"));
-                    constraint.setGenerated(rs.getString("generated"));
-                    constraint.setBad(rs.getString("bad"));
-                    constraint.setRely(rs.getString("rely"));
-                    constraint.setIndexOwner(rs.getString("index_owner"));
-                    constraint.setIndexName(rs.getString("index_name"));
-                    constraint.setInvalid(rs.getString("invalid"));
-                    constraint.setViewRelated(rs.getString("view_related"));
-                    constraint.setOriginConId(getIntegerOrNull(rs, "origin_con_id"));
-                    
-                    constraints.add(constraint);
+            event.finish(connectionId, "table", rows, applied);
+            return rows;
+        };
+    }
+
+    private ResultConsumer columnComments(Map<String, OracleColumn> columnsByKey, String connectionId) {
+        return rs -> {
+            CommentEnrichmentEvent event = new CommentEnrichmentEvent();
+            event.begin();
+            long rows = 0;
+            long applied = 0;
+            while (rs.next()) {
+                rows++;
+                if (applyColumnComment(rs, columnsByKey)) {
+                    applied++;
                 }
             }
+            event.finish(connectionId, "column", rows, applied);
+            return rows;
+        };
+    }
+
+    private Map<String, OracleTable> tablesByKey(List<OracleTable> tables) {
+        Map<String, OracleTable> tablesByKey = new HashMap<>(tables.size() * 2);
+        for (OracleTable table : tables) {
+            tablesByKey.put(tableKey(table.getOwner(), table.getTableName()), table);
+        }
+        return tablesByKey;
+    }
+
+    private Map<String, OracleColumn> columnsByKey(List<OracleColumn> columns) {
+        Map<String, OracleColumn> columnsByKey = new HashMap<>(columns.size() * 2);
+        for (OracleColumn column : columns) {
+            columnsByKey.put(columnKey(column.getOwner(), column.getTableName(), column.getColumnName()), column);
         }
-        
-        return constraints;
+        return columnsByKey;
     }
-    
+
     /**
-     * Adds table comments to the tables
+     * Adds the comment of the current row to its table, if that table was discovered; returns whether it was
      */
-    private void addTableComments(Connection connection, List<OracleTable> tables) throws SQLException {
-        if (tables.isEmpty()) return;
-        
-        String query = "SELECT owner, table_name, comments FROM all_tab_comments WHERE comments IS NOT NULL";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(query);
-             ResultSet rs = stmt.executeQuery()) {
-            
-            while (rs.next()) {
-                String owner = rs.getString("owner");
-                String tableName = rs.getString("table_name");
-                String comments = rs.getString("comments");
-                
-                tables.stream()
-                    .filter(t -> t.getOwner().equals(owner) && t.getTableName().equals(tableName))
-                    .forEach(t -> t.setComments(comments));
-            }
+    private boolean applyTableComment(ResultSet rs, Map<String, OracleTable> tablesByKey) throws SQLException {
+        OracleTable table = tablesByKey.get(tableKey(rs.getString("owner"), rs.getString("table_name")));
+        if (table == null) {
+            return false;
         }
+        table.setComments(rs.getString("comments"));
+        return true;
     }
-    
+
     /**
-     * Adds column comments to the columns
+     * Adds the comment of the current row to its column, if that column was discovered; returns whether it was
      */
-    private void addColumnComments(Connection connection, List<OracleColumn> columns) throws SQLException {
-        if (columns.isEmpty()) return;
-        
-        String query = "SELECT owner, table_name, column_name, comments FROM all_col_comments WHERE comments IS NOT NULL";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(query);
-             ResultSet rs = stmt.executeQuery()) {
-            
-            while (rs.next()) {
-                String owner = rs.getString("owner");
-                String tableName = rs.getString("table_name");
-                String columnName = rs.getString("column_name");
-                String comments = rs.getString("comments");
-                
-                columns.stream()
-                    .filter(c -> c.getOwner().equals(owner) && 
-                               c.getTableName().equals(tableName) && 
-                               c.getColumnName().equals(columnName))
-                    .forEach(c -> c.setComments(comments));
-            }
+    private boolean applyColumnComment(ResultSet rs, Map<String, OracleColumn> columnsByKey) throws SQLException {
+        OracleColumn column = columnsByKey.get(
+            columnKey(rs.getString("owner"), rs.getString("table_name"), rs.getString("column_name")));
+        if (column == null) {
+            return false;
         }
+        column.setComments(rs.getString("comments"));
+        return true;
+    }
+
+    private static String tableKey(String owner, String tableName) {
+        return owner + "." + tableName;
+    }
+
+    private static String columnKey(String owner, String tableName, String columnName) {
+        return owner + "." + tableName + "." + columnName;
     }
-    
+
     /**
-     * Helper method to get Integer or null from ResultSet
+     * Connection and settings of one discovery request, shared by its fetch steps
      */
-    private Integer getIntegerOrNull(ResultSet rs, String columnName) throws SQLException {
-        int value = rs.getInt(columnName);
-        return rs.wasNull() ? null : value;
+    private static final class DiscoveryRun {
+        private final Connection connection;
+        private final OracleConnectionConfig config;
+        private final MetadataDiscoveryRequest request;
+        private final DiscoveryPerformanceRecorder performance;
+
+        private DiscoveryRun(Connection connection, OracleConnectionConfig config, MetadataDiscoveryRequest request,
+                             DiscoveryPerformanceRecorder performance) {
+            this.connection = connection;
+            this.config = config;
+            this.request = request;
+            this.performance = performance;
+        }
     }
-    
+
+    @FunctionalInterface
+    private interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface RowHandler {
+        void handle(ResultSet rs) throws SQLException;
+    }
+
     /**
-     * Helper method to get Double or null from ResultSet
+     * Reads a whole result set and returns the number of rows read
      */
-    private Double getDoubleOrNull(ResultSet rs, String columnName) throws SQLException {
-        double value = rs.getDouble(columnName);
-        return rs.wasNull() ? null : value;
+    @FunctionalInterface
+    private interface ResultConsumer {
+        long accept(ResultSet rs) throws SQLException;
     }
-}
\ No newline at end of file
+}
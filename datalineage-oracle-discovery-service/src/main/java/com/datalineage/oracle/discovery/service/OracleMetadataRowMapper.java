@@ -0,0 +1,143 @@
+package com.datalineage.oracle.discovery.service;
+
+import com.datalineage.oracle.discovery.model.*;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps dictionary query rows to metadata models, shared by all fetch strategies
+ */
+public final class OracleMetadataRowMapper {
+
+    private OracleMetadataRowMapper() {
+    }
+
+    public static OracleTable mapTable(ResultSet rs, String connectionId) throws SQLException {
+        OracleTable table = new OracleTable(
+            rs.getString("owner"),
+            rs.getString("table_name"),
+            connectionId
+        );
+
+        table.setTableType(rs.getString("table_type"));
+        table.setTablespaceName(rs.getString("tablespace_name"));
+        table.setNumRows(rs.getLong("num_rows"));
+        table.setBlocks(rs.getLong("blocks"));
+        table.setAvgRowLen(rs.getLong("avg_row_len"));
+        table.setSampleSize(rs.getLong("sample_size"));
+        table.setCompression(rs.getString("compression"));
+        table.setStatus(rs.getString("status"));
+        table.setTemporary(rs.getString("temporary"));
+
+        return table;
+    }
+
+    public static OracleColumn mapColumn(ResultSet rs, String connectionId) throws SQLException {
+        OracleColumn column = new OracleColumn(
+            rs.getString("owner"),
+            rs.getString("table_name"),
+            rs.getString("column_name"),
+            connectionId
+        );
+
+        column.setDataType(rs.getString("data_type"));
+        column.setDataTypeMod(rs.getString("data_type_mod"));
+        column.setDataTypeOwner(rs.getString("data_type_owner"));
+        column.setDataLength(rs.getLong("data_length"));
+        column.setDataPrecision(getIntegerOrNull(rs, "data_precision"));
+        column.setDataScale(getIntegerOrNull(rs, "data_scale"));
+        column.setNullable(rs.getString("nullable"));
+        column.setColumnId(getIntegerOrNull(rs, "column_id"));
+        column.setDefaultLength(rs.getLong("default_length"));
+        column.setDataDefault(rs.getString("data_default"));
+        column.setNumDistinct(rs.getLong("num_distinct"));
+        column.setLowValue(rs.getString("low_value"));
+        column.setHighValue(rs.getString("high_value"));
+        column.setDensity(getDoubleOrNull(rs, "density"));
+        column.setNumNulls(rs.getLong("num_nulls"));
+        column.setNumBuckets(getIntegerOrNull(rs, "num_buckets"));
+        column.setCharacterSetName(rs.getString("character_set_name"));
+        column.setCharColDeclLength(getIntegerOrNull(rs, "char_col_decl_length"));
+        column.setGlobalStats(rs.getString("global_stats"));
+        column.setUserStats(rs.getString("user_stats"));
+        column.setAvgColLen(getDoubleOrNull(rs, "avg_col_len"));
+        column.setCharLength(getIntegerOrNull(rs, "char_length"));
+        column.setCharUsed(rs.getString("char_used"));
+
+        return column;
+    }
+
+    public static OracleProcedure mapProcedure(ResultSet rs, String connectionId) throws SQLException {
+        OracleProcedure procedure = new OracleProcedure(
+            rs.getString("owner"),
+            rs.getString("object_name"),
+            rs.getString("procedure_name"),
+            getIntegerOrNull(rs, "subprogram_id"),
+            rs.getString("overload"),
+            connectionId
+        );
+
+        procedure.setObjectType(rs.getString("object_type"));
+        procedure.setStatus(rs.getString("status"));
+        procedure.setAggregate(rs.getString("aggregate"));
+        procedure.setPipelined(rs.getString("pipelined"));
+        procedure.setImplTypeOwner(rs.getString("impltypeowner"));
+        procedure.setImplTypeName(rs.getString("impltypename"));
+        procedure.setParallel(rs.getString("parallel"));
+        procedure.setInterfaceType(rs.getString("interface"));
+        procedure.setDeterministic(rs.getString("deterministic"));
+        procedure.setAuthId(rs.getString("authid"));
+        procedure.setResultCache(rs.getString("result_cache"));
+        procedure.setOriginConId(getIntegerOrNull(rs, "origin_con_id"));
+        procedure.setPolymorphic(rs.getString("polymorphic"));
+
+        return procedure;
+    }
+
+    public static OracleConstraint mapConstraint(ResultSet rs, String connectionId) throws SQLException {
+        OracleConstraint constraint = new OracleConstraint(
+            rs.getString("owner"),
+            rs.getString("constraint_name"),
+            rs.getString("table_name"),
+            connectionId
+        );
+
+        constraint.setConstraintType(rs.getString("constraint_type"));
+        constraint.setSearchCondition(rs.getString("search_condition"));
+        constraint.setSearchConditionVc(rs.getString("search_condition_vc"));
+        constraint.setrOwner(rs.getString("r_owner"));
+        constraint.setrConstraintName(rs.getString("r_constraint_name"));
+        constraint.setDeleteRule(rs.getString("delete_rule"));
+        constraint.setStatus(rs.getString("status"));
+        constraint.setDeferrable(rs.getString("deferrable"));
+        constraint.setDeferred(rs.getString("deferred"));
+        constraint.setValidated(rs.getString("validated"));
+        constraint.setGenerated(rs.getString("generated"));
+        constraint.setBad(rs.getString("bad"));
+        constraint.setRely(rs.getString("rely"));
+        constraint.setIndexOwner(rs.getString("index_owner"));
+        constraint.setIndexName(rs.getString("index_name"));
+        constraint.setInvalid(rs.getString("invalid"));
+        constraint.setViewRelated(rs.getString("view_related"));
+        constraint.setOriginConId(getIntegerOrNull(rs, "origin_con_id"));
+
+        return constraint;
+    }
+
+    /**
+     * Helper method to get Integer or null from ResultSet
+     */
+    private static Integer getIntegerOrNull(ResultSet rs, String columnName) throws SQLException {
+        int value = rs.getInt(columnName);
+        return rs.wasNull() ? null : value;
+    }
+
+    /**
+     * Helper method to get Double or null from ResultSet
+     */
+    private static Double getDoubleOrNull(ResultSet rs, String columnName) throws SQLException {
+        double value = rs.getDouble(columnName);
+        return rs.wasNull() ? null : value;
+    }
+}
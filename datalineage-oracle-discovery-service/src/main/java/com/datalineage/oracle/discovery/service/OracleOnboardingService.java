@@ -37,12 +37,27 @@ public class OracleOnboardingService {
     @Autowired
     private EncryptionService encryptionService;
     
+    @Autowired
+    private ConnectionCredentialCache credentialCache;
+    
     @Autowired
     private OracleConnectionService oracleConnectionService;
     
     @Autowired
     private OracleMetadataExtractionService metadataExtractionService;
     
+    @Autowired
+    private MetadataSnapshotService snapshotService;
+    
+    @Autowired
+    private DictionaryAccessService dictionaryAccessService;
+
+    @Autowired
+    private DiscoveryResultCache resultCache;
+
+    @Autowired
+    private SnapshotGraphCache snapshotGraphCache;
+    
     /**
      * Onboards a new Oracle database connection
      */
@@ -104,6 +119,17 @@ public class OracleOnboardingService {
             .map(this::convertToResponse);
     }
     
+    /**
+     * Gets the decrypted connection configuration of a stored connection
+     */
+    @Transactional(readOnly = true)
+    public OracleConnectionConfig getConnectionConfig(String id) {
+        OracleConnectionEntity entity = connectionRepository.findById(id)
+            .orElseThrow(() -> new IllegalArgumentException("Connection not found with ID: " + id));
+        
+        return createConnectionConfig(entity);
+    }
+    
     /**
      * Updates Oracle connection
      */
@@ -129,6 +155,9 @@ public class OracleOnboardingService {
         }
         
         entity = connectionRepository.save(entity);
+        credentialCache.evict(id);
+        dictionaryAccessService.evictScope(id);
+        resultCache.evict(id);
         logger.info("Oracle connection updated: {}", entity.getId());
         
         return convertToResponse(entity);
@@ -142,6 +171,11 @@ public class OracleOnboardingService {
             .orElseThrow(() -> new IllegalArgumentException("Connection not found with ID: " + id));
         
         connectionRepository.delete(entity);
+        credentialCache.evict(id);
+        snapshotService.evictSnapshots(id);
+        snapshotGraphCache.evict(id);
+        dictionaryAccessService.evictScope(id);
+        resultCache.evict(id);
         logger.info("Oracle connection deleted: {}", id);
     }
     
@@ -281,12 +315,13 @@ public class OracleOnboardingService {
         
         if (entity.getAuthenticationType() == OracleConnectionEntity.AuthenticationType.DIRECT) {
             config.setUsername(entity.getUsername());
-            config.setPassword(encryptionService.decrypt(entity.getPasswordEncrypted()));
+            config.setPassword(credentialCache.decrypt(entity.getId(), "password", entity.getPasswordEncrypted()));
         } else {
             config.setKerberosRealm(entity.getKerberosRealm());
             config.setKerberosKdc(entity.getKerberosKdc());
             config.setKerberosPrincipal(entity.getKerberosPrincipal());
-            config.setKerberosKeytabPath(encryptionService.decrypt(entity.getKerberosKeytabPathEncrypted()));
+            config.setKerberosKeytabPath(credentialCache.decrypt(entity.getId(), "kerberosKeytabPath",
+                entity.getKerberosKeytabPathEncrypted()));
         }
         
         if (entity.getConnectionTimeout() != null) {
@@ -299,10 +334,12 @@ public class OracleOnboardingService {
             config.setUseSSL(entity.getUseSSL());
         }
         if (entity.getSslTruststoreEncrypted() != null) {
-            config.setSslTruststore(encryptionService.decrypt(entity.getSslTruststoreEncrypted()));
+            config.setSslTruststore(credentialCache.decrypt(entity.getId(), "sslTruststore",
+                entity.getSslTruststoreEncrypted()));
         }
         if (entity.getSslTruststorePasswordEncrypted() != null) {
-            config.setSslTruststorePassword(encryptionService.decrypt(entity.getSslTruststorePasswordEncrypted()));
+            config.setSslTruststorePassword(credentialCache.decrypt(entity.getId(), "sslTruststorePassword",
+                entity.getSslTruststorePasswordEncrypted()));
         }
         
         return config;
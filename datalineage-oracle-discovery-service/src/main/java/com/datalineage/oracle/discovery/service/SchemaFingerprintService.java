@@ -0,0 +1,197 @@
+package com.datalineage.oracle.discovery.service;
+
+import com.datalineage.oracle.discovery.dto.FingerprintComparison;
+import com.datalineage.oracle.discovery.dto.FingerprintComparison.OwnerDifference;
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryResponse;
+import com.datalineage.oracle.discovery.model.*;
+import com.datalineage.oracle.discovery.model.SchemaFingerprint.OwnerNode;
+import com.datalineage.oracle.discovery.model.SchemaFingerprint.TableNode;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Service for computing and comparing hierarchical schema fingerprints
+ */
+@Service
+public class SchemaFingerprintService {
+
+    private static final long MISSING = 0x9e3779b97f4a7c15L;
+
+    /**
+     * Groups the discovered objects by owner and table and hashes them bottom-up.
+     * Owners are hashed in parallel; the result does not depend on input order.
+     */
+    public SchemaFingerprint fingerprint(MetadataDiscoveryResponse metadata) {
+        Map<String, OwnerObjects> byOwner = new HashMap<>();
+
+        if (metadata.getTables() != null) {
+            for (OracleTable table : metadata.getTables()) {
+                ownerObjects(byOwner, table.getOwner()).table(table.getTableName()).table = table;
+            }
+        }
+        if (metadata.getColumns() != null) {
+            for (OracleColumn column : metadata.getColumns()) {
+                ownerObjects(byOwner, column.getOwner()).table(column.getTableName()).columns.add(column);
+            }
+        }
+        if (metadata.getConstraints() != null) {
+            for (OracleConstraint constraint : metadata.getConstraints()) {
+                ownerObjects(byOwner, constraint.getOwner()).table(constraint.getTableName()).constraints.add(constraint);
+            }
+        }
+        if (metadata.getProcedures() != null) {
+            for (OracleProcedure procedure : metadata.getProcedures()) {
+                ownerObjects(byOwner, procedure.getOwner()).procedures.add(procedure);
+            }
+        }
+
+        List<OwnerNode> ownerNodes = byOwner.values().parallelStream()
+            .map(this::buildOwnerNode)
+            .collect(Collectors.toList());
+
+        SortedMap<String, OwnerNode> owners = new TreeMap<>();
+        for (OwnerNode ownerNode : ownerNodes) {
+            owners.put(ownerNode.getOwner(), ownerNode);
+        }
+
+        MetadataHashing.Hasher hasher = new MetadataHashing.Hasher();
+        for (OwnerNode ownerNode : owners.values()) {
+            hasher.add(ownerNode.getOwner()).add(ownerNode.getHash());
+        }
+
+        return new SchemaFingerprint(hasher.value(), owners);
+    }
+
+    /**
+     * Compares two fingerprints, descending only into owners whose hashes differ.
+     * Works across connections, e.g. to check that two environments carry the same schema.
+     */
+    public FingerprintComparison compare(String leftConnectionId, SchemaFingerprint left,
+                                         String rightConnectionId, SchemaFingerprint right) {
+        FingerprintComparison comparison = new FingerprintComparison();
+        comparison.setLeftConnectionId(leftConnectionId);
+        comparison.setRightConnectionId(rightConnectionId);
+        comparison.setLeftFingerprint(MetadataHashing.toHex(left.getHash()));
+        comparison.setRightFingerprint(MetadataHashing.toHex(right.getHash()));
+        comparison.setIdentical(left.getHash() == right.getHash());
+
+        if (comparison.isIdentical()) {
+            return comparison;
+        }
+
+        TreeSet<String> owners = new TreeSet<>(left.getOwners().keySet());
+        owners.addAll(right.getOwners().keySet());
+
+        for (String owner : owners) {
+            OwnerNode leftOwner = left.getOwner(owner);
+            OwnerNode rightOwner = right.getOwner(owner);
+
+            if (leftOwner != null && rightOwner != null && leftOwner.getHash() == rightOwner.getHash()) {
+                continue;
+            }
+
+            OwnerDifference difference = new OwnerDifference(owner);
+            if (leftOwner == null) {
+                difference.setStatus(OwnerDifference.Status.ONLY_RIGHT);
+            } else if (rightOwner == null) {
+                difference.setStatus(OwnerDifference.Status.ONLY_LEFT);
+            } else {
+                difference.setStatus(OwnerDifference.Status.DIFFERENT);
+                difference.setChangedTables(changedTables(leftOwner, rightOwner));
+                difference.setProceduresChanged(leftOwner.getProceduresHash() != rightOwner.getProceduresHash());
+            }
+            comparison.getOwnerDifferences().add(difference);
+        }
+
+        return comparison;
+    }
+
+    /**
+     * Names of tables whose subtree differs between two versions of an owner
+     */
+    public List<String> changedTables(OwnerNode left, OwnerNode right) {
+        TreeSet<String> tableNames = new TreeSet<>(left.getTables().keySet());
+        tableNames.addAll(right.getTables().keySet());
+
+        List<String> changed = new ArrayList<>();
+        for (String tableName : tableNames) {
+            TableNode leftTable = left.getTables().get(tableName);
+            TableNode rightTable = right.getTables().get(tableName);
+            if (leftTable == null || rightTable == null || leftTable.getHash() != rightTable.getHash()) {
+                changed.add(tableName);
+            }
+        }
+        return changed;
+    }
+
+    private OwnerNode buildOwnerNode(OwnerObjects objects) {
+        SortedMap<String, TableNode> tables = new TreeMap<>();
+        for (Map.Entry<String, TableObjects> entry : objects.tables.entrySet()) {
+            tables.put(entry.getKey(), buildTableNode(entry.getKey(), entry.getValue()));
+        }
+
+        objects.procedures.sort(MetadataHashing.PROCEDURE_ORDER);
+        MetadataHashing.Hasher proceduresHasher = new MetadataHashing.Hasher();
+        for (OracleProcedure procedure : objects.procedures) {
+            proceduresHasher.add(procedure.getObjectName())
+                .add(procedure.getProcedureName())
+                .add(procedure.getOverload())
+                .add(MetadataHashing.hash(procedure));
+        }
+        long proceduresHash = proceduresHasher.value();
+
+        MetadataHashing.Hasher ownerHasher = new MetadataHashing.Hasher();
+        for (TableNode tableNode : tables.values()) {
+            ownerHasher.add(tableNode.getTableName()).add(tableNode.getHash());
+        }
+        ownerHasher.add(proceduresHash);
+
+        return new OwnerNode(objects.owner, ownerHasher.value(), tables, proceduresHash, objects.procedures);
+    }
+
+    private TableNode buildTableNode(String tableName, TableObjects objects) {
+        objects.columns.sort(MetadataHashing.COLUMN_ORDER);
+        objects.constraints.sort(MetadataHashing.CONSTRAINT_ORDER);
+
+        MetadataHashing.Hasher hasher = new MetadataHashing.Hasher()
+            .add(objects.table != null ? MetadataHashing.hash(objects.table) : MISSING);
+        for (OracleColumn column : objects.columns) {
+            hasher.add(column.getColumnName()).add(MetadataHashing.hash(column));
+        }
+        hasher.add(objects.columns.size());
+        for (OracleConstraint constraint : objects.constraints) {
+            hasher.add(constraint.getConstraintName()).add(MetadataHashing.hash(constraint));
+        }
+
+        return new TableNode(tableName, hasher.value(), objects.table, objects.columns, objects.constraints);
+    }
+
+    private OwnerObjects ownerObjects(Map<String, OwnerObjects> byOwner, String owner) {
+        return byOwner.computeIfAbsent(owner, OwnerObjects::new);
+    }
+
+    /**
+     * Mutable grouping used while building the fingerprint
+     */
+    private static final class OwnerObjects {
+        private final String owner;
+        private final Map<String, TableObjects> tables = new HashMap<>();
+        private final List<OracleProcedure> procedures = new ArrayList<>();
+
+        private OwnerObjects(String owner) {
+            this.owner = owner;
+        }
+
+        private TableObjects table(String tableName) {
+            return tables.computeIfAbsent(tableName, k -> new TableObjects());
+        }
+    }
+
+    private static final class TableObjects {
+        private OracleTable table;
+        private final List<OracleColumn> columns = new ArrayList<>();
+        private final List<OracleConstraint> constraints = new ArrayList<>();
+    }
+}
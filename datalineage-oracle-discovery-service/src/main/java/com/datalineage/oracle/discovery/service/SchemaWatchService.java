@@ -0,0 +1,385 @@
+package com.datalineage.oracle.discovery.service;
+
+import com.datalineage.oracle.discovery.dto.*;
+import com.datalineage.oracle.discovery.model.*;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Service for watching connections for schema changes and pushing graph deltas over SSE.
+ *
+ * Each watched connection has exactly one poller, shared by all of its subscribers. The poller
+ * probes ALL_OBJECTS for per-owner DDL watermarks; when an owner's watermark moves, only that
+ * owner is rediscovered and merged into the current snapshot. The resulting snapshot is diffed
+ * against the previous one and the graph delta is sent once per subscriber.
+ *
+ * SSE events: {@code graph} (full graph, sent on subscribe and after the baseline discovery),
+ * {@code graph-delta}, {@code watch-error} and {@code watch-closed}.
+ */
+@Service
+public class SchemaWatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaWatchService.class);
+
+    @Autowired
+    private OracleOnboardingService onboardingService;
+
+    @Autowired
+    private OracleDdlProbeService ddlProbeService;
+
+    @Autowired
+    private OracleMetadataExtractionService metadataExtractionService;
+
+    @Autowired
+    private MetadataSnapshotService snapshotService;
+
+    @Autowired
+    private SnapshotDiffService snapshotDiffService;
+
+    @Autowired
+    private OracleGraphService graphService;
+
+    @Value("${oracle.discovery.watch.poll-interval-seconds:30}")
+    private long pollIntervalSeconds = 30;
+
+    @Value("${oracle.discovery.watch.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs = 1800000;
+
+    private final Map<String, ConnectionWatcher> watchers = new ConcurrentHashMap<>();
+    private final Object lifecycleLock = new Object();
+
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(
+        Math.max(2, Runtime.getRuntime().availableProcessors() / 2), new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "schema-watch-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+
+    // Setter for testing purposes
+    public void setPollIntervalSeconds(long pollIntervalSeconds) {
+        this.pollIntervalSeconds = pollIntervalSeconds;
+    }
+
+    /**
+     * Subscribes to schema changes of a stored connection, starting its poller if needed
+     */
+    public SseEmitter subscribe(String connectionId) {
+        if (onboardingService.getConnectionById(connectionId).isEmpty()) {
+            throw new IllegalArgumentException("Connection not found with ID: " + connectionId);
+        }
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+
+        synchronized (lifecycleLock) {
+            ConnectionWatcher watcher = watchers.computeIfAbsent(connectionId, ConnectionWatcher::new);
+            // Bound to this watcher, so a late callback never touches a watcher started after it
+            emitter.onCompletion(() -> unsubscribe(watcher, emitter));
+            emitter.onTimeout(() -> unsubscribe(watcher, emitter));
+            emitter.onError(e -> unsubscribe(watcher, emitter));
+            synchronized (watcher) {
+                watcher.subscribers.add(emitter);
+                if (watcher.graph != null) {
+                    send(watcher, emitter, "graph", watcher.graph);
+                }
+            }
+            if (watcher.future == null) {
+                watcher.future = scheduler.scheduleWithFixedDelay(
+                    () -> poll(watcher), 0, Math.max(pollIntervalSeconds, 1), TimeUnit.SECONDS);
+                logger.info("Started watch on connection {} every {}s", connectionId, pollIntervalSeconds);
+            }
+            logger.info("Subscriber added to watch on connection {} ({} subscribers)",
+                connectionId, watcher.subscribers.size());
+        }
+
+        return emitter;
+    }
+
+    /**
+     * Status of all active watches
+     */
+    public List<WatchStatus> getWatchStatuses() {
+        return watchers.values().stream()
+            .map(this::toStatus)
+            .sorted(Comparator.comparing(WatchStatus::getConnectionId))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Stops the watch on a connection and completes all of its subscriptions
+     */
+    public void stopWatch(String connectionId, String reason) {
+        stopWatch(connectionId, null, reason);
+    }
+
+    /**
+     * Stops a watch; with an expected watcher only if that watcher is still the connection's current one,
+     * so a poll of a watcher that was already replaced cannot stop its successor
+     */
+    private void stopWatch(String connectionId, ConnectionWatcher expected, String reason) {
+        ConnectionWatcher watcher;
+        synchronized (lifecycleLock) {
+            if (expected == null) {
+                watcher = watchers.remove(connectionId);
+            } else {
+                watcher = watchers.remove(connectionId, expected) ? expected : null;
+            }
+            if (watcher == null) {
+                return;
+            }
+            if (watcher.future != null) {
+                watcher.future.cancel(false);
+            }
+        }
+
+        List<SseEmitter> subscribers;
+        synchronized (watcher) {
+            subscribers = new ArrayList<>(watcher.subscribers);
+            watcher.subscribers.clear();
+        }
+        // Completion callbacks take the lifecycle lock, so complete outside the watcher's lock
+        for (SseEmitter emitter : subscribers) {
+            send(watcher, emitter, "watch-closed", Map.of("connectionId", connectionId, "reason", reason));
+            emitter.complete();
+        }
+        logger.info("Watch on connection {} stopped: {}", connectionId, reason);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void unsubscribe(ConnectionWatcher watcher, SseEmitter emitter) {
+        synchronized (lifecycleLock) {
+            watcher.subscribers.remove(emitter);
+            if (watcher.subscribers.isEmpty() && watchers.remove(watcher.connectionId, watcher)) {
+                if (watcher.future != null) {
+                    watcher.future.cancel(false);
+                }
+                logger.info("Last subscriber left, watch on connection {} stopped", watcher.connectionId);
+            }
+        }
+    }
+
+    /**
+     * One poll round: probe the watermarks and rediscover only owners whose watermark moved
+     */
+    void poll(ConnectionWatcher watcher) {
+        String connectionId = watcher.connectionId;
+        if (watcher.subscribers.isEmpty()) {
+            stopWatch(connectionId, watcher, "No subscribers left");
+            return;
+        }
+
+        try {
+            OracleConnectionConfig config;
+            try {
+                config = onboardingService.getConnectionConfig(connectionId);
+            } catch (IllegalArgumentException e) {
+                stopWatch(connectionId, watcher, "Connection was deleted");
+                return;
+            }
+
+            Map<String, DdlWatermark> watermarks = ddlProbeService.probeOwners(config, null);
+            watcher.lastPollAt = LocalDateTime.now();
+            watcher.lastError = null;
+
+            if (watcher.snapshot == null) {
+                MetadataDiscoveryResponse metadata = metadataExtractionService.discoverMetadata(
+                    config, discoveryRequest(connectionId, null));
+                MetadataSnapshot snapshot = snapshotService.recordSnapshot(discoveryRequest(connectionId, null), metadata);
+                publishGraph(watcher, snapshot, graphService.transformMetadataToGraph(metadata));
+            } else {
+                Set<String> changedOwners = ddlProbeService.changedOwners(watcher.watermarks, watermarks);
+                if (changedOwners.isEmpty()) {
+                    heartbeat(watcher);
+                } else {
+                    applyChanges(watcher, config, changedOwners);
+                }
+            }
+
+            watcher.watermarks = watermarks;
+
+        } catch (Exception e) {
+            logger.warn("Watch poll failed for connection {}: {}", connectionId, e.getMessage());
+            watcher.lastError = e.getMessage();
+            synchronized (watcher) {
+                for (SseEmitter emitter : watcher.subscribers) {
+                    send(watcher, emitter, "watch-error", Map.of("connectionId", connectionId,
+                        "message", String.valueOf(e.getMessage())));
+                }
+            }
+        }
+    }
+
+    private void applyChanges(ConnectionWatcher watcher, OracleConnectionConfig config, Set<String> changedOwners)
+            throws java.sql.SQLException {
+        String connectionId = watcher.connectionId;
+        MetadataSnapshot previous = watcher.snapshot;
+
+        MetadataDiscoveryResponse fresh = metadataExtractionService.discoverMetadata(
+            config, discoveryRequest(connectionId, new ArrayList<>(changedOwners)));
+        MetadataDiscoveryResponse merged = merge(previous.getMetadata(), fresh, changedOwners);
+        MetadataSnapshot next = snapshotService.recordSnapshot(discoveryRequest(connectionId, null), merged);
+
+        SnapshotDiff diff = snapshotDiffService.diff(previous, next);
+        if (diff.isEmpty()) {
+            // DDL without a definition change, e.g. a grant or a recompile
+            watcher.snapshot = next;
+            heartbeat(watcher);
+            return;
+        }
+
+        GraphData graph = graphService.transformMetadataToGraph(merged);
+        GraphDelta delta = graphService.diffGraphs(watcher.graph, graph);
+        delta.setConnectionId(connectionId);
+        delta.setFromVersion(previous.getVersion());
+        delta.setToVersion(next.getVersion());
+        delta.setFingerprint(MetadataHashing.toHex(next.getFingerprint().getHash()));
+        delta.setDetectedAt(LocalDateTime.now());
+        delta.setChangedOwners(new ArrayList<>(changedOwners));
+        delta.setSummary(diff.getSummary());
+
+        synchronized (watcher) {
+            watcher.snapshot = next;
+            watcher.graph = graph;
+            watcher.lastChangeAt = delta.getDetectedAt();
+            for (SseEmitter emitter : watcher.subscribers) {
+                send(watcher, emitter, "graph-delta", delta);
+            }
+        }
+        logger.info("Schema change on connection {} (owners {}): {} changes pushed to {} subscribers",
+            connectionId, changedOwners, diff.getChanges().size(), watcher.subscribers.size());
+    }
+
+    /**
+     * Replaces the objects of the changed owners in the previous metadata with the fresh ones
+     */
+    private MetadataDiscoveryResponse merge(MetadataDiscoveryResponse previous, MetadataDiscoveryResponse fresh,
+                                            Set<String> changedOwners) {
+        MetadataDiscoveryResponse merged = new MetadataDiscoveryResponse(previous.getConnectionId());
+        merged.setTables(merge(previous.getTables(), fresh.getTables(), t -> changedOwners.contains(t.getOwner())));
+        merged.setColumns(merge(previous.getColumns(), fresh.getColumns(), c -> changedOwners.contains(c.getOwner())));
+        merged.setProcedures(merge(previous.getProcedures(), fresh.getProcedures(), p -> changedOwners.contains(p.getOwner())));
+        merged.setConstraints(merge(previous.getConstraints(), fresh.getConstraints(), c -> changedOwners.contains(c.getOwner())));
+
+        merged.setStatistics(new MetadataDiscoveryResponse.DiscoveryStatistics(
+            merged.getTables().size(),
+            merged.getColumns().size(),
+            merged.getProcedures().size(),
+            merged.getConstraints().size(),
+            fresh.getStatistics() != null ? fresh.getStatistics().getDiscoveryTimeMs() : 0
+        ));
+        return merged;
+    }
+
+    private <T> List<T> merge(List<T> previous, List<T> fresh, Predicate<T> changed) {
+        List<T> merged = new ArrayList<>();
+        if (previous != null) {
+            for (T object : previous) {
+                if (!changed.test(object)) {
+                    merged.add(object);
+                }
+            }
+        }
+        if (fresh != null) {
+            merged.addAll(fresh);
+        }
+        return merged;
+    }
+
+    private void publishGraph(ConnectionWatcher watcher, MetadataSnapshot snapshot, GraphData graph) {
+        synchronized (watcher) {
+            watcher.snapshot = snapshot;
+            watcher.graph = graph;
+            for (SseEmitter emitter : watcher.subscribers) {
+                send(watcher, emitter, "graph", graph);
+            }
+        }
+    }
+
+    private void heartbeat(ConnectionWatcher watcher) {
+        synchronized (watcher) {
+            for (SseEmitter emitter : watcher.subscribers) {
+                try {
+                    emitter.send(SseEmitter.event().comment("poll"));
+                } catch (IOException | IllegalStateException e) {
+                    watcher.subscribers.remove(emitter);
+                }
+            }
+        }
+    }
+
+    private void send(ConnectionWatcher watcher, SseEmitter emitter, String eventName, Object data) {
+        try {
+            emitter.send(SseEmitter.event()
+                .name(eventName)
+                .id(watcher.snapshot != null ? String.valueOf(watcher.snapshot.getVersion()) : "0")
+                .data(data));
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the container completes the emitter, the next poll stops an idle watch
+            watcher.subscribers.remove(emitter);
+        }
+    }
+
+    private MetadataDiscoveryRequest discoveryRequest(String connectionId, List<String> schemas) {
+        MetadataDiscoveryRequest request = new MetadataDiscoveryRequest(connectionId);
+        request.setSchemas(schemas);
+        request.setIncludeTables(true);
+        request.setIncludeColumns(true);
+        request.setIncludeProcedures(true);
+        request.setIncludeConstraints(true);
+        request.setLimit(null);
+        request.setOffset(0);
+        return request;
+    }
+
+    private WatchStatus toStatus(ConnectionWatcher watcher) {
+        WatchStatus status = new WatchStatus(watcher.connectionId);
+        status.setSubscribers(watcher.subscribers.size());
+        status.setPollIntervalSeconds(pollIntervalSeconds);
+        status.setVersion(watcher.snapshot != null ? watcher.snapshot.getVersion() : null);
+        status.setWatchedOwners(watcher.watermarks != null ? watcher.watermarks.size() : 0);
+        status.setLastPollAt(watcher.lastPollAt);
+        status.setLastChangeAt(watcher.lastChangeAt);
+        status.setLastError(watcher.lastError);
+        return status;
+    }
+
+    /**
+     * Poller state of one connection. Snapshot, graph and subscribers change under the watcher's lock.
+     */
+    static final class ConnectionWatcher {
+        private final String connectionId;
+        private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+        private ScheduledFuture<?> future;
+        private Map<String, DdlWatermark> watermarks;
+        private MetadataSnapshot snapshot;
+        private GraphData graph;
+        private volatile LocalDateTime lastPollAt;
+        private volatile LocalDateTime lastChangeAt;
+        private volatile String lastError;
+
+        ConnectionWatcher(String connectionId) {
+            this.connectionId = connectionId;
+        }
+    }
+}
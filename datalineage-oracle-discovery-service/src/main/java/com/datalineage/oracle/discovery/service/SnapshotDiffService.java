@@ -0,0 +1,253 @@
+package com.datalineage.oracle.discovery.service;
+
+import com.datalineage.oracle.discovery.dto.SnapshotDiff;
+import com.datalineage.oracle.discovery.dto.SnapshotDiff.ChangeType;
+import com.datalineage.oracle.discovery.dto.SnapshotDiff.ObjectType;
+import com.datalineage.oracle.discovery.dto.SnapshotDiff.SchemaChange;
+import com.datalineage.oracle.discovery.model.*;
+import com.datalineage.oracle.discovery.model.SchemaFingerprint.OwnerNode;
+import com.datalineage.oracle.discovery.model.SchemaFingerprint.TableNode;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Service computing the change set between two metadata snapshots.
+ *
+ * The diff walks both snapshot fingerprints top-down: identical connection hashes end the
+ * diff immediately, owners and tables with identical hashes are skipped, and only changed
+ * owners are merged, in parallel. Within a changed table the objects are already sorted by
+ * natural key, so a single sorted merge finds added and removed objects, and objects
+ * present on both sides are compared by content hash only.
+ */
+@Service
+public class SnapshotDiffService {
+
+    private static final SortedMap<String, TableNode> EMPTY_TABLES = Collections.emptySortedMap();
+
+    private static final Category<OracleTable> TABLES = new Category<>(
+        ObjectType.TABLE,
+        OracleTable::getOwner,
+        MetadataHashing.TABLE_ORDER,
+        MetadataHashing::hash,
+        MetadataHashing::attributes,
+        t -> new String[] {t.getTableName(), t.getTableName()}
+    );
+
+    private static final Category<OracleColumn> COLUMNS = new Category<>(
+        ObjectType.COLUMN,
+        OracleColumn::getOwner,
+        MetadataHashing.COLUMN_ORDER,
+        MetadataHashing::hash,
+        MetadataHashing::attributes,
+        c -> new String[] {c.getTableName(), c.getColumnName()}
+    );
+
+    private static final Category<OracleConstraint> CONSTRAINTS = new Category<>(
+        ObjectType.CONSTRAINT,
+        OracleConstraint::getOwner,
+        MetadataHashing.CONSTRAINT_ORDER,
+        MetadataHashing::hash,
+        MetadataHashing::attributes,
+        c -> new String[] {c.getTableName(), c.getConstraintName()}
+    );
+
+    private static final Category<OracleProcedure> PROCEDURES = new Category<>(
+        ObjectType.PROCEDURE,
+        OracleProcedure::getOwner,
+        MetadataHashing.PROCEDURE_ORDER,
+        MetadataHashing::hash,
+        MetadataHashing::attributes,
+        p -> new String[] {null, (p.getProcedureName() != null
+            ? p.getObjectName() + "." + p.getProcedureName() : p.getObjectName())
+            + (p.getOverload() != null ? "#" + p.getOverload() : "")}
+    );
+
+    /**
+     * Computes the changes needed to go from one snapshot to another
+     */
+    public SnapshotDiff diff(MetadataSnapshot from, MetadataSnapshot to) {
+        if (!from.getConnectionId().equals(to.getConnectionId())) {
+            throw new IllegalArgumentException("Snapshots belong to different connections: "
+                + from.getConnectionId() + " and " + to.getConnectionId());
+        }
+
+        long startTime = System.currentTimeMillis();
+
+        SchemaFingerprint before = from.getFingerprint();
+        SchemaFingerprint after = to.getFingerprint();
+
+        SnapshotDiff diff = new SnapshotDiff(to.getConnectionId());
+        diff.setFromSnapshotId(from.getSnapshotId());
+        diff.setToSnapshotId(to.getSnapshotId());
+        diff.setFromVersion(from.getVersion());
+        diff.setToVersion(to.getVersion());
+        for (ObjectType objectType : ObjectType.values()) {
+            diff.getSummary().put(objectType, new SnapshotDiff.ChangeCounts());
+        }
+
+        if (before.getHash() == after.getHash()) {
+            diff.setUnchangedOwners(after.getOwners().size());
+            diff.setDiffTimeMs(System.currentTimeMillis() - startTime);
+            return diff;
+        }
+
+        TreeSet<String> owners = new TreeSet<>(before.getOwners().keySet());
+        owners.addAll(after.getOwners().keySet());
+
+        List<String> changedOwners = new ArrayList<>();
+        int unchangedTables = 0;
+        for (String owner : owners) {
+            OwnerNode previous = before.getOwner(owner);
+            OwnerNode current = after.getOwner(owner);
+            if (previous != null && current != null && previous.getHash() == current.getHash()) {
+                unchangedTables += current.getTables().size();
+            } else {
+                changedOwners.add(owner);
+            }
+        }
+
+        // Ordered parallel stream keeps the output deterministic (owner order, then key order)
+        List<OwnerChanges> ownerChanges = changedOwners.parallelStream()
+            .map(owner -> diffOwner(before.getOwner(owner), after.getOwner(owner)))
+            .collect(Collectors.toList());
+
+        List<SchemaChange> changes = new ArrayList<>();
+        for (OwnerChanges result : ownerChanges) {
+            changes.addAll(result.changes);
+            unchangedTables += result.unchangedTables;
+        }
+        for (SchemaChange change : changes) {
+            diff.getSummary().get(change.getObjectType()).increment(change.getChangeType());
+        }
+
+        diff.setChanges(changes);
+        diff.setUnchangedOwners(owners.size() - changedOwners.size());
+        diff.setUnchangedTables(unchangedTables);
+        diff.setDiffTimeMs(System.currentTimeMillis() - startTime);
+        return diff;
+    }
+
+    /**
+     * Diffs one owner, skipping every table whose subtree hash is unchanged
+     */
+    private OwnerChanges diffOwner(OwnerNode previous, OwnerNode current) {
+        SortedMap<String, TableNode> previousTables = previous != null ? previous.getTables() : EMPTY_TABLES;
+        SortedMap<String, TableNode> currentTables = current != null ? current.getTables() : EMPTY_TABLES;
+
+        TreeSet<String> tableNames = new TreeSet<>(previousTables.keySet());
+        tableNames.addAll(currentTables.keySet());
+
+        OwnerChanges result = new OwnerChanges();
+        for (String tableName : tableNames) {
+            TableNode before = previousTables.get(tableName);
+            TableNode after = currentTables.get(tableName);
+            if (before != null && after != null && before.getHash() == after.getHash()) {
+                result.unchangedTables++;
+                continue;
+            }
+
+            merge(TABLES, tableList(before), tableList(after), result.changes);
+            merge(COLUMNS, before != null ? before.getColumns() : List.of(),
+                after != null ? after.getColumns() : List.of(), result.changes);
+            merge(CONSTRAINTS, before != null ? before.getConstraints() : List.of(),
+                after != null ? after.getConstraints() : List.of(), result.changes);
+        }
+
+        long previousProcedures = previous != null ? previous.getProceduresHash() : 0L;
+        long currentProcedures = current != null ? current.getProceduresHash() : 0L;
+        if (previous == null || current == null || previousProcedures != currentProcedures) {
+            merge(PROCEDURES, previous != null ? previous.getProcedures() : List.of(),
+                current != null ? current.getProcedures() : List.of(), result.changes);
+        }
+
+        return result;
+    }
+
+    private List<OracleTable> tableList(TableNode node) {
+        return node != null && node.getTable() != null ? List.of(node.getTable()) : List.of();
+    }
+
+    /**
+     * Sorted merge of two lists that are already ordered by the category's natural key
+     */
+    private <T> void merge(Category<T> category, List<T> left, List<T> right, List<SchemaChange> changes) {
+        int i = 0;
+        int j = 0;
+        while (i < left.size() || j < right.size()) {
+            int comparison;
+            if (i >= left.size()) {
+                comparison = 1;
+            } else if (j >= right.size()) {
+                comparison = -1;
+            } else {
+                comparison = category.order.compare(left.get(i), right.get(j));
+            }
+
+            if (comparison < 0) {
+                changes.add(category.change(ChangeType.REMOVED, left.get(i++)));
+            } else if (comparison > 0) {
+                changes.add(category.change(ChangeType.ADDED, right.get(j++)));
+            } else {
+                T previous = left.get(i++);
+                T current = right.get(j++);
+                if (category.hash.applyAsLong(previous) != category.hash.applyAsLong(current)) {
+                    SchemaChange change = category.change(ChangeType.MODIFIED, current);
+                    change.setChangedAttributes(changedAttributes(
+                        category.attributes.apply(previous), category.attributes.apply(current)));
+                    changes.add(change);
+                }
+            }
+        }
+    }
+
+    private List<String> changedAttributes(Map<String, Object> previous, Map<String, Object> current) {
+        List<String> changed = new ArrayList<>();
+        for (Map.Entry<String, Object> entry : current.entrySet()) {
+            if (!Objects.equals(entry.getValue(), previous.get(entry.getKey()))) {
+                changed.add(entry.getKey());
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Changes found in one owner partition
+     */
+    private static final class OwnerChanges {
+        private final List<SchemaChange> changes = new ArrayList<>();
+        private int unchangedTables;
+    }
+
+    /**
+     * Describes how one object category is keyed, hashed and reported
+     */
+    private static final class Category<T> {
+        private final ObjectType objectType;
+        private final Function<T, String> owner;
+        private final Comparator<T> order;
+        private final ToLongFunction<T> hash;
+        private final Function<T, Map<String, Object>> attributes;
+        private final Function<T, String[]> names;
+
+        private Category(ObjectType objectType, Function<T, String> owner, Comparator<T> order,
+                         ToLongFunction<T> hash, Function<T, Map<String, Object>> attributes,
+                         Function<T, String[]> names) {
+            this.objectType = objectType;
+            this.owner = owner;
+            this.order = order;
+            this.hash = hash;
+            this.attributes = attributes;
+            this.names = names;
+        }
+
+        private SchemaChange change(ChangeType changeType, T object) {
+            String[] tableAndObject = names.apply(object);
+            return new SchemaChange(changeType, objectType, owner.apply(object),
+                tableAndObject[0], tableAndObject[1]);
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.datalineage.oracle.discovery.service;
+
+import com.datalineage.oracle.discovery.dto.GraphData;
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryResponse;
+import com.datalineage.oracle.discovery.model.MetadataSnapshot;
+import com.datalineage.oracle.discovery.model.SchemaFingerprint;
+import com.datalineage.oracle.discovery.service.graph.GraphLayout;
+import com.datalineage.oracle.discovery.service.graph.MetadataGraph;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Graphs built from retained snapshots, with strong ETags derived from the snapshot fingerprint.
+ *
+ * A snapshot never changes, so the graph of a given fingerprint and filter set never does either:
+ * the ETag is the hash of the fingerprint (only the selected owners' hashes when filtering by owner),
+ * the row counts shown on table nodes, which the fingerprint leaves out as optimizer statistics, and
+ * the filters, and built graphs are cached under it. A client presenting the current ETag can be
+ * answered with 304 from the in-memory snapshot alone; a snapshot with unchanged content keeps the
+ * ETag of its predecessor. Summaries and laid out graphs are cached per level of detail and layout
+ * mode the same way, so the layout of a snapshot is computed once and repeat views get positions
+ * without recomputing them.
+ *
+ * The full {@link MetadataGraph} of a snapshot is kept as well, as an index: neighborhood expansion
+ * and table graphs read the edges of the nodes they need from it instead of scanning the metadata.
+ */
+@Service
+public class SnapshotGraphCache {
+
+    // Part of every ETag; bump when the graph built from the same metadata changes shape
+    private static final int GRAPH_FORMAT = 4;
+
+    @Autowired
+    private MetadataSnapshotService snapshotService;
+
+    @Autowired
+    private OracleGraphService graphService;
+
+    @Value("${oracle.graph.cache.max-entries:64}")
+    private int maxEntries = 64;
+
+    private final Map<String, GraphData> graphs = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, GraphData> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    @Value("${oracle.graph.cache.max-indexes:8}")
+    private int maxIndexes = 8;
+
+    private final Map<String, MetadataGraph> indexes = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, MetadataGraph> eldest) {
+            return size() > maxIndexes;
+        }
+    };
+
+    // Setter for testing purposes
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Resolves a retained snapshot; the latest one when no version is given
+     */
+    public MetadataSnapshot snapshot(String connectionId, Long version) {
+        if (version != null) {
+            return snapshotService.getSnapshot(connectionId, version).orElseThrow(() ->
+                new IllegalArgumentException("Snapshot version not found: " + version));
+        }
+        return snapshotService.getLatestSnapshot(connectionId).orElseThrow(() ->
+            new IllegalArgumentException("No snapshots found for connection: " + connectionId));
+    }
+
+    /**
+     * ETag of the schema graph of a snapshot, optionally restricted to some owners
+     */
+    public String schemaGraphEtag(MetadataSnapshot snapshot, List<String> owners) {
+        return schemaGraphEtag(snapshot, owners, MetadataGraph.Detail.FULL, GraphLayout.Mode.NONE);
+    }
+
+    /**
+     * ETag of the schema graph of a snapshot at a level of detail and with a layout; each
+     * combination is cached separately
+     */
+    public String schemaGraphEtag(MetadataSnapshot snapshot, List<String> owners, MetadataGraph.Detail detail,
+                                  GraphLayout.Mode layout) {
+        Set<String> selected = normalize(owners);
+        MetadataHashing.Hasher hasher = layout(new MetadataHashing.Hasher().add(GRAPH_FORMAT).add("schema"), layout);
+        if (detail != null && detail != MetadataGraph.Detail.FULL) {
+            hasher.add("detail").add(detail.name());
+        }
+        if (selected.isEmpty()) {
+            hasher.add(snapshot.getFingerprint().getHash());
+            snapshot.getFingerprint().getOwners().values().forEach(ownerNode -> addRowCounts(hasher, ownerNode));
+        } else {
+            for (String owner : selected) {
+                SchemaFingerprint.OwnerNode ownerNode = snapshot.getFingerprint().getOwner(owner);
+                hasher.add(owner).add(ownerNode != null ? ownerNode.getHash() : 0L);
+                addRowCounts(hasher, ownerNode);
+            }
+        }
+        return quote(hasher.value());
+    }
+
+    /**
+     * ETag of the graph around one table of a snapshot. Foreign keys may lead into other owners,
+     * so it depends on the whole fingerprint.
+     */
+    public String tableGraphEtag(MetadataSnapshot snapshot, String tableName, String owner) {
+        return tableGraphEtag(snapshot, tableName, owner, GraphLayout.Mode.NONE);
+    }
+
+    public String tableGraphEtag(MetadataSnapshot snapshot, String tableName, String owner, GraphLayout.Mode layout) {
+        MetadataHashing.Hasher hasher = layout(new MetadataHashing.Hasher().add(GRAPH_FORMAT).add("table"), layout)
+            .add(tableName).add(owner).add(snapshot.getFingerprint().getHash());
+        snapshot.getFingerprint().getOwners().values().forEach(ownerNode -> addRowCounts(hasher, ownerNode));
+        return quote(hasher.value());
+    }
+
+    public GraphData schemaGraph(MetadataSnapshot snapshot, List<String> owners, String etag) {
+        return schemaGraph(snapshot, owners, MetadataGraph.Detail.FULL, GraphLayout.Mode.NONE, etag);
+    }
+
+    public GraphData schemaGraph(MetadataSnapshot snapshot, List<String> owners, MetadataGraph.Detail detail,
+                                 GraphLayout.Mode layout, String etag) {
+        Set<String> selected = normalize(owners);
+        return graph(snapshot.getConnectionId(), etag, () -> graphService.transformMetadataToGraph(
+            selected.isEmpty() ? snapshot.getMetadata() : restrictToOwners(snapshot.getMetadata(), selected),
+            detail, layout));
+    }
+
+    public GraphData tableGraph(MetadataSnapshot snapshot, String tableName, String owner, String etag) {
+        return tableGraph(snapshot, tableName, owner, GraphLayout.Mode.NONE, etag);
+    }
+
+    public GraphData tableGraph(MetadataSnapshot snapshot, String tableName, String owner, GraphLayout.Mode layout,
+                                String etag) {
+        return graph(snapshot.getConnectionId(), etag,
+            () -> graphService.transformTableToGraph(index(snapshot), tableName, owner, layout));
+    }
+
+    /**
+     * Graph of a table from the latest snapshot of a connection; null when there is no snapshot, it is
+     * not a complete capture or it lacks the table. A limited capture can hold a table whose columns
+     * or constraints were cut off, so only complete ones are trusted.
+     */
+    public GraphData latestTableGraph(String connectionId, String tableName, String owner) {
+        MetadataSnapshot snapshot = snapshotService.getLatestSnapshot(connectionId).orElse(null);
+        if (snapshot == null || !snapshot.isComplete()
+                || index(snapshot).findTable(tableName, owner) < 0) {
+            return null;
+        }
+        return tableGraph(snapshot, tableName, owner, tableGraphEtag(snapshot, tableName, owner));
+    }
+
+    /**
+     * Graph statistics of the latest snapshot of a connection, read from its index; null when there is
+     * no snapshot or it is not a complete capture
+     */
+    public GraphData.GraphStatistics latestStatistics(String connectionId) {
+        MetadataSnapshot snapshot = snapshotService.getLatestSnapshot(connectionId).orElse(null);
+        if (snapshot == null || !snapshot.isComplete()) {
+            return null;
+        }
+        return index(snapshot).statistics();
+    }
+
+    /**
+     * The full graph of a snapshot, built on first use and shared by every snapshot with the same content
+     */
+    public MetadataGraph index(MetadataSnapshot snapshot) {
+        String key = snapshot.getConnectionId() + "|" + schemaGraphEtag(snapshot, null);
+        synchronized (this) {
+            MetadataGraph index = indexes.get(key);
+            if (index != null) {
+                return index;
+            }
+        }
+        MetadataGraph index = graphService.buildGraph(snapshot.getMetadata());
+        synchronized (this) {
+            indexes.put(key, index);
+        }
+        return index;
+    }
+
+    /**
+     * Drops the cached graphs and indexes of a connection
+     */
+    public synchronized void evict(String connectionId) {
+        graphs.keySet().removeIf(key -> key.startsWith(connectionId + "|"));
+        indexes.keySet().removeIf(key -> key.startsWith(connectionId + "|"));
+    }
+
+    public synchronized int size() {
+        return graphs.size();
+    }
+
+    private GraphData graph(String connectionId, String etag, Supplier<GraphData> builder) {
+        String key = connectionId + "|" + etag;
+        synchronized (this) {
+            GraphData cached = graphs.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        // Built outside the lock; two threads racing on the same key build identical graphs
+        GraphData graph = builder.get();
+        synchronized (this) {
+            graphs.put(key, graph);
+        }
+        return graph;
+    }
+
+    private static MetadataDiscoveryResponse restrictToOwners(MetadataDiscoveryResponse metadata, Set<String> owners) {
+        MetadataDiscoveryResponse restricted = new MetadataDiscoveryResponse(metadata.getConnectionId());
+        restricted.setTables(filter(metadata.getTables(), t -> owners.contains(t.getOwner())));
+        restricted.setColumns(filter(metadata.getColumns(), c -> owners.contains(c.getOwner())));
+        restricted.setProcedures(filter(metadata.getProcedures(), p -> owners.contains(p.getOwner())));
+        restricted.setConstraints(filter(metadata.getConstraints(), c -> owners.contains(c.getOwner())));
+        restricted.setStatistics(metadata.getStatistics());
+        return restricted;
+    }
+
+    private static <T> List<T> filter(List<T> values, Predicate<T> predicate) {
+        return values == null ? null : values.stream().filter(predicate).collect(Collectors.toList());
+    }
+
+    /**
+     * Owner filters trimmed and de-duplicated; case is kept, as quoted names such as "hr_dev" are
+     * stored in lower case and the discovery filters compare case-sensitively too
+     */
+    private static Set<String> normalize(List<String> owners) {
+        Set<String> normalized = new TreeSet<>();
+        if (owners != null) {
+            for (String owner : owners) {
+                normalized.add(owner.trim());
+            }
+        }
+        return normalized;
+    }
+
+    /**
+     * Table nodes show num_rows, so a new stats gather must change the ETag even though the content
+     * hashes of the fingerprint ignore it
+     */
+    private static void addRowCounts(MetadataHashing.Hasher hasher, SchemaFingerprint.OwnerNode ownerNode) {
+        if (ownerNode == null) {
+            return;
+        }
+        for (SchemaFingerprint.TableNode tableNode : ownerNode.getTables().values()) {
+            hasher.add(tableNode.getTable() != null ? tableNode.getTable().getNumRows() : null);
+        }
+    }
+
+    /**
+     * Unlaid-out graphs keep the ETags they had before layouts existed
+     */
+    private static MetadataHashing.Hasher layout(MetadataHashing.Hasher hasher, GraphLayout.Mode layout) {
+        return layout == null || layout == GraphLayout.Mode.NONE ? hasher : hasher.add("layout").add(layout.name());
+    }
+
+    private static String quote(long hash) {
+        return "\"" + MetadataHashing.toHex(hash) + "\"";
+    }
+}
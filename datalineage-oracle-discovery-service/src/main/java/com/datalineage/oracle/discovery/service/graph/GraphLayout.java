@@ -0,0 +1,367 @@
+package com.datalineage.oracle.discovery.service.graph;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+/**
+ * Node positions for a {@link MetadataGraph}, returned as {@code x0, y0, x1, y1, ...}.
+ *
+ * The hierarchical layout is a tidy tree over the containment edges (schema, table, column):
+ * every leaf gets its own slot and every parent is centered over its children, in two linear
+ * passes. The force-directed layout is Fruchterman-Reingold, seeded with the hierarchical layout,
+ * with repulsion approximated by a Barnes-Hut quadtree; each iteration computes the forces on all
+ * nodes in parallel against the same tree and positions, so the result does not depend on the
+ * number of threads.
+ */
+public final class GraphLayout {
+
+    public enum Mode {
+        NONE, HIERARCHICAL, FORCE;
+
+        /**
+         * Mode of a request parameter, case-insensitive; null when unknown
+         */
+        public static Mode parse(String value) {
+            if (value == null || value.isBlank()) {
+                return NONE;
+            }
+            for (Mode mode : values()) {
+                if (mode.name().equals(value.trim().toUpperCase(Locale.ROOT))) {
+                    return mode;
+                }
+            }
+            return null;
+        }
+    }
+
+    public static final double NODE_SPACING = 80;
+    public static final double LEVEL_SPACING = 200;
+
+    // Below this many nodes a parallel force pass costs more than it saves
+    private static final int PARALLEL_THRESHOLD = 2048;
+
+    private GraphLayout() {}
+
+    public static double[] hierarchical(MetadataGraph graph) {
+        int n = graph.nodeCount();
+        int[] order = new int[n];
+        int[] depth = new int[n];
+        int[] childStart = new int[n];
+        int[] childCount = new int[n];
+        boolean[] seen = new boolean[n];
+
+        // Breadth-first spanning forest along containment edges; a node's children end up
+        // contiguous in the order. Roots first, then whatever only a cycle reaches.
+        int size = 0;
+        for (int pass = 0; pass < 2; pass++) {
+            for (int root = 0; root < n; root++) {
+                if (seen[root] || (pass == 0 && hasTreeParent(graph, root))) {
+                    continue;
+                }
+                seen[root] = true;
+                int head = size;
+                order[size++] = root;
+                while (head < size) {
+                    int node = order[head++];
+                    childStart[node] = size;
+                    for (int i = 0; i < graph.outDegree(node); i++) {
+                        int edge = graph.outEdge(node, i);
+                        int child = graph.edgeTarget(edge);
+                        if (isTreeEdge(graph, edge) && !seen[child]) {
+                            seen[child] = true;
+                            depth[child] = depth[node] + 1;
+                            order[size++] = child;
+                        }
+                    }
+                    childCount[node] = size - childStart[node];
+                }
+            }
+        }
+
+        // Subtree widths bottom-up, then left edges top-down; roots are the nodes at depth 0
+        int[] width = new int[n];
+        for (int i = n - 1; i >= 0; i--) {
+            int node = order[i];
+            int sum = 0;
+            for (int c = 0; c < childCount[node]; c++) {
+                sum += width[order[childStart[node] + c]];
+            }
+            width[node] = Math.max(1, sum);
+        }
+        int[] left = new int[n];
+        int nextRoot = 0;
+        double[] positions = new double[2 * n];
+        for (int i = 0; i < n; i++) {
+            int node = order[i];
+            if (depth[node] == 0) {
+                left[node] = nextRoot;
+                nextRoot += width[node];
+            }
+            int slot = left[node];
+            for (int c = 0; c < childCount[node]; c++) {
+                int child = order[childStart[node] + c];
+                left[child] = slot;
+                slot += width[child];
+            }
+            positions[2 * node] = (left[node] + width[node] / 2.0) * NODE_SPACING;
+            positions[2 * node + 1] = depth[node] * LEVEL_SPACING;
+        }
+        return positions;
+    }
+
+    /**
+     * Force-directed layout starting from the given positions
+     *
+     * @param theta Barnes-Hut opening angle; cells smaller than theta times their distance are
+     *              treated as one body
+     */
+    public static double[] forceDirected(MetadataGraph graph, double[] initial, int iterations, double theta) {
+        int n = graph.nodeCount();
+        double[] positions = initial.clone();
+        if (n < 2 || iterations <= 0) {
+            return positions;
+        }
+        double k = NODE_SPACING;
+        double k2 = k * k;
+        double[] forces = new double[2 * n];
+        double start = Math.max(extent(positions) / 10, k);
+
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            QuadTree tree = QuadTree.build(positions, n);
+            IntStream nodes = IntStream.range(0, n);
+            if (n >= PARALLEL_THRESHOLD) {
+                nodes = nodes.parallel();
+            }
+            nodes.forEach(node -> {
+                double[] force = tree.repulsion(node, positions, k2, theta);
+                double fx = force[0];
+                double fy = force[1];
+                for (int i = 0; i < graph.outDegree(node); i++) {
+                    int other = graph.edgeTarget(graph.outEdge(node, i));
+                    fx -= attraction(positions, node, other, k, 0);
+                    fy -= attraction(positions, node, other, k, 1);
+                }
+                for (int i = 0; i < graph.inDegree(node); i++) {
+                    int other = graph.edgeSource(graph.inEdge(node, i));
+                    fx -= attraction(positions, node, other, k, 0);
+                    fy -= attraction(positions, node, other, k, 1);
+                }
+                forces[2 * node] = fx;
+                forces[2 * node + 1] = fy;
+            });
+
+            // Move every node along its force, at most the current temperature
+            double temperature = start * (1 - (double) iteration / iterations);
+            for (int node = 0; node < n; node++) {
+                double fx = forces[2 * node];
+                double fy = forces[2 * node + 1];
+                double length = Math.sqrt(fx * fx + fy * fy);
+                if (length > 0) {
+                    double step = Math.min(length, temperature) / length;
+                    positions[2 * node] += fx * step;
+                    positions[2 * node + 1] += fy * step;
+                }
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Component of the spring force d^2 / k along node - other; subtracted, it pulls node towards other
+     */
+    private static double attraction(double[] positions, int node, int other, double k, int axis) {
+        double dx = positions[2 * node] - positions[2 * other];
+        double dy = positions[2 * node + 1] - positions[2 * other + 1];
+        double distance = Math.sqrt(dx * dx + dy * dy);
+        if (distance == 0) {
+            return 0;
+        }
+        return (axis == 0 ? dx : dy) * distance / k;
+    }
+
+    /**
+     * Containment edges; foreign keys and references cut across the tree
+     */
+    private static boolean isTreeEdge(MetadataGraph graph, int edge) {
+        return graph.edgeType(edge) == MetadataGraph.CONTAINS || graph.edgeType(edge) == MetadataGraph.RELATIONSHIP;
+    }
+
+    private static boolean hasTreeParent(MetadataGraph graph, int node) {
+        for (int i = 0; i < graph.inDegree(node); i++) {
+            if (isTreeEdge(graph, graph.inEdge(node, i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double extent(double[] positions) {
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        for (int i = 0; i < positions.length; i += 2) {
+            minX = Math.min(minX, positions[i]);
+            maxX = Math.max(maxX, positions[i]);
+            minY = Math.min(minY, positions[i + 1]);
+            maxY = Math.max(maxY, positions[i + 1]);
+        }
+        return Math.max(maxX - minX, maxY - minY);
+    }
+
+    /**
+     * Barnes-Hut quadtree over the node positions, in flat arrays. Each cell keeps its body count
+     * and the sum of their coordinates; a leaf keeps one node, or several coincident ones.
+     */
+    static final class QuadTree {
+
+        private static final int MAX_DEPTH = 48;
+
+        private double[] cellX;     // lower-left corner
+        private double[] cellY;
+        private double[] cellSize;
+        private int[] mass;
+        private double[] sumX;
+        private double[] sumY;
+        private int[] body;         // a node of a leaf, -1 if empty or internal
+        private int[] children;     // 4 per cell, -1 for a leaf
+        private int cells;
+
+        private QuadTree(int capacity) {
+            cellX = new double[capacity];
+            cellY = new double[capacity];
+            cellSize = new double[capacity];
+            mass = new int[capacity];
+            sumX = new double[capacity];
+            sumY = new double[capacity];
+            body = new int[capacity];
+            children = new int[4 * capacity];
+        }
+
+        static QuadTree build(double[] positions, int n) {
+            double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+            for (int node = 0; node < n; node++) {
+                minX = Math.min(minX, positions[2 * node]);
+                maxX = Math.max(maxX, positions[2 * node]);
+                minY = Math.min(minY, positions[2 * node + 1]);
+                maxY = Math.max(maxY, positions[2 * node + 1]);
+            }
+            QuadTree tree = new QuadTree(Math.max(16, 2 * n));
+            tree.cell(minX, minY, Math.max(maxX - minX, maxY - minY) + 1);
+            for (int node = 0; node < n; node++) {
+                tree.insert(node, positions[2 * node], positions[2 * node + 1]);
+            }
+            return tree;
+        }
+
+        /**
+         * Repulsive force k^2 / d on a node from all others
+         */
+        double[] repulsion(int node, double[] positions, double k2, double theta) {
+            double x = positions[2 * node];
+            double y = positions[2 * node + 1];
+            double fx = 0;
+            double fy = 0;
+            int[] stack = new int[4 * MAX_DEPTH + 4];
+            int top = 0;
+            stack[top++] = 0;
+            while (top > 0) {
+                int cell = stack[--top];
+                int bodies = mass[cell];
+                if (bodies == 0) {
+                    continue;
+                }
+                boolean leaf = children[4 * cell] < 0;
+                if (leaf && body[cell] == node) {
+                    bodies--; // coincident nodes share a leaf; skip the node itself
+                    if (bodies == 0) {
+                        continue;
+                    }
+                }
+                double dx = x - sumX[cell] / mass[cell];
+                double dy = y - sumY[cell] / mass[cell];
+                double d2 = dx * dx + dy * dy;
+                if (!leaf && cellSize[cell] * cellSize[cell] >= theta * theta * d2) {
+                    for (int q = 0; q < 4; q++) {
+                        stack[top++] = children[4 * cell + q];
+                    }
+                    continue;
+                }
+                if (d2 < 1e-6) {
+                    // Coincident: push apart in a direction fixed by the node id
+                    dx = Math.cos(node);
+                    dy = Math.sin(node);
+                    d2 = 1;
+                }
+                double scale = bodies * k2 / d2; // (k^2 / d) along the unit vector (dx, dy) / d
+                fx += dx * scale;
+                fy += dy * scale;
+            }
+            return new double[] {fx, fy};
+        }
+
+        private int cell(double x, double y, double size) {
+            if (cells == cellX.length) {
+                int capacity = cells * 2;
+                cellX = Arrays.copyOf(cellX, capacity);
+                cellY = Arrays.copyOf(cellY, capacity);
+                cellSize = Arrays.copyOf(cellSize, capacity);
+                mass = Arrays.copyOf(mass, capacity);
+                sumX = Arrays.copyOf(sumX, capacity);
+                sumY = Arrays.copyOf(sumY, capacity);
+                body = Arrays.copyOf(body, capacity);
+                children = Arrays.copyOf(children, 4 * capacity);
+            }
+            cellX[cells] = x;
+            cellY[cells] = y;
+            cellSize[cells] = size;
+            body[cells] = -1;
+            Arrays.fill(children, 4 * cells, 4 * cells + 4, -1);
+            return cells++;
+        }
+
+        private void insert(int node, double x, double y) {
+            int cell = 0;
+            for (int depth = 0; ; depth++) {
+                mass[cell]++;
+                sumX[cell] += x;
+                sumY[cell] += y;
+                if (children[4 * cell] >= 0) {
+                    cell = children[4 * cell + quadrant(cell, x, y)];
+                    continue;
+                }
+                if (mass[cell] == 1) {
+                    body[cell] = node;
+                    return;
+                }
+                int resident = body[cell];
+                double residentX = (sumX[cell] - x) / (mass[cell] - 1);
+                double residentY = (sumY[cell] - y) / (mass[cell] - 1);
+                if (depth == MAX_DEPTH || (residentX == x && residentY == y)) {
+                    return; // coincident nodes stay together in one leaf
+                }
+                // Split the leaf and push its resident down, then keep descending with the new node
+                double half = cellSize[cell] / 2;
+                for (int q = 0; q < 4; q++) {
+                    int child = cell(cellX[cell] + (q & 1) * half, cellY[cell] + (q >> 1) * half, half);
+                    children[4 * cell + q] = child;
+                }
+                body[cell] = -1;
+                int target = children[4 * cell + quadrant(cell, residentX, residentY)];
+                mass[target] = mass[cell] - 1;
+                sumX[target] = residentX * mass[target];
+                sumY[target] = residentY * mass[target];
+                body[target] = resident;
+                // mass and sums of this cell already include the new node; undo the double count below
+                mass[cell]--;
+                sumX[cell] -= x;
+                sumY[cell] -= y;
+                depth--;
+            }
+        }
+
+        private int quadrant(int cell, double x, double y) {
+            double half = cellSize[cell] / 2;
+            int q = x >= cellX[cell] + half ? 1 : 0;
+            return y >= cellY[cell] + half ? q | 2 : q;
+        }
+    }
+}
@@ -0,0 +1,931 @@
+package com.datalineage.oracle.discovery.service.graph;
+
+import com.datalineage.oracle.discovery.dto.GraphData;
+import com.datalineage.oracle.discovery.dto.GraphEdge;
+import com.datalineage.oracle.discovery.dto.GraphNode;
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryResponse;
+import com.datalineage.oracle.discovery.model.DictionaryCounts;
+import com.datalineage.oracle.discovery.model.OracleColumn;
+import com.datalineage.oracle.discovery.model.OracleConstraint;
+import com.datalineage.oracle.discovery.model.OracleProcedure;
+import com.datalineage.oracle.discovery.model.OracleTable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Metadata graph with int node and edge ids.
+ *
+ * Nodes are a type code plus the row of the model object they stand for (an owner for schema
+ * nodes), so attributes stay in the typed model lists of the {@link MetadataDiscoveryResponse}
+ * instead of one map per node. Edges are parallel source, target and type arrays, indexed both
+ * ways in compressed sparse row form: the outgoing edges of node i are
+ * {@code outEdges[outOffsets[i] .. outOffsets[i + 1])}, the incoming ones likewise. {@link GraphNode} and {@link GraphEdge} objects are only created by the
+ * {@code toGraphData} conversions at the API edge.
+ */
+public final class MetadataGraph {
+
+    public static final byte SCHEMA = 0;
+    public static final byte TABLE = 1;
+    public static final byte COLUMN = 2;
+    public static final byte PROCEDURE = 3;
+    public static final byte CONSTRAINT = 4;
+
+    public static final byte CONTAINS = 0;
+    public static final byte RELATIONSHIP = 1;
+    public static final byte FOREIGN_KEY = 2;
+    public static final byte REFERENCES = 3;
+
+    private static final String[] NODE_TYPES = {"schema", "table", "column", "procedure", "constraint"};
+    private static final String[] EDGE_TYPES = {"contains", "relationship", "foreign_key", "references"};
+
+    // Categories with at least this many rows get their edges built in parallel chunks
+    private static final int PARALLEL_ROWS = 1 << 15;
+    private static final int CHUNK_ROWS = 1 << 13;
+
+    /**
+     * Level of detail: schema nodes only, schemas and tables, or every object
+     */
+    public enum Detail {
+        OWNER, TABLE, FULL;
+
+        /**
+         * Detail of a request parameter, case-insensitive; null when unknown
+         */
+        public static Detail parse(String value) {
+            if (value == null || value.isBlank()) {
+                return FULL;
+            }
+            for (Detail detail : values()) {
+                if (detail.name().equals(value.trim().toUpperCase(Locale.ROOT))) {
+                    return detail;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final MetadataDiscoveryResponse metadata;
+    private final List<String> owners;
+    private final int nodeCount;
+    private final byte[] nodeType;
+    private final int[] nodeRow;
+    private final int edgeCount;
+    private final int[] edgeSource;
+    private final int[] edgeTarget;
+    private final byte[] edgeType;
+    private final int[] edgeWeight; // foreign keys behind a summary edge
+    private final int[] outOffsets;
+    private final int[] outEdges;
+    private final int[] inOffsets;
+    private final int[] inEdges;
+    private final int[] nodeTypeCounts;
+    private final int[] edgeTypeCounts;
+    // Summaries only: objects under each schema or table node
+    private final int[] tableCounts;
+    private final int[] columnCounts;
+    private final int[] procedureCounts;
+    private final int[] constraintCounts;
+
+    private volatile Map<String, Integer> positions;
+
+    private MetadataGraph(MetadataDiscoveryResponse metadata, Builder builder) {
+        this.metadata = metadata;
+        this.owners = builder.owners;
+        this.nodeCount = builder.nodeCount;
+        this.nodeType = Arrays.copyOf(builder.nodeType, builder.nodeCount);
+        this.nodeRow = Arrays.copyOf(builder.nodeRow, builder.nodeCount);
+        this.edgeCount = builder.edgeCount;
+        this.edgeSource = Arrays.copyOf(builder.edgeSource, builder.edgeCount);
+        this.edgeTarget = Arrays.copyOf(builder.edgeTarget, builder.edgeCount);
+        this.edgeType = Arrays.copyOf(builder.edgeType, builder.edgeCount);
+        this.edgeWeight = Arrays.copyOf(builder.edgeWeight, builder.edgeCount);
+        this.tableCounts = builder.tableCounts;
+        this.columnCounts = builder.columnCounts;
+        this.procedureCounts = builder.procedureCounts;
+        this.constraintCounts = builder.constraintCounts;
+        this.nodeTypeCounts = builder.nodeTypeCounts;
+        this.edgeTypeCounts = builder.edgeTypeCounts;
+        this.outOffsets = new int[nodeCount + 1];
+        this.outEdges = new int[edgeCount];
+        this.inOffsets = new int[nodeCount + 1];
+        this.inEdges = new int[edgeCount];
+        index(edgeSource, outOffsets, outEdges);
+        index(edgeTarget, inOffsets, inEdges);
+    }
+
+    /**
+     * Builds the graph of a whole discovery result: one schema node per owner, then tables,
+     * columns, procedures and constraints in result order.
+     */
+    public static MetadataGraph build(MetadataDiscoveryResponse metadata) {
+        return build(metadata, Detail.FULL);
+    }
+
+    /**
+     * Builds the graph of a whole discovery result at a level of detail. Below {@link Detail#FULL},
+     * columns, procedures and constraints are only counted on their schema and table nodes, and
+     * foreign keys become one "references" edge per pair of tables (or owners) with their count.
+     */
+    public static MetadataGraph build(MetadataDiscoveryResponse metadata, Detail detail) {
+        List<OracleTable> tables = orEmpty(metadata.getTables());
+        List<OracleColumn> columns = orEmpty(metadata.getColumns());
+        List<OracleProcedure> procedures = orEmpty(metadata.getProcedures());
+        List<OracleConstraint> constraints = orEmpty(metadata.getConstraints());
+
+        // Owners in order of first appearance; their schema nodes come first
+        Map<String, Integer> schemaByOwner = new HashMap<>();
+        List<String> owners = new ArrayList<>();
+        for (OracleTable table : tables) {
+            if (!schemaByOwner.containsKey(table.getOwner())) {
+                schemaByOwner.put(table.getOwner(), owners.size());
+                owners.add(table.getOwner());
+            }
+        }
+        for (OracleProcedure procedure : procedures) {
+            if (!schemaByOwner.containsKey(procedure.getOwner())) {
+                schemaByOwner.put(procedure.getOwner(), owners.size());
+                owners.add(procedure.getOwner());
+            }
+        }
+
+        if (detail == Detail.FULL) {
+            return buildFull(metadata, owners, schemaByOwner, tables, columns, procedures, constraints);
+        }
+        boolean withTables = detail != Detail.OWNER;
+
+        Builder builder = new Builder(owners.size() + (withTables ? tables.size() : 0),
+            (withTables ? tables.size() : 0) + constraints.size());
+        builder.owners = owners;
+        for (int row = 0; row < owners.size(); row++) {
+            builder.addNode(SCHEMA, row);
+        }
+
+        Map<String, Integer> tableByName = new HashMap<>(withTables ? tables.size() * 2 : 16);
+        if (withTables) {
+            for (int row = 0; row < tables.size(); row++) {
+                OracleTable table = tables.get(row);
+                int node = builder.addNode(TABLE, row);
+                tableByName.put(table.getOwner() + "." + table.getTableName(), node);
+                builder.addEdge(schemaByOwner.get(table.getOwner()), node, CONTAINS);
+            }
+        }
+        builder.counts();
+        for (OracleTable table : tables) {
+            builder.tableCounts[schemaByOwner.get(table.getOwner())]++;
+        }
+        for (OracleColumn column : columns) {
+            count(builder.columnCounts, schemaByOwner.get(column.getOwner()));
+            count(builder.columnCounts, tableByName.get(column.getOwner() + "." + column.getTableName()));
+        }
+        for (OracleProcedure procedure : procedures) {
+            builder.procedureCounts[schemaByOwner.get(procedure.getOwner())]++;
+        }
+
+        Map<String, String> tableOfConstraint = tableOfConstraint(constraints);
+        Map<Long, Integer> references = new HashMap<>();
+        for (OracleConstraint constraint : constraints) {
+            Integer table = tableByName.get(constraint.getOwner() + "." + constraint.getTableName());
+            Integer schema = schemaByOwner.get(constraint.getOwner());
+            count(builder.constraintCounts, schema);
+            count(builder.constraintCounts, table);
+            if (isForeignKey(constraint)) {
+                Integer source;
+                Integer target;
+                if (withTables) {
+                    String referencedTable = tableOfConstraint.get(constraint.getrOwner() + "." + constraint.getrConstraintName());
+                    source = table;
+                    target = referencedTable != null ? tableByName.get(referencedTable) : null;
+                } else {
+                    source = schema;
+                    target = schemaByOwner.get(constraint.getrOwner());
+                }
+                if (source != null && target != null) {
+                    Integer edge = references.computeIfAbsent(((long) source << 32) | target,
+                        key -> builder.addEdge(source, target, REFERENCES));
+                    builder.edgeWeight[edge]++;
+                }
+            }
+        }
+        return new MetadataGraph(metadata, builder);
+    }
+
+    /**
+     * The full graph. Node ids follow from the rows: schemas, then tables, columns, procedures and
+     * constraints, each in result order. Edges are built per category in chunks of rows, in parallel
+     * for large categories; each chunk fills its own pre-sized buffer and the buffers are appended in
+     * row order, so the graph is the same as a sequential build. Type counts are summed from the
+     * chunks, so the statistics need no second pass.
+     */
+    private static MetadataGraph buildFull(MetadataDiscoveryResponse metadata, List<String> owners,
+                                           Map<String, Integer> schemaByOwner, List<OracleTable> tables,
+                                           List<OracleColumn> columns, List<OracleProcedure> procedures,
+                                           List<OracleConstraint> constraints) {
+        int tableBase = owners.size();
+        int columnBase = tableBase + tables.size();
+        int procedureBase = columnBase + columns.size();
+        int constraintBase = procedureBase + procedures.size();
+
+        Builder builder = new Builder(constraintBase + constraints.size(),
+            tables.size() + columns.size() + procedures.size() + 2 * constraints.size());
+        builder.owners = owners;
+        builder.addNodes(SCHEMA, 0, owners.size());
+        builder.addNodes(TABLE, tableBase, tables.size());
+        builder.addNodes(COLUMN, columnBase, columns.size());
+        builder.addNodes(PROCEDURE, procedureBase, procedures.size());
+        builder.addNodes(CONSTRAINT, constraintBase, constraints.size());
+
+        // Read-only once built, so the chunks can share them
+        Map<String, Integer> tableByName = new HashMap<>(tables.size() * 2);
+        Map<String, Integer> lastTableByOwner = new HashMap<>();
+        for (int row = 0; row < tables.size(); row++) {
+            OracleTable table = tables.get(row);
+            tableByName.put(table.getOwner() + "." + table.getTableName(), tableBase + row);
+            lastTableByOwner.put(table.getOwner(), tableBase + row);
+        }
+        Map<String, String> tableOfConstraint = tableOfConstraint(constraints);
+
+        builder.addEdges(tables.size(), 1, (row, edges) ->
+            edges.add(schemaByOwner.get(tables.get(row).getOwner()), tableBase + row, CONTAINS));
+        builder.addEdges(columns.size(), 1, (row, edges) -> {
+            OracleColumn column = columns.get(row);
+            Integer table = tableByName.get(column.getOwner() + "." + column.getTableName());
+            if (table != null) {
+                edges.add(table, columnBase + row, CONTAINS);
+            }
+        });
+        builder.addEdges(procedures.size(), 1, (row, edges) ->
+            edges.add(schemaByOwner.get(procedures.get(row).getOwner()), procedureBase + row, CONTAINS));
+        // Foreign keys point at the table of the constraint they reference; when that constraint was
+        // not discovered, at the last table of the referenced owner
+        builder.addEdges(constraints.size(), 2, (row, edges) -> {
+            OracleConstraint constraint = constraints.get(row);
+            Integer table = tableByName.get(constraint.getOwner() + "." + constraint.getTableName());
+            if (table != null) {
+                edges.add(table, constraintBase + row, RELATIONSHIP);
+            }
+            if (isForeignKey(constraint)) {
+                String referencedTable = tableOfConstraint.get(constraint.getrOwner() + "." + constraint.getrConstraintName());
+                Integer referenced = referencedTable != null ? tableByName.get(referencedTable)
+                    : lastTableByOwner.get(constraint.getrOwner());
+                if (referenced != null) {
+                    edges.add(constraintBase + row, referenced, FOREIGN_KEY);
+                }
+            }
+        });
+        return new MetadataGraph(metadata, builder);
+    }
+
+    /**
+     * Index range, parallel when large; callers write each index to its own slot
+     */
+    private static IntStream range(int size) {
+        IntStream indexes = IntStream.range(0, size);
+        return size < PARALLEL_ROWS ? indexes : indexes.parallel();
+    }
+
+    private static Map<String, String> tableOfConstraint(List<OracleConstraint> constraints) {
+        Map<String, String> tableOfConstraint = new HashMap<>(constraints.size() * 2);
+        for (OracleConstraint constraint : constraints) {
+            tableOfConstraint.put(constraint.getOwner() + "." + constraint.getConstraintName(),
+                constraint.getOwner() + "." + constraint.getTableName());
+        }
+        return tableOfConstraint;
+    }
+
+    private static boolean isForeignKey(OracleConstraint constraint) {
+        return "R".equals(constraint.getConstraintType())
+            && constraint.getrOwner() != null && constraint.getrConstraintName() != null;
+    }
+
+    /**
+     * Builds the graph of one table: the table, its columns and its constraints. Without an owner,
+     * the first table of that name is used and columns and constraints of any owner match.
+     */
+    public static MetadataGraph buildTable(MetadataDiscoveryResponse metadata, String tableName, String owner) {
+        List<OracleTable> tables = orEmpty(metadata.getTables());
+        Builder builder = new Builder(16, 16);
+
+        int tableRow = -1;
+        for (int row = 0; row < tables.size(); row++) {
+            OracleTable table = tables.get(row);
+            if (table.getTableName().equals(tableName) && (owner == null || table.getOwner().equals(owner))) {
+                tableRow = row;
+                break;
+            }
+        }
+        if (tableRow < 0) {
+            return new MetadataGraph(metadata, builder);
+        }
+
+        int table = builder.addNode(TABLE, tableRow);
+        List<OracleColumn> columns = orEmpty(metadata.getColumns());
+        for (int row = 0; row < columns.size(); row++) {
+            OracleColumn column = columns.get(row);
+            if (column.getTableName().equals(tableName) && (owner == null || column.getOwner().equals(owner))) {
+                builder.addEdge(table, builder.addNode(COLUMN, row), CONTAINS);
+            }
+        }
+        List<OracleConstraint> constraints = orEmpty(metadata.getConstraints());
+        for (int row = 0; row < constraints.size(); row++) {
+            OracleConstraint constraint = constraints.get(row);
+            if (constraint.getTableName().equals(tableName) && (owner == null || constraint.getOwner().equals(owner))) {
+                builder.addEdge(table, builder.addNode(CONSTRAINT, row), RELATIONSHIP);
+            }
+        }
+        return new MetadataGraph(metadata, builder);
+    }
+
+    /**
+     * The graph of one table of a full graph, the same as {@link #buildTable} builds from the metadata,
+     * but read from the table's outgoing edges instead of scanning every column and constraint.
+     * Empty when the table is not part of the graph.
+     */
+    public MetadataGraph tableGraph(String tableName, String owner) {
+        int table = findTable(tableName, owner);
+        if (table < 0) {
+            return new MetadataGraph(metadata, new Builder(1, 1));
+        }
+        int degree = outDegree(table);
+        Builder builder = new Builder(degree + 1, degree);
+        int center = builder.addNode(TABLE, nodeRow[table]);
+        for (int i = outOffsets[table]; i < outOffsets[table + 1]; i++) {
+            int edge = outEdges[i];
+            int target = edgeTarget[edge];
+            if ((edgeType[edge] == CONTAINS && nodeType[target] == COLUMN)
+                    || (edgeType[edge] == RELATIONSHIP && nodeType[target] == CONSTRAINT)) {
+                builder.addEdge(center, builder.addNode(nodeType[target], nodeRow[target]), edgeType[edge]);
+            }
+        }
+        return new MetadataGraph(metadata, builder);
+    }
+
+    /**
+     * Table node by name and owner, or -1; without an owner the first table of that name
+     */
+    public int findTable(String tableName, String owner) {
+        if (owner != null) {
+            return find("table-" + owner + "." + tableName);
+        }
+        List<OracleTable> tables = metadata.getTables();
+        for (int node = 0; node < nodeCount; node++) {
+            if (nodeType[node] == TABLE && tables.get(nodeRow[node]).getTableName().equals(tableName)) {
+                return node;
+            }
+        }
+        return -1;
+    }
+
+    public MetadataDiscoveryResponse metadata() {
+        return metadata;
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    public byte nodeType(int node) {
+        return nodeType[node];
+    }
+
+    public static String nodeTypeName(byte type) {
+        return NODE_TYPES[type];
+    }
+
+    /**
+     * Type code of a node type name, or -1
+     */
+    public static byte nodeTypeCode(String name) {
+        for (byte type = 0; type < NODE_TYPES.length; type++) {
+            if (NODE_TYPES[type].equals(name)) {
+                return type;
+            }
+        }
+        return -1;
+    }
+
+    public int edgeSource(int edge) {
+        return edgeSource[edge];
+    }
+
+    public int edgeTarget(int edge) {
+        return edgeTarget[edge];
+    }
+
+    public byte edgeType(int edge) {
+        return edgeType[edge];
+    }
+
+    public int outDegree(int node) {
+        return outOffsets[node + 1] - outOffsets[node];
+    }
+
+    /**
+     * The i-th edge leaving a node
+     */
+    public int outEdge(int node, int i) {
+        return outEdges[outOffsets[node] + i];
+    }
+
+    public int inDegree(int node) {
+        return inOffsets[node + 1] - inOffsets[node];
+    }
+
+    /**
+     * The i-th edge entering a node
+     */
+    public int inEdge(int node, int i) {
+        return inEdges[inOffsets[node] + i];
+    }
+
+    /**
+     * Node of a {@link GraphNode} id, or -1. The id lookup is built on first use.
+     */
+    public int find(String nodeId) {
+        Map<String, Integer> lookup = positions;
+        if (lookup == null) {
+            lookup = new HashMap<>(nodeCount * 2);
+            for (int node = 0; node < nodeCount; node++) {
+                lookup.put(nodeId(node), node);
+            }
+            positions = lookup;
+        }
+        Integer node = lookup.get(nodeId);
+        return node != null ? node : -1;
+    }
+
+    public String nodeId(int node) {
+        int row = nodeRow[node];
+        switch (nodeType[node]) {
+            case SCHEMA:
+                return "schema-" + owners.get(row);
+            case TABLE:
+                OracleTable table = metadata.getTables().get(row);
+                return "table-" + table.getOwner() + "." + table.getTableName();
+            case COLUMN:
+                OracleColumn column = metadata.getColumns().get(row);
+                return "column-" + column.getOwner() + "." + column.getTableName() + "." + column.getColumnName();
+            case PROCEDURE:
+                return procedureNodeId(metadata.getProcedures().get(row));
+            default:
+                OracleConstraint constraint = metadata.getConstraints().get(row);
+                return "constraint-" + constraint.getOwner() + "." + constraint.getConstraintName();
+        }
+    }
+
+    /**
+     * Statistics of the whole graph, counted while building it
+     */
+    public GraphData.GraphStatistics statistics() {
+        return statistics(nodeCount, edgeCount, nodeTypeCounts, edgeTypeCounts);
+    }
+
+    /**
+     * Statistics of a subgraph
+     */
+    public GraphData.GraphStatistics statistics(int[] nodes, int[] edges) {
+        int[] nodeCounts = new int[NODE_TYPES.length];
+        int[] edgeCounts = new int[EDGE_TYPES.length];
+        for (int node : nodes) {
+            nodeCounts[nodeType[node]]++;
+        }
+        for (int edge : edges) {
+            edgeCounts[edgeType[edge]]++;
+        }
+        return statistics(nodes.length, edges.length, nodeCounts, edgeCounts);
+    }
+
+    /**
+     * Statistics the full graph of a discovery with these counts would have, without building it.
+     * Every column and constraint is counted as attached to its table and every foreign key as
+     * resolved, which holds unless the discovery leaves out a referenced table.
+     */
+    public static GraphData.GraphStatistics statistics(DictionaryCounts counts) {
+        int[] nodeCounts = new int[NODE_TYPES.length];
+        int[] edgeCounts = new int[EDGE_TYPES.length];
+        nodeCounts[SCHEMA] = counts.getOwners().size();
+        nodeCounts[TABLE] = counts.getTables();
+        nodeCounts[COLUMN] = counts.getColumns();
+        nodeCounts[PROCEDURE] = counts.getProcedures();
+        nodeCounts[CONSTRAINT] = counts.getConstraints();
+        edgeCounts[CONTAINS] = counts.getTables() + counts.getColumns() + counts.getProcedures();
+        edgeCounts[RELATIONSHIP] = counts.getConstraints();
+        edgeCounts[FOREIGN_KEY] = counts.getForeignKeys();
+        return statistics(Arrays.stream(nodeCounts).sum(), Arrays.stream(edgeCounts).sum(), nodeCounts, edgeCounts);
+    }
+
+    /**
+     * Converts the whole graph to DTOs
+     */
+    public GraphData toGraphData() {
+        GraphNode[] nodes = new GraphNode[nodeCount];
+        GraphEdge[] edges = new GraphEdge[edgeCount];
+        range(nodeCount).forEach(node -> nodes[node] = toGraphNode(node));
+        range(edgeCount).forEach(edge -> edges[edge] = toGraphEdge(edge));
+        GraphData graphData = new GraphData(new ArrayList<>(Arrays.asList(nodes)), new ArrayList<>(Arrays.asList(edges)));
+        graphData.setStatistics(statistics());
+        return graphData;
+    }
+
+    /**
+     * Converts a subgraph to DTOs, in the given order
+     */
+    public GraphData toGraphData(int[] nodes, int[] edges) {
+        List<GraphNode> nodeList = new ArrayList<>(nodes.length);
+        for (int node : nodes) {
+            nodeList.add(toGraphNode(node));
+        }
+        List<GraphEdge> edgeList = new ArrayList<>(edges.length);
+        for (int edge : edges) {
+            edgeList.add(toGraphEdge(edge));
+        }
+        GraphData graphData = new GraphData(nodeList, edgeList);
+        graphData.setStatistics(statistics(nodes, edges));
+        return graphData;
+    }
+
+    public GraphNode toGraphNode(int node) {
+        int row = nodeRow[node];
+        switch (nodeType[node]) {
+            case SCHEMA:
+                return withCounts(schemaNode(metadata.getConnectionId(), owners.get(row)), node);
+            case TABLE:
+                return withCounts(tableNode(metadata.getTables().get(row)), node);
+            case COLUMN:
+                return columnNode(metadata.getColumns().get(row));
+            case PROCEDURE:
+                return procedureNode(metadata.getProcedures().get(row));
+            default:
+                return constraintNode(metadata.getConstraints().get(row));
+        }
+    }
+
+    public GraphEdge toGraphEdge(int edge) {
+        int source = edgeSource[edge];
+        int target = edgeTarget[edge];
+        switch (edgeType[edge]) {
+            case CONTAINS:
+                return new GraphEdge(NODE_TYPES[nodeType[source]] + "-" + nodeId(target), nodeId(source), nodeId(target),
+                    EDGE_TYPES[CONTAINS],
+                    Map.of("relationship", NODE_TYPES[nodeType[source]] + " contains " + NODE_TYPES[nodeType[target]]));
+            case RELATIONSHIP:
+                return new GraphEdge("table-" + nodeId(target), nodeId(source), nodeId(target),
+                    EDGE_TYPES[RELATIONSHIP], Map.of("relationship", "table has constraint"));
+            case REFERENCES:
+                return new GraphEdge("references-" + nodeId(source) + "-" + nodeId(target), nodeId(source), nodeId(target),
+                    EDGE_TYPES[REFERENCES],
+                    Map.of("relationship", "references", "foreignKeys", edgeWeight[edge]));
+            default:
+                OracleConstraint constraint = metadata.getConstraints().get(nodeRow[source]);
+                return new GraphEdge("fk-" + nodeId(source), nodeId(source), nodeId(target),
+                    EDGE_TYPES[FOREIGN_KEY],
+                    Map.of(
+                        "relationship", "foreign key references",
+                        "referencedConstraint", constraint.getrConstraintName()
+                    ));
+        }
+    }
+
+    private static GraphData.GraphStatistics statistics(int nodes, int edges, int[] nodeCounts, int[] edgeCounts) {
+        Map<String, Integer> nodeTypeBreakdown = new HashMap<>();
+        Map<String, Integer> edgeTypeBreakdown = new HashMap<>();
+        for (int type = 0; type < nodeCounts.length; type++) {
+            if (nodeCounts[type] > 0) {
+                nodeTypeBreakdown.put(NODE_TYPES[type], nodeCounts[type]);
+            }
+        }
+        for (int type = 0; type < edgeCounts.length; type++) {
+            if (edgeCounts[type] > 0) {
+                edgeTypeBreakdown.put(EDGE_TYPES[type], edgeCounts[type]);
+            }
+        }
+        return new GraphData.GraphStatistics(nodes, edges, nodeTypeBreakdown, edgeTypeBreakdown);
+    }
+
+    private static GraphNode schemaNode(String connectionId, String owner) {
+        Map<String, Object> nodeMetadata = new HashMap<>();
+        nodeMetadata.put("connectionId", connectionId);
+        nodeMetadata.put("owner", owner);
+        nodeMetadata.put("type", "Oracle Schema");
+
+        return new GraphNode(
+            "schema-" + owner,
+            owner,
+            "schema",
+            nodeMetadata
+        );
+    }
+
+    /**
+     * Adds the object counts of a summary node
+     */
+    private GraphNode withCounts(GraphNode graphNode, int node) {
+        if (columnCounts != null) {
+            Map<String, Object> nodeMetadata = graphNode.getMetadata();
+            if (nodeType[node] == SCHEMA) {
+                nodeMetadata.put("tableCount", tableCounts[node]);
+                nodeMetadata.put("procedureCount", procedureCounts[node]);
+            }
+            nodeMetadata.put("columnCount", columnCounts[node]);
+            nodeMetadata.put("constraintCount", constraintCounts[node]);
+        }
+        return graphNode;
+    }
+
+    private static GraphNode tableNode(OracleTable table) {
+        Map<String, Object> nodeMetadata = new HashMap<>();
+        nodeMetadata.put("id", table.getId());
+        nodeMetadata.put("owner", table.getOwner());
+        nodeMetadata.put("tableName", table.getTableName());
+        nodeMetadata.put("tableType", table.getTableType());
+        nodeMetadata.put("fullName", table.getOwner() + "." + table.getTableName());
+        nodeMetadata.put("type", "Oracle Table");
+        if (table.getNumRows() != null) {
+            nodeMetadata.put("numRows", table.getNumRows());
+        }
+        if (table.getTablespaceName() != null) {
+            nodeMetadata.put("tablespace", table.getTablespaceName());
+        }
+
+        return new GraphNode(
+            "table-" + table.getOwner() + "." + table.getTableName(),
+            table.getOwner() + "." + table.getTableName(),
+            "table",
+            nodeMetadata
+        );
+    }
+
+    private static GraphNode columnNode(OracleColumn column) {
+        Map<String, Object> nodeMetadata = new HashMap<>();
+        nodeMetadata.put("id", column.getId());
+        nodeMetadata.put("owner", column.getOwner());
+        nodeMetadata.put("tableName", column.getTableName());
+        nodeMetadata.put("columnName", column.getColumnName());
+        nodeMetadata.put("dataType", column.getDataType());
+        nodeMetadata.put("nullable", column.getNullable());
+        nodeMetadata.put("fullName", column.getOwner() + "." + column.getTableName() + "." + column.getColumnName());
+        nodeMetadata.put("type", "Oracle Column");
+        if (column.getDataLength() != null) {
+            nodeMetadata.put("dataLength", column.getDataLength());
+        }
+        if (column.getDataPrecision() != null) {
+            nodeMetadata.put("dataPrecision", column.getDataPrecision());
+        }
+        if (column.getDataScale() != null) {
+            nodeMetadata.put("dataScale", column.getDataScale());
+        }
+
+        return new GraphNode(
+            "column-" + column.getOwner() + "." + column.getTableName() + "." + column.getColumnName(),
+            column.getColumnName(),
+            "column",
+            nodeMetadata
+        );
+    }
+
+    private static GraphNode procedureNode(OracleProcedure procedure) {
+        Map<String, Object> nodeMetadata = new HashMap<>();
+        nodeMetadata.put("id", procedure.getId());
+        nodeMetadata.put("owner", procedure.getOwner());
+        nodeMetadata.put("procedureName", procedure.getProcedureName());
+        nodeMetadata.put("objectType", procedure.getObjectType());
+        nodeMetadata.put("fullName", procedure.getOwner() + "." + procedure.getProcedureName());
+        nodeMetadata.put("type", "Oracle Procedure");
+        if (procedure.getStatus() != null) {
+            nodeMetadata.put("status", procedure.getStatus());
+        }
+        if (procedure.getOverload() != null) {
+            nodeMetadata.put("overload", procedure.getOverload());
+            nodeMetadata.put("subprogramId", procedure.getSubprogramId());
+        }
+
+        return new GraphNode(
+            procedureNodeId(procedure),
+            procedure.getOwner() + "." + procedure.getProcedureName(),
+            "procedure",
+            nodeMetadata
+        );
+    }
+
+    /**
+     * Overloads of a package subprogram are told apart by their overload number and subprogram id
+     */
+    private static String procedureNodeId(OracleProcedure procedure) {
+        String id = "procedure-" + procedure.getOwner() + "." + procedure.getObjectName()
+            + (procedure.getProcedureName() != null ? "." + procedure.getProcedureName() : "");
+        return procedure.getOverload() != null
+            ? id + "#" + procedure.getOverload() + "@" + procedure.getSubprogramId() : id;
+    }
+
+    private static GraphNode constraintNode(OracleConstraint constraint) {
+        Map<String, Object> nodeMetadata = new HashMap<>();
+        nodeMetadata.put("id", constraint.getId());
+        nodeMetadata.put("owner", constraint.getOwner());
+        nodeMetadata.put("constraintName", constraint.getConstraintName());
+        nodeMetadata.put("constraintType", constraint.getConstraintType());
+        nodeMetadata.put("tableName", constraint.getTableName());
+        nodeMetadata.put("fullName", constraint.getOwner() + "." + constraint.getConstraintName());
+        nodeMetadata.put("type", "Oracle Constraint");
+        if (constraint.getStatus() != null) {
+            nodeMetadata.put("status", constraint.getStatus());
+        }
+        if (constraint.getrOwner() != null) {
+            nodeMetadata.put("referencedOwner", constraint.getrOwner());
+        }
+        if (constraint.getrConstraintName() != null) {
+            nodeMetadata.put("referencedConstraint", constraint.getrConstraintName());
+        }
+
+        return new GraphNode(
+            "constraint-" + constraint.getOwner() + "." + constraint.getConstraintName(),
+            constraint.getConstraintName(),
+            "constraint",
+            nodeMetadata
+        );
+    }
+
+    /**
+     * Counts edges per node, turns the counts into offsets, then places every edge
+     */
+    private void index(int[] endpoint, int[] offsets, int[] edges) {
+        for (int edge = 0; edge < edgeCount; edge++) {
+            offsets[endpoint[edge] + 1]++;
+        }
+        for (int node = 0; node < nodeCount; node++) {
+            offsets[node + 1] += offsets[node];
+        }
+        int[] next = Arrays.copyOf(offsets, nodeCount);
+        for (int edge = 0; edge < edgeCount; edge++) {
+            edges[next[endpoint[edge]]++] = edge;
+        }
+    }
+
+    private static void count(int[] counts, Integer node) {
+        if (node != null) {
+            counts[node]++;
+        }
+    }
+
+    private static <T> List<T> orEmpty(List<T> list) {
+        return list != null ? list : List.of();
+    }
+
+    /**
+     * Growable node and edge arrays
+     */
+    private static final class Builder {
+        private byte[] nodeType;
+        private int[] nodeRow;
+        private int nodeCount;
+        private int[] edgeSource;
+        private int[] edgeTarget;
+        private byte[] edgeType;
+        private int[] edgeWeight;
+        private int edgeCount;
+        private List<String> owners = List.of();
+        private int[] tableCounts;
+        private int[] columnCounts;
+        private int[] procedureCounts;
+        private int[] constraintCounts;
+        private final int[] nodeTypeCounts = new int[NODE_TYPES.length];
+        private final int[] edgeTypeCounts = new int[EDGE_TYPES.length];
+
+        private Builder(int nodeCapacity, int edgeCapacity) {
+            nodeType = new byte[Math.max(nodeCapacity, 1)];
+            nodeRow = new int[nodeType.length];
+            edgeSource = new int[Math.max(edgeCapacity, 1)];
+            edgeTarget = new int[edgeSource.length];
+            edgeType = new byte[edgeSource.length];
+            edgeWeight = new int[edgeSource.length];
+        }
+
+        /**
+         * Allocates the summary counts for the nodes added so far
+         */
+        private void counts() {
+            tableCounts = new int[nodeCount];
+            columnCounts = new int[nodeCount];
+            procedureCounts = new int[nodeCount];
+            constraintCounts = new int[nodeCount];
+        }
+
+        private int addNode(byte type, int row) {
+            if (nodeCount == nodeType.length) {
+                nodeType = Arrays.copyOf(nodeType, nodeCount * 2);
+                nodeRow = Arrays.copyOf(nodeRow, nodeCount * 2);
+            }
+            nodeType[nodeCount] = type;
+            nodeRow[nodeCount] = row;
+            nodeTypeCounts[type]++;
+            return nodeCount++;
+        }
+
+        /**
+         * Adds count nodes of one type for rows 0 .. count - 1; base must be the current node count
+         */
+        private void addNodes(byte type, int base, int count) {
+            if (base + count > nodeType.length) {
+                nodeType = Arrays.copyOf(nodeType, base + count);
+                nodeRow = Arrays.copyOf(nodeRow, base + count);
+            }
+            Arrays.fill(nodeType, base, base + count, type);
+            for (int row = 0; row < count; row++) {
+                nodeRow[base + row] = row;
+            }
+            nodeTypeCounts[type] += count;
+            nodeCount = base + count;
+        }
+
+        /**
+         * Adds the edges of rows 0 .. rows - 1, at most maxPerRow each. Chunks of rows fill their own
+         * buffers, in parallel when there are several, and are appended in row order.
+         */
+        private void addEdges(int rows, int maxPerRow, RowEdges rowEdges) {
+            int chunks = rows < PARALLEL_ROWS ? 1 : (rows + CHUNK_ROWS - 1) / CHUNK_ROWS;
+            int chunkRows = chunks == 1 ? rows : CHUNK_ROWS;
+            EdgeBuffer[] buffers = new EdgeBuffer[chunks];
+            IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                int from = chunk * chunkRows;
+                int to = Math.min(rows, from + chunkRows);
+                EdgeBuffer buffer = new EdgeBuffer((to - from) * maxPerRow);
+                for (int row = from; row < to; row++) {
+                    rowEdges.add(row, buffer);
+                }
+                buffers[chunk] = buffer;
+            });
+
+            int total = edgeCount;
+            for (EdgeBuffer buffer : buffers) {
+                total += buffer.size;
+            }
+            if (total > edgeSource.length) {
+                edgeSource = Arrays.copyOf(edgeSource, total);
+                edgeTarget = Arrays.copyOf(edgeTarget, total);
+                edgeType = Arrays.copyOf(edgeType, total);
+                edgeWeight = Arrays.copyOf(edgeWeight, total);
+            }
+            for (EdgeBuffer buffer : buffers) {
+                System.arraycopy(buffer.source, 0, edgeSource, edgeCount, buffer.size);
+                System.arraycopy(buffer.target, 0, edgeTarget, edgeCount, buffer.size);
+                System.arraycopy(buffer.type, 0, edgeType, edgeCount, buffer.size);
+                for (int type = 0; type < edgeTypeCounts.length; type++) {
+                    edgeTypeCounts[type] += buffer.typeCounts[type];
+                }
+                edgeCount += buffer.size;
+            }
+        }
+
+        private int addEdge(int source, int target, byte type) {
+            if (edgeCount == edgeSource.length) {
+                edgeSource = Arrays.copyOf(edgeSource, edgeCount * 2);
+                edgeTarget = Arrays.copyOf(edgeTarget, edgeCount * 2);
+                edgeType = Arrays.copyOf(edgeType, edgeCount * 2);
+                edgeWeight = Arrays.copyOf(edgeWeight, edgeCount * 2);
+            }
+            edgeSource[edgeCount] = source;
+            edgeTarget[edgeCount] = target;
+            edgeType[edgeCount] = type;
+            edgeTypeCounts[type]++;
+            return edgeCount++;
+        }
+    }
+
+    /**
+     * Edges of one chunk of rows, confined to the thread building that chunk
+     */
+    private static final class EdgeBuffer {
+        private final int[] source;
+        private final int[] target;
+        private final byte[] type;
+        private final int[] typeCounts = new int[EDGE_TYPES.length];
+        private int size;
+
+        private EdgeBuffer(int capacity) {
+            source = new int[capacity];
+            target = new int[capacity];
+            type = new byte[capacity];
+        }
+
+        private void add(int source, int target, byte type) {
+            this.source[size] = source;
+            this.target[size] = target;
+            this.type[size] = type;
+            typeCounts[type]++;
+            size++;
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowEdges {
+        void add(int row, EdgeBuffer edges);
+    }
+}
@@ -0,0 +1,63 @@
+package com.datalineage.oracle.discovery.service.graph;
+
+import com.datalineage.oracle.discovery.dto.GraphData;
+import com.datalineage.oracle.discovery.dto.GraphNode;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+
+/**
+ * {@link GraphData} JSON written straight from a {@link MetadataGraph}.
+ *
+ * Each node and edge becomes a DTO only while it is written to the generator, which writes to the
+ * response stream, so the graph is never held as DTO lists and the first bytes leave before the
+ * last edge is converted. The JSON is the same as that of the graph's {@link GraphData}.
+ */
+public final class StreamedGraph implements JsonSerializable {
+
+    private final MetadataGraph graph;
+    private final double[] positions;
+
+    /**
+     * @param positions x and y per node, or null without a layout
+     */
+    public StreamedGraph(MetadataGraph graph, double[] positions) {
+        this.graph = graph;
+        this.positions = positions;
+    }
+
+    public MetadataGraph getGraph() {
+        return graph;
+    }
+
+    @Override
+    public void serialize(JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("nodes");
+        for (int node = 0; node < graph.nodeCount(); node++) {
+            GraphNode graphNode = graph.toGraphNode(node);
+            if (positions != null) {
+                graphNode.setPosition(new GraphNode.Position(positions[2 * node], positions[2 * node + 1]));
+            }
+            provider.defaultSerializeValue(graphNode, generator);
+        }
+        generator.writeEndArray();
+        generator.writeArrayFieldStart("edges");
+        for (int edge = 0; edge < graph.edgeCount(); edge++) {
+            provider.defaultSerializeValue(graph.toGraphEdge(edge), generator);
+        }
+        generator.writeEndArray();
+        generator.writeFieldName("statistics");
+        provider.defaultSerializeValue(graph.statistics(), generator);
+        generator.writeEndObject();
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator generator, SerializerProvider provider,
+                                  TypeSerializer typeSerializer) throws IOException {
+        serialize(generator, provider);
+    }
+}
@@ -0,0 +1,234 @@
+package com.datalineage.oracle.discovery.service.profiling;
+
+import com.datalineage.oracle.discovery.dto.ColumnProfile;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming profile of one column: every sampled value is seen exactly once and folded
+ * into fixed-size sketches, so memory does not grow with the sample size.
+ */
+public final class ColumnProfiler {
+
+    private static final int MAX_VALUE_LENGTH = 200;
+    private static final int MAX_PATTERN_LENGTH = 40;
+    private static final double[] QUANTILES = {0.01, 0.25, 0.5, 0.75, 0.99};
+
+    /**
+     * How values of a column are read and compared
+     */
+    public enum ValueKind {
+        NUMERIC, TEMPORAL, TEXT;
+
+        /**
+         * Maps an Oracle data type to a value kind, or null for LOB, RAW, LONG and object types
+         */
+        public static ValueKind of(String dataType) {
+            if (dataType == null) {
+                return null;
+            }
+            String type = dataType.toUpperCase();
+            if (type.equals("NUMBER") || type.equals("FLOAT") || type.equals("INTEGER")
+                    || type.equals("BINARY_FLOAT") || type.equals("BINARY_DOUBLE")) {
+                return NUMERIC;
+            }
+            if (type.equals("DATE") || type.startsWith("TIMESTAMP")) {
+                return TEMPORAL;
+            }
+            if (type.equals("VARCHAR2") || type.equals("NVARCHAR2") || type.equals("CHAR") || type.equals("NCHAR")) {
+                return TEXT;
+            }
+            return null;
+        }
+    }
+
+    private final String columnName;
+    private final String dataType;
+    private final ValueKind kind;
+
+    private final HyperLogLog distinct = new HyperLogLog();
+    private final FrequentItems values;
+    private final FrequentItems patterns;
+    private final TDigest digest;
+
+    private long rows;
+    private long nulls;
+    private double sum;
+    private long totalLength;
+    private BigDecimal minNumber;
+    private BigDecimal maxNumber;
+    private Timestamp minTime;
+    private Timestamp maxTime;
+    private String minText;
+    private String maxText;
+
+    public ColumnProfiler(String columnName, String dataType, ValueKind kind, int topK) {
+        this.columnName = columnName;
+        this.dataType = dataType;
+        this.kind = kind;
+        this.values = new FrequentItems(topK);
+        this.patterns = kind == ValueKind.TEXT ? new FrequentItems(topK) : null;
+        this.digest = kind == ValueKind.NUMERIC ? new TDigest() : null;
+    }
+
+    public String getColumnName() {
+        return columnName;
+    }
+
+    /**
+     * Reads and adds the value at the given 1-based position of the current row
+     */
+    public void read(ResultSet rs, int index) throws SQLException {
+        switch (kind) {
+            case NUMERIC:
+                addNumber(rs.getBigDecimal(index));
+                break;
+            case TEMPORAL:
+                addTimestamp(rs.getTimestamp(index));
+                break;
+            default:
+                addText(rs.getString(index));
+                break;
+        }
+    }
+
+    public void addNumber(BigDecimal value) {
+        rows++;
+        if (value == null) {
+            nulls++;
+            return;
+        }
+        track(value.signum() == 0 ? "0" : value.stripTrailingZeros().toPlainString());
+        digest.add(value.doubleValue());
+        sum += value.doubleValue();
+        if (minNumber == null || value.compareTo(minNumber) < 0) {
+            minNumber = value;
+        }
+        if (maxNumber == null || value.compareTo(maxNumber) > 0) {
+            maxNumber = value;
+        }
+    }
+
+    public void addTimestamp(Timestamp value) {
+        rows++;
+        if (value == null) {
+            nulls++;
+            return;
+        }
+        track(value.toLocalDateTime().toString());
+        if (minTime == null || value.before(minTime)) {
+            minTime = value;
+        }
+        if (maxTime == null || value.after(maxTime)) {
+            maxTime = value;
+        }
+    }
+
+    public void addText(String value) {
+        rows++;
+        if (value == null) {
+            nulls++;
+            return;
+        }
+        String bounded = truncate(value, MAX_VALUE_LENGTH);
+        track(bounded);
+        patterns.add(pattern(value));
+        totalLength += value.length();
+        if (minText == null || bounded.compareTo(minText) < 0) {
+            minText = bounded;
+        }
+        if (maxText == null || bounded.compareTo(maxText) > 0) {
+            maxText = bounded;
+        }
+    }
+
+    private void track(String value) {
+        distinct.add(SketchHashing.hash(value));
+        values.add(value);
+    }
+
+    public ColumnProfile toProfile() {
+        ColumnProfile profile = new ColumnProfile(columnName, dataType);
+        long nonNull = rows - nulls;
+
+        profile.setSampledRows(rows);
+        profile.setNullCount(nulls);
+        profile.setNullRatio(rows > 0 ? (double) nulls / rows : 0);
+        if (nonNull == 0) {
+            return profile;
+        }
+
+        long distinctEstimate = Math.min(distinct.estimate(), nonNull);
+        profile.setDistinctEstimate(distinctEstimate);
+        profile.setDistinctRatio((double) distinctEstimate / nonNull);
+        profile.setTopValues(valueCounts(values, nonNull));
+
+        switch (kind) {
+            case NUMERIC:
+                profile.setMinValue(minNumber.toPlainString());
+                profile.setMaxValue(maxNumber.toPlainString());
+                profile.setMean(sum / nonNull);
+                Map<String, Double> quantiles = new LinkedHashMap<>();
+                for (double q : QUANTILES) {
+                    quantiles.put("p" + Math.round(q * 100), digest.quantile(q));
+                }
+                profile.setQuantiles(quantiles);
+                break;
+            case TEMPORAL:
+                profile.setMinValue(minTime.toLocalDateTime().toString());
+                profile.setMaxValue(maxTime.toLocalDateTime().toString());
+                break;
+            default:
+                profile.setMinValue(minText);
+                profile.setMaxValue(maxText);
+                profile.setAverageLength((double) totalLength / nonNull);
+                profile.setPatterns(valueCounts(patterns, nonNull));
+                break;
+        }
+        return profile;
+    }
+
+    private static List<ColumnProfile.ValueCount> valueCounts(FrequentItems items, long nonNull) {
+        List<ColumnProfile.ValueCount> counts = new ArrayList<>();
+        for (Map.Entry<String, Long> entry : items.top()) {
+            counts.add(new ColumnProfile.ValueCount(entry.getKey(), entry.getValue(), (double) entry.getValue() / nonNull));
+        }
+        return counts;
+    }
+
+    /**
+     * Shape of a value: upper-case letters become A, lower-case a, digits 9, everything
+     * else is kept. "AB-1234" and "XY-9876" share the pattern "AA-9999".
+     */
+    static String pattern(String value) {
+        int length = Math.min(value.length(), MAX_PATTERN_LENGTH);
+        StringBuilder pattern = new StringBuilder(length + 1);
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (Character.isDigit(c)) {
+                pattern.append('9');
+            } else if (Character.isUpperCase(c)) {
+                pattern.append('A');
+            } else if (Character.isLetter(c)) {
+                pattern.append('a');
+            } else {
+                pattern.append(c);
+            }
+        }
+        if (value.length() > MAX_PATTERN_LENGTH) {
+            pattern.append('+');
+        }
+        return pattern.toString();
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+}
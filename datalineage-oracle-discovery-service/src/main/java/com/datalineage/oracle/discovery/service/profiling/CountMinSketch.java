@@ -0,0 +1,53 @@
+package com.datalineage.oracle.discovery.service.profiling;
+
+/**
+ * Count-Min frequency sketch.
+ *
+ * Estimates never undercount; with width w and depth d they overcount by at most
+ * e/w of the total with probability 1 - e^-d. Row indexes are derived from the two
+ * halves of one 64-bit hash (Kirsch-Mitzenmacher double hashing).
+ */
+public final class CountMinSketch {
+
+    private final int width;
+    private final long[][] counts;
+    private long total;
+
+    public CountMinSketch(int width, int depth) {
+        if (width < 1 || depth < 1) {
+            throw new IllegalArgumentException("Width and depth must be positive");
+        }
+        this.width = width;
+        this.counts = new long[depth][width];
+    }
+
+    /**
+     * Adds one occurrence of a value and returns its new estimated count
+     */
+    public long add(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < counts.length; row++) {
+            int index = Math.floorMod(h1 + row * h2, width);
+            long count = ++counts[row][index];
+            estimate = Math.min(estimate, count);
+        }
+        total++;
+        return estimate;
+    }
+
+    public long estimate(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < counts.length; row++) {
+            estimate = Math.min(estimate, counts[row][Math.floorMod(h1 + row * h2, width)]);
+        }
+        return estimate;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+}
@@ -0,0 +1,72 @@
+package com.datalineage.oracle.discovery.service.profiling;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Top-k heavy hitters: a Count-Min sketch counts every value and a bounded candidate
+ * set keeps the k values with the highest estimates seen so far.
+ */
+public final class FrequentItems {
+
+    private static final int CMS_WIDTH = 2048;
+    private static final int CMS_DEPTH = 4;
+
+    private final int capacity;
+    private final CountMinSketch sketch = new CountMinSketch(CMS_WIDTH, CMS_DEPTH);
+    private final Map<String, Long> candidates = new HashMap<>();
+
+    private String minimumKey;
+    private long minimumCount = Long.MAX_VALUE;
+
+    public FrequentItems(int capacity) {
+        this.capacity = Math.max(capacity, 1);
+    }
+
+    public void add(String value) {
+        long estimate = sketch.add(SketchHashing.hash(value));
+
+        if (candidates.containsKey(value)) {
+            candidates.put(value, estimate);
+            if (value.equals(minimumKey)) {
+                refreshMinimum();
+            }
+        } else if (candidates.size() < capacity) {
+            candidates.put(value, estimate);
+            if (estimate < minimumCount) {
+                minimumKey = value;
+                minimumCount = estimate;
+            }
+        } else if (estimate > minimumCount) {
+            candidates.remove(minimumKey);
+            candidates.put(value, estimate);
+            refreshMinimum();
+        }
+    }
+
+    /**
+     * Candidates ordered by estimated count, highest first, ties by value
+     */
+    public List<Map.Entry<String, Long>> top() {
+        List<Map.Entry<String, Long>> top = new ArrayList<>(candidates.entrySet());
+        top.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        return top;
+    }
+
+    public long getTotal() {
+        return sketch.getTotal();
+    }
+
+    private void refreshMinimum() {
+        minimumKey = null;
+        minimumCount = Long.MAX_VALUE;
+        for (Map.Entry<String, Long> entry : candidates.entrySet()) {
+            if (entry.getValue() < minimumCount) {
+                minimumKey = entry.getKey();
+                minimumCount = entry.getValue();
+            }
+        }
+    }
+}
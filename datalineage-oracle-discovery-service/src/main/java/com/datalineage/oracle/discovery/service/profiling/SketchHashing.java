@@ -0,0 +1,29 @@
+package com.datalineage.oracle.discovery.service.profiling;
+
+import com.datalineage.oracle.discovery.service.MetadataHashing;
+
+/**
+ * 64-bit value hashing for the profiling sketches.
+ *
+ * FNV-1a alone mixes the high bits poorly for short, similar strings, which biases the
+ * register choice of HyperLogLog; the MurmurHash3 finalizer spreads every input bit
+ * over the whole word.
+ */
+public final class SketchHashing {
+
+    private SketchHashing() {
+    }
+
+    public static long hash(String value) {
+        return mix(new MetadataHashing.Hasher().add(value).value());
+    }
+
+    static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
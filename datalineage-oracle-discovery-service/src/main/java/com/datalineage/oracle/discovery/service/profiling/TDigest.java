@@ -0,0 +1,162 @@
+package com.datalineage.oracle.discovery.service.profiling;
+
+import java.util.Arrays;
+
+/**
+ * Merging t-digest for streaming quantile estimates.
+ *
+ * Incoming values are buffered and periodically merged into a sorted array of centroids.
+ * A centroid at quantile q may hold at most 4·N·q·(1-q)/compression points, so the
+ * tails stay nearly exact while the middle is summarised coarsely. Memory is bounded by
+ * roughly 2·compression centroids regardless of the number of values.
+ */
+public final class TDigest {
+
+    public static final double DEFAULT_COMPRESSION = 100;
+
+    private final double compression;
+    private final double[] bufferedValues;
+    private int buffered;
+
+    private double[] means;
+    private double[] weights;
+    private int centroids;
+
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public TDigest() {
+        this(DEFAULT_COMPRESSION);
+    }
+
+    public TDigest(double compression) {
+        this.compression = compression;
+        int capacity = (int) Math.ceil(2 * compression) + 10;
+        this.means = new double[capacity];
+        this.weights = new double[capacity];
+        this.bufferedValues = new double[capacity * 5];
+    }
+
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        bufferedValues[buffered++] = value;
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        if (buffered == bufferedValues.length) {
+            compress();
+        }
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Estimates the value at quantile q in [0, 1], or NaN when empty
+     */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1: " + q);
+        }
+        compress();
+        if (centroids == 0) {
+            return Double.NaN;
+        }
+        if (centroids == 1) {
+            return means[0];
+        }
+
+        double index = q * count;
+        double firstCenter = weights[0] / 2;
+        if (index <= firstCenter) {
+            return interpolate(min, means[0], index / firstCenter);
+        }
+
+        double cumulative = firstCenter;
+        for (int i = 0; i < centroids - 1; i++) {
+            double step = (weights[i] + weights[i + 1]) / 2;
+            if (index <= cumulative + step) {
+                return interpolate(means[i], means[i + 1], (index - cumulative) / step);
+            }
+            cumulative += step;
+        }
+
+        double lastHalf = weights[centroids - 1] / 2;
+        return interpolate(means[centroids - 1], max, Math.min((index - cumulative) / lastHalf, 1));
+    }
+
+    private static double interpolate(double from, double to, double fraction) {
+        return from + (to - from) * fraction;
+    }
+
+    private void compress() {
+        if (buffered == 0) {
+            return;
+        }
+
+        // Centroids are kept sorted, so a sorted buffer can be merged in a single pass
+        Arrays.sort(bufferedValues, 0, buffered);
+        int total = centroids + buffered;
+        double[] incomingMeans = new double[total];
+        double[] incomingWeights = new double[total];
+        int c = 0;
+        int b = 0;
+        for (int i = 0; i < total; i++) {
+            if (b >= buffered || (c < centroids && means[c] <= bufferedValues[b])) {
+                incomingMeans[i] = means[c];
+                incomingWeights[i] = weights[c++];
+            } else {
+                incomingMeans[i] = bufferedValues[b++];
+                incomingWeights[i] = 1;
+            }
+        }
+
+        double[] mergedMeans = new double[total];
+        double[] mergedWeights = new double[total];
+        int merged = 0;
+        double weightSoFar = 0;
+        double currentMean = incomingMeans[0];
+        double currentWeight = incomingWeights[0];
+
+        for (int i = 1; i < total; i++) {
+            double mean = incomingMeans[i];
+            double weight = incomingWeights[i];
+            double proposed = currentWeight + weight;
+            double q0 = weightSoFar / count;
+            double q2 = (weightSoFar + proposed) / count;
+            double limit = count * Math.min(maxSize(q0), maxSize(q2));
+
+            if (proposed <= limit) {
+                currentMean += (mean - currentMean) * weight / proposed;
+                currentWeight = proposed;
+            } else {
+                mergedMeans[merged] = currentMean;
+                mergedWeights[merged] = currentWeight;
+                merged++;
+                weightSoFar += currentWeight;
+                currentMean = mean;
+                currentWeight = weight;
+            }
+        }
+        mergedMeans[merged] = currentMean;
+        mergedWeights[merged] = currentWeight;
+        merged++;
+
+        if (merged > means.length) {
+            means = new double[merged];
+            weights = new double[merged];
+        }
+        System.arraycopy(mergedMeans, 0, means, 0, merged);
+        System.arraycopy(mergedWeights, 0, weights, 0, merged);
+        centroids = merged;
+        buffered = 0;
+    }
+
+    private double maxSize(double q) {
+        return 4 * q * (1 - q) / compression;
+    }
+}
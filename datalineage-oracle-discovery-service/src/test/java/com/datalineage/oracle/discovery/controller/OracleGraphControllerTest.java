@@ -1,20 +1,44 @@
 package com.datalineage.oracle.discovery.controller;
 
+import com.datalineage.oracle.discovery.dto.CompactGraph;
 import com.datalineage.oracle.discovery.dto.GraphData;
+import com.datalineage.oracle.discovery.dto.GraphNode;
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryResponse;
 import com.datalineage.oracle.discovery.dto.OracleConnectionConfig;
+import com.datalineage.oracle.discovery.model.DictionaryCounts;
+import com.datalineage.oracle.discovery.model.MetadataSnapshot;
+import com.datalineage.oracle.discovery.service.GraphNeighborhoodService;
+import com.datalineage.oracle.discovery.service.OracleConnectionService;
 import com.datalineage.oracle.discovery.service.OracleGraphService;
 import com.datalineage.oracle.discovery.service.OracleMetadataExtractionService;
+import com.datalineage.oracle.discovery.service.SnapshotGraphCache;
+import com.datalineage.oracle.discovery.service.graph.GraphLayout;
+import com.datalineage.oracle.discovery.service.graph.MetadataGraph;
+import com.datalineage.oracle.discovery.service.graph.StreamedGraph;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -22,17 +46,30 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Unit tests for OracleGraphController
  */
 @WebMvcTest(OracleGraphController.class)
+@TestPropertySource(properties = {
+    "eureka.client.enabled=false",
+    "spring.cloud.config.enabled=false"
+})
 class OracleGraphControllerTest {
 
     @Autowired
     private MockMvc mockMvc;
 
+    @MockBean
+    private OracleConnectionService connectionService;
+
     @MockBean
     private OracleMetadataExtractionService metadataExtractionService;
 
     @MockBean
     private OracleGraphService graphService;
 
+    @MockBean
+    private SnapshotGraphCache snapshotGraphCache;
+
+    @MockBean
+    private GraphNeighborhoodService neighborhoodService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -40,10 +77,11 @@ class OracleGraphControllerTest {
     void testGetSchemaGraph_success() throws Exception {
         // Given
         OracleConnectionConfig connectionConfig = createSampleConnectionConfig();
-        GraphData mockGraphData = createMockGraphData();
+        MetadataDiscoveryResponse metadata = new MetadataDiscoveryResponse("test-connection");
         
-        when(metadataExtractionService.discoverMetadata(any(), any())).thenReturn(any());
-        when(graphService.transformMetadataToGraph(any())).thenReturn(mockGraphData);
+        when(metadataExtractionService.discoverMetadata(any(), any())).thenReturn(metadata);
+        when(graphService.streamMetadataGraph(any(), eq(MetadataGraph.Detail.FULL), eq(GraphLayout.Mode.NONE)))
+            .thenReturn(new StreamedGraph(MetadataGraph.build(metadata), null));
         
         // When & Then
         mockMvc.perform(post("/api/v1/oracle-discovery/graph/schema/test-connection")
@@ -54,7 +92,8 @@ class OracleGraphControllerTest {
                 .andExpect(jsonPath("$.message").value("Schema graph generated successfully"))
                 .andExpect(jsonPath("$.data").exists())
                 .andExpect(jsonPath("$.data.nodes").isArray())
-                .andExpect(jsonPath("$.data.edges").isArray());
+                .andExpect(jsonPath("$.data.edges").isArray())
+                .andExpect(jsonPath("$.data.statistics").exists());
     }
 
     @Test
@@ -63,8 +102,9 @@ class OracleGraphControllerTest {
         OracleConnectionConfig connectionConfig = createSampleConnectionConfig();
         GraphData mockGraphData = createMockGraphData();
         
-        when(metadataExtractionService.discoverMetadata(any(), any())).thenReturn(any());
-        when(graphService.transformTableToGraph(any(), anyString(), anyString())).thenReturn(mockGraphData);
+        when(metadataExtractionService.discoverTable(any(), eq("test-connection"), eq("HR"), eq("EMPLOYEES"), eq(true), eq(true)))
+            .thenReturn(new MetadataDiscoveryResponse("test-connection"));
+        when(graphService.transformTableToGraph(any(MetadataDiscoveryResponse.class), anyString(), anyString())).thenReturn(mockGraphData);
         
         // When & Then
         mockMvc.perform(post("/api/v1/oracle-discovery/graph/table/test-connection/EMPLOYEES")
@@ -76,6 +116,80 @@ class OracleGraphControllerTest {
                 .andExpect(jsonPath("$.message").value("Table graph generated successfully"));
     }
 
+    @Test
+    void testGetTableGraph_servedFromSnapshot() throws Exception {
+        // Given
+        OracleConnectionConfig connectionConfig = createSampleConnectionConfig();
+        when(snapshotGraphCache.latestTableGraph("test-connection", "EMPLOYEES", "HR")).thenReturn(createMockGraphData());
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/oracle-discovery/graph/table/test-connection/EMPLOYEES")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(connectionConfig))
+                .param("owner", "HR"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.nodes").isArray());
+        verify(metadataExtractionService, never()).discoverTable(any(), any(), any(), any(), anyBoolean(), anyBoolean());
+        verify(metadataExtractionService, never()).discoverMetadata(any(), any());
+    }
+
+    @Test
+    void testGetGraphMetadata_countsWithoutDiscovery() throws Exception {
+        // Given
+        OracleConnectionConfig connectionConfig = createSampleConnectionConfig();
+        DictionaryCounts counts = new DictionaryCounts();
+        counts.addTables("HR", 2);
+        counts.addColumns(5);
+        when(metadataExtractionService.countObjects(any(), any())).thenReturn(counts);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/oracle-discovery/graph/metadata/test-connection")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(connectionConfig)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalNodes").value(8))
+                .andExpect(jsonPath("$.data.edgeTypeBreakdown.contains").value(7));
+        verify(metadataExtractionService, never()).discoverMetadata(any(), any());
+    }
+
+    @Test
+    void testGetGraphMetadata_tableTypesSkipSnapshot() throws Exception {
+        // Given
+        OracleConnectionConfig connectionConfig = createSampleConnectionConfig();
+        DictionaryCounts counts = new DictionaryCounts();
+        counts.addTables("HR", 1);
+        when(metadataExtractionService.countObjects(any(), any())).thenReturn(counts);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/oracle-discovery/graph/metadata/test-connection")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(connectionConfig))
+                .param("tableTypes", "VIEW"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.nodeTypeBreakdown.table").value(1));
+        verify(snapshotGraphCache, never()).latestStatistics(any());
+    }
+
+    @Test
+    void testGetSchemaGraph_compactWhenAccepted() throws Exception {
+        // Given
+        OracleConnectionConfig connectionConfig = createSampleConnectionConfig();
+
+        when(metadataExtractionService.discoverMetadata(any(), any())).thenReturn(new MetadataDiscoveryResponse("test-connection"));
+        when(graphService.transformMetadataToGraph(any(), eq(MetadataGraph.Detail.FULL), eq(GraphLayout.Mode.NONE))).thenReturn(createMockGraphData());
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/oracle-discovery/graph/schema/test-connection")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(CompactGraph.MEDIA_TYPE)
+                .content(objectMapper.writeValueAsString(connectionConfig)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(CompactGraph.MEDIA_TYPE))
+                .andExpect(jsonPath("$.data.version").value(CompactGraph.FORMAT_VERSION))
+                .andExpect(jsonPath("$.data.parent").isArray())
+                .andExpect(jsonPath("$.data.nodes").doesNotExist());
+    }
+
     @Test
     void testGetSchemaGraph_invalidRequest() throws Exception {
         // Given - invalid connection config (missing required fields)
@@ -88,6 +202,116 @@ class OracleGraphControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void testGetSnapshotGraph_returnsEtag() throws Exception {
+        // Given
+        MetadataSnapshot snapshot = mock(MetadataSnapshot.class);
+        when(snapshotGraphCache.snapshot("test-connection", null)).thenReturn(snapshot);
+        when(snapshotGraphCache.schemaGraphEtag(eq(snapshot), any(), eq(MetadataGraph.Detail.FULL), eq(GraphLayout.Mode.NONE))).thenReturn("\"00ff\"");
+        when(snapshotGraphCache.schemaGraph(eq(snapshot), any(), eq(MetadataGraph.Detail.FULL), eq(GraphLayout.Mode.NONE), eq("\"00ff\""))).thenReturn(createMockGraphData());
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/oracle-discovery/graph/snapshots/test-connection"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"00ff\""))
+                .andExpect(jsonPath("$.data.nodes").isArray());
+    }
+
+    @Test
+    void testGetSnapshotGraph_compactKeepsLayoutPositions() throws Exception {
+        // Given
+        MetadataSnapshot snapshot = mock(MetadataSnapshot.class);
+        GraphNode node = new GraphNode("schema-HR", "HR", "schema", Map.of());
+        node.setPosition(new GraphNode.Position(12.5, 40.0));
+        GraphData graphData = createMockGraphData();
+        graphData.setNodes(List.of(node));
+        when(snapshotGraphCache.snapshot("test-connection", null)).thenReturn(snapshot);
+        when(snapshotGraphCache.schemaGraphEtag(eq(snapshot), any(), eq(MetadataGraph.Detail.FULL), eq(GraphLayout.Mode.HIERARCHICAL))).thenReturn("\"00ff\"");
+        when(snapshotGraphCache.schemaGraph(eq(snapshot), any(), eq(MetadataGraph.Detail.FULL), eq(GraphLayout.Mode.HIERARCHICAL), any())).thenReturn(graphData);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/oracle-discovery/graph/snapshots/test-connection")
+                .param("layout", "hierarchical")
+                .accept(CompactGraph.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(CompactGraph.MEDIA_TYPE))
+                .andExpect(header().string("ETag", "\"00ff-compact\""))
+                .andExpect(jsonPath("$.data.position[0]").value(12.5))
+                .andExpect(jsonPath("$.data.position[1]").value(40.0));
+    }
+
+    @Test
+    void testGetSnapshotGraph_matchingIfNoneMatchReturnsNotModified() throws Exception {
+        // Given
+        MetadataSnapshot snapshot = mock(MetadataSnapshot.class);
+        when(snapshotGraphCache.snapshot("test-connection", 3L)).thenReturn(snapshot);
+        when(snapshotGraphCache.schemaGraphEtag(eq(snapshot), any(), eq(MetadataGraph.Detail.FULL), eq(GraphLayout.Mode.NONE))).thenReturn("\"00ff\"");
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/oracle-discovery/graph/snapshots/test-connection")
+                .param("version", "3")
+                .header("If-None-Match", "\"00ff\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"00ff\""))
+                .andExpect(content().string(""));
+
+        verify(snapshotGraphCache, never()).schemaGraph(any(), any(), any(), any(), any());
+        verifyNoInteractions(metadataExtractionService, graphService);
+    }
+
+    @Test
+    void testGetSnapshotGraph_unknownConnection() throws Exception {
+        // Given
+        when(snapshotGraphCache.snapshot("missing", null))
+            .thenThrow(new IllegalArgumentException("No snapshots found for connection: missing"));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/oracle-discovery/graph/snapshots/missing"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorCode").value("SNAPSHOT_NOT_FOUND"));
+    }
+
+    @Test
+    void testGetSnapshotGraph_unknownLayoutOrDetail() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/oracle-discovery/graph/snapshots/test-connection")
+                .param("layout", "circular"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_LAYOUT"));
+        mockMvc.perform(get("/api/v1/oracle-discovery/graph/snapshots/test-connection")
+                .param("detail", "column"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_DETAIL"));
+
+        verifyNoInteractions(snapshotGraphCache);
+    }
+
+    @Test
+    void testGetSnapshotNeighborhood_unknownNode() throws Exception {
+        // Given
+        when(neighborhoodService.expand(eq("test-connection"), isNull(), eq("table-HR.MISSING"), eq(2), any(), eq(100)))
+            .thenThrow(new NoSuchElementException("Node not found in snapshot v1: table-HR.MISSING"));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/oracle-discovery/graph/snapshots/test-connection/neighborhood")
+                .param("nodeId", "table-HR.MISSING")
+                .param("hops", "2"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorCode").value("NODE_NOT_FOUND"));
+    }
+
+    @Test
+    void testGetSnapshotNeighborhood_unknownNodeType() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/oracle-discovery/graph/snapshots/test-connection/neighborhood")
+                .param("nodeId", "schema-HR")
+                .param("types", "table", "tables"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_NODE_TYPE"));
+
+        verifyNoInteractions(neighborhoodService);
+    }
+
     private OracleConnectionConfig createSampleConnectionConfig() {
         OracleConnectionConfig config = new OracleConnectionConfig();
         config.setConnectionId("test-connection");
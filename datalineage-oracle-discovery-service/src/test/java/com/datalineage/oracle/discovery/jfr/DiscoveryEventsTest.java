@@ -0,0 +1,85 @@
+package com.datalineage.oracle.discovery.jfr;
+
+import com.datalineage.common.dto.ApiResponse;
+import com.datalineage.oracle.discovery.dto.GraphData;
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryResponse;
+import com.datalineage.oracle.discovery.model.OracleColumn;
+import com.datalineage.oracle.discovery.model.OracleTable;
+import com.datalineage.oracle.discovery.service.OracleGraphService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Records the custom JFR events in a real recording and reads them back
+ */
+class DiscoveryEventsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testGraphTransformAndSerialization_areRecorded() throws Exception {
+        // Given
+        MetadataDiscoveryResponse metadata = new MetadataDiscoveryResponse("conn-1");
+        OracleTable table = new OracleTable("HR", "EMPLOYEES", "conn-1");
+        OracleColumn column = new OracleColumn("HR", "EMPLOYEES", "EMPLOYEE_ID", "conn-1");
+        metadata.setTables(List.of(table));
+        metadata.setColumns(List.of(column));
+        RecordingJacksonHttpMessageConverter converter = new RecordingJacksonHttpMessageConverter(new ObjectMapper());
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        // When
+        GraphData graph;
+        Path file = tempDir.resolve("discovery.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(GraphTransformEvent.class);
+            recording.enable(SerializationEvent.class);
+            recording.start();
+            graph = new OracleGraphService().transformMetadataToGraph(metadata);
+            converter.write(ApiResponse.success(graph), MediaType.APPLICATION_JSON, output);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // Then
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        RecordedEvent transform = single(events, "com.datalineage.oracle.GraphTransform");
+        assertEquals("conn-1", transform.getString("connectionId"));
+        assertEquals("schema", transform.getString("kind"));
+        assertEquals(graph.getNodes().size(), transform.getLong("nodes"));
+        assertEquals(graph.getEdges().size(), transform.getLong("edges"));
+
+        RecordedEvent serialization = single(events, "com.datalineage.oracle.Serialization");
+        assertEquals("ApiResponse", serialization.getString("payloadType"));
+        assertEquals(output.getBodyAsBytes().length, serialization.getLong("bytes"));
+    }
+
+    @Test
+    void testSerialization_writesBodyWithoutRecording() throws Exception {
+        RecordingJacksonHttpMessageConverter converter = new RecordingJacksonHttpMessageConverter(new ObjectMapper());
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        converter.write(ApiResponse.success("ok"), MediaType.APPLICATION_JSON, output);
+
+        assertTrue(output.getBodyAsString().contains("\"data\":\"ok\""));
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream()
+            .filter(e -> e.getEventType().getName().equals(name))
+            .toList();
+        assertEquals(1, matching.size(), name);
+        return matching.get(0);
+    }
+}
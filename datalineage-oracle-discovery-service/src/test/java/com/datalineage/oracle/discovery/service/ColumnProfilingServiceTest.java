@@ -0,0 +1,214 @@
+package com.datalineage.oracle.discovery.service;
+
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryResponse;
+import com.datalineage.oracle.discovery.dto.OracleConnectionConfig;
+import com.datalineage.oracle.discovery.dto.ProfilingReport;
+import com.datalineage.oracle.discovery.dto.TableProfile;
+import com.datalineage.oracle.discovery.model.MetadataSnapshot;
+import com.datalineage.oracle.discovery.model.OracleColumn;
+import com.datalineage.oracle.discovery.model.OracleTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ColumnProfilingService
+ */
+@ExtendWith(MockitoExtension.class)
+class ColumnProfilingServiceTest {
+
+    @Mock
+    private OracleConnectionService connectionService;
+
+    @Mock
+    private MetadataSnapshotService snapshotService;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    @InjectMocks
+    private ColumnProfilingService profilingService;
+
+    @AfterEach
+    void tearDown() {
+        profilingService.shutdown();
+    }
+
+    @Test
+    void testProfileLatestSnapshot_samplesTableAndAttachesProfile() throws SQLException {
+        // Given - a 1M row table, so the default 10k row target samples 1%
+        MetadataSnapshot snapshot = createSnapshot();
+        OracleConnectionConfig config = createConfig();
+        when(snapshotService.getLatestSnapshot("conn-1")).thenReturn(Optional.of(snapshot));
+        when(connectionService.createConnection(any(OracleConnectionConfig.class))).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, true, false);
+        when(resultSet.getBigDecimal(1)).thenReturn(BigDecimal.ONE, BigDecimal.valueOf(2), null);
+        when(resultSet.getString(2)).thenReturn("Smith", "Jones", "Smith");
+
+        // When
+        ProfilingReport report = profilingService.profileLatestSnapshot(config, List.of("hr"), null, null);
+
+        // Then
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(connection).prepareStatement(sql.capture());
+        assertEquals("SELECT \"ID\", \"LAST_NAME\" FROM \"HR\".\"EMPLOYEES\" SAMPLE (1.000000) FETCH FIRST ? ROWS ONLY",
+            sql.getValue());
+        verify(statement).setInt(1, 100000);
+        verify(connectionService).closeConnection(connection);
+
+        assertEquals(1, report.getProfiledTables());
+        assertEquals(0, report.getFailedTables());
+        TableProfile profile = snapshot.getProfiles().get("HR.EMPLOYEES");
+        assertNotNull(profile);
+        assertEquals(3, profile.getSampledRows());
+        assertEquals(1.0, profile.getSamplePercent());
+        assertEquals(2, profile.getColumns().size());
+        assertEquals(1.0 / 3, profile.getColumns().get(0).getNullRatio(), 1e-9);
+        assertEquals("Smith", profile.getColumns().get(1).getTopValues().get(0).getValue());
+        assertEquals(2, profile.getColumns().get(1).getDistinctEstimate());
+    }
+
+    @Test
+    void testProfileLatestSnapshot_recordsFailedTablesWithoutAborting() throws SQLException {
+        // Given
+        MetadataSnapshot snapshot = createSnapshot();
+        when(snapshotService.getLatestSnapshot("conn-1")).thenReturn(Optional.of(snapshot));
+        when(connectionService.createConnection(any(OracleConnectionConfig.class))).thenReturn(connection);
+        when(connection.prepareStatement(anyString()))
+            .thenThrow(new SQLException("ORA-01031: insufficient privileges"));
+
+        // When
+        ProfilingReport report = profilingService.profileLatestSnapshot(createConfig(), null, List.of("EMP%"), 50.0);
+
+        // Then
+        assertEquals(0, report.getProfiledTables());
+        assertEquals(1, report.getFailedTables());
+        assertEquals("ORA-01031: insufficient privileges", report.getTables().get(0).getError());
+    }
+
+    @Test
+    void testProfileLatestSnapshot_hostPermitsBoundOpenSessions() throws Exception {
+        // Given - two concurrent runs over many tables against one host with 2 permits
+        MetadataDiscoveryResponse metadata = new MetadataDiscoveryResponse("conn-1");
+        List<OracleTable> tables = new ArrayList<>();
+        List<OracleColumn> columns = new ArrayList<>();
+        for (int t = 0; t < 12; t++) {
+            tables.add(new OracleTable("HR", "T" + t, "conn-1"));
+            OracleColumn column = new OracleColumn("HR", "T" + t, "ID", "conn-1");
+            column.setDataType("NUMBER");
+            columns.add(column);
+        }
+        metadata.setTables(tables);
+        metadata.setColumns(columns);
+        MetadataSnapshot snapshot = new MetadataSnapshot("conn-1", 1, null, null, metadata,
+            new SchemaFingerprintService().fingerprint(metadata));
+        when(snapshotService.getLatestSnapshot("conn-1")).thenReturn(Optional.of(snapshot));
+
+        AtomicInteger open = new AtomicInteger();
+        AtomicInteger maxOpen = new AtomicInteger();
+        when(connectionService.createConnection(any(OracleConnectionConfig.class))).thenAnswer(invocation -> {
+            maxOpen.accumulateAndGet(open.incrementAndGet(), Math::max);
+            return connection;
+        });
+        doAnswer(invocation -> {
+            if (invocation.getArgument(0) != null) {
+                open.decrementAndGet();
+            }
+            return null;
+        }).when(connectionService).closeConnection(any());
+        when(connection.prepareStatement(anyString())).thenAnswer(invocation -> {
+            Thread.sleep(5);
+            return statement;
+        });
+        when(statement.executeQuery()).thenReturn(resultSet);
+
+        // When
+        CompletableFuture<ProfilingReport> first = CompletableFuture.supplyAsync(
+            () -> profilingService.profileLatestSnapshot(createConfig(), null, null, null));
+        ProfilingReport second = profilingService.profileLatestSnapshot(createConfig(), null, null, null);
+
+        // Then
+        assertEquals(12, first.get().getProfiledTables());
+        assertEquals(12, second.getProfiledTables());
+        assertTrue(maxOpen.get() <= 2, "sessions open at once: " + maxOpen.get());
+        assertEquals(0, open.get());
+    }
+
+    @Test
+    void testSamplePercent_usesDictionaryRowCount() {
+        OracleTable small = new OracleTable("HR", "REGIONS", "conn-1");
+        small.setNumRows(4L);
+        OracleTable unknown = new OracleTable("HR", "STAGING", "conn-1");
+
+        assertNull(profilingService.samplePercent(small, null));
+        assertEquals(10.0, profilingService.samplePercent(unknown, null));
+        assertEquals(0.5, profilingService.samplePercent(small, 0.5));
+    }
+
+    @Test
+    void testProfileLatestSnapshot_withoutSnapshotFails() {
+        when(snapshotService.getLatestSnapshot("conn-1")).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class,
+            () -> profilingService.profileLatestSnapshot(createConfig(), null, null, null));
+    }
+
+    private OracleConnectionConfig createConfig() {
+        OracleConnectionConfig config = new OracleConnectionConfig();
+        config.setConnectionId("conn-1");
+        config.setHost("db.example.com");
+        config.setPort(1521);
+        return config;
+    }
+
+    private MetadataSnapshot createSnapshot() {
+        MetadataDiscoveryResponse metadata = new MetadataDiscoveryResponse("conn-1");
+
+        OracleTable table = new OracleTable("HR", "EMPLOYEES", "conn-1");
+        table.setNumRows(1000000L);
+        metadata.setTables(Arrays.asList(table));
+
+        OracleColumn id = new OracleColumn("HR", "EMPLOYEES", "ID", "conn-1");
+        id.setDataType("NUMBER");
+        id.setColumnId(1);
+        OracleColumn lastName = new OracleColumn("HR", "EMPLOYEES", "LAST_NAME", "conn-1");
+        lastName.setDataType("VARCHAR2");
+        lastName.setColumnId(2);
+        OracleColumn photo = new OracleColumn("HR", "EMPLOYEES", "PHOTO", "conn-1");
+        photo.setDataType("BLOB");
+        photo.setColumnId(3);
+        metadata.setColumns(Arrays.asList(photo, lastName, id));
+
+        return new MetadataSnapshot("conn-1", 1, null, null, metadata,
+            new SchemaFingerprintService().fingerprint(metadata));
+    }
+}
@@ -0,0 +1,140 @@
+package com.datalineage.oracle.discovery.service;
+
+import com.datalineage.oracle.discovery.dto.CompactGraph;
+import com.datalineage.oracle.discovery.dto.CompactGraph.AttributeColumn;
+import com.datalineage.oracle.discovery.dto.CompactGraph.AttributeTable;
+import com.datalineage.oracle.discovery.dto.GraphData;
+import com.datalineage.oracle.discovery.dto.GraphNode;
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryResponse;
+import com.datalineage.oracle.discovery.model.OracleColumn;
+import com.datalineage.oracle.discovery.model.OracleConstraint;
+import com.datalineage.oracle.discovery.model.OracleTable;
+import com.datalineage.oracle.discovery.service.graph.GraphLayout;
+import com.datalineage.oracle.discovery.service.graph.MetadataGraph;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CompactGraphEncoder
+ */
+class CompactGraphEncoderTest {
+
+    private final OracleGraphService graphService = new OracleGraphService();
+
+    @Test
+    void testEncode_replacesContainmentEdgesWithParents() {
+        GraphData graph = graphService.transformMetadataToGraph(createMetadata(2, 3));
+
+        CompactGraph compact = CompactGraphEncoder.encode(graph);
+
+        assertEquals(graph.getNodes().size(), compact.getNodeType().length);
+        long containment = graph.getEdges().stream().filter(e -> "contains".equals(e.getType())).count();
+        assertEquals(graph.getEdges().size() - containment, compact.getEdgeSource().length);
+        assertFalse(compact.getEdgeTypes().contains("contains"));
+
+        // Every column points at its table, every table at the schema node
+        for (int i = 0; i < compact.getNodeType().length; i++) {
+            GraphNode node = graph.getNodes().get(i);
+            String type = compact.getNodeTypes().get(compact.getNodeType()[i]);
+            assertEquals(node.getType(), type);
+            assertEquals(node.getLabel(), compact.getStrings().get(compact.getLabel()[i]));
+            if ("column".equals(type)) {
+                GraphNode table = graph.getNodes().get(compact.getParent()[i]);
+                assertEquals("table-HR." + node.getMetadata().get("tableName"), table.getId());
+            } else if ("table".equals(type)) {
+                assertEquals(0, compact.getParent()[i]);
+            } else if ("schema".equals(type)) {
+                assertEquals(-1, compact.getParent()[i]);
+            }
+        }
+    }
+
+    @Test
+    void testEncode_storesMetadataAsTypedColumnsWithSharedStrings() {
+        GraphData graph = graphService.transformMetadataToGraph(createMetadata(2, 3));
+
+        CompactGraph compact = CompactGraphEncoder.encode(graph);
+
+        AttributeTable columns = compact.getNodeAttributes().stream()
+            .filter(t -> t.getType().equals("column")).findFirst().orElseThrow();
+        assertEquals(6, columns.getRows().length);
+        AttributeColumn dataType = column(columns, "dataType");
+        AttributeColumn dataLength = column(columns, "dataLength");
+        assertEquals(AttributeColumn.STRING, dataType.getKind());
+        assertEquals(AttributeColumn.NUMBER, dataLength.getKind());
+
+        // Repeated values share one dictionary entry
+        assertEquals(1, compact.getStrings().stream().filter("VARCHAR2"::equals).count());
+        for (int i = 0; i < columns.getRows().length; i++) {
+            GraphNode node = graph.getNodes().get(columns.getRows()[i]);
+            assertEquals(node.getMetadata().get("dataType"),
+                compact.getStrings().get((Integer) dataType.getValues().get(i)));
+            assertEquals(node.getMetadata().get("dataLength"), dataLength.getValues().get(i));
+        }
+    }
+
+    @Test
+    void testEncode_keepsLayoutPositions() {
+        MetadataDiscoveryResponse metadata = createMetadata(2, 3);
+        GraphData plain = graphService.transformMetadataToGraph(metadata);
+        GraphData laidOut = graphService.transformMetadataToGraph(metadata, MetadataGraph.Detail.FULL,
+            GraphLayout.Mode.HIERARCHICAL);
+
+        CompactGraph compact = CompactGraphEncoder.encode(laidOut);
+
+        assertNull(CompactGraphEncoder.encode(plain).getPosition());
+        assertEquals(2 * laidOut.getNodes().size(), compact.getPosition().length);
+        for (int i = 0; i < laidOut.getNodes().size(); i++) {
+            GraphNode.Position position = laidOut.getNodes().get(i).getPosition();
+            assertEquals(position.getX(), compact.getPosition()[2 * i]);
+            assertEquals(position.getY(), compact.getPosition()[2 * i + 1]);
+        }
+    }
+
+    @Test
+    void testEncode_isSmallerThanGraphData() throws Exception {
+        GraphData graph = graphService.transformMetadataToGraph(createMetadata(50, 20));
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        int full = objectMapper.writeValueAsBytes(graph).length;
+        int compact = objectMapper.writeValueAsBytes(CompactGraphEncoder.encode(graph)).length;
+
+        assertTrue(compact * 2 < full, "compact " + compact + " bytes, full " + full + " bytes");
+    }
+
+    private static AttributeColumn column(AttributeTable table, String name) {
+        return table.getColumns().stream().filter(c -> c.getName().equals(name)).findFirst().orElseThrow();
+    }
+
+    private static MetadataDiscoveryResponse createMetadata(int tables, int columnsPerTable) {
+        MetadataDiscoveryResponse metadata = new MetadataDiscoveryResponse("test-connection");
+        List<OracleTable> tableList = new ArrayList<>();
+        List<OracleColumn> columnList = new ArrayList<>();
+        List<OracleConstraint> constraintList = new ArrayList<>();
+        for (int t = 0; t < tables; t++) {
+            OracleTable table = new OracleTable("HR", "TABLE_" + t, "test-connection");
+            table.setTableType("TABLE");
+            table.setNumRows(100L * t);
+            tableList.add(table);
+            for (int c = 0; c < columnsPerTable; c++) {
+                OracleColumn column = new OracleColumn("HR", "TABLE_" + t, "COLUMN_" + c, "test-connection");
+                column.setDataType("VARCHAR2");
+                column.setDataLength(c % 2 == 0 ? 100L : null);
+                column.setNullable("Y");
+                columnList.add(column);
+            }
+            OracleConstraint constraint = new OracleConstraint("HR", "TABLE_" + t + "_PK", "TABLE_" + t, "test-connection");
+            constraint.setConstraintType("P");
+            constraintList.add(constraint);
+        }
+        metadata.setTables(tableList);
+        metadata.setColumns(columnList);
+        metadata.setConstraints(constraintList);
+        return metadata;
+    }
+}
@@ -0,0 +1,92 @@
+package com.datalineage.oracle.discovery.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ConnectionCredentialCache
+ */
+@ExtendWith(MockitoExtension.class)
+class ConnectionCredentialCacheTest {
+
+    @Mock
+    private EncryptionService encryptionService;
+
+    @InjectMocks
+    private ConnectionCredentialCache cache;
+
+    @Test
+    void testDecrypt_servesRepeatedLookupFromCache() {
+        when(encryptionService.decrypt("cipher-1")).thenReturn("tiger");
+
+        assertEquals("tiger", cache.decrypt("conn-1", "password", "cipher-1"));
+        assertEquals("tiger", cache.decrypt("conn-1", "password", "cipher-1"));
+
+        verify(encryptionService, times(1)).decrypt("cipher-1");
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testDecrypt_changedCiphertextIsDecryptedAgain() {
+        when(encryptionService.decrypt("cipher-1")).thenReturn("tiger");
+        when(encryptionService.decrypt("cipher-2")).thenReturn("lion");
+
+        cache.decrypt("conn-1", "password", "cipher-1");
+
+        assertEquals("lion", cache.decrypt("conn-1", "password", "cipher-2"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testEvict_dropsOnlyThatConnection() {
+        when(encryptionService.decrypt(anyString())).thenReturn("secret");
+        cache.decrypt("conn-1", "password", "cipher-1");
+        cache.decrypt("conn-1", "sslTruststorePassword", "cipher-2");
+        cache.decrypt("conn-2", "password", "cipher-3");
+
+        cache.evict("conn-1");
+
+        assertEquals(1, cache.size());
+        cache.decrypt("conn-1", "password", "cipher-1");
+        verify(encryptionService, times(2)).decrypt("cipher-1");
+    }
+
+    @Test
+    void testDecrypt_unsavedConnectionOrZeroTtlNotCached() {
+        when(encryptionService.decrypt("cipher-1")).thenReturn("tiger");
+
+        cache.decrypt(null, "password", "cipher-1");
+        cache.setTtlSeconds(0);
+        cache.decrypt("conn-1", "password", "cipher-1");
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testPurgeExpired_removesExpiredEntries() {
+        AtomicLong now = new AtomicLong();
+        cache.setNanoTime(now::get);
+        when(encryptionService.decrypt("cipher-1")).thenReturn("tiger");
+        cache.setTtlSeconds(1);
+        cache.decrypt("conn-1", "password", "cipher-1");
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+        cache.purgeExpired();
+        assertEquals(1, cache.size());
+        cache.decrypt("conn-1", "password", "cipher-1");
+        verify(encryptionService, times(1)).decrypt("cipher-1");
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        cache.purgeExpired();
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,97 @@
+package com.datalineage.oracle.discovery.service;
+
+import com.datalineage.oracle.discovery.model.DictionaryScope;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DictionaryAccessService
+ */
+@ExtendWith(MockitoExtension.class)
+class DictionaryAccessServiceTest {
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private DictionaryAccessService dictionaryAccessService;
+
+    @BeforeEach
+    void setUp() {
+        dictionaryAccessService = new DictionaryAccessService();
+    }
+
+    @Test
+    void testResolveScope_usesDbaViewsWhenReadableAndCachesResult() throws SQLException {
+        // Given - a non-CDB database where DBA_OBJECTS is readable
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getString(1)).thenReturn("ORCL");
+
+        // When
+        DictionaryScope first = dictionaryAccessService.resolveScope("conn-1", connection);
+        DictionaryScope second = dictionaryAccessService.resolveScope("conn-1", connection);
+
+        // Then
+        assertEquals(DictionaryScope.DBA, first);
+        assertEquals(DictionaryScope.DBA, second);
+        verify(connection, times(2)).prepareStatement(anyString());
+        verify(connection, never()).prepareStatement(contains("cdb_objects"));
+    }
+
+    @Test
+    void testResolveScope_fallsBackToAllViewsWithoutCatalogAccess() throws SQLException {
+        // Given
+        PreparedStatement containerStatement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(contains("CON_NAME"))).thenReturn(containerStatement);
+        when(containerStatement.executeQuery()).thenThrow(new SQLException("ORA-02003: invalid USERENV parameter"));
+        when(connection.prepareStatement(contains("dba_objects")))
+            .thenThrow(new SQLException("ORA-00942: table or view does not exist"));
+
+        // When
+        DictionaryScope scope = dictionaryAccessService.resolveScope("conn-2", connection);
+
+        // Then
+        assertEquals(DictionaryScope.ALL, scope);
+    }
+
+    @Test
+    void testResolveScope_configuredScopeSkipsDetection() {
+        dictionaryAccessService.setConfiguredScope("all");
+
+        assertEquals(DictionaryScope.ALL, dictionaryAccessService.resolveScope("conn-3", connection));
+        verifyNoInteractions(connection);
+    }
+
+    @Test
+    void testOwnerFilter_cdbMatchesPlainAndQualifiedOwners() {
+        List<Object> params = new ArrayList<>();
+
+        String clause = DictionaryScope.CDB.ownerFilter(List.of("HR", "PDB1:SALES"), params);
+
+        assertTrue(clause.startsWith("AND (owner IN (?,?) OR "));
+        assertEquals(List.of("HR", "PDB1:SALES", "HR", "PDB1:SALES"), params);
+        assertEquals("dba_tables", DictionaryScope.DBA.view("tables"));
+    }
+}
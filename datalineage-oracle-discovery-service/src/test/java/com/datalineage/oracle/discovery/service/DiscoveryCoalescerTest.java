@@ -0,0 +1,193 @@
+package com.datalineage.oracle.discovery.service;
+
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryRequest;
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryResponse;
+import com.datalineage.oracle.discovery.dto.OracleConnectionConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DiscoveryCoalescer
+ */
+class DiscoveryCoalescerTest {
+
+    private final DiscoveryCoalescer coalescer = new DiscoveryCoalescer();
+    private final ExecutorService callers = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void testExecute_concurrentIdenticalCallersShareOneDiscovery() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        MetadataDiscoveryResponse response = new MetadataDiscoveryResponse("conn-1");
+
+        Future<MetadataDiscoveryResponse> leader = callers.submit(() -> coalescer.execute("key", () -> {
+            loads.incrementAndGet();
+            started.countDown();
+            await(release);
+            return response;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        List<Future<MetadataDiscoveryResponse>> followers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            followers.add(callers.submit(() -> coalescer.execute("key", () -> {
+                loads.incrementAndGet();
+                return new MetadataDiscoveryResponse("conn-1");
+            })));
+        }
+        waitForFollowers();
+        release.countDown();
+
+        assertSame(response, leader.get(5, TimeUnit.SECONDS));
+        for (Future<MetadataDiscoveryResponse> follower : followers) {
+            assertSame(response, follower.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(0, coalescer.getInFlightCount());
+    }
+
+    @Test
+    void testExecute_failureReachesWaitingCallers() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<MetadataDiscoveryResponse> leader = callers.submit(() -> coalescer.execute("key", () -> {
+            started.countDown();
+            await(release);
+            throw new SQLException("ORA-01017: invalid username/password", "72000", 1017);
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<MetadataDiscoveryResponse> follower = callers.submit(() -> coalescer.execute("key", () -> {
+            throw new AssertionError("follower must not run its own discovery");
+        }));
+        waitForFollowers();
+        release.countDown();
+
+        SQLException leaderError = assertInstanceOf(SQLException.class, assertThrows(Exception.class,
+            () -> leader.get(5, TimeUnit.SECONDS)).getCause());
+        SQLException followerError = assertInstanceOf(SQLException.class, assertThrows(Exception.class,
+            () -> follower.get(5, TimeUnit.SECONDS)).getCause());
+        assertEquals(1017, leaderError.getErrorCode());
+        assertEquals(1017, followerError.getErrorCode());
+        assertSame(leaderError, followerError.getCause());
+        assertEquals(0, coalescer.getInFlightCount());
+    }
+
+    @Test
+    void testExecute_waitingCallerTimesOutWhileDiscoveryContinues() throws Exception {
+        coalescer.setWaitTimeoutSeconds(0);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        MetadataDiscoveryResponse response = new MetadataDiscoveryResponse("conn-1");
+
+        Future<MetadataDiscoveryResponse> leader = callers.submit(() -> coalescer.execute("key", () -> {
+            started.countDown();
+            await(release);
+            return response;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(SQLTimeoutException.class, () -> coalescer.execute("key", () -> response));
+        release.countDown();
+        assertSame(response, leader.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testExecute_differentKeysAndLaterCallersRunTheirOwnDiscovery() throws SQLException {
+        AtomicInteger loads = new AtomicInteger();
+
+        coalescer.execute("a", () -> new MetadataDiscoveryResponse("conn-" + loads.incrementAndGet()));
+        coalescer.execute("b", () -> new MetadataDiscoveryResponse("conn-" + loads.incrementAndGet()));
+        coalescer.execute("a", () -> new MetadataDiscoveryResponse("conn-" + loads.incrementAndGet()));
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testExecute_schemasDifferingOnlyInCaseAreNotMerged() throws Exception {
+        OracleConnectionConfig config = new OracleConnectionConfig("conn-1", "db.example.com", 1521, "ORCL",
+            "scott", "secret", OracleConnectionConfig.AuthenticationType.DIRECT);
+        MetadataDiscoveryRequest upper = new MetadataDiscoveryRequest("conn-1");
+        upper.setSchemas(List.of("HR"));
+        MetadataDiscoveryRequest lower = new MetadataDiscoveryRequest("conn-1");
+        lower.setSchemas(List.of("hr"));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        MetadataDiscoveryResponse upperResponse = new MetadataDiscoveryResponse("conn-1");
+        MetadataDiscoveryResponse lowerResponse = new MetadataDiscoveryResponse("conn-1");
+
+        Future<MetadataDiscoveryResponse> leader = callers.submit(() ->
+            coalescer.execute(DiscoveryResultCache.cacheKey(config, upper), () -> {
+                started.countDown();
+                await(release);
+                return upperResponse;
+            }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // "hr" binds a different owner than "HR", so it runs its own discovery while "HR" is in flight
+        assertSame(lowerResponse, coalescer.execute(DiscoveryResultCache.cacheKey(config, lower), () -> lowerResponse));
+        release.countDown();
+        assertSame(upperResponse, leader.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testExecute_callersWithDifferentPasswordsDoNotShareAFlight() throws Exception {
+        OracleConnectionConfig valid = new OracleConnectionConfig("conn-1", "db.example.com", 1521, "ORCL",
+            "scott", "secret", OracleConnectionConfig.AuthenticationType.DIRECT);
+        OracleConnectionConfig guessed = new OracleConnectionConfig("conn-1", "db.example.com", 1521, "ORCL",
+            "scott", "guess", OracleConnectionConfig.AuthenticationType.DIRECT);
+        MetadataDiscoveryRequest request = new MetadataDiscoveryRequest("conn-1");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        MetadataDiscoveryResponse response = new MetadataDiscoveryResponse("conn-1");
+
+        Future<MetadataDiscoveryResponse> leader = callers.submit(() ->
+            coalescer.execute(DiscoveryResultCache.cacheKey(valid, request), () -> {
+                started.countDown();
+                await(release);
+                return response;
+            }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // The second caller must log in itself instead of joining the valid caller's discovery
+        SQLException error = assertThrows(SQLException.class,
+            () -> coalescer.execute(DiscoveryResultCache.cacheKey(guessed, request), () -> {
+                throw new SQLException("ORA-01017: invalid username/password; logon denied", "72000", 1017);
+            }));
+        assertEquals(1017, error.getErrorCode());
+        release.countDown();
+        assertSame(response, leader.get(5, TimeUnit.SECONDS));
+    }
+
+    private void waitForFollowers() throws InterruptedException {
+        // Followers block on the shared future without a hook to observe; give them time to join
+        Thread.sleep(200);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
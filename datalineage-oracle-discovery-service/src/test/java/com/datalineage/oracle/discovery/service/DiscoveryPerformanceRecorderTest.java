@@ -0,0 +1,108 @@
+package com.datalineage.oracle.discovery.service;
+
+import com.datalineage.oracle.discovery.dto.DiscoveryPerformance;
+import com.datalineage.oracle.discovery.dto.DiscoveryPerformance.QueryPerformance;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DiscoveryPerformanceRecorder
+ */
+class DiscoveryPerformanceRecorderTest {
+
+    @Test
+    void testDisabled_returnsResultSetUnwrapped() {
+        ResultSet rs = mock(ResultSet.class);
+        DiscoveryPerformanceRecorder recorder = DiscoveryPerformanceRecorder.start(false, 500);
+
+        DiscoveryPerformanceRecorder.QueryTimer timer = recorder.query("tables");
+        timer.executed();
+
+        assertFalse(recorder.isEnabled());
+        assertSame(rs, timer.measure(rs));
+        timer.fetched(10);
+        assertNull(recorder.finish());
+        verifyNoInteractions(rs);
+    }
+
+    @Test
+    void testQuery_countsRoundTripsRowsAndBytes() throws SQLException {
+        // 25 rows at fetch size 10: execute, two full fetches, then the rest with end-of-data
+        ResultSet rs = mock(ResultSet.class);
+        AtomicInteger remaining = new AtomicInteger(25);
+        when(rs.next()).thenAnswer(invocation -> remaining.getAndDecrement() > 0);
+        when(rs.getString(1)).thenReturn("EMPLOYEES");
+
+        DiscoveryPerformanceRecorder recorder = DiscoveryPerformanceRecorder.start(true, 10);
+        DiscoveryPerformanceRecorder.QueryTimer timer = recorder.query("tables");
+        timer.executed();
+        ResultSet measured = timer.measure(rs);
+        long rows = 0;
+        while (measured.next()) {
+            measured.getString(1);
+            rows++;
+        }
+        timer.fetched(rows);
+        DiscoveryPerformance performance = recorder.finish();
+
+        assertEquals(25, rows);
+        QueryPerformance query = performance.getQueries().get(0);
+        assertEquals("tables", query.getCategory());
+        assertEquals(25, query.getRows());
+        assertEquals(25 * 9, query.getBytes());
+        assertEquals(1 + 2 + 1, query.getRoundTrips());
+        assertEquals(4, performance.getRoundTrips());
+        assertEquals(25, performance.getRowsFetched());
+        assertEquals(10, performance.getFetchSize());
+    }
+
+    @Test
+    void testSizeOf_perValueType() {
+        assertEquals(0, DiscoveryPerformanceRecorder.sizeOf(null));
+        assertEquals(9, DiscoveryPerformanceRecorder.sizeOf("EMPLOYEES"));
+        assertEquals(3, DiscoveryPerformanceRecorder.sizeOf(new byte[3]));
+        assertEquals(11, DiscoveryPerformanceRecorder.sizeOf(new Timestamp(0)));
+        assertEquals(7, DiscoveryPerformanceRecorder.sizeOf(new Date(0)));
+        assertEquals(8, DiscoveryPerformanceRecorder.sizeOf(42L));
+        assertEquals(8, DiscoveryPerformanceRecorder.sizeOf(BigDecimal.TEN));
+        assertEquals(0, DiscoveryPerformanceRecorder.sizeOf(new Object()));
+    }
+
+    @Test
+    void testFinish_rollsUpCommentQueries() throws Exception {
+        DiscoveryPerformanceRecorder recorder = DiscoveryPerformanceRecorder.start(true, 500);
+
+        DiscoveryPerformanceRecorder.QueryTimer tables = recorder.query("tables");
+        tables.finishExecuteOnly();
+        DiscoveryPerformanceRecorder.QueryTimer tableComments = recorder.query("table_comments");
+        Thread.sleep(2);
+        tableComments.finishExecuteOnly();
+        DiscoveryPerformanceRecorder.QueryTimer columnComments = recorder.query("column_comments");
+        Thread.sleep(2);
+        columnComments.finishExecuteOnly();
+        DiscoveryPerformance performance = recorder.finish();
+
+        double comments = 0;
+        double execute = 0;
+        for (QueryPerformance query : performance.getQueries()) {
+            execute += query.getExecuteMs();
+            if (query.getCategory().endsWith("_comments")) {
+                comments += query.getExecuteMs() + query.getFetchMs() + query.getMappingMs();
+            }
+        }
+        assertEquals(3, performance.getQueries().size());
+        assertTrue(performance.getCommentEnrichmentMs() >= 4);
+        assertEquals(comments, performance.getCommentEnrichmentMs(), 0.001);
+        assertEquals(execute, performance.getExecuteMs(), 0.001);
+        assertEquals(3, performance.getRoundTrips());
+    }
+}
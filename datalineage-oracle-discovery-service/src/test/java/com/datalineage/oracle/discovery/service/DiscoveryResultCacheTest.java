@@ -0,0 +1,198 @@
+package com.datalineage.oracle.discovery.service;
+
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryRequest;
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryResponse;
+import com.datalineage.oracle.discovery.dto.OracleConnectionConfig;
+import com.datalineage.oracle.discovery.model.DdlWatermark;
+import com.datalineage.oracle.discovery.model.OracleTable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DiscoveryResultCache
+ */
+@ExtendWith(MockitoExtension.class)
+class DiscoveryResultCacheTest {
+
+    @Mock
+    private OracleDdlProbeService ddlProbeService;
+
+    @InjectMocks
+    private DiscoveryResultCache cache;
+
+    @Test
+    void testGet_servesRepeatedRequestFromCache() throws SQLException {
+        AtomicInteger loads = new AtomicInteger();
+        OracleConnectionConfig config = config("conn-1");
+
+        MetadataDiscoveryResponse first = cache.get(config, request("conn-1", "HR", "SALES"),
+            () -> response("conn-1", loads.incrementAndGet()));
+        // Schema order does not change the result
+        MetadataDiscoveryResponse second = cache.get(config, request("conn-1", "SALES", "HR"),
+            () -> response("conn-1", loads.incrementAndGet()));
+
+        assertEquals(1, loads.get());
+        assertFalse(first.getStatistics().isServedFromCache());
+        assertTrue(second.getStatistics().isServedFromCache());
+        assertSame(first.getTables(), second.getTables());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testCacheKey_separatesAccountsAndPasswordsAndIgnoresFetchStrategy() {
+        OracleConnectionConfig config = config("conn-1");
+        OracleConnectionConfig otherPassword = config("conn-1");
+        otherPassword.setPassword("rotated");
+        OracleConnectionConfig otherUser = config("conn-1");
+        otherUser.setUsername("other");
+
+        MetadataDiscoveryRequest request = request("conn-1", "HR");
+        MetadataDiscoveryRequest singleRoundTrip = request("conn-1", "HR");
+        singleRoundTrip.setFetchStrategy(MetadataDiscoveryRequest.FetchStrategy.SINGLE_ROUND_TRIP);
+        MetadataDiscoveryRequest withoutColumns = request("conn-1", "HR");
+        withoutColumns.setIncludeColumns(false);
+
+        String key = DiscoveryResultCache.cacheKey(config, request);
+        assertNotEquals(key, DiscoveryResultCache.cacheKey(otherPassword, request));
+        assertEquals(key, DiscoveryResultCache.cacheKey(config("conn-1"), request));
+        assertEquals(key, DiscoveryResultCache.cacheKey(config, singleRoundTrip));
+        assertNotEquals(key, DiscoveryResultCache.cacheKey(otherUser, request));
+        assertNotEquals(key, DiscoveryResultCache.cacheKey(config, withoutColumns));
+        assertFalse(key.contains("secret"));
+    }
+
+    @Test
+    void testGet_wrongPasswordMissesCache() throws SQLException {
+        AtomicInteger loads = new AtomicInteger();
+        OracleConnectionConfig wrongPassword = config("conn-1");
+        wrongPassword.setPassword("guess");
+
+        cache.get(config("conn-1"), request("conn-1", "HR"), () -> response("conn-1", loads.incrementAndGet()));
+        SQLException error = assertThrows(SQLException.class, () -> cache.get(wrongPassword, request("conn-1", "HR"),
+            () -> {
+                loads.incrementAndGet();
+                throw new SQLException("ORA-01017: invalid username/password; logon denied", "72000", 1017);
+            }));
+
+        // The caller had to log in, and the entry loaded with the valid password was not served
+        assertEquals(1017, error.getErrorCode());
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testCacheKey_keepsCaseOfBoundValues() {
+        OracleConnectionConfig config = config("conn-1");
+        OracleConnectionConfig upperUser = config("conn-1");
+        upperUser.setUsername(config.getUsername().toUpperCase());
+        MetadataDiscoveryRequest upper = request("conn-1", "HR");
+        upper.setTablePatterns(List.of("EMP%"));
+        MetadataDiscoveryRequest lowerSchema = request("conn-1", "hr");
+        lowerSchema.setTablePatterns(List.of("EMP%"));
+        MetadataDiscoveryRequest lowerPattern = request("conn-1", "HR");
+        lowerPattern.setTablePatterns(List.of("emp%"));
+
+        String key = DiscoveryResultCache.cacheKey(config, upper);
+        assertNotEquals(key, DiscoveryResultCache.cacheKey(config, lowerSchema));
+        assertNotEquals(key, DiscoveryResultCache.cacheKey(config, lowerPattern));
+        assertNotEquals(key, DiscoveryResultCache.cacheKey(upperUser, upper));
+    }
+
+    @Test
+    void testGet_evictsLeastRecentlyUsedBeyondByteBudget() throws SQLException {
+        long entryBytes = DiscoveryResultCache.estimateBytes(response("conn-1", 0));
+        cache.setMaxBytes(entryBytes * 2);
+        OracleConnectionConfig config = config("conn-1");
+
+        cache.get(config, request("conn-1", "A"), () -> response("conn-1", 0));
+        cache.get(config, request("conn-1", "B"), () -> response("conn-1", 0));
+        cache.get(config, request("conn-1", "A"), () -> fail("A should be cached"));
+        cache.get(config, request("conn-1", "C"), () -> response("conn-1", 0));
+
+        assertEquals(2, cache.size());
+        assertTrue(cache.getTotalBytes() <= entryBytes * 2);
+        // B was the least recently used entry
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(config, request("conn-1", "B"), () -> response("conn-1", loads.incrementAndGet()));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testGet_expiredEntryIsReloaded() throws SQLException {
+        cache.setTtlSeconds(0);
+        AtomicInteger loads = new AtomicInteger();
+        OracleConnectionConfig config = config("conn-1");
+
+        cache.get(config, request("conn-1", "HR"), () -> response("conn-1", loads.incrementAndGet()));
+        cache.get(config, request("conn-1", "HR"), () -> response("conn-1", loads.incrementAndGet()));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testEvict_dropsOnlyEntriesOfConnection() throws SQLException {
+        cache.get(config("conn-1"), request("conn-1", "HR"), () -> response("conn-1", 1));
+        cache.get(config("conn-2"), request("conn-2", "HR"), () -> response("conn-2", 1));
+
+        cache.evict("conn-1");
+
+        assertEquals(1, cache.size());
+        assertEquals(DiscoveryResultCache.estimateBytes(response("conn-2", 1)), cache.getTotalBytes());
+    }
+
+    @Test
+    void testGet_withDdlValidation_reloadsWhenOwnerChanged() throws SQLException {
+        cache.setValidateDdl(true);
+        OracleConnectionConfig config = config("conn-1");
+        MetadataDiscoveryRequest request = request("conn-1", "HR");
+        Map<String, DdlWatermark> before = Map.of("HR", new DdlWatermark("HR", 10, LocalDateTime.of(2024, 1, 1, 0, 0)));
+        Map<String, DdlWatermark> after = Map.of("HR", new DdlWatermark("HR", 11, LocalDateTime.of(2024, 1, 2, 0, 0)));
+        when(ddlProbeService.probeOwners(config, request.getSchemas())).thenReturn(before)
+            .thenReturn(before)
+            .thenReturn(after);
+        when(ddlProbeService.changedOwners(before, before)).thenReturn(Set.of());
+        when(ddlProbeService.changedOwners(before, after)).thenReturn(Set.of("HR"));
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(config, request, () -> response("conn-1", loads.incrementAndGet()));
+        MetadataDiscoveryResponse unchanged = cache.get(config, request, () -> response("conn-1", loads.incrementAndGet()));
+        MetadataDiscoveryResponse changed = cache.get(config, request, () -> response("conn-1", loads.incrementAndGet()));
+
+        assertTrue(unchanged.getStatistics().isServedFromCache());
+        assertFalse(changed.getStatistics().isServedFromCache());
+        assertEquals(2, loads.get());
+        verify(ddlProbeService, times(4)).probeOwners(any(), any());
+    }
+
+    private static OracleConnectionConfig config(String connectionId) {
+        return new OracleConnectionConfig(connectionId, "db.example.com", 1521, "ORCL", "scott", "secret",
+            OracleConnectionConfig.AuthenticationType.DIRECT);
+    }
+
+    private static MetadataDiscoveryRequest request(String connectionId, String... schemas) {
+        MetadataDiscoveryRequest request = new MetadataDiscoveryRequest(connectionId);
+        request.setSchemas(List.of(schemas));
+        return request;
+    }
+
+    private static MetadataDiscoveryResponse response(String connectionId, int version) {
+        MetadataDiscoveryResponse response = new MetadataDiscoveryResponse(connectionId);
+        response.setTables(List.of(new OracleTable("HR", "EMPLOYEES_" + version, connectionId)));
+        response.setStatistics(new MetadataDiscoveryResponse.DiscoveryStatistics(1, 0, 0, 0, 5));
+        return response;
+    }
+}
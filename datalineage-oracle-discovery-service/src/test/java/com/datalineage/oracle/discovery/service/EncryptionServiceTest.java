@@ -0,0 +1,61 @@
+package com.datalineage.oracle.discovery.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EncryptionService
+ */
+class EncryptionServiceTest {
+
+    private EncryptionService encryptionService;
+
+    @BeforeEach
+    void setUp() {
+        encryptionService = new EncryptionService();
+        encryptionService.setEncryptionKey("testEncryptionKey123456");
+    }
+
+    @Test
+    void testEncryptAndDecrypt_roundTripsOnManyThreads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Callable<String>> tasks = IntStream.range(0, 200)
+                .<Callable<String>>mapToObj(i -> () -> encryptionService.decrypt(encryptionService.encrypt("secret-" + i)))
+                .toList();
+            List<Future<String>> results = executor.invokeAll(tasks);
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals("secret-" + i, results.get(i).get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testEncrypt_freshIvPerCall() {
+        String first = encryptionService.encrypt("sensitivePassword123");
+        String second = encryptionService.encrypt("sensitivePassword123");
+
+        assertNotEquals(first, second);
+        assertEquals("sensitivePassword123", encryptionService.decrypt(second));
+    }
+
+    @Test
+    void testSetEncryptionKey_derivesNewKey() {
+        String encrypted = encryptionService.encrypt("sensitivePassword123");
+
+        encryptionService.setEncryptionKey("otherEncryptionKey98765");
+
+        assertThrows(RuntimeException.class, () -> encryptionService.decrypt(encrypted));
+    }
+}
@@ -0,0 +1,117 @@
+package com.datalineage.oracle.discovery.service;
+
+import com.datalineage.oracle.discovery.dto.GraphEdge;
+import com.datalineage.oracle.discovery.dto.GraphNeighborhood;
+import com.datalineage.oracle.discovery.dto.GraphNode;
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryResponse;
+import com.datalineage.oracle.discovery.model.MetadataSnapshot;
+import com.datalineage.oracle.discovery.model.OracleColumn;
+import com.datalineage.oracle.discovery.model.OracleTable;
+import com.datalineage.oracle.discovery.service.graph.MetadataGraph;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for GraphNeighborhoodService
+ */
+@ExtendWith(MockitoExtension.class)
+class GraphNeighborhoodServiceTest {
+
+    @Mock
+    private SnapshotGraphCache snapshotGraphCache;
+
+    @InjectMocks
+    private GraphNeighborhoodService neighborhoodService;
+
+    private MetadataSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        MetadataDiscoveryResponse metadata = new MetadataDiscoveryResponse("conn-1");
+        List<OracleTable> tables = new ArrayList<>();
+        List<OracleColumn> columns = new ArrayList<>();
+        for (String table : List.of("EMPLOYEES", "DEPARTMENTS", "JOBS")) {
+            tables.add(new OracleTable("HR", table, "conn-1"));
+            columns.add(new OracleColumn("HR", table, "ID", "conn-1"));
+            columns.add(new OracleColumn("HR", table, "NAME", "conn-1"));
+        }
+        metadata.setTables(tables);
+        metadata.setColumns(columns);
+        metadata.setProcedures(List.of());
+        metadata.setConstraints(List.of());
+        snapshot = new MetadataSnapshot("conn-1", 1, null, null, metadata, null);
+
+        lenient().when(snapshotGraphCache.snapshot("conn-1", null)).thenReturn(snapshot);
+        lenient().when(snapshotGraphCache.index(snapshot)).thenReturn(MetadataGraph.build(metadata));
+    }
+
+    @Test
+    void testExpand_returnsOneHopWithInternalEdges() {
+        GraphNeighborhood neighborhood = neighborhoodService.expand("conn-1", null, "table-HR.EMPLOYEES", 1, null, 100);
+
+        assertEquals(Set.of("table-HR.EMPLOYEES", "schema-HR", "column-HR.EMPLOYEES.ID", "column-HR.EMPLOYEES.NAME"),
+            ids(neighborhood));
+        assertEquals("table-HR.EMPLOYEES", neighborhood.getGraph().getNodes().get(0).getId());
+        assertFalse(neighborhood.isTruncated());
+        // The schema node still has the other tables behind it
+        assertEquals(List.of("schema-HR"), neighborhood.getExpandableNodeIds());
+
+        Set<String> ids = ids(neighborhood);
+        assertEquals(3, neighborhood.getGraph().getEdges().size());
+        for (GraphEdge edge : neighborhood.getGraph().getEdges()) {
+            assertTrue(ids.contains(edge.getSource()) && ids.contains(edge.getTarget()));
+        }
+        assertEquals(4, neighborhood.getGraph().getStatistics().getTotalNodes());
+    }
+
+    @Test
+    void testExpand_filtersTypesAndCapsFanOut() {
+        GraphNeighborhood neighborhood = neighborhoodService.expand("conn-1", null, "schema-HR", 3,
+            List.of("table"), 2);
+
+        List<GraphNode> nodes = neighborhood.getGraph().getNodes();
+        assertEquals(3, nodes.size());
+        assertEquals(2, nodes.stream().filter(node -> "table".equals(node.getType())).count());
+        assertTrue(neighborhood.isTruncated());
+        assertTrue(neighborhood.getExpandableNodeIds().contains("schema-HR"));
+    }
+
+    @Test
+    void testExpand_readsSnapshotIndexAndRejectsUnknownNodes() {
+        neighborhoodService.expand("conn-1", null, "table-HR.JOBS", 1, null, 100);
+        GraphNeighborhood threeHops = neighborhoodService.expand("conn-1", null, "table-HR.JOBS", 3, null, 100);
+
+        assertEquals(10, threeHops.getGraph().getNodes().size());
+        assertTrue(threeHops.getExpandableNodeIds().isEmpty());
+        verify(snapshotGraphCache, times(2)).index(snapshot);
+
+        assertThrows(NoSuchElementException.class,
+            () -> neighborhoodService.expand("conn-1", null, "table-HR.MISSING", 1, null, 100));
+    }
+
+    @Test
+    void testExpand_rejectsUnknownNodeTypes() {
+        assertThrows(IllegalArgumentException.class,
+            () -> neighborhoodService.expand("conn-1", null, "schema-HR", 1, List.of("tables"), 100));
+        assertThrows(IllegalArgumentException.class,
+            () -> neighborhoodService.expand("conn-1", null, "schema-HR", 1, List.of("table", "COLUMN"), 100));
+        verifyNoInteractions(snapshotGraphCache);
+    }
+
+    private static Set<String> ids(GraphNeighborhood neighborhood) {
+        return neighborhood.getGraph().getNodes().stream().map(GraphNode::getId).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,72 @@
+package com.datalineage.oracle.discovery.service;
+
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryRequest;
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryResponse;
+import com.datalineage.oracle.discovery.model.MetadataSnapshot;
+import com.datalineage.oracle.discovery.model.OracleTable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MetadataSnapshotService
+ */
+@ExtendWith(MockitoExtension.class)
+class MetadataSnapshotServiceTest {
+
+    @Mock
+    private OracleMetadataExtractionService metadataExtractionService;
+
+    @Mock
+    private SnapshotDiffService snapshotDiffService;
+
+    @Spy
+    private SchemaFingerprintService fingerprintService = new SchemaFingerprintService();
+
+    @InjectMocks
+    private MetadataSnapshotService snapshotService;
+
+    @Test
+    void testRecordSnapshot_concurrentCapturesKeepNewestFirst() throws Exception {
+        snapshotService.setRetention(5);
+        MetadataDiscoveryResponse metadata = new MetadataDiscoveryResponse("conn-1");
+        metadata.setTables(List.of(new OracleTable("HR", "EMPLOYEES", "conn-1")));
+        MetadataDiscoveryRequest request = new MetadataDiscoveryRequest("conn-1");
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Object>> workers = IntStream.range(0, 8)
+                .mapToObj(i -> executor.submit(() -> {
+                    start.await();
+                    for (int n = 0; n < 100; n++) {
+                        snapshotService.recordSnapshot(request, metadata);
+                    }
+                    return null;
+                }))
+                .toList();
+            start.countDown();
+            for (Future<Object> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(800, snapshotService.getLatestSnapshot("conn-1").orElseThrow().getVersion());
+        assertEquals(List.of(800L, 799L, 798L, 797L, 796L),
+            snapshotService.getSnapshots("conn-1").stream().map(MetadataSnapshot::getVersion).toList());
+    }
+}
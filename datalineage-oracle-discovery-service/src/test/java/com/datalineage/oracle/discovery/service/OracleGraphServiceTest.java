@@ -1,11 +1,14 @@
 package com.datalineage.oracle.discovery.service;
 
 import com.datalineage.oracle.discovery.dto.GraphData;
+import com.datalineage.oracle.discovery.dto.GraphDelta;
+import com.datalineage.oracle.discovery.dto.GraphNode;
 import com.datalineage.oracle.discovery.dto.MetadataDiscoveryResponse;
 import com.datalineage.oracle.discovery.model.OracleColumn;
 import com.datalineage.oracle.discovery.model.OracleConstraint;
 import com.datalineage.oracle.discovery.model.OracleProcedure;
 import com.datalineage.oracle.discovery.model.OracleTable;
+import com.datalineage.oracle.discovery.service.graph.MetadataGraph;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -89,9 +92,8 @@ class OracleGraphServiceTest {
         assertNotNull(graphData.getNodes());
         assertNotNull(graphData.getEdges());
         
-        // Should have at least the schema node
-        assertEquals(1, graphData.getNodes().size());
-        assertEquals("schema", graphData.getNodes().get(0).getType());
+        // No owners, so not even a schema node
+        assertEquals(0, graphData.getNodes().size());
         assertEquals(0, graphData.getEdges().size());
     }
 
@@ -112,6 +114,87 @@ class OracleGraphServiceTest {
         assertTrue(foreignKeyEdgeExists);
     }
 
+    @Test
+    void testDiffGraphs_stableIdsAcrossDiscoveries() {
+        // Given - two independent discoveries of the same schema, the second with one more column
+        GraphData previous = graphService.transformMetadataToGraph(createSampleMetadata());
+
+        MetadataDiscoveryResponse metadata = createSampleMetadata();
+        OracleColumn salary = new OracleColumn("HR", "EMPLOYEES", "SALARY", "test-connection");
+        salary.setDataType("NUMBER");
+        List<OracleColumn> columns = new java.util.ArrayList<>(metadata.getColumns());
+        columns.add(salary);
+        metadata.setColumns(columns);
+        metadata.setProcedures(List.of());
+        GraphData current = graphService.transformMetadataToGraph(metadata);
+
+        // When
+        GraphDelta delta = graphService.diffGraphs(previous, current);
+
+        // Then
+        assertEquals(1, delta.getAddedNodes().size());
+        assertEquals("column-HR.EMPLOYEES.SALARY", delta.getAddedNodes().get(0).getId());
+        assertEquals(List.of("table-column-HR.EMPLOYEES.SALARY"),
+            delta.getAddedEdges().stream().map(e -> e.getId()).toList());
+        assertEquals(List.of("procedure-HR.GET_EMPLOYEE"), delta.getRemovedNodeIds());
+        assertEquals(List.of("schema-procedure-HR.GET_EMPLOYEE"), delta.getRemovedEdgeIds());
+        assertTrue(delta.getUpdatedNodes().stream().noneMatch(n -> n.getType().equals("column")));
+    }
+
+    @Test
+    void testTransformMetadataToGraph_contentAddressedObjectIds() {
+        // Given - the same table discovered twice and once on another connection
+        GraphNode first = tableNode(graphService.transformMetadataToGraph(createSampleMetadata()));
+        GraphNode second = tableNode(graphService.transformMetadataToGraph(createSampleMetadata()));
+        MetadataDiscoveryResponse otherConnection = new MetadataDiscoveryResponse("other-connection");
+        otherConnection.setTables(List.of(new OracleTable("HR", "EMPLOYEES", "other-connection")));
+        GraphNode other = tableNode(graphService.transformMetadataToGraph(otherConnection));
+
+        // Then
+        assertNotNull(first.getMetadata().get("id"));
+        assertEquals(first.getMetadata(), second.getMetadata());
+        assertEquals(first.getId(), other.getId());
+        assertNotEquals(first.getMetadata().get("id"), other.getMetadata().get("id"));
+        assertTrue(graphService.diffGraphs(graphService.transformMetadataToGraph(createSampleMetadata()),
+            graphService.transformMetadataToGraph(createSampleMetadata())).getUpdatedNodes().isEmpty());
+    }
+
+    @Test
+    void testTransformMetadataToGraph_overloadsGetTheirOwnNodes() {
+        // Given - ALL_PROCEDURES returns one row per overload of a package subprogram
+        MetadataDiscoveryResponse metadata = new MetadataDiscoveryResponse("test-connection");
+        metadata.setProcedures(List.of(
+            new OracleProcedure("HR", "EMP_PKG", "GET_EMPLOYEE", 2, "1", "test-connection"),
+            new OracleProcedure("HR", "EMP_PKG", "GET_EMPLOYEE", 3, "2", "test-connection"),
+            new OracleProcedure("HR", "EMP_PKG", "HIRE", 4, null, "test-connection")));
+
+        // When
+        GraphData graphData = graphService.transformMetadataToGraph(metadata);
+
+        // Then
+        List<GraphNode> procedures = graphData.getNodes().stream()
+            .filter(node -> node.getType().equals("procedure"))
+            .toList();
+        assertEquals(List.of("procedure-HR.EMP_PKG.GET_EMPLOYEE#1@2", "procedure-HR.EMP_PKG.GET_EMPLOYEE#2@3",
+            "procedure-HR.EMP_PKG.HIRE"), procedures.stream().map(GraphNode::getId).toList());
+        assertEquals(3, procedures.stream().map(node -> node.getMetadata().get("id")).distinct().count());
+        assertEquals(3, graphData.getEdges().stream().map(edge -> edge.getTarget()).distinct().count());
+        assertTrue(graphService.diffGraphs(graphData, graphService.transformMetadataToGraph(metadata))
+            .getUpdatedNodes().isEmpty());
+        MetadataGraph graph = MetadataGraph.build(metadata);
+        int first = graph.find("procedure-HR.EMP_PKG.GET_EMPLOYEE#1@2");
+        int second = graph.find("procedure-HR.EMP_PKG.GET_EMPLOYEE#2@3");
+        assertTrue(first >= 0 && second >= 0);
+        assertNotEquals(first, second);
+    }
+
+    private static GraphNode tableNode(GraphData graphData) {
+        return graphData.getNodes().stream()
+            .filter(node -> node.getId().equals("table-HR.EMPLOYEES"))
+            .findFirst()
+            .orElseThrow();
+    }
+
     private MetadataDiscoveryResponse createSampleMetadata() {
         MetadataDiscoveryResponse metadata = new MetadataDiscoveryResponse("test-connection");
         
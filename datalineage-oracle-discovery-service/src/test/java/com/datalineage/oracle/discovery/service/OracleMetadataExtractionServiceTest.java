@@ -0,0 +1,260 @@
+package com.datalineage.oracle.discovery.service;
+
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryRequest;
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryResponse;
+import com.datalineage.oracle.discovery.dto.OracleConnectionConfig;
+import com.datalineage.oracle.discovery.model.DictionaryCounts;
+import com.datalineage.oracle.discovery.model.DictionaryScope;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OracleMetadataExtractionService
+ */
+@ExtendWith(MockitoExtension.class)
+class OracleMetadataExtractionServiceTest {
+
+    @Mock
+    private OracleConnectionService connectionService;
+
+    @Mock
+    private DictionaryAccessService dictionaryAccessService;
+
+    @Mock
+    private Connection connection;
+
+    @Spy
+    private DiscoveryObservations observations = new DiscoveryObservations();
+
+    @InjectMocks
+    private OracleMetadataExtractionService extractionService;
+
+    private OracleConnectionConfig config;
+    private MetadataDiscoveryRequest request;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        config = new OracleConnectionConfig();
+        config.setConnectionId("conn-1");
+
+        request = new MetadataDiscoveryRequest("conn-1");
+        request.setSchemas(List.of("HR"));
+        request.setIncludeColumns(false);
+        request.setIncludeProcedures(false);
+        request.setIncludeConstraints(false);
+        request.setFetchStrategy(MetadataDiscoveryRequest.FetchStrategy.SINGLE_ROUND_TRIP);
+
+        when(connectionService.createConnection(config)).thenReturn(connection);
+        when(dictionaryAccessService.resolveScope("conn-1", connection)).thenReturn(DictionaryScope.DBA);
+    }
+
+    @Test
+    void testDiscoverMetadata_singleRoundTripReadsImplicitResults() throws SQLException {
+        // Given - one block returning the table cursor followed by the table comment cursor
+        CallableStatement block = mock(CallableStatement.class);
+        ResultSet tables = mock(ResultSet.class);
+        ResultSet comments = mock(ResultSet.class);
+        when(connection.prepareCall(anyString())).thenReturn(block);
+        when(block.getMoreResults()).thenReturn(true, true);
+        when(block.getResultSet()).thenReturn(tables, comments);
+
+        when(tables.next()).thenReturn(true, false);
+        lenient().when(tables.getString(anyString())).thenReturn(null);
+        when(tables.getString("owner")).thenReturn("HR");
+        when(tables.getString("table_name")).thenReturn("EMPLOYEES");
+
+        when(comments.next()).thenReturn(true, false);
+        when(comments.getString("owner")).thenReturn("HR");
+        when(comments.getString("table_name")).thenReturn("EMPLOYEES");
+        when(comments.getString("comments")).thenReturn("Employee master data");
+
+        // When
+        MetadataDiscoveryResponse response = extractionService.discoverMetadata(config, request);
+
+        // Then
+        assertEquals(1, response.getTables().size());
+        assertEquals("Employee master data", response.getTables().get(0).getComments());
+        assertEquals("SINGLE_ROUND_TRIP", response.getStatistics().getFetchStrategy());
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(connection).prepareCall(sql.capture());
+        assertTrue(sql.getValue().contains("OPEN c0 FOR SELECT owner AS owner, table_name"));
+        assertTrue(sql.getValue().contains("DBMS_SQL.RETURN_RESULT(c1)"));
+        assertFalse(sql.getValue().contains("c2"));
+        verify(block).setObject(1, "HR");
+        verify(block).setObject(2, 0);
+        verify(block).setObject(3, 1000);
+        verify(block).setObject(4, "HR");
+        verify(connection, never()).prepareStatement(anyString());
+    }
+
+    @Test
+    void testDiscoverMetadata_fallsBackToStatementsWithoutImplicitResults() throws SQLException {
+        // Given - a pre-12c database rejecting DBMS_SQL.RETURN_RESULT
+        when(connection.prepareCall(anyString())).thenThrow(new SQLException(
+            "ORA-06550: PLS-00302: component 'RETURN_RESULT' must be declared", "65000", 6550));
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet empty = mock(ResultSet.class);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(empty);
+
+        // When
+        MetadataDiscoveryResponse response = extractionService.discoverMetadata(config, request);
+
+        // Then - tables are read with a plain statement and the empty result skips the comment scan
+        assertTrue(response.getTables().isEmpty());
+        assertEquals("STATEMENTS", response.getStatistics().getFetchStrategy());
+        verify(connection, times(1)).prepareStatement(anyString());
+        verify(statement).setFetchSize(500);
+        verify(statement).setObject(1, "HR");
+    }
+
+    @Test
+    void testDiscoverTable_readsOnlyThatTableByEquality() throws SQLException {
+        // Given - one table row; its comments, columns and constraints are empty
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet table = mock(ResultSet.class);
+        ResultSet empty = mock(ResultSet.class);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(table, empty);
+        when(table.next()).thenReturn(true, false);
+        lenient().when(table.getString(anyString())).thenReturn(null);
+        when(table.getString("owner")).thenReturn("HR");
+        when(table.getString("table_name")).thenReturn("EMP_2024");
+
+        // When
+        MetadataDiscoveryResponse response = extractionService.discoverTable(config, "conn-1", "HR", "EMP_2024", true, true);
+
+        // Then - table, table comments, columns, column comments and constraints, each for this table only
+        assertEquals(1, response.getTables().size());
+        assertTrue(response.getColumns().isEmpty());
+        assertTrue(response.getConstraints().isEmpty());
+        assertNull(response.getProcedures());
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(connection, times(4)).prepareStatement(sql.capture());
+        for (String statementSql : sql.getAllValues()) {
+            assertTrue(statementSql.contains("AND table_name = ? AND owner IN (?)"), statementSql);
+            assertFalse(statementSql.contains("LIKE"), statementSql);
+            assertFalse(statementSql.contains("FETCH NEXT"), statementSql);
+        }
+        verify(statement, times(4)).setObject(1, "EMP_2024");
+        verify(statement, times(4)).setObject(2, "HR");
+    }
+
+    @Test
+    void testCountObjects_aggregatesInTheDictionary() throws SQLException {
+        // Given - one count query per category; HR has tables, SALES only procedures
+        request.setIncludeColumns(true);
+        request.setIncludeProcedures(true);
+        request.setIncludeConstraints(true);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet tables = mock(ResultSet.class);
+        ResultSet columns = mock(ResultSet.class);
+        ResultSet procedures = mock(ResultSet.class);
+        ResultSet constraints = mock(ResultSet.class);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(tables, columns, procedures, constraints);
+        when(tables.next()).thenReturn(true, false);
+        when(tables.getString("owner")).thenReturn("HR");
+        when(tables.getInt("object_count")).thenReturn(12);
+        when(columns.next()).thenReturn(true, false);
+        when(columns.getInt("object_count")).thenReturn(80);
+        when(procedures.next()).thenReturn(true, false);
+        when(procedures.getString("owner")).thenReturn("SALES");
+        when(procedures.getInt("object_count")).thenReturn(3);
+        when(constraints.next()).thenReturn(true, false);
+        when(constraints.getInt("object_count")).thenReturn(20);
+        when(constraints.getInt("foreign_key_count")).thenReturn(5);
+
+        // When
+        DictionaryCounts counts = extractionService.countObjects(config, request);
+
+        // Then
+        assertEquals(Set.of("HR", "SALES"), counts.getOwners());
+        assertEquals(12, counts.getTables());
+        assertEquals(80, counts.getColumns());
+        assertEquals(3, counts.getProcedures());
+        assertEquals(20, counts.getConstraints());
+        assertEquals(5, counts.getForeignKeys());
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(connection, times(4)).prepareStatement(sql.capture());
+        for (String statementSql : sql.getAllValues()) {
+            assertTrue(statementSql.startsWith("SELECT") && statementSql.contains("COUNT(*) AS object_count"), statementSql);
+            assertFalse(statementSql.contains("FETCH NEXT"), statementSql);
+        }
+        assertTrue(sql.getAllValues().get(0).endsWith("GROUP BY owner"));
+    }
+
+    @Test
+    void testDiscoverMetadata_observesDiscoveryConnectionAndEachCategory() throws SQLException {
+        // Given - a registry recording every stopped observation
+        List<Observation.Context> stopped = new ArrayList<>();
+        ObservationRegistry registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(new ObservationHandler<>() {
+            @Override
+            public void onStop(Observation.Context context) {
+                stopped.add(context);
+            }
+
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+        });
+        observations.setObservationRegistry(registry);
+        config.setHost("db01");
+        request.setFetchStrategy(MetadataDiscoveryRequest.FetchStrategy.STATEMENTS);
+
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet tables = mock(ResultSet.class);
+        ResultSet comments = mock(ResultSet.class);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(tables, comments);
+        when(tables.next()).thenReturn(true, false);
+        lenient().when(tables.getString(anyString())).thenReturn(null);
+        when(tables.getString("owner")).thenReturn("HR");
+        when(tables.getString("table_name")).thenReturn("EMPLOYEES");
+        when(comments.next()).thenReturn(false);
+
+        // When
+        extractionService.discoverMetadata(config, request);
+
+        // Then - connection, both table categories and the enclosing discovery, in stop order
+        assertEquals(List.of(DiscoveryObservations.CONNECTION_ACQUIRE, DiscoveryObservations.EXTRACTION,
+                DiscoveryObservations.EXTRACTION, DiscoveryObservations.DISCOVERY),
+            stopped.stream().map(Observation.Context::getName).toList());
+
+        Observation.Context tableExtraction = stopped.get(1);
+        assertEquals("tables", tableExtraction.getLowCardinalityKeyValue("category").getValue());
+        assertEquals("db01", tableExtraction.getLowCardinalityKeyValue("host").getValue());
+        assertEquals("conn-1", tableExtraction.getLowCardinalityKeyValue("connection").getValue());
+        assertEquals("1", tableExtraction.getHighCardinalityKeyValue("rows").getValue());
+        assertEquals("table_comments", stopped.get(2).getLowCardinalityKeyValue("category").getValue());
+        assertEquals("DBA", stopped.get(3).getLowCardinalityKeyValue("scope").getValue());
+        assertEquals("STATEMENTS", stopped.get(3).getLowCardinalityKeyValue("strategy").getValue());
+    }
+}
@@ -0,0 +1,98 @@
+package com.datalineage.oracle.discovery.service;
+
+import com.datalineage.oracle.discovery.dto.FingerprintComparison;
+import com.datalineage.oracle.discovery.dto.FingerprintComparison.OwnerDifference;
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryResponse;
+import com.datalineage.oracle.discovery.model.OracleColumn;
+import com.datalineage.oracle.discovery.model.OracleTable;
+import com.datalineage.oracle.discovery.model.SchemaFingerprint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SchemaFingerprintService
+ */
+class SchemaFingerprintServiceTest {
+
+    private SchemaFingerprintService fingerprintService;
+
+    @BeforeEach
+    void setUp() {
+        fingerprintService = new SchemaFingerprintService();
+    }
+
+    @Test
+    void testFingerprint_independentOfInputOrderAndStatistics() {
+        // Given
+        MetadataDiscoveryResponse first = createSampleMetadata("dev");
+        MetadataDiscoveryResponse second = createSampleMetadata("prod");
+        List<OracleColumn> columns = new ArrayList<>(second.getColumns());
+        Collections.reverse(columns);
+        second.setColumns(columns);
+        second.getTables().get(0).setNumRows(5000L);
+
+        // When
+        SchemaFingerprint left = fingerprintService.fingerprint(first);
+        SchemaFingerprint right = fingerprintService.fingerprint(second);
+
+        // Then
+        assertEquals(left.getHash(), right.getHash());
+        assertEquals(left.getOwner("HR").getHash(), right.getOwner("HR").getHash());
+    }
+
+    @Test
+    void testCompare_reportsChangedTablesAndMissingOwners() {
+        // Given
+        MetadataDiscoveryResponse dev = createSampleMetadata("dev");
+        MetadataDiscoveryResponse prod = createSampleMetadata("prod");
+        prod.getColumns().get(0).setDataType("VARCHAR2");
+        List<OracleTable> tables = new ArrayList<>(prod.getTables());
+        tables.add(new OracleTable("SALES", "ORDERS", "prod"));
+        prod.setTables(tables);
+
+        // When
+        FingerprintComparison comparison = fingerprintService.compare(
+            "dev", fingerprintService.fingerprint(dev), "prod", fingerprintService.fingerprint(prod));
+
+        // Then
+        assertFalse(comparison.isIdentical());
+        assertEquals(2, comparison.getOwnerDifferences().size());
+
+        OwnerDifference hr = comparison.getOwnerDifferences().get(0);
+        assertEquals("HR", hr.getOwner());
+        assertEquals(OwnerDifference.Status.DIFFERENT, hr.getStatus());
+        assertEquals(List.of("EMPLOYEES"), hr.getChangedTables());
+        assertFalse(hr.getProceduresChanged());
+
+        OwnerDifference sales = comparison.getOwnerDifferences().get(1);
+        assertEquals("SALES", sales.getOwner());
+        assertEquals(OwnerDifference.Status.ONLY_RIGHT, sales.getStatus());
+    }
+
+    private MetadataDiscoveryResponse createSampleMetadata(String connectionId) {
+        MetadataDiscoveryResponse metadata = new MetadataDiscoveryResponse(connectionId);
+
+        OracleTable employees = new OracleTable("HR", "EMPLOYEES", connectionId);
+        employees.setTableType("TABLE");
+        OracleTable jobs = new OracleTable("HR", "JOBS", connectionId);
+        jobs.setTableType("TABLE");
+        metadata.setTables(Arrays.asList(employees, jobs));
+
+        OracleColumn id = new OracleColumn("HR", "EMPLOYEES", "ID", connectionId);
+        id.setDataType("NUMBER");
+        OracleColumn name = new OracleColumn("HR", "EMPLOYEES", "NAME", connectionId);
+        name.setDataType("VARCHAR2");
+        OracleColumn title = new OracleColumn("HR", "JOBS", "TITLE", connectionId);
+        title.setDataType("VARCHAR2");
+        metadata.setColumns(Arrays.asList(id, name, title));
+
+        return metadata;
+    }
+}
@@ -0,0 +1,112 @@
+package com.datalineage.oracle.discovery.service;
+
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryRequest;
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryResponse;
+import com.datalineage.oracle.discovery.dto.OracleConnectionConfig;
+import com.datalineage.oracle.discovery.dto.OracleConnectionResponse;
+import com.datalineage.oracle.discovery.dto.WatchStatus;
+import com.datalineage.oracle.discovery.model.DdlWatermark;
+import com.datalineage.oracle.discovery.model.MetadataSnapshot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SchemaWatchService
+ */
+@ExtendWith(MockitoExtension.class)
+class SchemaWatchServiceTest {
+
+    @Mock
+    private OracleOnboardingService onboardingService;
+
+    @Mock
+    private OracleDdlProbeService ddlProbeService;
+
+    @Mock
+    private OracleMetadataExtractionService metadataExtractionService;
+
+    @Mock
+    private MetadataSnapshotService snapshotService;
+
+    @Mock
+    private SnapshotDiffService snapshotDiffService;
+
+    @Spy
+    private OracleGraphService graphService = new OracleGraphService();
+
+    @InjectMocks
+    private SchemaWatchService watchService;
+
+    @AfterEach
+    void tearDown() {
+        watchService.shutdown();
+    }
+
+    @Test
+    void testSubscribe_subscribersShareOnePoller() throws Exception {
+        // Given
+        OracleConnectionConfig config = new OracleConnectionConfig();
+        config.setConnectionId("conn-1");
+        MetadataDiscoveryResponse metadata = new MetadataDiscoveryResponse("conn-1");
+
+        when(onboardingService.getConnectionById("conn-1")).thenReturn(Optional.of(new OracleConnectionResponse()));
+        when(onboardingService.getConnectionConfig("conn-1")).thenReturn(config);
+        when(ddlProbeService.probeOwners(eq(config), isNull())).thenReturn(
+            Map.of("HR", new DdlWatermark("HR", 10, LocalDateTime.of(2024, 1, 15, 10, 30))));
+        when(metadataExtractionService.discoverMetadata(eq(config), any(MetadataDiscoveryRequest.class)))
+            .thenReturn(metadata);
+        when(snapshotService.recordSnapshot(any(MetadataDiscoveryRequest.class), eq(metadata)))
+            .thenReturn(new MetadataSnapshot("conn-1", 1, null, null, metadata,
+                new SchemaFingerprintService().fingerprint(metadata)));
+
+        // When
+        watchService.subscribe("conn-1");
+        watchService.subscribe("conn-1");
+
+        // Then - one baseline discovery for both subscribers
+        verify(metadataExtractionService, timeout(2000).times(1))
+            .discoverMetadata(eq(config), any(MetadataDiscoveryRequest.class));
+
+        List<WatchStatus> statuses = watchService.getWatchStatuses();
+        assertEquals(1, statuses.size());
+        assertEquals("conn-1", statuses.get(0).getConnectionId());
+        assertEquals(2, statuses.get(0).getSubscribers());
+    }
+
+    @Test
+    void testPoll_replacedWatcherDoesNotStopItsSuccessor() {
+        when(onboardingService.getConnectionById("conn-1")).thenReturn(Optional.of(new OracleConnectionResponse()));
+        watchService.subscribe("conn-1");
+
+        // A poll still running for a watcher that was stopped before this subscription
+        watchService.poll(new SchemaWatchService.ConnectionWatcher("conn-1"));
+
+        List<WatchStatus> statuses = watchService.getWatchStatuses();
+        assertEquals(1, statuses.size());
+        assertEquals(1, statuses.get(0).getSubscribers());
+    }
+
+    @Test
+    void testSubscribe_unknownConnectionRejected() {
+        when(onboardingService.getConnectionById("missing")).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> watchService.subscribe("missing"));
+        assertTrue(watchService.getWatchStatuses().isEmpty());
+    }
+}
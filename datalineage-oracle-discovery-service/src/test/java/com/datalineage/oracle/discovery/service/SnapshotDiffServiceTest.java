@@ -0,0 +1,170 @@
+package com.datalineage.oracle.discovery.service;
+
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryResponse;
+import com.datalineage.oracle.discovery.dto.SnapshotDiff;
+import com.datalineage.oracle.discovery.dto.SnapshotDiff.ChangeType;
+import com.datalineage.oracle.discovery.dto.SnapshotDiff.ObjectType;
+import com.datalineage.oracle.discovery.dto.SnapshotDiff.SchemaChange;
+import com.datalineage.oracle.discovery.model.MetadataSnapshot;
+import com.datalineage.oracle.discovery.model.OracleColumn;
+import com.datalineage.oracle.discovery.model.OracleConstraint;
+import com.datalineage.oracle.discovery.model.OracleTable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SnapshotDiffService
+ */
+class SnapshotDiffServiceTest {
+
+    private SnapshotDiffService diffService;
+    private SchemaFingerprintService fingerprintService;
+
+    @BeforeEach
+    void setUp() {
+        diffService = new SnapshotDiffService();
+        fingerprintService = new SchemaFingerprintService();
+    }
+
+    @Test
+    void testDiff_identicalSnapshotsProduceNoChanges() {
+        // Given - same definitions, different object ids and optimizer statistics
+        MetadataSnapshot before = snapshot(1, createSampleMetadata());
+        MetadataDiscoveryResponse current = createSampleMetadata();
+        current.getTables().get(0).setNumRows(999L);
+        MetadataSnapshot after = snapshot(2, current);
+
+        // When
+        SnapshotDiff diff = diffService.diff(before, after);
+
+        // Then
+        assertTrue(diff.isEmpty());
+        assertEquals(1, diff.getFromVersion());
+        assertEquals(2, diff.getToVersion());
+    }
+
+    @Test
+    void testDiff_detectsAddedRemovedAndModifiedObjects() {
+        // Given
+        MetadataSnapshot before = snapshot(1, createSampleMetadata());
+
+        MetadataDiscoveryResponse current = createSampleMetadata();
+        List<OracleTable> tables = new ArrayList<>(current.getTables());
+        tables.add(new OracleTable("HR", "JOBS", "test-connection"));
+        current.setTables(tables);
+
+        List<OracleColumn> columns = new ArrayList<>(current.getColumns());
+        columns.removeIf(c -> c.getColumnName().equals("NAME"));
+        columns.get(0).setDataType("VARCHAR2");
+        current.setColumns(columns);
+
+        MetadataSnapshot after = snapshot(2, current);
+
+        // When
+        SnapshotDiff diff = diffService.diff(before, after);
+
+        // Then
+        assertEquals(3, diff.getChanges().size());
+        assertEquals(1, diff.getSummary().get(ObjectType.TABLE).getAdded());
+        assertEquals(1, diff.getSummary().get(ObjectType.COLUMN).getRemoved());
+        assertEquals(1, diff.getSummary().get(ObjectType.COLUMN).getModified());
+
+        SchemaChange modified = diff.getChanges().stream()
+            .filter(c -> c.getChangeType() == ChangeType.MODIFIED)
+            .findFirst()
+            .orElseThrow();
+        assertEquals("EMPLOYEES", modified.getTableName());
+        assertEquals("ID", modified.getObjectName());
+        assertEquals(List.of("dataType"), modified.getChangedAttributes());
+    }
+
+    @Test
+    void testDiff_changesAreOrderedByOwnerAndKey() {
+        // Given
+        MetadataDiscoveryResponse previous = new MetadataDiscoveryResponse("test-connection");
+        previous.setTables(List.of());
+        MetadataDiscoveryResponse current = new MetadataDiscoveryResponse("test-connection");
+        current.setTables(Arrays.asList(
+            new OracleTable("SALES", "ORDERS", "test-connection"),
+            new OracleTable("HR", "JOBS", "test-connection"),
+            new OracleTable("HR", "DEPARTMENTS", "test-connection")
+        ));
+
+        // When
+        SnapshotDiff diff = diffService.diff(snapshot(1, previous), snapshot(2, current));
+
+        // Then
+        assertEquals(Arrays.asList("DEPARTMENTS", "JOBS", "ORDERS"),
+            diff.getChanges().stream().map(SchemaChange::getObjectName).toList());
+    }
+
+    @Test
+    void testDiff_skipsUnchangedOwnersAndTables() {
+        // Given
+        MetadataDiscoveryResponse previous = createSampleMetadata();
+        List<OracleTable> tables = new ArrayList<>(previous.getTables());
+        tables.add(new OracleTable("HR", "JOBS", "test-connection"));
+        tables.add(new OracleTable("SALES", "ORDERS", "test-connection"));
+        previous.setTables(tables);
+
+        MetadataDiscoveryResponse current = createSampleMetadata();
+        current.setTables(new ArrayList<>(tables));
+        List<OracleColumn> columns = new ArrayList<>(current.getColumns());
+        columns.get(1).setDataLength(200L);
+        current.setColumns(columns);
+
+        // When
+        SnapshotDiff diff = diffService.diff(snapshot(1, previous), snapshot(2, current));
+
+        // Then
+        assertEquals(1, diff.getChanges().size());
+        assertEquals("NAME", diff.getChanges().get(0).getObjectName());
+        assertEquals(1, diff.getUnchangedOwners());
+        assertEquals(2, diff.getUnchangedTables());
+    }
+
+    @Test
+    void testDiff_rejectsSnapshotsOfDifferentConnections() {
+        MetadataSnapshot before = snapshot(1, new MetadataDiscoveryResponse("conn-a"));
+        MetadataSnapshot after = snapshot(2, new MetadataDiscoveryResponse("conn-b"));
+
+        assertThrows(IllegalArgumentException.class, () -> diffService.diff(before, after));
+    }
+
+    private MetadataSnapshot snapshot(long version, MetadataDiscoveryResponse metadata) {
+        return new MetadataSnapshot(metadata.getConnectionId(), version, null, null, metadata,
+            fingerprintService.fingerprint(metadata));
+    }
+
+    private MetadataDiscoveryResponse createSampleMetadata() {
+        MetadataDiscoveryResponse metadata = new MetadataDiscoveryResponse("test-connection");
+
+        OracleTable table = new OracleTable("HR", "EMPLOYEES", "test-connection");
+        table.setTableType("TABLE");
+        table.setNumRows(100L);
+        metadata.setTables(Arrays.asList(table));
+
+        OracleColumn col1 = new OracleColumn("HR", "EMPLOYEES", "ID", "test-connection");
+        col1.setDataType("NUMBER");
+        col1.setNullable("N");
+
+        OracleColumn col2 = new OracleColumn("HR", "EMPLOYEES", "NAME", "test-connection");
+        col2.setDataType("VARCHAR2");
+        col2.setDataLength(100L);
+        col2.setNullable("Y");
+        metadata.setColumns(Arrays.asList(col1, col2));
+
+        OracleConstraint constraint = new OracleConstraint("HR", "EMP_PK", "EMPLOYEES", "test-connection");
+        constraint.setConstraintType("P");
+        constraint.setStatus("ENABLED");
+        metadata.setConstraints(Arrays.asList(constraint));
+
+        return metadata;
+    }
+}
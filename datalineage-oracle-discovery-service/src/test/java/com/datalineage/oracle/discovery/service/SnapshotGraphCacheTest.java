@@ -0,0 +1,250 @@
+package com.datalineage.oracle.discovery.service;
+
+import com.datalineage.oracle.discovery.dto.GraphData;
+import com.datalineage.oracle.discovery.dto.GraphNode;
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryRequest;
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryResponse;
+import com.datalineage.oracle.discovery.model.MetadataSnapshot;
+import com.datalineage.oracle.discovery.model.OracleColumn;
+import com.datalineage.oracle.discovery.model.OracleConstraint;
+import com.datalineage.oracle.discovery.model.OracleTable;
+import com.datalineage.oracle.discovery.service.graph.GraphLayout;
+import com.datalineage.oracle.discovery.service.graph.MetadataGraph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SnapshotGraphCache
+ */
+@ExtendWith(MockitoExtension.class)
+class SnapshotGraphCacheTest {
+
+    private final SchemaFingerprintService fingerprintService = new SchemaFingerprintService();
+
+    @Mock
+    private MetadataSnapshotService snapshotService;
+
+    @Spy
+    private OracleGraphService graphService = new OracleGraphService();
+
+    @InjectMocks
+    private SnapshotGraphCache cache;
+
+    @Test
+    void testSchemaGraphEtag_followsContentNotVersion() {
+        MetadataSnapshot v1 = snapshot(1, "EMPLOYEES", "ORDERS");
+        MetadataSnapshot v2 = snapshot(2, "EMPLOYEES", "ORDERS");
+        MetadataSnapshot v3 = snapshot(3, "EMPLOYEES", "INVOICES");
+
+        String etag = cache.schemaGraphEtag(v1, null);
+
+        assertTrue(etag.startsWith("\"") && etag.endsWith("\""));
+        assertEquals(etag, cache.schemaGraphEtag(v2, null));
+        assertNotEquals(etag, cache.schemaGraphEtag(v3, null));
+        // Only SALES changed, so a graph restricted to HR keeps its ETag
+        assertEquals(cache.schemaGraphEtag(v1, List.of("HR")), cache.schemaGraphEtag(v3, List.of(" HR", "HR")));
+        assertNotEquals(cache.schemaGraphEtag(v1, List.of("SALES")), cache.schemaGraphEtag(v3, List.of("SALES")));
+        assertNotEquals(etag, cache.tableGraphEtag(v1, "EMPLOYEES", "HR"));
+    }
+
+    @Test
+    void testSchemaGraphEtag_changesWithRowCountsShownOnNodes() {
+        MetadataSnapshot before = snapshot(1, "EMPLOYEES", "ORDERS");
+        MetadataSnapshot after = snapshot(2, "EMPLOYEES", "ORDERS");
+        before.getTables().get(0).setNumRows(107L);
+        after.getTables().get(0).setNumRows(214L);
+
+        assertNotEquals(cache.schemaGraphEtag(before, null), cache.schemaGraphEtag(after, null));
+        assertNotEquals(cache.schemaGraphEtag(before, List.of("HR")), cache.schemaGraphEtag(after, List.of("HR")));
+        assertNotEquals(cache.tableGraphEtag(before, "EMPLOYEES", "HR"), cache.tableGraphEtag(after, "EMPLOYEES", "HR"));
+        // SALES row counts did not change
+        assertEquals(cache.schemaGraphEtag(before, List.of("SALES")), cache.schemaGraphEtag(after, List.of("SALES")));
+
+        GraphData graph = cache.schemaGraph(after, null, cache.schemaGraphEtag(after, null));
+        assertTrue(graph.getNodes().stream().anyMatch(node -> Long.valueOf(214L).equals(node.getMetadata().get("numRows"))));
+    }
+
+    @Test
+    void testSchemaGraph_buildsOncePerEtagAndFiltersOwners() {
+        MetadataSnapshot snapshot = snapshot(1, "EMPLOYEES", "ORDERS");
+        String etag = cache.schemaGraphEtag(snapshot, List.of("HR"));
+
+        GraphData first = cache.schemaGraph(snapshot, List.of("HR"), etag);
+        GraphData second = cache.schemaGraph(snapshot, List.of("HR"), etag);
+
+        assertSame(first, second);
+        verify(graphService, times(1)).transformMetadataToGraph(any(), any(), any());
+        assertTrue(first.getNodes().stream().noneMatch(node -> node.getLabel().equals("SALES.ORDERS")));
+        assertTrue(first.getNodes().stream().anyMatch(node -> node.getLabel().equals("HR.EMPLOYEES")));
+
+        cache.evict("conn-1");
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testSchemaGraph_selectsOwnersWithQuotedLowerCaseNames() {
+        MetadataDiscoveryResponse metadata = new MetadataDiscoveryResponse("conn-1");
+        metadata.setTables(List.of(new OracleTable("hr_dev", "EMPLOYEES", "conn-1"), new OracleTable("HR", "JOBS", "conn-1")));
+        metadata.setColumns(List.of());
+        metadata.setProcedures(List.of());
+        metadata.setConstraints(List.of());
+        MetadataSnapshot snapshot = new MetadataSnapshot("conn-1", 1, null, null, metadata,
+            fingerprintService.fingerprint(metadata));
+
+        GraphData graph = cache.schemaGraph(snapshot, List.of("hr_dev"), cache.schemaGraphEtag(snapshot, List.of("hr_dev")));
+
+        assertTrue(graph.getNodes().stream().anyMatch(node -> node.getLabel().equals("hr_dev.EMPLOYEES")));
+        assertTrue(graph.getNodes().stream().noneMatch(node -> node.getLabel().equals("HR.JOBS")));
+        assertNotEquals(cache.schemaGraphEtag(snapshot, List.of("hr")), cache.schemaGraphEtag(snapshot, List.of("HR")));
+    }
+
+    @Test
+    void testSchemaGraph_cachesEachLayoutUnderItsOwnEtag() {
+        MetadataSnapshot snapshot = snapshot(1, "EMPLOYEES", "ORDERS");
+        String plain = cache.schemaGraphEtag(snapshot, null);
+        String laidOut = cache.schemaGraphEtag(snapshot, null, MetadataGraph.Detail.FULL, GraphLayout.Mode.HIERARCHICAL);
+
+        assertEquals(plain, cache.schemaGraphEtag(snapshot, null, MetadataGraph.Detail.FULL, GraphLayout.Mode.NONE));
+        assertNotEquals(plain, laidOut);
+        assertNotEquals(laidOut, cache.schemaGraphEtag(snapshot, null, MetadataGraph.Detail.FULL, GraphLayout.Mode.FORCE));
+
+        GraphData graph = cache.schemaGraph(snapshot, null, MetadataGraph.Detail.FULL, GraphLayout.Mode.HIERARCHICAL, laidOut);
+
+        assertTrue(graph.getNodes().stream().allMatch(node -> node.getPosition() != null));
+        assertSame(graph, cache.schemaGraph(snapshot, null, MetadataGraph.Detail.FULL, GraphLayout.Mode.HIERARCHICAL, laidOut));
+        assertNull(cache.schemaGraph(snapshot, null, plain).getNodes().get(0).getPosition());
+
+        // Summaries are separate representations too
+        String owners = cache.schemaGraphEtag(snapshot, null, MetadataGraph.Detail.OWNER, GraphLayout.Mode.NONE);
+        assertNotEquals(plain, owners);
+        GraphData summary = cache.schemaGraph(snapshot, null, MetadataGraph.Detail.OWNER, GraphLayout.Mode.NONE, owners);
+        assertEquals(2, summary.getNodes().size());
+        assertEquals(1, summary.getNodes().get(0).getMetadata().get("tableCount"));
+    }
+
+    @Test
+    void testTableGraph_readsSnapshotIndexBuiltOnce() {
+        MetadataDiscoveryResponse metadata = new MetadataDiscoveryResponse("conn-1");
+        metadata.setTables(List.of(new OracleTable("HR", "EMPLOYEES", "conn-1"), new OracleTable("HR", "JOBS", "conn-1")));
+        metadata.setColumns(List.of(new OracleColumn("HR", "EMPLOYEES", "ID", "conn-1"),
+            new OracleColumn("HR", "JOBS", "ID", "conn-1"), new OracleColumn("HR", "EMPLOYEES", "NAME", "conn-1")));
+        metadata.setProcedures(List.of());
+        metadata.setConstraints(List.of(new OracleConstraint("HR", "EMP_PK", "EMPLOYEES", "conn-1")));
+        MetadataSnapshot snapshot = new MetadataSnapshot("conn-1", 1, null, null, metadata,
+            fingerprintService.fingerprint(metadata));
+        when(snapshotService.getLatestSnapshot("conn-1")).thenReturn(Optional.of(snapshot));
+
+        GraphData employees = cache.latestTableGraph("conn-1", "EMPLOYEES", "HR");
+        GraphData jobs = cache.latestTableGraph("conn-1", "JOBS", null);
+
+        // Same nodes and edges as building the table graph from the metadata lists
+        GraphData scanned = MetadataGraph.buildTable(metadata, "EMPLOYEES", "HR").toGraphData();
+        assertEquals(scanned.getNodes().stream().map(GraphNode::getId).toList(),
+            employees.getNodes().stream().map(GraphNode::getId).toList());
+        assertEquals(scanned.getEdges().size(), employees.getEdges().size());
+        assertEquals(2, jobs.getNodes().size());
+        assertNull(cache.latestTableGraph("conn-1", "EMPLOYEES", "SALES"));
+        verify(graphService, times(1)).buildGraph(any());
+        verify(graphService, never()).transformTableToGraph(any(MetadataDiscoveryResponse.class), any(), any(), any());
+
+        cache.evict("conn-1");
+        assertNull(cache.latestTableGraph("conn-1", "MISSING", null));
+        verify(graphService, times(2)).buildGraph(any());
+    }
+
+    @Test
+    void testLatestTableGraph_onlyFromCompleteCaptures() {
+        MetadataSnapshot full = snapshot(1, "EMPLOYEES", "ORDERS");
+        MetadataDiscoveryRequest limited = captureRequest();
+        limited.setLimit(1);
+        MetadataDiscoveryRequest withoutConstraints = captureRequest();
+        withoutConstraints.setIncludeConstraints(false);
+        when(snapshotService.getLatestSnapshot("conn-1"))
+            .thenReturn(Optional.of(new MetadataSnapshot(1, limited, full.getMetadata(), full.getFingerprint())));
+        when(snapshotService.getLatestSnapshot("conn-2"))
+            .thenReturn(Optional.of(new MetadataSnapshot(1, withoutConstraints, full.getMetadata(), full.getFingerprint())));
+
+        // The table is in both snapshots, but its columns or constraints may have been cut off
+        assertNull(cache.latestTableGraph("conn-1", "EMPLOYEES", "HR"));
+        assertNull(cache.latestTableGraph("conn-2", "EMPLOYEES", "HR"));
+        verify(graphService, never()).buildGraph(any());
+    }
+
+    @Test
+    void testLatestStatistics_onlyFromUnfilteredSnapshots() {
+        MetadataSnapshot full = snapshot(1, "EMPLOYEES", "ORDERS");
+        MetadataSnapshot filtered = new MetadataSnapshot("conn-2", 1, List.of("HR"), null, full.getMetadata(),
+            full.getFingerprint());
+        when(snapshotService.getLatestSnapshot("conn-1")).thenReturn(Optional.of(full));
+        when(snapshotService.getLatestSnapshot("conn-2")).thenReturn(Optional.of(filtered));
+        when(snapshotService.getLatestSnapshot("conn-3")).thenReturn(Optional.empty());
+
+        GraphData.GraphStatistics statistics = cache.latestStatistics("conn-1");
+
+        assertEquals(4, statistics.getTotalNodes());
+        assertEquals(2, statistics.getNodeTypeBreakdown().get("schema"));
+        assertNull(cache.latestStatistics("conn-2"));
+        assertNull(cache.latestStatistics("conn-3"));
+    }
+
+    @Test
+    void testLatestStatistics_onlyFromCompleteCaptures() {
+        MetadataSnapshot full = snapshot(1, "EMPLOYEES", "ORDERS");
+        MetadataDiscoveryRequest unlimited = captureRequest();
+        MetadataDiscoveryRequest limited = captureRequest();
+        limited.setLimit(100);
+        MetadataDiscoveryRequest withoutProcedures = captureRequest();
+        withoutProcedures.setIncludeProcedures(false);
+        MetadataDiscoveryRequest views = captureRequest();
+        views.setTableTypes(List.of("VIEW"));
+        when(snapshotService.getLatestSnapshot("conn-1"))
+            .thenReturn(Optional.of(new MetadataSnapshot(1, unlimited, full.getMetadata(), full.getFingerprint())));
+        when(snapshotService.getLatestSnapshot("conn-2"))
+            .thenReturn(Optional.of(new MetadataSnapshot(1, limited, full.getMetadata(), full.getFingerprint())));
+        when(snapshotService.getLatestSnapshot("conn-3"))
+            .thenReturn(Optional.of(new MetadataSnapshot(1, withoutProcedures, full.getMetadata(), full.getFingerprint())));
+        when(snapshotService.getLatestSnapshot("conn-4"))
+            .thenReturn(Optional.of(new MetadataSnapshot(1, views, full.getMetadata(), full.getFingerprint())));
+
+        assertEquals(4, cache.latestStatistics("conn-1").getTotalNodes());
+        assertNull(cache.latestStatistics("conn-2"));
+        assertNull(cache.latestStatistics("conn-3"));
+        assertNull(cache.latestStatistics("conn-4"));
+    }
+
+    @Test
+    void testSnapshot_resolvesLatestOrVersion() {
+        MetadataSnapshot latest = snapshot(2, "EMPLOYEES", "ORDERS");
+        when(snapshotService.getLatestSnapshot("conn-1")).thenReturn(Optional.of(latest));
+        when(snapshotService.getSnapshot("conn-1", 7)).thenReturn(Optional.empty());
+
+        assertSame(latest, cache.snapshot("conn-1", null));
+        assertThrows(IllegalArgumentException.class, () -> cache.snapshot("conn-1", 7L));
+    }
+
+    private static MetadataDiscoveryRequest captureRequest() {
+        MetadataDiscoveryRequest request = new MetadataDiscoveryRequest("conn-1");
+        request.setLimit(null);
+        return request;
+    }
+
+    private MetadataSnapshot snapshot(long version, String hrTable, String salesTable) {
+        MetadataDiscoveryResponse metadata = new MetadataDiscoveryResponse("conn-1");
+        metadata.setTables(List.of(new OracleTable("HR", hrTable, "conn-1"), new OracleTable("SALES", salesTable, "conn-1")));
+        metadata.setColumns(List.of());
+        metadata.setProcedures(List.of());
+        metadata.setConstraints(List.of());
+        return new MetadataSnapshot("conn-1", version, null, null, metadata, fingerprintService.fingerprint(metadata));
+    }
+}
@@ -0,0 +1,105 @@
+package com.datalineage.oracle.discovery.service.graph;
+
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryResponse;
+import com.datalineage.oracle.discovery.model.OracleColumn;
+import com.datalineage.oracle.discovery.model.OracleTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GraphLayout
+ */
+class GraphLayoutTest {
+
+    @Test
+    void testHierarchical_layersContainmentAndCentersParents() {
+        MetadataGraph graph = MetadataGraph.build(createMetadata(3, 4));
+
+        double[] positions = GraphLayout.hierarchical(graph);
+
+        int schema = graph.find("schema-HR");
+        int table = graph.find("table-HR.TABLE_1");
+        assertEquals(0, positions[2 * schema + 1]);
+        assertEquals(GraphLayout.LEVEL_SPACING, positions[2 * table + 1]);
+
+        // Columns sit one level below their table, side by side, with the table centered above them
+        double sum = 0;
+        Set<Double> slots = new HashSet<>();
+        for (int c = 0; c < 4; c++) {
+            int column = graph.find("column-HR.TABLE_1.COLUMN_" + c);
+            assertEquals(2 * GraphLayout.LEVEL_SPACING, positions[2 * column + 1]);
+            slots.add(positions[2 * column]);
+            sum += positions[2 * column];
+        }
+        assertEquals(4, slots.size());
+        assertEquals(sum / 4, positions[2 * table], 1e-9);
+        assertEquals((positions[2 * graph.find("table-HR.TABLE_0")] + positions[2 * graph.find("table-HR.TABLE_2")]) / 2,
+            positions[2 * schema], 1e-9);
+    }
+
+    @Test
+    void testForceDirected_isDeterministicAcrossParallelRuns() {
+        // Large enough for the parallel force pass
+        MetadataGraph graph = MetadataGraph.build(createMetadata(60, 40));
+        assertTrue(graph.nodeCount() > 2048);
+        double[] initial = GraphLayout.hierarchical(graph);
+
+        double[] first = GraphLayout.forceDirected(graph, initial, 5, 0.8);
+        double[] second = GraphLayout.forceDirected(graph, initial, 5, 0.8);
+
+        assertArrayEquals(first, second);
+        for (double value : first) {
+            assertTrue(Double.isFinite(value));
+        }
+    }
+
+    @Test
+    void testQuadTree_matchesExactRepulsionWithZeroTheta() {
+        double[] positions = {0, 0, 100, 0, 0, 100, 250, 250, 30, 70, 30, 70};
+        int n = positions.length / 2;
+        GraphLayout.QuadTree tree = GraphLayout.QuadTree.build(positions, n);
+
+        for (int node = 0; node < n; node++) {
+            double fx = 0;
+            double fy = 0;
+            for (int other = 0; other < n; other++) {
+                double dx = positions[2 * node] - positions[2 * other];
+                double dy = positions[2 * node + 1] - positions[2 * other + 1];
+                double d2 = dx * dx + dy * dy;
+                if (other != node && d2 > 0) {
+                    fx += dx * 6400 / d2;
+                    fy += dy * 6400 / d2;
+                }
+            }
+            double[] force = tree.repulsion(node, positions, 6400, 0);
+            if (node < 4) {
+                assertEquals(fx, force[0], 1e-9);
+                assertEquals(fy, force[1], 1e-9);
+            } else {
+                // The two coincident nodes still push each other apart
+                assertTrue(Math.abs(force[0] - fx) > 1 || Math.abs(force[1] - fy) > 1);
+            }
+        }
+    }
+
+    private static MetadataDiscoveryResponse createMetadata(int tables, int columnsPerTable) {
+        MetadataDiscoveryResponse metadata = new MetadataDiscoveryResponse("conn-1");
+        List<OracleTable> tableList = new ArrayList<>();
+        List<OracleColumn> columnList = new ArrayList<>();
+        for (int t = 0; t < tables; t++) {
+            tableList.add(new OracleTable("HR", "TABLE_" + t, "conn-1"));
+            for (int c = 0; c < columnsPerTable; c++) {
+                columnList.add(new OracleColumn("HR", "TABLE_" + t, "COLUMN_" + c, "conn-1"));
+            }
+        }
+        metadata.setTables(tableList);
+        metadata.setColumns(columnList);
+        return metadata;
+    }
+}
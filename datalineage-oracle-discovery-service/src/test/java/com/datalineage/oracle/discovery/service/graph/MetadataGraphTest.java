@@ -0,0 +1,230 @@
+package com.datalineage.oracle.discovery.service.graph;
+
+import com.datalineage.oracle.discovery.dto.GraphData;
+import com.datalineage.oracle.discovery.dto.GraphEdge;
+import com.datalineage.oracle.discovery.dto.GraphNode;
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryResponse;
+import com.datalineage.oracle.discovery.model.DictionaryCounts;
+import com.datalineage.oracle.discovery.model.OracleColumn;
+import com.datalineage.oracle.discovery.model.OracleConstraint;
+import com.datalineage.oracle.discovery.model.OracleProcedure;
+import com.datalineage.oracle.discovery.model.OracleTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MetadataGraph
+ */
+class MetadataGraphTest {
+
+    @Test
+    void testBuild_indexesEdgesBothWays() {
+        MetadataGraph graph = MetadataGraph.build(createMetadata());
+
+        // schema, 2 tables, 2 columns, 1 procedure, 1 constraint
+        assertEquals(7, graph.nodeCount());
+        assertEquals(7, graph.edgeCount());
+        int employees = graph.find("table-HR.EMPLOYEES");
+        int departments = graph.find("table-HR.DEPARTMENTS");
+        int foreignKey = graph.find("constraint-HR.EMP_DEPT_FK");
+        assertEquals(MetadataGraph.TABLE, graph.nodeType(employees));
+        assertEquals(-1, graph.find("table-HR.MISSING"));
+
+        // Employees holds its columns and constraint and is held by the schema
+        assertEquals(3, graph.outDegree(employees));
+        assertEquals(1, graph.inDegree(employees));
+        assertEquals(graph.find("schema-HR"), graph.edgeSource(graph.inEdge(employees, 0)));
+
+        // The foreign key is the only edge into departments besides the schema's
+        assertEquals(2, graph.inDegree(departments));
+        assertEquals(1, graph.outDegree(foreignKey));
+        int edge = graph.outEdge(foreignKey, 0);
+        assertEquals(MetadataGraph.FOREIGN_KEY, graph.edgeType(edge));
+        assertEquals(departments, graph.edgeTarget(edge));
+
+        int total = 0;
+        for (int node = 0; node < graph.nodeCount(); node++) {
+            for (int i = 0; i < graph.outDegree(node); i++) {
+                assertEquals(node, graph.edgeSource(graph.outEdge(node, i)));
+            }
+            for (int i = 0; i < graph.inDegree(node); i++) {
+                assertEquals(node, graph.edgeTarget(graph.inEdge(node, i)));
+            }
+            total += graph.outDegree(node);
+        }
+        assertEquals(graph.edgeCount(), total);
+    }
+
+    @Test
+    void testBuild_largeCategoriesStayInRowOrder() {
+        // Enough columns for the parallel chunked build; every seventh one has no discovered table
+        MetadataDiscoveryResponse metadata = new MetadataDiscoveryResponse("test-connection");
+        List<OracleTable> tables = new ArrayList<>();
+        for (int t = 0; t < 1000; t++) {
+            tables.add(new OracleTable("HR", "T" + t, "test-connection"));
+        }
+        List<OracleColumn> columns = new ArrayList<>();
+        for (int c = 0; c < 50000; c++) {
+            String table = c % 7 == 0 ? "MISSING" : "T" + (c % 1000);
+            columns.add(new OracleColumn("HR", table, "C" + c, "test-connection"));
+        }
+        metadata.setTables(tables);
+        metadata.setColumns(columns);
+
+        MetadataGraph graph = MetadataGraph.build(metadata);
+
+        int contained = 50000 - (50000 + 6) / 7;
+        assertEquals(1 + 1000 + 50000, graph.nodeCount());
+        assertEquals(1000 + contained, graph.edgeCount());
+        assertEquals(1000 + contained, graph.statistics().getEdgeTypeBreakdown().get("contains"));
+        // Column edges follow the schema's table edges, in column order
+        int previous = -1;
+        for (int edge = 1000; edge < graph.edgeCount(); edge++) {
+            int column = graph.edgeTarget(edge) - 1001;
+            assertTrue(column > previous);
+            assertNotEquals(0, column % 7);
+            assertEquals("table-HR.T" + (column % 1000), graph.nodeId(graph.edgeSource(edge)));
+            previous = column;
+        }
+        assertEquals(graph.toGraphData().getEdges().stream().map(GraphEdge::getId).toList(),
+            MetadataGraph.build(metadata).toGraphData().getEdges().stream().map(GraphEdge::getId).toList());
+    }
+
+    @Test
+    void testToGraphData_convertsAtTheEdge() {
+        MetadataGraph graph = MetadataGraph.build(createMetadata());
+
+        GraphData graphData = graph.toGraphData();
+
+        assertEquals(graph.nodeCount(), graphData.getNodes().size());
+        assertEquals("schema-HR", graphData.getNodes().get(0).getId());
+        GraphEdge foreignKey = graphData.getEdges().stream()
+            .filter(e -> "foreign_key".equals(e.getType())).findFirst().orElseThrow();
+        assertEquals("fk-constraint-HR.EMP_DEPT_FK", foreignKey.getId());
+        assertEquals("DEPT_PK", foreignKey.getMetadata().get("referencedConstraint"));
+        assertEquals(Map.of("table", 2, "column", 2, "procedure", 1, "constraint", 1, "schema", 1),
+            graphData.getStatistics().getNodeTypeBreakdown());
+        assertEquals(Map.of("contains", 5, "relationship", 1, "foreign_key", 1),
+            graphData.getStatistics().getEdgeTypeBreakdown());
+
+        int employees = graph.find("table-HR.EMPLOYEES");
+        GraphData subgraph = graph.toGraphData(new int[] {employees}, new int[0]);
+        assertEquals(1, subgraph.getStatistics().getTotalNodes());
+        assertEquals(Map.of("table", 1), subgraph.getStatistics().getNodeTypeBreakdown());
+    }
+
+    @Test
+    void testBuildTable_keepsOnlyTheTableAndItsChildren() {
+        MetadataGraph graph = MetadataGraph.buildTable(createMetadata(), "EMPLOYEES", "HR");
+
+        assertEquals(4, graph.nodeCount());
+        assertEquals(3, graph.outDegree(0));
+        assertEquals("table-HR.EMPLOYEES", graph.nodeId(0));
+        assertEquals(0, MetadataGraph.buildTable(createMetadata(), "MISSING", null).nodeCount());
+    }
+
+    @Test
+    void testTableGraph_matchesBuildTable() {
+        MetadataDiscoveryResponse metadata = createMetadata();
+        MetadataGraph full = MetadataGraph.build(metadata);
+
+        GraphData fromIndex = full.tableGraph("EMPLOYEES", null).toGraphData();
+        GraphData scanned = MetadataGraph.buildTable(metadata, "EMPLOYEES", "HR").toGraphData();
+
+        assertEquals(scanned.getNodes().stream().map(GraphNode::getId).toList(),
+            fromIndex.getNodes().stream().map(GraphNode::getId).toList());
+        assertEquals(scanned.getEdges().stream().map(GraphEdge::getId).toList(),
+            fromIndex.getEdges().stream().map(GraphEdge::getId).toList());
+        assertEquals(-1, full.findTable("EMPLOYEES", "SALES"));
+        assertEquals(0, full.tableGraph("MISSING", null).nodeCount());
+    }
+
+    @Test
+    void testStatistics_fromCountsMatchBuiltGraph() {
+        DictionaryCounts counts = new DictionaryCounts();
+        counts.addTables("HR", 2);
+        counts.addColumns(2);
+        counts.addProcedures("HR", 1);
+        counts.addConstraints(1, 1);
+
+        GraphData.GraphStatistics counted = MetadataGraph.statistics(counts);
+        GraphData.GraphStatistics built = MetadataGraph.build(createMetadata()).statistics();
+
+        assertEquals(built.getTotalNodes(), counted.getTotalNodes());
+        assertEquals(built.getTotalEdges(), counted.getTotalEdges());
+        assertEquals(built.getNodeTypeBreakdown(), counted.getNodeTypeBreakdown());
+        assertEquals(built.getEdgeTypeBreakdown(), counted.getEdgeTypeBreakdown());
+    }
+
+    @Test
+    void testBuild_summarizesByOwnerAndTable() {
+        MetadataDiscoveryResponse metadata = createMetadata();
+        List<OracleTable> tables = new ArrayList<>(metadata.getTables());
+        tables.add(new OracleTable("SALES", "ORDERS", "test-connection"));
+        metadata.setTables(tables);
+        List<OracleConstraint> constraints = new ArrayList<>(metadata.getConstraints());
+        constraints.add(constraint("HR", "EMP_PK", "EMPLOYEES", "P", null));
+        constraints.add(constraint("SALES", "ORD_EMP_FK", "ORDERS", "R", "EMP_PK"));
+        constraints.add(constraint("SALES", "ORD_REP_FK", "ORDERS", "R", "EMP_PK"));
+        metadata.setConstraints(constraints);
+
+        MetadataGraph byTable = MetadataGraph.build(metadata, MetadataGraph.Detail.TABLE);
+        GraphData tableSummary = byTable.toGraphData();
+
+        // Two schemas and three tables; no column, procedure or constraint nodes
+        assertEquals(List.of("schema-HR", "schema-SALES", "table-HR.EMPLOYEES", "table-HR.DEPARTMENTS", "table-SALES.ORDERS"),
+            tableSummary.getNodes().stream().map(GraphNode::getId).toList());
+        GraphNode employees = tableSummary.getNodes().get(2);
+        assertEquals(2, employees.getMetadata().get("columnCount"));
+        assertEquals(2, employees.getMetadata().get("constraintCount"));
+        assertEquals(2, tableSummary.getNodes().get(0).getMetadata().get("tableCount"));
+        assertEquals(1, tableSummary.getNodes().get(0).getMetadata().get("procedureCount"));
+        // Both foreign keys of ORDERS resolve to the table of EMP_PK and share one edge
+        GraphEdge references = tableSummary.getEdges().stream()
+            .filter(e -> "references".equals(e.getType()) && e.getSource().equals("table-SALES.ORDERS"))
+            .findFirst().orElseThrow();
+        assertEquals("table-HR.EMPLOYEES", references.getTarget());
+        assertEquals(2, references.getMetadata().get("foreignKeys"));
+
+        GraphData ownerSummary = MetadataGraph.build(metadata, MetadataGraph.Detail.OWNER).toGraphData();
+        assertEquals(2, ownerSummary.getNodes().size());
+        assertEquals(2, ownerSummary.getNodes().get(0).getMetadata().get("columnCount"));
+        assertEquals(1, ownerSummary.getNodes().get(1).getMetadata().get("tableCount"));
+        GraphEdge crossOwner = ownerSummary.getEdges().stream()
+            .filter(e -> e.getSource().equals("schema-SALES")).findFirst().orElseThrow();
+        assertEquals("schema-HR", crossOwner.getTarget());
+        assertEquals(2, crossOwner.getMetadata().get("foreignKeys"));
+    }
+
+    private static MetadataDiscoveryResponse createMetadata() {
+        MetadataDiscoveryResponse metadata = new MetadataDiscoveryResponse("test-connection");
+        metadata.setTables(List.of(
+            new OracleTable("HR", "EMPLOYEES", "test-connection"),
+            new OracleTable("HR", "DEPARTMENTS", "test-connection")));
+        metadata.setColumns(List.of(
+            new OracleColumn("HR", "EMPLOYEES", "ID", "test-connection"),
+            new OracleColumn("HR", "EMPLOYEES", "NAME", "test-connection")));
+        metadata.setProcedures(List.of(new OracleProcedure("HR", "GET_EMPLOYEE", "test-connection")));
+        OracleConstraint foreignKey = new OracleConstraint("HR", "EMP_DEPT_FK", "EMPLOYEES", "test-connection");
+        foreignKey.setConstraintType("R");
+        foreignKey.setrOwner("HR");
+        foreignKey.setrConstraintName("DEPT_PK");
+        metadata.setConstraints(List.of(foreignKey));
+        return metadata;
+    }
+
+    private static OracleConstraint constraint(String owner, String name, String table, String type, String referenced) {
+        OracleConstraint constraint = new OracleConstraint(owner, name, table, "test-connection");
+        constraint.setConstraintType(type);
+        if (referenced != null) {
+            constraint.setrOwner("HR");
+            constraint.setrConstraintName(referenced);
+        }
+        return constraint;
+    }
+}
@@ -0,0 +1,57 @@
+package com.datalineage.oracle.discovery.service.graph;
+
+import com.datalineage.oracle.discovery.dto.GraphData;
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryResponse;
+import com.datalineage.oracle.discovery.model.OracleColumn;
+import com.datalineage.oracle.discovery.model.OracleConstraint;
+import com.datalineage.oracle.discovery.model.OracleProcedure;
+import com.datalineage.oracle.discovery.model.OracleTable;
+import com.datalineage.oracle.discovery.service.GraphLayoutService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StreamedGraph
+ */
+class StreamedGraphTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testSerialize_sameJsonAsGraphData() throws Exception {
+        MetadataGraph graph = MetadataGraph.build(createMetadata());
+
+        assertEquals(objectMapper.writeValueAsString(graph.toGraphData()),
+            objectMapper.writeValueAsString(new StreamedGraph(graph, null)));
+    }
+
+    @Test
+    void testSerialize_writesPositions() throws Exception {
+        MetadataGraph graph = MetadataGraph.build(createMetadata());
+        double[] positions = GraphLayout.hierarchical(graph);
+        GraphData graphData = graph.toGraphData();
+        GraphLayoutService.apply(graphData, positions);
+
+        assertEquals(objectMapper.writeValueAsString(graphData),
+            objectMapper.writeValueAsString(new StreamedGraph(graph, positions)));
+    }
+
+    private static MetadataDiscoveryResponse createMetadata() {
+        MetadataDiscoveryResponse metadata = new MetadataDiscoveryResponse("test-connection");
+        metadata.setTables(List.of(
+            new OracleTable("HR", "EMPLOYEES", "test-connection"),
+            new OracleTable("HR", "DEPARTMENTS", "test-connection")));
+        metadata.setColumns(List.of(new OracleColumn("HR", "EMPLOYEES", "DEPARTMENT_ID", "test-connection")));
+        metadata.setProcedures(List.of(new OracleProcedure("HR", "GET_EMPLOYEE", "test-connection")));
+        OracleConstraint foreignKey = new OracleConstraint("HR", "EMP_DEPT_FK", "EMPLOYEES", "test-connection");
+        foreignKey.setConstraintType("R");
+        foreignKey.setrOwner("HR");
+        foreignKey.setrConstraintName("DEPT_PK");
+        metadata.setConstraints(List.of(foreignKey));
+        return metadata;
+    }
+}
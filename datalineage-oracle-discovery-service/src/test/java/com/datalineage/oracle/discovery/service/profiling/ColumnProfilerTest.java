@@ -0,0 +1,74 @@
+package com.datalineage.oracle.discovery.service.profiling;
+
+import com.datalineage.oracle.discovery.dto.ColumnProfile;
+import com.datalineage.oracle.discovery.service.profiling.ColumnProfiler.ValueKind;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ColumnProfiler and the sketches behind it
+ */
+class ColumnProfilerTest {
+
+    @Test
+    void testNumericProfile_estimatesDistinctCountAndQuantiles() {
+        // Given - 0..9999 with every tenth value null
+        ColumnProfiler profiler = new ColumnProfiler("AMOUNT", "NUMBER", ValueKind.NUMERIC, 5);
+        for (int i = 0; i < 10000; i++) {
+            profiler.addNumber(i % 10 == 0 ? null : BigDecimal.valueOf(i));
+        }
+
+        // When
+        ColumnProfile profile = profiler.toProfile();
+
+        // Then
+        assertEquals(10000, profile.getSampledRows());
+        assertEquals(1000, profile.getNullCount());
+        assertEquals(0.1, profile.getNullRatio(), 1e-9);
+        assertEquals(9000, profile.getDistinctEstimate(), 9000 * 0.05);
+        assertEquals("1", profile.getMinValue());
+        assertEquals("9999", profile.getMaxValue());
+        assertEquals(5000, profile.getQuantiles().get("p50"), 100);
+        assertEquals(9900, profile.getQuantiles().get("p99"), 50);
+        assertNull(profile.getPatterns());
+    }
+
+    @Test
+    void testTextProfile_findsHeavyHittersAndPatterns() {
+        // Given - one dominant code among many unique ones
+        ColumnProfiler profiler = new ColumnProfiler("CODE", "VARCHAR2", ValueKind.TEXT, 3);
+        for (int i = 0; i < 2000; i++) {
+            profiler.addText(i % 2 == 0 ? "AB-0001" : "XY-" + (1000 + i));
+        }
+
+        // When
+        ColumnProfile profile = profiler.toProfile();
+
+        // Then
+        assertEquals("AB-0001", profile.getTopValues().get(0).getValue());
+        assertEquals(1000, profile.getTopValues().get(0).getCount(), 20);
+        assertEquals(1, profile.getPatterns().size());
+        assertEquals("AA-9999", profile.getPatterns().get(0).getValue());
+        assertEquals(1.0, profile.getPatterns().get(0).getRatio(), 1e-9);
+        assertEquals(7.0, profile.getAverageLength(), 1e-9);
+        assertEquals("AB-0001", profile.getMinValue());
+    }
+
+    @Test
+    void testEmptyColumn_reportsOnlyNulls() {
+        ColumnProfiler profiler = new ColumnProfiler("DELETED_AT", "DATE", ValueKind.TEMPORAL, 5);
+        profiler.addTimestamp(null);
+        profiler.addTimestamp(null);
+
+        ColumnProfile profile = profiler.toProfile();
+
+        assertEquals(1.0, profile.getNullRatio(), 1e-9);
+        assertEquals(0, profile.getDistinctEstimate());
+        assertNull(profile.getTopValues());
+        assertNull(ValueKind.of("BLOB"));
+        assertEquals(ValueKind.TEMPORAL, ValueKind.of("TIMESTAMP(6) WITH TIME ZONE"));
+    }
+}
@@ -0,0 +1,74 @@
+package com.datalineage.oracle.emulator;
+
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryResponse;
+import com.datalineage.oracle.discovery.model.OracleColumn;
+import com.datalineage.oracle.discovery.model.OracleConstraint;
+import com.datalineage.oracle.discovery.model.OracleProcedure;
+import com.datalineage.oracle.discovery.model.OracleTable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Schema sink keeping every object in memory, for measuring graph building and diffing
+ * without a database round trip
+ */
+public class CollectingSchemaSink implements SchemaSink {
+
+    private final List<OracleTable> tables = new ArrayList<>();
+    private final List<OracleColumn> columns = new ArrayList<>();
+    private final List<OracleConstraint> constraints = new ArrayList<>();
+    private final List<OracleProcedure> procedures = new ArrayList<>();
+
+    @Override
+    public void table(OracleTable table) {
+        tables.add(table);
+    }
+
+    @Override
+    public void column(OracleColumn column) {
+        columns.add(column);
+    }
+
+    @Override
+    public void constraint(OracleConstraint constraint) {
+        constraints.add(constraint);
+    }
+
+    @Override
+    public void procedure(OracleProcedure procedure) {
+        procedures.add(procedure);
+    }
+
+    /**
+     * Builds a discovery response ordered the way the dictionary queries order their rows
+     */
+    public MetadataDiscoveryResponse toResponse(String connectionId) {
+        MetadataDiscoveryResponse response = new MetadataDiscoveryResponse(connectionId);
+
+        List<OracleTable> sortedTables = new ArrayList<>(tables);
+        sortedTables.sort(Comparator.comparing(OracleTable::getOwner).thenComparing(OracleTable::getTableName));
+        List<OracleColumn> sortedColumns = new ArrayList<>(columns);
+        sortedColumns.sort(Comparator.comparing(OracleColumn::getOwner)
+            .thenComparing(OracleColumn::getTableName)
+            .thenComparing(OracleColumn::getColumnId));
+        List<OracleConstraint> sortedConstraints = new ArrayList<>(constraints);
+        sortedConstraints.sort(Comparator.comparing(OracleConstraint::getOwner)
+            .thenComparing(OracleConstraint::getTableName)
+            .thenComparing(OracleConstraint::getConstraintName));
+        List<OracleProcedure> sortedProcedures = new ArrayList<>(procedures);
+        sortedProcedures.sort(Comparator.comparing(OracleProcedure::getOwner)
+            .thenComparing(OracleProcedure::getObjectName)
+            .thenComparing(OracleProcedure::getProcedureName, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(OracleProcedure::getSubprogramId, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        response.setTables(sortedTables);
+        response.setColumns(sortedColumns);
+        response.setConstraints(sortedConstraints);
+        response.setProcedures(sortedProcedures);
+        response.setStatistics(new MetadataDiscoveryResponse.DiscoveryStatistics(
+            sortedTables.size(), sortedColumns.size(), sortedProcedures.size(), sortedConstraints.size(), 0));
+        return response;
+    }
+}
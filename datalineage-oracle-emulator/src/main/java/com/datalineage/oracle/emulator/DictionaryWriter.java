@@ -0,0 +1,175 @@
+package com.datalineage.oracle.emulator;
+
+import com.datalineage.oracle.discovery.model.OracleColumn;
+import com.datalineage.oracle.discovery.model.OracleConstraint;
+import com.datalineage.oracle.discovery.model.OracleProcedure;
+import com.datalineage.oracle.discovery.model.OracleTable;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Schema sink inserting into the emulated dictionary views with JDBC batches.
+ *
+ * Every table and procedure also gets an ALL_OBJECTS row with a fixed DDL time, so the
+ * DDL probe sees a stable watermark until a test changes it.
+ */
+public class DictionaryWriter implements SchemaSink, AutoCloseable {
+
+    public static final Timestamp DDL_TIME = Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 0, 0));
+
+    private static final int BATCH_SIZE = 5000;
+
+    private final Connection connection;
+    private final List<Batch> batches = new ArrayList<>();
+
+    private final Batch tables;
+    private final Batch tableComments;
+    private final Batch columns;
+    private final Batch columnComments;
+    private final Batch constraints;
+    private final Batch procedures;
+    private final Batch objects;
+
+    DictionaryWriter(Connection connection) throws SQLException {
+        this.connection = connection;
+        connection.setAutoCommit(false);
+
+        tables = batch("INSERT INTO all_tables (owner, table_name, table_type, tablespace_name, num_rows, blocks, " +
+            "avg_row_len, sample_size, compression, status, temporary) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        tableComments = batch("INSERT INTO all_tab_comments (owner, table_name, table_type, comments) VALUES (?, ?, ?, ?)");
+        columns = batch("INSERT INTO all_tab_columns (owner, table_name, column_name, data_type, data_type_mod, " +
+            "data_type_owner, data_length, data_precision, data_scale, nullable, column_id, default_length, " +
+            "data_default, num_distinct, low_value, high_value, density, num_nulls, num_buckets, " +
+            "character_set_name, char_col_decl_length, global_stats, user_stats, avg_col_len, char_length, char_used) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        columnComments = batch("INSERT INTO all_col_comments (owner, table_name, column_name, comments) VALUES (?, ?, ?, ?)");
+        constraints = batch("INSERT INTO all_constraints (owner, constraint_name, constraint_type, table_name, " +
+            "search_condition, search_condition_vc, r_owner, r_constraint_name, delete_rule, status, deferrable, " +
+            "deferred, validated, generated, bad, rely, last_change, index_owner, index_name, invalid, view_related, " +
+            "origin_con_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        procedures = batch("INSERT INTO all_procedures (owner, object_name, procedure_name, subprogram_id, overload, " +
+            "object_type, status, aggregate, pipelined, impltypeowner, impltypename, parallel, interface, deterministic, " +
+            "authid, result_cache, origin_con_id, polymorphic) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        objects = batch("INSERT INTO all_objects (owner, object_name, object_type, created, last_ddl_time, status) " +
+            "VALUES (?, ?, ?, ?, ?, ?)");
+    }
+
+    @Override
+    public void table(OracleTable table) throws SQLException {
+        tables.add(table.getOwner(), table.getTableName(), table.getTableType(), table.getTablespaceName(),
+            table.getNumRows(), table.getBlocks(), table.getAvgRowLen(), table.getSampleSize(),
+            table.getCompression(), table.getStatus(), table.getTemporary());
+        objects.add(table.getOwner(), table.getTableName(), "TABLE", DDL_TIME, DDL_TIME, "VALID");
+        if (table.getComments() != null) {
+            tableComments.add(table.getOwner(), table.getTableName(), "TABLE", table.getComments());
+        }
+    }
+
+    @Override
+    public void column(OracleColumn column) throws SQLException {
+        columns.add(column.getOwner(), column.getTableName(), column.getColumnName(), column.getDataType(),
+            column.getDataTypeMod(), column.getDataTypeOwner(), column.getDataLength(), column.getDataPrecision(),
+            column.getDataScale(), column.getNullable(), column.getColumnId(), column.getDefaultLength(),
+            column.getDataDefault(), column.getNumDistinct(), column.getLowValue(), column.getHighValue(),
+            column.getDensity(), column.getNumNulls(), column.getNumBuckets(), column.getCharacterSetName(),
+            column.getCharColDeclLength(), column.getGlobalStats(), column.getUserStats(), column.getAvgColLen(),
+            column.getCharLength(), column.getCharUsed());
+        if (column.getComments() != null) {
+            columnComments.add(column.getOwner(), column.getTableName(), column.getColumnName(), column.getComments());
+        }
+    }
+
+    @Override
+    public void constraint(OracleConstraint constraint) throws SQLException {
+        constraints.add(constraint.getOwner(), constraint.getConstraintName(), constraint.getConstraintType(),
+            constraint.getTableName(), constraint.getSearchCondition(), constraint.getSearchConditionVc(),
+            constraint.getrOwner(), constraint.getrConstraintName(), constraint.getDeleteRule(),
+            constraint.getStatus(), constraint.getDeferrable(), constraint.getDeferred(), constraint.getValidated(),
+            constraint.getGenerated(), constraint.getBad(), constraint.getRely(), DDL_TIME,
+            constraint.getIndexOwner(), constraint.getIndexName(), constraint.getInvalid(),
+            constraint.getViewRelated(), constraint.getOriginConId());
+    }
+
+    @Override
+    public void procedure(OracleProcedure procedure) throws SQLException {
+        procedures.add(procedure.getOwner(), procedure.getObjectName(), procedure.getProcedureName(),
+            procedure.getSubprogramId(), procedure.getOverload(), procedure.getObjectType(), procedure.getStatus(), procedure.getAggregate(), procedure.getPipelined(),
+            procedure.getImplTypeOwner(), procedure.getImplTypeName(), procedure.getParallel(),
+            procedure.getInterfaceType(), procedure.getDeterministic(), procedure.getAuthId(),
+            procedure.getResultCache(), procedure.getOriginConId(), procedure.getPolymorphic());
+        // Packages list one row per subprogram; the object itself is the row without a procedure name
+        if (procedure.getProcedureName() == null) {
+            objects.add(procedure.getOwner(), procedure.getObjectName(), procedure.getObjectType(),
+                DDL_TIME, DDL_TIME, procedure.getStatus());
+        }
+    }
+
+    /**
+     * Sends the remaining batches and commits
+     */
+    public void flush() throws SQLException {
+        for (Batch batch : batches) {
+            batch.execute();
+        }
+        connection.commit();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            flush();
+        } finally {
+            for (Batch batch : batches) {
+                batch.statement.close();
+            }
+            connection.close();
+        }
+    }
+
+    private Batch batch(String sql) throws SQLException {
+        Batch batch = new Batch(connection.prepareStatement(sql));
+        batches.add(batch);
+        return batch;
+    }
+
+    /**
+     * One prepared insert with its pending row count
+     */
+    private static final class Batch {
+        private final PreparedStatement statement;
+        private int pending;
+
+        private Batch(PreparedStatement statement) {
+            this.statement = statement;
+        }
+
+        private void add(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] == null) {
+                    statement.setNull(i + 1, Types.NULL);
+                } else {
+                    statement.setObject(i + 1, values[i]);
+                }
+            }
+            statement.addBatch();
+            if (++pending >= BATCH_SIZE) {
+                execute();
+            }
+        }
+
+        private void execute() throws SQLException {
+            if (pending > 0) {
+                statement.executeBatch();
+                pending = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.datalineage.oracle.emulator;
+
+import com.datalineage.oracle.discovery.dto.OracleConnectionConfig;
+import com.datalineage.oracle.discovery.service.DictionaryAccessService;
+import com.datalineage.oracle.discovery.service.MetadataSnapshotService;
+import com.datalineage.oracle.discovery.service.OracleConnectionService;
+import com.datalineage.oracle.discovery.service.OracleDdlProbeService;
+import com.datalineage.oracle.discovery.service.OracleGraphService;
+import com.datalineage.oracle.discovery.service.OracleMetadataExtractionService;
+import com.datalineage.oracle.discovery.service.SchemaFingerprintService;
+import com.datalineage.oracle.discovery.service.SnapshotDiffService;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+/**
+ * Minimal Spring context wiring the discovery services to an emulated dictionary.
+ *
+ * Only the services of the discovery pipeline are registered, without web, JPA or service
+ * registry; {@code @Value} settings fall back to their defaults unless given as system properties.
+ */
+public class EmulatedDiscoveryContext implements AutoCloseable {
+
+    private final AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+
+    public EmulatedDiscoveryContext(OracleDictionaryEmulator emulator, Class<?>... additionalComponents) {
+        context.registerBean(OracleConnectionService.class, () -> new EmulatedOracleConnectionService(emulator));
+        context.register(DictionaryAccessService.class, OracleMetadataExtractionService.class,
+            OracleDdlProbeService.class, OracleGraphService.class, SchemaFingerprintService.class,
+            SnapshotDiffService.class, MetadataSnapshotService.class);
+        if (additionalComponents.length > 0) {
+            context.register(additionalComponents);
+        }
+        context.refresh();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * A connection configuration accepted by the emulated connection service
+     */
+    public static OracleConnectionConfig connectionConfig(String connectionId) {
+        OracleConnectionConfig config = new OracleConnectionConfig();
+        config.setConnectionId(connectionId);
+        config.setHost("emulator");
+        config.setPort(1521);
+        config.setServiceName("EMULATED");
+        return config;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,34 @@
+package com.datalineage.oracle.emulator;
+
+import com.datalineage.oracle.discovery.dto.OracleConnectionConfig;
+import com.datalineage.oracle.discovery.service.OracleConnectionService;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Connection service handing out connections to an emulated dictionary instead of Oracle.
+ * Host, credentials and authentication type of the configuration are ignored.
+ */
+public class EmulatedOracleConnectionService extends OracleConnectionService {
+
+    private final OracleDictionaryEmulator emulator;
+
+    public EmulatedOracleConnectionService(OracleDictionaryEmulator emulator) {
+        this.emulator = emulator;
+    }
+
+    @Override
+    public Connection createConnection(OracleConnectionConfig config) throws SQLException {
+        return emulator.getConnection();
+    }
+
+    @Override
+    public boolean testConnection(OracleConnectionConfig config) {
+        try (Connection connection = emulator.getConnection()) {
+            return connection.isValid(5);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.datalineage.oracle.emulator;
+
+/**
+ * Counts of the objects a generator run emitted
+ */
+public class GenerationStats {
+
+    int tables;
+    int columns;
+    int constraints;
+    int foreignKeys;
+    int procedures;
+
+    // Getters
+    public int getTables() {
+        return tables;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getConstraints() {
+        return constraints;
+    }
+
+    public int getForeignKeys() {
+        return foreignKeys;
+    }
+
+    public int getProcedures() {
+        return procedures;
+    }
+
+    @Override
+    public String toString() {
+        return tables + " tables, " + columns + " columns, " + constraints + " constraints (" + foreignKeys
+            + " foreign keys), " + procedures + " procedure rows";
+    }
+}
@@ -0,0 +1,122 @@
+package com.datalineage.oracle.emulator;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory H2 database in Oracle mode that emulates the ALL_* dictionary views read by
+ * discovery: ALL_TABLES, ALL_TAB_COLUMNS, ALL_PROCEDURES, ALL_CONSTRAINTS, ALL_TAB_COMMENTS,
+ * ALL_COL_COMMENTS and ALL_OBJECTS.
+ *
+ * The views are plain tables carrying exactly the columns the discovery queries select,
+ * indexed on the keys they filter and sort by. There are no DBA_/CDB_ views and no
+ * SYS_CONTEXT, so dictionary scope detection settles on ALL as for an unprivileged account.
+ */
+public class OracleDictionaryEmulator implements AutoCloseable {
+
+    private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    private static final String[] DICTIONARY_DDL = {
+        "CREATE TABLE all_tables (" +
+            "owner VARCHAR(128) NOT NULL, table_name VARCHAR(128) NOT NULL, table_type VARCHAR(11), " +
+            "tablespace_name VARCHAR(30), num_rows BIGINT, blocks BIGINT, avg_row_len BIGINT, sample_size BIGINT, " +
+            "compression VARCHAR(8), status VARCHAR(8), temporary VARCHAR(1), " +
+            "PRIMARY KEY (owner, table_name))",
+        "CREATE TABLE all_tab_columns (" +
+            "owner VARCHAR(128) NOT NULL, table_name VARCHAR(128) NOT NULL, column_name VARCHAR(128) NOT NULL, " +
+            "data_type VARCHAR(128), data_type_mod VARCHAR(3), data_type_owner VARCHAR(128), data_length BIGINT, " +
+            "data_precision INT, data_scale INT, nullable VARCHAR(1), column_id INT, default_length BIGINT, " +
+            "data_default VARCHAR(4000), num_distinct BIGINT, low_value VARCHAR(2000), high_value VARCHAR(2000), " +
+            "density DOUBLE, num_nulls BIGINT, num_buckets INT, character_set_name VARCHAR(44), " +
+            "char_col_decl_length INT, global_stats VARCHAR(3), user_stats VARCHAR(3), avg_col_len DOUBLE, " +
+            "char_length INT, char_used VARCHAR(1), " +
+            "PRIMARY KEY (owner, table_name, column_name))",
+        "CREATE INDEX all_tab_columns_order ON all_tab_columns (owner, table_name, column_id)",
+        "CREATE TABLE all_tab_comments (" +
+            "owner VARCHAR(128) NOT NULL, table_name VARCHAR(128) NOT NULL, table_type VARCHAR(11), " +
+            "comments VARCHAR(4000), PRIMARY KEY (owner, table_name))",
+        "CREATE TABLE all_col_comments (" +
+            "owner VARCHAR(128) NOT NULL, table_name VARCHAR(128) NOT NULL, column_name VARCHAR(128) NOT NULL, " +
+            "comments VARCHAR(4000), PRIMARY KEY (owner, table_name, column_name))",
+        "CREATE TABLE all_procedures (" +
+            "owner VARCHAR(128) NOT NULL, object_name VARCHAR(128) NOT NULL, procedure_name VARCHAR(128), " +
+            "subprogram_id INT, overload VARCHAR(40), object_type VARCHAR(13), status VARCHAR(7), aggregate VARCHAR(3), pipelined VARCHAR(3), " +
+            "impltypeowner VARCHAR(128), impltypename VARCHAR(128), parallel VARCHAR(3), interface VARCHAR(3), " +
+            "deterministic VARCHAR(3), authid VARCHAR(12), result_cache VARCHAR(3), origin_con_id INT, " +
+            "polymorphic VARCHAR(5))",
+        "CREATE INDEX all_procedures_order ON all_procedures (owner, object_name, procedure_name, subprogram_id)",
+        "CREATE TABLE all_constraints (" +
+            "owner VARCHAR(128) NOT NULL, constraint_name VARCHAR(128) NOT NULL, constraint_type VARCHAR(1), " +
+            "table_name VARCHAR(128) NOT NULL, search_condition VARCHAR(4000), search_condition_vc VARCHAR(4000), " +
+            "r_owner VARCHAR(128), r_constraint_name VARCHAR(128), delete_rule VARCHAR(9), status VARCHAR(8), " +
+            "deferrable VARCHAR(14), deferred VARCHAR(9), validated VARCHAR(13), generated VARCHAR(14), " +
+            "bad VARCHAR(3), rely VARCHAR(4), last_change TIMESTAMP, index_owner VARCHAR(128), " +
+            "index_name VARCHAR(128), invalid VARCHAR(7), view_related VARCHAR(14), origin_con_id INT, " +
+            "PRIMARY KEY (owner, constraint_name))",
+        "CREATE INDEX all_constraints_order ON all_constraints (owner, table_name, constraint_name)",
+        "CREATE TABLE all_objects (" +
+            "owner VARCHAR(128) NOT NULL, object_name VARCHAR(128) NOT NULL, object_type VARCHAR(23) NOT NULL, " +
+            "created TIMESTAMP, last_ddl_time TIMESTAMP, status VARCHAR(7), " +
+            "PRIMARY KEY (owner, object_name, object_type))"
+    };
+
+    private final String url;
+    private final Connection keepAlive;
+
+    public OracleDictionaryEmulator() throws SQLException {
+        this("oracle-dictionary-" + INSTANCES.incrementAndGet());
+    }
+
+    public OracleDictionaryEmulator(String name) throws SQLException {
+        this.url = "jdbc:h2:mem:" + name + ";MODE=Oracle;DB_CLOSE_DELAY=-1";
+        // The in-memory database lives as long as at least one connection is open
+        this.keepAlive = getConnection();
+        try (Statement stmt = keepAlive.createStatement()) {
+            for (String ddl : DICTIONARY_DDL) {
+                stmt.execute(ddl);
+            }
+        }
+    }
+
+    /**
+     * Opens a new connection to the emulated dictionary
+     */
+    public Connection getConnection() throws SQLException {
+        return DriverManager.getConnection(url, "SA", "");
+    }
+
+    /**
+     * Opens a batched writer that inserts streamed objects into the dictionary views
+     */
+    public DictionaryWriter openWriter() throws SQLException {
+        return new DictionaryWriter(getConnection());
+    }
+
+    /**
+     * Counts the rows of one emulated view, e.g. "all_tab_columns"
+     */
+    public long count(String view) throws SQLException {
+        try (Statement stmt = keepAlive.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + view)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try (Statement stmt = keepAlive.createStatement()) {
+            stmt.execute("SHUTDOWN");
+        } finally {
+            keepAlive.close();
+        }
+    }
+}
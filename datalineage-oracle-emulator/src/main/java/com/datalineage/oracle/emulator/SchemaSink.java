@@ -0,0 +1,23 @@
+package com.datalineage.oracle.emulator;
+
+import com.datalineage.oracle.discovery.model.OracleColumn;
+import com.datalineage.oracle.discovery.model.OracleConstraint;
+import com.datalineage.oracle.discovery.model.OracleProcedure;
+import com.datalineage.oracle.discovery.model.OracleTable;
+
+import java.sql.SQLException;
+
+/**
+ * Receives generated dictionary objects one at a time, so schemas far larger than the
+ * heap can be streamed into a database without being held in memory.
+ */
+public interface SchemaSink {
+
+    void table(OracleTable table) throws SQLException;
+
+    void column(OracleColumn column) throws SQLException;
+
+    void constraint(OracleConstraint constraint) throws SQLException;
+
+    void procedure(OracleProcedure procedure) throws SQLException;
+}
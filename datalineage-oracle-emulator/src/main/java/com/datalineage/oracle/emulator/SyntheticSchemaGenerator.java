@@ -0,0 +1,340 @@
+package com.datalineage.oracle.emulator;
+
+import com.datalineage.oracle.discovery.model.OracleColumn;
+import com.datalineage.oracle.discovery.model.OracleConstraint;
+import com.datalineage.oracle.discovery.model.OracleProcedure;
+import com.datalineage.oracle.discovery.model.OracleTable;
+
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded generator of realistic Oracle schemas.
+ *
+ * Each owner gets a few hub (dimension) tables and many fact tables. Fact tables reference
+ * hubs of their own owner most of the time, sometimes an earlier fact table and sometimes a
+ * hub in another owner, which yields the skewed foreign key web of real warehouses. Every
+ * table draws from its own random stream derived from (seed, owner, table), so any table's
+ * name is known without generating the others and output does not depend on emission order.
+ */
+public class SyntheticSchemaGenerator {
+
+    private static final String[] OWNER_NAMES = {
+        "SALES", "HR", "FINANCE", "INVENTORY", "CRM", "BILLING", "LOGISTICS", "MARKETING", "SUPPORT", "ANALYTICS"
+    };
+
+    private static final String[] SUBJECTS = {
+        "CUSTOMER", "ORDER", "PRODUCT", "INVOICE", "PAYMENT", "SHIPMENT", "ACCOUNT", "EMPLOYEE", "SUPPLIER",
+        "CONTRACT", "LEDGER", "CAMPAIGN", "TICKET", "WAREHOUSE", "REGION", "CURRENCY", "PRICE", "RETURN"
+    };
+
+    private static final String[] QUALIFIERS = {
+        "LINE", "HISTORY", "DETAIL", "STAGE", "SNAPSHOT", "AUDIT", "SUMMARY", "EVENT", "MAP", "LOG"
+    };
+
+    private static final String[] VERBS = {"LOAD", "CALC", "SYNC", "PURGE", "VALIDATE", "MERGE", "EXPORT"};
+
+    private static final ColumnTemplate[] COLUMN_TEMPLATES = {
+        new ColumnTemplate("NAME", "VARCHAR2", 100, null, null),
+        new ColumnTemplate("CODE", "VARCHAR2", 20, null, null),
+        new ColumnTemplate("STATUS", "VARCHAR2", 10, null, null),
+        new ColumnTemplate("DESCRIPTION", "VARCHAR2", 4000, null, null),
+        new ColumnTemplate("EMAIL", "VARCHAR2", 254, null, null),
+        new ColumnTemplate("AMOUNT", "NUMBER", 22, 18, 2),
+        new ColumnTemplate("QUANTITY", "NUMBER", 22, 10, 0),
+        new ColumnTemplate("RATE", "NUMBER", 22, 9, 6),
+        new ColumnTemplate("IS_ACTIVE", "CHAR", 1, null, null),
+        new ColumnTemplate("CREATED_AT", "DATE", 7, null, null),
+        new ColumnTemplate("UPDATED_AT", "TIMESTAMP(6)", 11, null, 6),
+        new ColumnTemplate("VALID_FROM", "DATE", 7, null, null),
+        new ColumnTemplate("NOTES", "CLOB", 4000, null, null),
+        new ColumnTemplate("PAYLOAD", "BLOB", 4000, null, null)
+    };
+
+    private final SyntheticSchemaSpec spec;
+
+    public SyntheticSchemaGenerator(SyntheticSchemaSpec spec) {
+        this.spec = spec;
+    }
+
+    /**
+     * Streams the whole schema into the sink: per owner its tables with their columns and
+     * constraints, then its procedures
+     */
+    public GenerationStats generate(SchemaSink sink) throws SQLException {
+        GenerationStats stats = new GenerationStats();
+        for (int owner = 0; owner < spec.getOwners(); owner++) {
+            for (int table = 0; table < spec.getTablesPerOwner(); table++) {
+                generateTable(owner, table, sink, stats);
+            }
+            generateProcedures(owner, sink, stats);
+        }
+        return stats;
+    }
+
+    public String ownerName(int owner) {
+        String base = OWNER_NAMES[owner % OWNER_NAMES.length];
+        return owner < OWNER_NAMES.length ? base : base + "_" + (owner / OWNER_NAMES.length);
+    }
+
+    public String tableName(int owner, int table) {
+        SplittableRandom random = random(owner, table);
+        String subject = SUBJECTS[random.nextInt(SUBJECTS.length)];
+        if (table < spec.getHubsPerOwner()) {
+            return "DIM_" + subject + "_" + table;
+        }
+        return subject + "_" + QUALIFIERS[random.nextInt(QUALIFIERS.length)] + "_" + table;
+    }
+
+    private void generateTable(int ownerIndex, int tableIndex, SchemaSink sink, GenerationStats stats)
+            throws SQLException {
+        String owner = ownerName(ownerIndex);
+        String tableName = tableName(ownerIndex, tableIndex);
+        boolean hub = tableIndex < spec.getHubsPerOwner();
+        // Attributes use a stream split off the one that picked the name
+        SplittableRandom random = random(ownerIndex, tableIndex).split();
+
+        long numRows = hub
+            ? (long) Math.pow(10, 1 + random.nextDouble() * 4)
+            : (long) Math.pow(10, random.nextDouble() * 7);
+        int columnCount = columnCount(random);
+        long avgRowLen = 20L + columnCount * 12L;
+
+        OracleTable table = new OracleTable(owner, tableName, spec.getConnectionId());
+        table.setTableType("TABLE");
+        table.setTablespaceName(hub ? "DIM_DATA" : "FACT_DATA");
+        table.setNumRows(numRows);
+        table.setAvgRowLen(avgRowLen);
+        table.setBlocks(Math.max(1, numRows * avgRowLen / 8192));
+        table.setSampleSize(numRows);
+        table.setCompression(hub ? "DISABLED" : "ENABLED");
+        table.setStatus("VALID");
+        table.setTemporary("N");
+        if (random.nextDouble() < spec.getCommentRatio()) {
+            table.setComments((hub ? "Reference data for " : "Facts about ") + tableName.toLowerCase().replace('_', ' '));
+        }
+        sink.table(table);
+        stats.tables++;
+
+        // Primary key column and its constraints
+        Set<String> used = new HashSet<>();
+        used.add("ID");
+        int columnId = 1;
+        sink.column(column(owner, tableName, "ID", "NUMBER", 22, 19, 0, "N", columnId++, numRows, numRows, random));
+        stats.columns++;
+        sink.constraint(primaryKey(owner, tableName));
+        sink.constraint(notNull(owner, tableName, "ID", ownerIndex, tableIndex));
+        stats.constraints += 2;
+
+        // Foreign keys with their referencing columns
+        if (!hub) {
+            int fkIndex = 1;
+            for (String[] target : foreignKeyTargets(ownerIndex, tableIndex, random)) {
+                String columnName = truncate(target[1] + "_ID", 120);
+                if (!used.add(columnName)) {
+                    columnName = columnName + "_" + columnId;
+                }
+                sink.column(column(owner, tableName, columnName, "NUMBER", 22, 19, 0, "Y", columnId++,
+                    numRows, Math.max(1, numRows / 10), random));
+                sink.constraint(foreignKey(owner, tableName, fkIndex++, target[0], target[1], random));
+                stats.columns++;
+                stats.constraints++;
+                stats.foreignKeys++;
+            }
+        }
+
+        // Payload columns
+        while (columnId <= columnCount) {
+            ColumnTemplate template = COLUMN_TEMPLATES[random.nextInt(COLUMN_TEMPLATES.length)];
+            String columnName = used.add(template.name) ? template.name : template.name + "_" + columnId;
+            long distinct = Math.max(1, (long) (numRows * random.nextDouble()));
+            OracleColumn column = column(owner, tableName, columnName, template.dataType, template.dataLength,
+                template.precision, template.scale, random.nextDouble() < 0.7 ? "Y" : "N", columnId++,
+                numRows, distinct, random);
+            if (random.nextDouble() < spec.getCommentRatio() / 2) {
+                column.setComments(template.name.toLowerCase().replace('_', ' ') + " of the " + tableName.toLowerCase());
+            }
+            sink.column(column);
+            stats.columns++;
+        }
+    }
+
+    /**
+     * Distinct (owner, table) pairs this fact table references
+     */
+    private Set<String[]> foreignKeyTargets(int ownerIndex, int tableIndex, SplittableRandom random) {
+        Set<String> seen = new HashSet<>();
+        Set<String[]> targets = new LinkedHashSet<>();
+        if (random.nextDouble() >= spec.getForeignKeyRatio()) {
+            return targets;
+        }
+
+        int hubs = spec.getHubsPerOwner();
+        int count = 1 + random.nextInt(Math.max(spec.getMaxForeignKeysPerTable(), 1));
+        for (int i = 0; i < count; i++) {
+            int targetOwner = ownerIndex;
+            int targetTable;
+            double choice = random.nextDouble();
+            if (choice < spec.getCrossOwnerRatio() && spec.getOwners() > 1) {
+                targetOwner = (ownerIndex + 1 + random.nextInt(spec.getOwners() - 1)) % spec.getOwners();
+                targetTable = random.nextInt(hubs);
+            } else if (choice < 0.8) {
+                targetTable = random.nextInt(hubs);
+            } else {
+                targetTable = random.nextInt(tableIndex);
+            }
+
+            String owner = ownerName(targetOwner);
+            String table = tableName(targetOwner, targetTable);
+            if (seen.add(owner + "." + table)) {
+                targets.add(new String[] {owner, table});
+            }
+        }
+        return targets;
+    }
+
+    private void generateProcedures(int ownerIndex, SchemaSink sink, GenerationStats stats) throws SQLException {
+        String owner = ownerName(ownerIndex);
+        SplittableRandom random = random(ownerIndex, -1);
+
+        for (int i = 0; i < spec.getProceduresPerOwner(); i++) {
+            String subject = SUBJECTS[random.nextInt(SUBJECTS.length)];
+            String verb = VERBS[random.nextInt(VERBS.length)];
+            if (random.nextDouble() < 0.3) {
+                String packageName = "PKG_" + subject + "_" + i;
+                sink.procedure(procedure(owner, packageName, null, 0, "PACKAGE"));
+                stats.procedures++;
+                int subprograms = 3 + random.nextInt(6);
+                for (int j = 0; j < subprograms; j++) {
+                    sink.procedure(procedure(owner, packageName, VERBS[j % VERBS.length] + "_" + subject + "_" + j, j + 1,
+                        "PACKAGE"));
+                    stats.procedures++;
+                }
+            } else {
+                String objectType = random.nextDouble() < 0.7 ? "PROCEDURE" : "FUNCTION";
+                sink.procedure(procedure(owner, verb + "_" + subject + "_" + i, null, 1, objectType));
+                stats.procedures++;
+            }
+        }
+    }
+
+    private int columnCount(SplittableRandom random) {
+        int average = Math.max(spec.getColumnsPerTable(), 2);
+        int low = Math.max(2, average / 2);
+        int high = 2 * average - low;
+        return low + random.nextInt(high - low + 1);
+    }
+
+    private OracleColumn column(String owner, String tableName, String columnName, String dataType, long dataLength,
+                                Integer precision, Integer scale, String nullable, int columnId, long numRows,
+                                long numDistinct, SplittableRandom random) {
+        OracleColumn column = new OracleColumn(owner, tableName, columnName, spec.getConnectionId());
+        column.setDataType(dataType);
+        column.setDataLength(dataLength);
+        column.setDataPrecision(precision);
+        column.setDataScale(scale);
+        column.setNullable(nullable);
+        column.setColumnId(columnId);
+        column.setNumDistinct(numDistinct);
+        column.setDensity(numDistinct > 0 ? 1.0 / numDistinct : null);
+        column.setNumNulls("Y".equals(nullable) ? (long) (numRows * random.nextDouble() * 0.2) : 0L);
+        column.setNumBuckets(1);
+        column.setGlobalStats("YES");
+        column.setUserStats("NO");
+        column.setAvgColLen((double) Math.min(dataLength, 1 + random.nextInt(30)));
+        if (dataType.endsWith("CHAR2") || dataType.equals("CHAR")) {
+            column.setCharacterSetName("CHAR_CS");
+            column.setCharColDeclLength((int) dataLength);
+            column.setCharLength((int) dataLength);
+            column.setCharUsed("B");
+        } else {
+            column.setCharLength(0);
+        }
+        return column;
+    }
+
+    private OracleConstraint primaryKey(String owner, String tableName) {
+        OracleConstraint constraint = constraint(owner, truncate("PK_" + tableName, 128), tableName, "P");
+        constraint.setIndexOwner(owner);
+        constraint.setIndexName(constraint.getConstraintName());
+        return constraint;
+    }
+
+    private OracleConstraint notNull(String owner, String tableName, String columnName, int ownerIndex, int tableIndex) {
+        long sequence = (long) ownerIndex * spec.getTablesPerOwner() + tableIndex + 10000;
+        OracleConstraint constraint = constraint(owner, "SYS_C" + sequence, tableName, "C");
+        constraint.setSearchCondition("\"" + columnName + "\" IS NOT NULL");
+        constraint.setSearchConditionVc(constraint.getSearchCondition());
+        constraint.setGenerated("GENERATED NAME");
+        return constraint;
+    }
+
+    private OracleConstraint foreignKey(String owner, String tableName, int index, String targetOwner,
+                                        String targetTable, SplittableRandom random) {
+        OracleConstraint constraint = constraint(owner, truncate("FK_" + tableName + "_" + index, 128), tableName, "R");
+        constraint.setrOwner(targetOwner);
+        constraint.setrConstraintName(truncate("PK_" + targetTable, 128));
+        constraint.setDeleteRule(random.nextDouble() < 0.1 ? "CASCADE" : "NO ACTION");
+        return constraint;
+    }
+
+    private OracleConstraint constraint(String owner, String name, String tableName, String type) {
+        OracleConstraint constraint = new OracleConstraint(owner, name, tableName, spec.getConnectionId());
+        constraint.setConstraintType(type);
+        constraint.setStatus("ENABLED");
+        constraint.setDeferrable("NOT DEFERRABLE");
+        constraint.setDeferred("IMMEDIATE");
+        constraint.setValidated("VALIDATED");
+        constraint.setGenerated("USER NAME");
+        return constraint;
+    }
+
+    private OracleProcedure procedure(String owner, String objectName, String procedureName, int subprogramId,
+                                      String objectType) {
+        OracleProcedure procedure = new OracleProcedure(owner, objectName, procedureName, subprogramId, null,
+            spec.getConnectionId());
+        procedure.setObjectType(objectType);
+        procedure.setStatus("VALID");
+        procedure.setAggregate("NO");
+        procedure.setPipelined("NO");
+        procedure.setParallel("NO");
+        procedure.setInterfaceType("NO");
+        procedure.setDeterministic("NO");
+        procedure.setAuthId("DEFINER");
+        procedure.setResultCache("NO");
+        procedure.setOriginConId(0);
+        procedure.setPolymorphic("NONE");
+        return procedure;
+    }
+
+    private SplittableRandom random(int owner, int table) {
+        long mixed = spec.getSeed() * 0x9E3779B97F4A7C15L + owner * 0xC2B2AE3D27D4EB4FL + table;
+        return new SplittableRandom(mixed);
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+
+    /**
+     * Column template for payload columns
+     */
+    private static final class ColumnTemplate {
+        private final String name;
+        private final String dataType;
+        private final long dataLength;
+        private final Integer precision;
+        private final Integer scale;
+
+        private ColumnTemplate(String name, String dataType, long dataLength, Integer precision, Integer scale) {
+            this.name = name;
+            this.dataType = dataType;
+            this.dataLength = dataLength;
+            this.precision = precision;
+            this.scale = scale;
+        }
+    }
+}
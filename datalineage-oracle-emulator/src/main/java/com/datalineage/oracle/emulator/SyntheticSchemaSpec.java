@@ -0,0 +1,146 @@
+package com.datalineage.oracle.emulator;
+
+/**
+ * Shape of a generated schema. The same spec and seed always produce the same objects.
+ */
+public class SyntheticSchemaSpec {
+
+    private long seed = 42;
+    private String connectionId = "emulated-oracle";
+    private int owners = 4;
+    private int tablesPerOwner = 250;
+    private int columnsPerTable = 20; // average; each table gets between half and one and a half times this
+    private int proceduresPerOwner = 20;
+    private double hubRatio = 0.05; // share of tables acting as dimension tables that attract most foreign keys
+    private double foreignKeyRatio = 0.6; // share of non-hub tables with at least one foreign key
+    private int maxForeignKeysPerTable = 3;
+    private double crossOwnerRatio = 0.1; // share of foreign keys pointing into another owner
+    private double commentRatio = 0.3;
+
+    // Constructors
+    public SyntheticSchemaSpec() {}
+
+    public SyntheticSchemaSpec(long seed, int owners, int tablesPerOwner, int columnsPerTable) {
+        this.seed = seed;
+        this.owners = owners;
+        this.tablesPerOwner = tablesPerOwner;
+        this.columnsPerTable = columnsPerTable;
+    }
+
+    /**
+     * 1,000 tables and about 20,000 columns: fast enough for unit tests
+     */
+    public static SyntheticSchemaSpec small() {
+        return new SyntheticSchemaSpec(42, 4, 250, 20);
+    }
+
+    /**
+     * 10,000 tables and about 300,000 columns
+     */
+    public static SyntheticSchemaSpec medium() {
+        return new SyntheticSchemaSpec(42, 20, 500, 30);
+    }
+
+    /**
+     * 100,000 tables and about 5,000,000 columns. Loading it into the emulator needs a heap of several GB.
+     */
+    public static SyntheticSchemaSpec large() {
+        return new SyntheticSchemaSpec(42, 100, 1000, 50);
+    }
+
+    /**
+     * Number of hub tables per owner, at least one
+     */
+    public int getHubsPerOwner() {
+        return Math.max(1, (int) Math.round(tablesPerOwner * hubRatio));
+    }
+
+    // Getters and Setters
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public String getConnectionId() {
+        return connectionId;
+    }
+
+    public void setConnectionId(String connectionId) {
+        this.connectionId = connectionId;
+    }
+
+    public int getOwners() {
+        return owners;
+    }
+
+    public void setOwners(int owners) {
+        this.owners = owners;
+    }
+
+    public int getTablesPerOwner() {
+        return tablesPerOwner;
+    }
+
+    public void setTablesPerOwner(int tablesPerOwner) {
+        this.tablesPerOwner = tablesPerOwner;
+    }
+
+    public int getColumnsPerTable() {
+        return columnsPerTable;
+    }
+
+    public void setColumnsPerTable(int columnsPerTable) {
+        this.columnsPerTable = columnsPerTable;
+    }
+
+    public int getProceduresPerOwner() {
+        return proceduresPerOwner;
+    }
+
+    public void setProceduresPerOwner(int proceduresPerOwner) {
+        this.proceduresPerOwner = proceduresPerOwner;
+    }
+
+    public double getHubRatio() {
+        return hubRatio;
+    }
+
+    public void setHubRatio(double hubRatio) {
+        this.hubRatio = hubRatio;
+    }
+
+    public double getForeignKeyRatio() {
+        return foreignKeyRatio;
+    }
+
+    public void setForeignKeyRatio(double foreignKeyRatio) {
+        this.foreignKeyRatio = foreignKeyRatio;
+    }
+
+    public int getMaxForeignKeysPerTable() {
+        return maxForeignKeysPerTable;
+    }
+
+    public void setMaxForeignKeysPerTable(int maxForeignKeysPerTable) {
+        this.maxForeignKeysPerTable = maxForeignKeysPerTable;
+    }
+
+    public double getCrossOwnerRatio() {
+        return crossOwnerRatio;
+    }
+
+    public void setCrossOwnerRatio(double crossOwnerRatio) {
+        this.crossOwnerRatio = crossOwnerRatio;
+    }
+
+    public double getCommentRatio() {
+        return commentRatio;
+    }
+
+    public void setCommentRatio(double commentRatio) {
+        this.commentRatio = commentRatio;
+    }
+}
@@ -0,0 +1,133 @@
+package com.datalineage.oracle.emulator;
+
+import com.datalineage.oracle.discovery.dto.DiscoveryPerformance;
+import com.datalineage.oracle.discovery.dto.GraphData;
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryRequest;
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryResponse;
+import com.datalineage.oracle.discovery.dto.OracleConnectionConfig;
+import com.datalineage.oracle.discovery.model.DdlWatermark;
+import com.datalineage.oracle.discovery.service.OracleDdlProbeService;
+import com.datalineage.oracle.discovery.service.OracleGraphService;
+import com.datalineage.oracle.discovery.service.OracleMetadataExtractionService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the real discovery services against the emulated dictionary
+ */
+class OracleDictionaryEmulatorTest {
+
+    private static OracleDictionaryEmulator emulator;
+    private static EmulatedDiscoveryContext context;
+    private static GenerationStats stats;
+    private static SyntheticSchemaSpec spec;
+
+    @BeforeAll
+    static void setUp() throws SQLException {
+        spec = SyntheticSchemaSpec.small();
+        emulator = new OracleDictionaryEmulator();
+        try (DictionaryWriter writer = emulator.openWriter()) {
+            stats = new SyntheticSchemaGenerator(spec).generate(writer);
+        }
+        context = new EmulatedDiscoveryContext(emulator);
+    }
+
+    @AfterAll
+    static void tearDown() throws SQLException {
+        context.close();
+        emulator.close();
+    }
+
+    @Test
+    void testDiscoverMetadata_readsWholeGeneratedSchema() throws SQLException {
+        // Given
+        MetadataDiscoveryRequest request = new MetadataDiscoveryRequest(spec.getConnectionId());
+        request.setLimit(null);
+
+        // When
+        MetadataDiscoveryResponse response = context.getBean(OracleMetadataExtractionService.class)
+            .discoverMetadata(EmulatedDiscoveryContext.connectionConfig(spec.getConnectionId()), request);
+
+        // Then
+        assertEquals(stats.getTables(), response.getTables().size());
+        assertEquals(stats.getColumns(), response.getColumns().size());
+        assertEquals(stats.getConstraints(), response.getConstraints().size());
+        assertEquals(stats.getProcedures(), response.getProcedures().size());
+        assertEquals("ALL", response.getStatistics().getDictionaryScope());
+        assertTrue(response.getTables().stream().anyMatch(t -> t.getComments() != null));
+        assertTrue(response.getColumns().stream().anyMatch(c -> c.getComments() != null));
+
+        GraphData graph = context.getBean(OracleGraphService.class).transformMetadataToGraph(response);
+        long foreignKeyEdges = graph.getEdges().stream().filter(e -> e.getId().startsWith("fk-")).count();
+        assertEquals(stats.getForeignKeys(), foreignKeyEdges);
+    }
+
+    @Test
+    void testDiscoverMetadata_appliesFiltersAndPagination() throws SQLException {
+        // Given
+        MetadataDiscoveryRequest request = new MetadataDiscoveryRequest(spec.getConnectionId());
+        request.setSchemas(List.of("HR"));
+        request.setTablePatterns(List.of("DIM%"));
+        request.setIncludeProcedures(false);
+        request.setLimit(5);
+
+        // When
+        MetadataDiscoveryResponse response = context.getBean(OracleMetadataExtractionService.class)
+            .discoverMetadata(EmulatedDiscoveryContext.connectionConfig(spec.getConnectionId()), request);
+
+        // Then
+        assertEquals(5, response.getTables().size());
+        assertTrue(response.getTables().stream().allMatch(t -> t.getOwner().equals("HR")
+            && t.getTableName().startsWith("DIM_")));
+        assertEquals(5, response.getColumns().size());
+    }
+
+    @Test
+    void testDiscoverMetadata_reportsPerformanceBreakdownWhenRequested() throws SQLException {
+        // Given
+        MetadataDiscoveryRequest request = new MetadataDiscoveryRequest(spec.getConnectionId());
+        request.setSchemas(List.of("HR"));
+        request.setLimit(null);
+        request.setIncludePerformance(true);
+        OracleMetadataExtractionService extractionService = context.getBean(OracleMetadataExtractionService.class);
+        OracleConnectionConfig config = EmulatedDiscoveryContext.connectionConfig(spec.getConnectionId());
+
+        // When
+        MetadataDiscoveryResponse response = extractionService.discoverMetadata(config, request);
+
+        // Then - one entry per statement, adding up to the rows returned
+        DiscoveryPerformance performance = response.getStatistics().getPerformance();
+        assertNotNull(performance);
+        assertEquals(List.of("tables", "table_comments", "columns", "column_comments", "procedures", "constraints"),
+            performance.getQueries().stream().map(DiscoveryPerformance.QueryPerformance::getCategory).toList());
+        DiscoveryPerformance.QueryPerformance columns = performance.getQueries().get(2);
+        assertEquals(response.getColumns().size(), columns.getRows());
+        assertTrue(columns.getBytes() > columns.getRows());
+        assertTrue(columns.getRoundTrips() >= 2);
+        assertTrue(performance.getRowsFetched() > response.getTables().size() + response.getColumns().size());
+        assertTrue(performance.getCommentEnrichmentMs() > 0);
+        assertEquals(performance.getQueries().stream().mapToLong(DiscoveryPerformance.QueryPerformance::getRoundTrips).sum(),
+            performance.getRoundTrips());
+
+        request.setIncludePerformance(false);
+        assertNull(extractionService.discoverMetadata(config, request).getStatistics().getPerformance());
+    }
+
+    @Test
+    void testProbeOwners_reportsObjectCountsPerOwner() throws SQLException {
+        Map<String, DdlWatermark> watermarks = context.getBean(OracleDdlProbeService.class)
+            .probeOwners(EmulatedDiscoveryContext.connectionConfig(spec.getConnectionId()), null);
+
+        assertEquals(spec.getOwners(), watermarks.size());
+        assertTrue(watermarks.get("SALES").getObjectCount() >= spec.getTablesPerOwner());
+        assertEquals(DictionaryWriter.DDL_TIME.toLocalDateTime(), watermarks.get("SALES").getLastDdlTime());
+        assertEquals(stats.getTables(), emulator.count("all_tables"));
+    }
+}
@@ -0,0 +1,75 @@
+package com.datalineage.oracle.emulator;
+
+import com.datalineage.oracle.discovery.dto.MetadataDiscoveryResponse;
+import com.datalineage.oracle.discovery.model.OracleColumn;
+import com.datalineage.oracle.discovery.model.OracleConstraint;
+import com.datalineage.oracle.discovery.service.SchemaFingerprintService;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SyntheticSchemaGenerator
+ */
+class SyntheticSchemaGeneratorTest {
+
+    @Test
+    void testGenerate_isDeterministicPerSeed() throws SQLException {
+        SchemaFingerprintService fingerprintService = new SchemaFingerprintService();
+
+        long first = fingerprintService.fingerprint(generate(SyntheticSchemaSpec.small())).getHash();
+        long second = fingerprintService.fingerprint(generate(SyntheticSchemaSpec.small())).getHash();
+        SyntheticSchemaSpec otherSeed = SyntheticSchemaSpec.small();
+        otherSeed.setSeed(7);
+        long third = fingerprintService.fingerprint(generate(otherSeed)).getHash();
+
+        assertEquals(first, second);
+        assertNotEquals(first, third);
+    }
+
+    @Test
+    void testGenerate_producesRequestedShapeWithResolvableForeignKeys() throws SQLException {
+        // Given
+        SyntheticSchemaSpec spec = SyntheticSchemaSpec.small();
+        CollectingSchemaSink sink = new CollectingSchemaSink();
+
+        // When
+        GenerationStats stats = new SyntheticSchemaGenerator(spec).generate(sink);
+        MetadataDiscoveryResponse metadata = sink.toResponse(spec.getConnectionId());
+
+        // Then
+        assertEquals(1000, stats.getTables());
+        assertEquals(stats.getColumns(), metadata.getColumns().size());
+        assertEquals(20.0, (double) stats.getColumns() / stats.getTables(), 2.0);
+        assertTrue(stats.getForeignKeys() > 300, "expected a dense foreign key web: " + stats);
+
+        Set<String> primaryKeys = new HashSet<>();
+        for (OracleConstraint constraint : metadata.getConstraints()) {
+            if ("P".equals(constraint.getConstraintType())) {
+                primaryKeys.add(constraint.getOwner() + "." + constraint.getConstraintName());
+            }
+        }
+        for (OracleConstraint constraint : metadata.getConstraints()) {
+            if ("R".equals(constraint.getConstraintType())) {
+                assertTrue(primaryKeys.contains(constraint.getrOwner() + "." + constraint.getrConstraintName()),
+                    "dangling foreign key " + constraint.getConstraintName());
+            }
+        }
+
+        Set<String> columnKeys = new HashSet<>();
+        for (OracleColumn column : metadata.getColumns()) {
+            assertTrue(columnKeys.add(column.getOwner() + "." + column.getTableName() + "." + column.getColumnName()),
+                "duplicate column " + column.getColumnName());
+        }
+    }
+
+    private MetadataDiscoveryResponse generate(SyntheticSchemaSpec spec) throws SQLException {
+        CollectingSchemaSink sink = new CollectingSchemaSink();
+        new SyntheticSchemaGenerator(spec).generate(sink);
+        return sink.toResponse(spec.getConnectionId());
+    }
+}